@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -795,6 +795,16 @@ public class ClientManager extends BaseContainer implements WebSocketContainer {
         return properties;
     }
 
+    /**
+     * Virtual threads are enabled by {@link ClientProperties#VIRTUAL_THREADS_ENABLED}.
+     *
+     * @return {@code true} when tasks of the executor service should run in virtual threads.
+     */
+    @Override
+    protected boolean isVirtualThreadsEnabled() {
+        return Utils.getProperty(properties, ClientProperties.VIRTUAL_THREADS_ENABLED, Boolean.class, false);
+    }
+
     /**
      * Executor service which just executes provided {@link Runnable} in the very same thread.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -123,6 +123,72 @@ public final class ClientProperties {
      */
     public static final String INCOMING_BUFFER_SIZE = "org.glassfish.tyrus.incomingBufferSize";
 
+    /**
+     * Property name for maximal number of bytes queued for sending per session.
+     * <p>
+     * The value must be positive {@link java.lang.Integer} or its primitive alternative. The outbound queue is not
+     * limited by default.
+     *
+     * @see org.glassfish.tyrus.core.TyrusWebSocketEngine#OUTBOUND_QUEUE_LIMIT
+     */
+    public static final String OUTBOUND_QUEUE_LIMIT = "org.glassfish.tyrus.outboundQueueLimit";
+
+    /**
+     * Property name for policy applied when {@link #OUTBOUND_QUEUE_LIMIT} would be exceeded.
+     * <p>
+     * The value is expected to be {@link org.glassfish.tyrus.core.SlowConsumerPolicy} or its string value.
+     *
+     * @see org.glassfish.tyrus.core.TyrusWebSocketEngine#SLOW_CONSUMER_POLICY
+     */
+    public static final String SLOW_CONSUMER_POLICY = "org.glassfish.tyrus.slowConsumerPolicy";
+
+    /**
+     * Property name for size of frames sent by {@link javax.websocket.RemoteEndpoint.Basic#getSendStream()} and
+     * {@link javax.websocket.RemoteEndpoint.Basic#getSendWriter()}.
+     * <p>
+     * The value must be positive {@link java.lang.Integer} or its primitive alternative. The default value is
+     * {@code 8192}.
+     *
+     * @see org.glassfish.tyrus.core.TyrusWebSocketEngine#SEND_STREAM_FRAME_SIZE
+     */
+    public static final String SEND_STREAM_FRAME_SIZE = "org.glassfish.tyrus.sendStreamFrameSize";
+
+    /**
+     * Property name for running tasks of the client executor service in virtual threads.
+     * <p>
+     * When set to {@code true} (boolean value), streaming message handlers, asynchronous connection and parallel
+     * broadcast tasks are executed in virtual threads. The JDK client container additionally dispatches the I/O
+     * completion handlers, i.e. incoming messages, to virtual threads, see
+     * {@link ThreadPoolConfig#setVirtualThreads(boolean)}.
+     * Requires JDK 21 or newer; platform threads are used otherwise.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @see org.glassfish.tyrus.core.TyrusWebSocketEngine#VIRTUAL_THREADS_ENABLED
+     */
+    public static final String VIRTUAL_THREADS_ENABLED = "org.glassfish.tyrus.virtualThreadsEnabled";
+
+    /**
+     * Property name for pool of buffers used for reading incoming data.
+     * <p>
+     * The value must be an instance of {@link org.glassfish.tyrus.spi.BufferPool}. The JDK client container acquires
+     * its socket read buffers from the same pool. If not set, the shared
+     * {@link org.glassfish.tyrus.core.DefaultBufferPool} is used.
+     *
+     * @see org.glassfish.tyrus.core.TyrusWebSocketEngine#BUFFER_POOL
+     */
+    public static final String BUFFER_POOL = "org.glassfish.tyrus.bufferPool";
+
+    /**
+     * Property name for using direct buffers for reading incoming data.
+     * <p>
+     * The value must be {@link java.lang.Boolean} or its primitive alternative. The default value is {@code false}.
+     * Ignored when {@link #BUFFER_POOL} is set.
+     *
+     * @see org.glassfish.tyrus.core.TyrusWebSocketEngine#DIRECT_BUFFERS_ENABLED
+     */
+    public static final String DIRECT_BUFFERS_ENABLED = "org.glassfish.tyrus.directBuffersEnabled";
+
     /**
      * When set to {@code true} (boolean value), client runtime preserves used container and reuses it for outgoing
      * connections.
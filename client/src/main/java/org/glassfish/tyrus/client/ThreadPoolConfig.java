@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -72,7 +72,7 @@ public final class ThreadPoolConfig {
     private int priority = Thread.MAX_PRIORITY;
     private boolean isDaemon;
     private ClassLoader initialClassLoader;
-
+    private boolean virtualThreads = false;
 
     private ThreadPoolConfig(String poolName, int corePoolSize, int maxPoolSize, Queue<Runnable> queue, int queueLimit,
                              long keepAliveTime, TimeUnit timeUnit, ThreadFactory threadFactory, int priority,
@@ -106,6 +106,7 @@ public final class ThreadPoolConfig {
         this.corePoolSize = cfg.corePoolSize;
         this.keepAliveTimeMillis = cfg.keepAliveTimeMillis;
         this.initialClassLoader = cfg.initialClassLoader;
+        this.virtualThreads = cfg.virtualThreads;
     }
 
     /**
@@ -372,6 +373,32 @@ public final class ThreadPoolConfig {
         return this;
     }
 
+    /**
+     * Return {@code true} if a new virtual thread is started for each task instead of using a pool of platform
+     * threads.
+     *
+     * @return {@code true} if virtual threads are used, {@code false} otherwise.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Set whether a new virtual thread should be started for each task instead of using a pool of platform threads.
+     * <p>
+     * Requires JDK 21 or newer; when virtual threads are not supported, the platform thread pool is used. Pool size,
+     * queue, thread factory, priority and daemon settings do not apply to virtual threads. The default is
+     * {@code false}.
+     *
+     * @param virtualThreads {@code true} if virtual threads should be used.
+     * @return the {@link ThreadPoolConfig} with the new virtual threads setting.
+     * @see ClientProperties#VIRTUAL_THREADS_ENABLED
+     */
+    public ThreadPoolConfig setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     @Override
     public String toString() {
         return ThreadPoolConfig.class.getSimpleName() + " :\r\n"
@@ -384,7 +411,8 @@ public final class ThreadPoolConfig {
                 + "  threadFactory: " + threadFactory + "\r\n"
                 + "  priority: " + priority + "\r\n"
                 + "  isDaemon: " + isDaemon + "\r\n"
-                + "  initialClassLoader: " + initialClassLoader;
+                + "  initialClassLoader: " + initialClassLoader + "\r\n"
+                + "  virtualThreads: " + virtualThreads;
     }
 
     @Override
@@ -417,6 +445,9 @@ public final class ThreadPoolConfig {
         if (queueLimit != that.queueLimit) {
             return false;
         }
+        if (virtualThreads != that.virtualThreads) {
+            return false;
+        }
         if (initialClassLoader != null ? !initialClassLoader.equals(that.initialClassLoader)
                 : that.initialClassLoader != null) {
             return false;
@@ -445,6 +476,7 @@ public final class ThreadPoolConfig {
         result = 31 * result + priority;
         result = 31 * result + (isDaemon ? 1 : 0);
         result = 31 * result + (initialClassLoader != null ? initialClassLoader.hashCode() : 0);
+        result = 31 * result + (virtualThreads ? 1 : 0);
         return result;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -45,11 +45,14 @@ import org.glassfish.tyrus.client.auth.Authenticator;
 import org.glassfish.tyrus.client.auth.Credentials;
 import org.glassfish.tyrus.core.CloseReasons;
 import org.glassfish.tyrus.core.DebugContext;
+import org.glassfish.tyrus.core.DefaultBufferPool;
 import org.glassfish.tyrus.core.Handshake;
 import org.glassfish.tyrus.core.HandshakeException;
 import org.glassfish.tyrus.core.MaskingKeyGenerator;
+import org.glassfish.tyrus.core.PartialFrameBuffer;
 import org.glassfish.tyrus.core.ProtocolHandler;
 import org.glassfish.tyrus.core.RequestContext;
+import org.glassfish.tyrus.core.SlowConsumerPolicy;
 import org.glassfish.tyrus.core.TyrusEndpointWrapper;
 import org.glassfish.tyrus.core.TyrusExtension;
 import org.glassfish.tyrus.core.TyrusWebSocket;
@@ -60,6 +63,7 @@ import org.glassfish.tyrus.core.extension.ExtendedExtension;
 import org.glassfish.tyrus.core.frame.CloseFrame;
 import org.glassfish.tyrus.core.frame.Frame;
 import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+import org.glassfish.tyrus.spi.BufferPool;
 import org.glassfish.tyrus.spi.ClientContainer;
 import org.glassfish.tyrus.spi.ClientEngine;
 import org.glassfish.tyrus.spi.Connection;
@@ -84,7 +88,6 @@ public class TyrusClientEngine implements ClientEngine {
     private static final Logger LOGGER = Logger.getLogger(TyrusClientEngine.class.getName());
 
     private static final Version DEFAULT_VERSION = Version.DRAFT17;
-    private static final int BUFFER_STEP_SIZE = 256;
     private static final int DEFAULT_REDIRECT_THRESHOLD = 5;
 
     private final ProtocolHandler protocolHandler;
@@ -537,8 +540,12 @@ public class TyrusClientEngine implements ClientEngine {
 
                     if (!alreadyAdded) {
                         if (installedExtension instanceof ExtendedExtension) {
-                            ((ExtendedExtension) installedExtension)
-                                    .onHandshakeResponse(extensionContext, responseExtension.getParameters());
+                            try {
+                                ((ExtendedExtension) installedExtension)
+                                        .onHandshakeResponse(extensionContext, responseExtension.getParameters());
+                            } catch (IllegalStateException e) {
+                                throw new HandshakeException(e.getMessage());
+                            }
                         }
 
                         extensions.add(installedExtension);
@@ -556,6 +563,19 @@ public class TyrusClientEngine implements ClientEngine {
 
         ((ClientEndpointConfig) endpointWrapper.getEndpointConfig()).getConfigurator().afterResponse(upgradeResponse);
 
+        final Integer outboundQueueLimit =
+                Utils.getProperty(properties, ClientProperties.OUTBOUND_QUEUE_LIMIT, Integer.class);
+        if (outboundQueueLimit != null && outboundQueueLimit > 0) {
+            protocolHandler.setOutboundQueueLimit(outboundQueueLimit, Utils.getProperty(
+                    properties, ClientProperties.SLOW_CONSUMER_POLICY, SlowConsumerPolicy.class));
+        }
+
+        final Integer sendStreamFrameSize =
+                Utils.getProperty(properties, ClientProperties.SEND_STREAM_FRAME_SIZE, Integer.class);
+        if (sendStreamFrameSize != null) {
+            protocolHandler.setSendStreamFrameSize(sendStreamFrameSize);
+        }
+
         protocolHandler.setWriter(writer);
         protocolHandler.setWebSocket(socket);
         protocolHandler.setExtensions(extensions);
@@ -583,6 +603,8 @@ public class TyrusClientEngine implements ClientEngine {
         debugContext.appendLogMessage(LOGGER, Level.FINE, DebugContext.Type.OTHER, "Incoming buffer size: ",
                                       incomingBufferSize);
 
+        final BufferPool bufferPool = DefaultBufferPool.getBufferPool(properties);
+
         return new ClientUpgradeInfo() {
             @Override
             public ClientUpgradeStatus getUpgradeStatus() {
@@ -594,7 +616,8 @@ public class TyrusClientEngine implements ClientEngine {
                 return new Connection() {
 
                     private final ReadHandler readHandler =
-                            new TyrusReadHandler(protocolHandler, socket, incomingBufferSize,
+                            new TyrusReadHandler(protocolHandler, socket,
+                                                 new PartialFrameBuffer(incomingBufferSize, bufferPool),
                                                  sessionForRemoteEndpoint.getNegotiatedExtensions(), extensionContext);
 
                     @Override
@@ -670,19 +693,18 @@ public class TyrusClientEngine implements ClientEngine {
 
     private static class TyrusReadHandler implements ReadHandler {
 
-        private final int incomingBufferSize;
         private final ProtocolHandler handler;
         private final TyrusWebSocket socket;
         private final List<Extension> negotiatedExtensions;
         private final ExtendedExtension.ExtensionContext extensionContext;
+        private final PartialFrameBuffer partialFrameBuffer;
 
-        private ByteBuffer buffer = null;
-
-        TyrusReadHandler(final ProtocolHandler protocolHandler, final TyrusWebSocket socket, int incomingBufferSize,
-                         List<Extension> negotiatedExtensions, ExtendedExtension.ExtensionContext extensionContext) {
+        TyrusReadHandler(final ProtocolHandler protocolHandler, final TyrusWebSocket socket,
+                         PartialFrameBuffer partialFrameBuffer, List<Extension> negotiatedExtensions,
+                         ExtendedExtension.ExtensionContext extensionContext) {
             this.handler = protocolHandler;
             this.socket = socket;
-            this.incomingBufferSize = incomingBufferSize;
+            this.partialFrameBuffer = partialFrameBuffer;
             this.negotiatedExtensions = negotiatedExtensions;
             this.extensionContext = extensionContext;
 
@@ -694,26 +716,13 @@ public class TyrusClientEngine implements ClientEngine {
             try {
                 if (data != null && data.hasRemaining()) {
 
-                    if (buffer != null) {
-                        data = Utils.appendBuffers(buffer, data, incomingBufferSize, BUFFER_STEP_SIZE);
-                    } else {
-                        int newSize = data.remaining();
-                        if (newSize > incomingBufferSize) {
-                            throw new IllegalArgumentException("Buffer overflow.");
-                        } else {
-                            final int roundedSize = (newSize % BUFFER_STEP_SIZE) > 0 ? ((newSize / BUFFER_STEP_SIZE)
-                                    + 1) * BUFFER_STEP_SIZE : newSize;
-                            final ByteBuffer result = ByteBuffer.allocate(roundedSize > incomingBufferSize ? newSize
-                                                                                  : roundedSize);
-                            result.flip();
-                            data = Utils.appendBuffers(result, data, incomingBufferSize, BUFFER_STEP_SIZE);
-                        }
-                    }
+                    // frames are unframed directly from the passed buffer, only an incomplete frame is copied.
+                    data = partialFrameBuffer.prepend(data);
 
                     do {
                         Frame frame = handler.unframe(data);
                         if (frame == null) {
-                            buffer = data;
+                            partialFrameBuffer.retain(data);
                             break;
                         } else {
                             for (Extension extension : negotiatedExtensions) {
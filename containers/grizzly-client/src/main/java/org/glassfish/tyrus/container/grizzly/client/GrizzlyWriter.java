@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,12 +23,15 @@ import java.util.logging.Logger;
 
 import org.glassfish.tyrus.spi.CompletionHandler;
 import org.glassfish.tyrus.spi.Writer;
+import org.glassfish.tyrus.spi.WriterInfo;
 
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.EmptyCompletionHandler;
 import org.glassfish.grizzly.WriteHandler;
 import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.CompositeBuffer;
+import org.glassfish.grizzly.memory.MemoryManager;
 
 import static org.glassfish.tyrus.container.grizzly.client.TaskProcessor.Task;
 
@@ -81,6 +84,52 @@ public class GrizzlyWriter extends Writer {
         taskProcessor.processTask(new WriteTask(connection, message, emptyCompletionHandler));
     }
 
+    @Override
+    public void write(final ByteBuffer[] buffers, final CompletionHandler<ByteBuffer[]> completionHandler,
+                      WriterInfo writerInfo) {
+        if (!connection.isOpen()) {
+            completionHandler.failed(new IllegalStateException("Connection is not open."));
+            return;
+        }
+
+        final MemoryManager memoryManager = connection.getTransport().getMemoryManager();
+        final Buffer message;
+        if (buffers.length == 1) {
+            message = Buffers.wrap(memoryManager, buffers[0]);
+        } else {
+            final Buffer[] wrapped = new Buffer[buffers.length];
+            for (int i = 0; i < buffers.length; i++) {
+                wrapped[i] = Buffers.wrap(memoryManager, buffers[i]);
+            }
+            message = CompositeBuffer.newBuffer(memoryManager, wrapped);
+        }
+
+        final EmptyCompletionHandler emptyCompletionHandler = new EmptyCompletionHandler() {
+            @Override
+            public void cancelled() {
+                if (completionHandler != null) {
+                    completionHandler.cancelled();
+                }
+            }
+
+            @Override
+            public void completed(Object result) {
+                if (completionHandler != null) {
+                    completionHandler.completed(buffers);
+                }
+            }
+
+            @Override
+            public void failed(Throwable throwable) {
+                if (completionHandler != null) {
+                    completionHandler.failed(throwable);
+                }
+            }
+        };
+
+        taskProcessor.processTask(new WriteTask(connection, message, emptyCompletionHandler));
+    }
+
     private class WriterCondition implements TaskProcessor.Condition {
 
         private final AtomicBoolean writeHandlerRegistered = new AtomicBoolean(false);
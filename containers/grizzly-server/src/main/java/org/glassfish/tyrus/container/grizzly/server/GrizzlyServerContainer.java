@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -29,6 +29,8 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 
 import org.glassfish.tyrus.core.DebugContext;
+import org.glassfish.tyrus.core.DefaultBufferPool;
+import org.glassfish.tyrus.core.SlowConsumerPolicy;
 import org.glassfish.tyrus.core.TyrusWebSocketEngine;
 import org.glassfish.tyrus.core.Utils;
 import org.glassfish.tyrus.core.cluster.ClusterContext;
@@ -36,6 +38,7 @@ import org.glassfish.tyrus.core.monitoring.ApplicationEventListener;
 import org.glassfish.tyrus.core.wsadl.model.Application;
 import org.glassfish.tyrus.server.Server;
 import org.glassfish.tyrus.server.TyrusServerContainer;
+import org.glassfish.tyrus.spi.BufferPool;
 import org.glassfish.tyrus.spi.ServerContainer;
 import org.glassfish.tyrus.spi.ServerContainerFactory;
 import org.glassfish.tyrus.spi.WebSocketEngine;
@@ -99,8 +102,20 @@ public class GrizzlyServerContainer extends ServerContainerFactory {
                 Utils.getProperty(localProperties, TyrusWebSocketEngine.MAX_SESSIONS_PER_APP, Integer.class);
         final Integer maxSessionsPerRemoteAddr =
                 Utils.getProperty(localProperties, TyrusWebSocketEngine.MAX_SESSIONS_PER_REMOTE_ADDR, Integer.class);
+        final Integer maxHandshakesPerRemoteAddr =
+                Utils.getProperty(localProperties, TyrusWebSocketEngine.MAX_HANDSHAKES_PER_REMOTE_ADDR, Integer.class);
         final Boolean parallelBroadcastEnabled =
                 Utils.getProperty(localProperties, TyrusWebSocketEngine.PARALLEL_BROADCAST_ENABLED, Boolean.class);
+        final Integer outboundQueueLimit =
+                Utils.getProperty(localProperties, TyrusWebSocketEngine.OUTBOUND_QUEUE_LIMIT, Integer.class);
+        final SlowConsumerPolicy slowConsumerPolicy =
+                Utils.getProperty(localProperties, TyrusWebSocketEngine.SLOW_CONSUMER_POLICY,
+                                  SlowConsumerPolicy.class);
+        final BufferPool bufferPool = DefaultBufferPool.getBufferPool(localProperties);
+        final Integer sendStreamFrameSize =
+                Utils.getProperty(localProperties, TyrusWebSocketEngine.SEND_STREAM_FRAME_SIZE, Integer.class);
+        final boolean virtualThreadsEnabled =
+                Utils.getProperty(localProperties, TyrusWebSocketEngine.VIRTUAL_THREADS_ENABLED, Boolean.class, false);
         final DebugContext.TracingType tracingType =
                 Utils.getProperty(localProperties, TyrusWebSocketEngine.TRACING_TYPE, DebugContext.TracingType.class,
                                   DebugContext.TracingType.OFF);
@@ -117,7 +132,12 @@ public class GrizzlyServerContainer extends ServerContainerFactory {
                                         .applicationEventListener(applicationEventListener)
                                         .maxSessionsPerApp(maxSessionsPerApp)
                                         .maxSessionsPerRemoteAddr(maxSessionsPerRemoteAddr)
+                                        .maxHandshakesPerRemoteAddr(maxHandshakesPerRemoteAddr)
                                         .parallelBroadcastEnabled(parallelBroadcastEnabled)
+                                        .outboundQueueLimit(outboundQueueLimit)
+                                        .slowConsumerPolicy(slowConsumerPolicy)
+                                        .bufferPool(bufferPool)
+                                        .sendStreamFrameSize(sendStreamFrameSize)
                                         .tracingType(tracingType)
                                         .tracingThreshold(tracingThreshold)
                                         .build();
@@ -141,6 +161,11 @@ public class GrizzlyServerContainer extends ServerContainerFactory {
                 return engine;
             }
 
+            @Override
+            protected boolean isVirtualThreadsEnabled() {
+                return virtualThreadsEnabled;
+            }
+
             @Override
             public void start(final String rootPath, int port) throws IOException, DeploymentException {
                 contextPath = rootPath;
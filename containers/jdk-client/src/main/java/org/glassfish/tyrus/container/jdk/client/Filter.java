@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -51,6 +51,46 @@ class Filter {
     void write(ByteBuffer data, CompletionHandler<ByteBuffer> completionHandler) {
     }
 
+    /**
+     * Perform gathering write operation for this filter and invokes write method on the next filter in the filter
+     * chain.
+     * <p>
+     * Filters which do not support gathering writes do not need to override this method - default implementation
+     * copies the buffers into a single one and passes it to {@link #write(ByteBuffer, CompletionHandler)}.
+     *
+     * @param data              on which write operation is performed, in given order.
+     * @param completionHandler will be invoked when the write operation is completed or has failed.
+     */
+    void write(final ByteBuffer[] data, final CompletionHandler<ByteBuffer[]> completionHandler) {
+        final ByteBuffer buffer;
+        if (data.length == 1) {
+            buffer = data[0];
+        } else {
+            int length = 0;
+            for (ByteBuffer b : data) {
+                length += b.remaining();
+            }
+
+            buffer = ByteBuffer.allocate(length);
+            for (ByteBuffer b : data) {
+                buffer.put(b);
+            }
+            buffer.flip();
+        }
+
+        write(buffer, new CompletionHandler<ByteBuffer>() {
+            @Override
+            public void failed(Throwable throwable) {
+                completionHandler.failed(throwable);
+            }
+
+            @Override
+            public void completed(ByteBuffer result) {
+                completionHandler.completed(data);
+            }
+        });
+    }
+
     /**
      * Close the filter, invokes close operation on the next filter in the filter chain.
      * <p/>
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -167,10 +167,9 @@ class HttpResponseParser {
     }
 
     private int getEndPosition(ByteBuffer buffer) {
-        byte[] bytes = buffer.array();
-
+        // absolute get, the buffer may be direct
         for (int i = buffer.position(); i < buffer.limit(); i++) {
-            byte b = bytes[i];
+            byte b = buffer.get(i);
             switch (findEndState) {
                 case INIT: {
                     if (b == '\r') {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -44,8 +44,10 @@ import org.glassfish.tyrus.client.SslContextConfigurator;
 import org.glassfish.tyrus.client.SslEngineConfigurator;
 import org.glassfish.tyrus.client.ThreadPoolConfig;
 import org.glassfish.tyrus.client.exception.Exceptions;
+import org.glassfish.tyrus.core.DefaultBufferPool;
 import org.glassfish.tyrus.core.ReflectionHelper;
 import org.glassfish.tyrus.core.Utils;
+import org.glassfish.tyrus.spi.BufferPool;
 import org.glassfish.tyrus.spi.ClientContainer;
 import org.glassfish.tyrus.spi.ClientEngine;
 import org.glassfish.tyrus.spi.CompletionHandler;
@@ -98,12 +100,19 @@ public class JdkClientContainer implements ClientContainer {
             }
         }
 
+        if (Utils.getProperty(properties, ClientProperties.VIRTUAL_THREADS_ENABLED, Boolean.class, false)) {
+            // do not modify the configuration provided by the user
+            threadPoolConfig = threadPoolConfig.copy().setVirtualThreads(true);
+        }
+
         final Integer containerIdleTimeout =
                 Utils.getProperty(properties, ClientProperties.SHARED_CONTAINER_IDLE_TIMEOUT, Integer.class);
 
         final InetAddress bindingAddress =
                 Utils.getProperty(properties, ClientProperties.SOCKET_BINDING, InetAddress.class);
 
+        final BufferPool bufferPool = DefaultBufferPool.getBufferPool(properties);
+
         final ThreadPoolConfig finalThreadPoolConfig = threadPoolConfig;
         final Callable<Void> jdkConnector = new Callable<Void>() {
 
@@ -124,6 +133,7 @@ public class JdkClientContainer implements ClientContainer {
                 if (secure) {
                     TransportFilter transportFilter =
                             createTransportFilter(SSL_INPUT_BUFFER_SIZE,
+                                                  bufferPool,
                                                   finalThreadPoolConfig,
                                                   containerIdleTimeout,
                                                   bindingAddress);
@@ -133,6 +143,7 @@ public class JdkClientContainer implements ClientContainer {
                 } else {
                     TransportFilter transportFilter =
                             createTransportFilter(INPUT_BUFFER_SIZE,
+                                                  bufferPool,
                                                   finalThreadPoolConfig,
                                                   containerIdleTimeout,
                                                   bindingAddress);
@@ -288,10 +299,12 @@ public class JdkClientContainer implements ClientContainer {
     }
 
     private TransportFilter createTransportFilter(int sslInputBufferSize,
+                                                  BufferPool bufferPool,
                                                   ThreadPoolConfig threadPoolConfig,
                                                   Integer containerIdleTimeout,
                                                   InetAddress bindingAddress) {
-        return new TransportFilter(sslInputBufferSize, threadPoolConfig, containerIdleTimeout, bindingAddress);
+        return new TransportFilter(sslInputBufferSize, bufferPool, threadPoolConfig, containerIdleTimeout,
+                                   bindingAddress);
     }
 
     private TaskQueueFilter createTaskQueueFilter(Filter downstreamFilter) {
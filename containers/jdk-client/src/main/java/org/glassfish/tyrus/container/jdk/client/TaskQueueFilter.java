@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,6 +17,7 @@
 package org.glassfish.tyrus.container.jdk.client;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +59,14 @@ class TaskQueueFilter extends Filter {
         }
     }
 
+    @Override
+    void write(ByteBuffer[] data, CompletionHandler<ByteBuffer[]> completionHandler) {
+        taskQueue.offer(new GatheringWriteTask(data, completionHandler));
+        if (taskLock.compareAndSet(false, true)) {
+            processTask();
+        }
+    }
+
     private void processTask() {
         final Task task = taskQueue.poll();
         if (task == null) {
@@ -167,4 +176,46 @@ class TaskQueueFilter extends Filter {
             return "WriteTask{data=" + data + ", completionHandler=" + completionHandler + '}';
         }
     }
+
+    /**
+     * A task that writes several buffers to the downstreamFilter in one gathering write.
+     */
+    static class GatheringWriteTask implements Task {
+        private final ByteBuffer[] data;
+        private final CompletionHandler<ByteBuffer[]> completionHandler;
+
+        GatheringWriteTask(ByteBuffer[] data, CompletionHandler<ByteBuffer[]> completionHandler) {
+            this.data = data;
+            this.completionHandler = completionHandler;
+        }
+
+        @Override
+        public void execute(final TaskQueueFilter queueFilter) {
+            queueFilter.downstreamFilter.write(data, new CompletionHandler<ByteBuffer[]>() {
+
+                @Override
+                public void failed(Throwable throwable) {
+                    completionHandler.failed(throwable);
+                    queueFilter.processTask();
+                }
+
+                @Override
+                public void completed(ByteBuffer[] result) {
+                    if (result[result.length - 1].hasRemaining()) {
+                        execute(queueFilter);
+                        return;
+                    }
+
+                    completionHandler.completed(data);
+                    queueFilter.processTask();
+                }
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "GatheringWriteTask{data=" + Arrays.toString(data) + ", completionHandler="
+                    + completionHandler + '}';
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -45,6 +45,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.tyrus.client.ThreadPoolConfig;
+import org.glassfish.tyrus.core.VirtualThreads;
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+import org.glassfish.tyrus.spi.BufferPool;
 
 /**
  * Writes and reads data to and from a socket. Only one {@link #write(java.nio.ByteBuffer,
@@ -85,6 +88,7 @@ class TransportFilter extends Filter {
     private static volatile Integer currentContainerIdleTimeout;
 
     private final int inputBufferSize;
+    private final BufferPool bufferPool;
     private final ThreadPoolConfig threadPoolConfig;
     private final Integer containerIdleTimeout;
     private final InetAddress bindingAddress;
@@ -99,6 +103,7 @@ class TransportFilter extends Filter {
      * current thread pool will be shut down and a new one created with the new configuration.
      *
      * @param inputBufferSize      size of buffer to be allocated for reading data from a socket.
+     * @param bufferPool           pool the buffer for reading data from a socket is acquired from.
      * @param threadPoolConfig     thread pool configuration used for creating thread pool.
      * @param containerIdleTimeout idle time after which the shared thread pool will be destroyed. If {@code null}
      *                             default value will be used. The default value is 30 seconds.
@@ -106,11 +111,13 @@ class TransportFilter extends Filter {
      *                             Binding is done only if not {@code null}.
      */
     TransportFilter(int inputBufferSize,
+                    BufferPool bufferPool,
                     ThreadPoolConfig threadPoolConfig,
                     Integer containerIdleTimeout,
                     InetAddress bindingAddress) {
         super(null);
         this.inputBufferSize = inputBufferSize;
+        this.bufferPool = bufferPool;
         this.threadPoolConfig = threadPoolConfig;
         this.containerIdleTimeout = containerIdleTimeout;
         this.bindingAddress = bindingAddress;
@@ -136,6 +143,28 @@ class TransportFilter extends Filter {
         });
     }
 
+    @Override
+    void write(ByteBuffer[] data, final org.glassfish.tyrus.spi.CompletionHandler<ByteBuffer[]> completionHandler) {
+        // zero timeout - no timeout, same as in write(ByteBuffer, ...)
+        socketChannel.write(data, 0, data.length, 0L, TimeUnit.MILLISECONDS, data, new CompletionHandler<Long,
+                ByteBuffer[]>() {
+
+            @Override
+            public void completed(Long result, ByteBuffer[] buffers) {
+                if (buffers[buffers.length - 1].hasRemaining()) {
+                    write(buffers, completionHandler);
+                    return;
+                }
+                completionHandler.completed(buffers);
+            }
+
+            @Override
+            public void failed(Throwable exc, ByteBuffer[] buffers) {
+                completionHandler.failed(exc);
+            }
+        });
+    }
+
     @Override
     synchronized void close() {
         if (!socketChannel.isOpen()) {
@@ -185,7 +214,8 @@ class TransportFilter extends Filter {
 
                 @Override
                 public void completed(Void result, Void nothing) {
-                    final ByteBuffer inputBuffer = ByteBuffer.allocate(inputBufferSize);
+                    // released when reading from the socket ends, see _read(ByteBuffer)
+                    final ByteBuffer inputBuffer = bufferPool.acquire(inputBufferSize);
                     onConnect();
                     _read(inputBuffer);
                 }
@@ -239,6 +269,19 @@ class TransportFilter extends Filter {
         }
 
         if (channelGroup == null) {
+            if (threadPoolConfig.isVirtualThreads()) {
+                final ExecutorService executor =
+                        VirtualThreads.newVirtualThreadPerTaskExecutor(threadPoolConfig.getPoolName() + "-virtual-");
+                if (executor != null) {
+                    // no thread of the executor is dedicated to waiting for I/O events, the internal threads of the
+                    // channel group do that and hand each completion handler over to a new virtual thread
+                    channelGroup = AsynchronousChannelGroup.withCachedThreadPool(executor, 0);
+                    return;
+                }
+
+                LOGGER.warning(LocalizationMessages.VIRTUAL_THREADS_NOT_SUPPORTED());
+            }
+
             ThreadFactory threadFactory = threadPoolConfig.getThreadFactory();
             if (threadFactory == null) {
                 threadFactory = new TransportThreadFactory(threadPoolConfig);
@@ -272,6 +315,7 @@ class TransportFilter extends Filter {
          * It must be checked that the channel has not been closed by {@link #close()} method.
          */
         if (!socketChannel.isOpen()) {
+            bufferPool.release(inputBuffer);
             return;
         }
 
@@ -281,6 +325,7 @@ class TransportFilter extends Filter {
 
                 // connection closed by the server
                 if (bytesRead == -1) {
+                    bufferPool.release(inputBuffer);
                     // close will set TransportFilter.this.upstreamFilter to null
                     Filter upstreamFilter = TransportFilter.this.upstreamFilter;
                     if (upstreamFilter != null) {
@@ -298,6 +343,9 @@ class TransportFilter extends Filter {
 
             @Override
             public void failed(Throwable exc, Void result) {
+                // no other read is started on the buffer after a failure
+                bufferPool.release(inputBuffer);
+
                 /**
                  * Reading from the channel will fail if it is closing. In such cases {@link AsynchronousCloseException}
                  * is thrown. This should not be logged and no action undertaken.
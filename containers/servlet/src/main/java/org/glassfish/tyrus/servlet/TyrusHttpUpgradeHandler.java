@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,6 +31,8 @@ import javax.servlet.http.HttpUpgradeHandler;
 import javax.servlet.http.WebConnection;
 
 import org.glassfish.tyrus.core.CloseReasons;
+import org.glassfish.tyrus.core.DefaultBufferPool;
+import org.glassfish.tyrus.spi.BufferPool;
 import org.glassfish.tyrus.spi.Connection;
 import org.glassfish.tyrus.spi.WebSocketEngine;
 import org.glassfish.tyrus.spi.Writer;
@@ -56,6 +58,7 @@ public class TyrusHttpUpgradeHandler implements HttpUpgradeHandler, ReadListener
 
     private volatile boolean closed = false;
     private int incomingBufferSize = 4194315; // 4M (payload) + 11 (frame overhead)
+    private BufferPool bufferPool = DefaultBufferPool.getShared(false);
 
     private static final Logger LOGGER = Logger.getLogger(TyrusHttpUpgradeHandler.class.getName());
 
@@ -148,6 +151,12 @@ public class TyrusHttpUpgradeHandler implements HttpUpgradeHandler, ReadListener
                     if (buf.hasRemaining()) {
                         connection.getReadHandler().handle(buf);
                     }
+
+                    if (!buf.hasRemaining()) {
+                        // read handler keeps incomplete frames on its own, no buffer is held until more data arrive.
+                        bufferPool.release(buf);
+                        buf = null;
+                    }
                 }
             } catch (IOException e) {
                 connection.close(CloseReasons.CANNOT_ACCEPT.getCloseReason());
@@ -163,46 +172,55 @@ public class TyrusHttpUpgradeHandler implements HttpUpgradeHandler, ReadListener
      * @throws IOException if some other I/O error occurs.
      */
     private int fillBuf(int length) throws IOException {
-        byte[] data = new byte[length];
-        int len = is.read(data);
-        if (len == 0) {
-            return 0;
-        }
         if (buf == null) {
-            LOGGER.finest("No Buffer. Allocating new one");
-            buf = ByteBuffer.wrap(data);
-            buf.limit(len);
+            LOGGER.finest("No Buffer. Acquiring one from the pool");
+            buf = bufferPool.acquire(length);
+            buf.limit(0);
         } else {
-            int limit = buf.limit();
             int capacity = buf.capacity();
             int remaining = buf.remaining();
 
-            if (capacity - limit >= len) {
+            if (capacity - buf.limit() >= length) {
                 // Remaining data need not be changed. New data is just appended
                 LOGGER.finest("Remaining data need not be moved. New data is just appended");
-                buf.mark();
-                buf.position(limit);
-                buf.limit(capacity);
-                buf.put(data, 0, len);
-                buf.limit(limit + len);
-                buf.reset();
-            } else if (remaining + len < capacity) {
+            } else if (remaining + length <= capacity) {
                 // Remaining data is moved to left. Then new data is appended
                 LOGGER.finest("Remaining data is moved to left. Then new data is appended");
                 buf.compact();
-                buf.put(data, 0, len);
                 buf.flip();
             } else {
-                // Remaining data + new > capacity. So allocate new one
-                LOGGER.finest("Remaining data + new > capacity. So allocate new one");
-                byte[] array = new byte[remaining + len];
-                buf.get(array, 0, remaining);
-                System.arraycopy(data, 0, array, remaining, len);
-                buf = ByteBuffer.wrap(array);
-                buf.limit(remaining + len);
+                // Remaining data + new > capacity. So acquire bigger one
+                LOGGER.finest("Remaining data + new > capacity. So acquire bigger one");
+                final ByteBuffer grown = bufferPool.acquire(remaining + length);
+                grown.put(buf);
+                grown.flip();
+                bufferPool.release(buf);
+                buf = grown;
             }
         }
 
+        final int position = buf.position();
+        final int limit = buf.limit();
+        final int len;
+        if (buf.hasArray()) {
+            // read directly to the pooled buffer
+            len = is.read(buf.array(), buf.arrayOffset() + limit, length);
+            if (len <= 0) {
+                return 0;
+            }
+            buf.limit(limit + len);
+        } else {
+            final byte[] data = new byte[length];
+            len = is.read(data);
+            if (len <= 0) {
+                return 0;
+            }
+            buf.limit(limit + len);
+            buf.position(limit);
+            buf.put(data, 0, len);
+            buf.position(position);
+        }
+
         return len;
     }
 
@@ -252,6 +270,15 @@ public class TyrusHttpUpgradeHandler implements HttpUpgradeHandler, ReadListener
         this.incomingBufferSize = incomingBufferSize;
     }
 
+    /**
+     * Set pool the buffers for reading data from {@link ServletInputStream} are acquired from.
+     *
+     * @param bufferPool buffer pool, usually the one used by the {@link WebSocketEngine}.
+     */
+    public void setBufferPool(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
     private void httpSessionForcedClose(int closeCode, String closeReason) {
         if (!closed) {
             try {
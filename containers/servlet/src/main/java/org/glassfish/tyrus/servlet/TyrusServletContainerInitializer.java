@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -36,6 +36,7 @@ import javax.servlet.ServletException;
 import javax.servlet.annotation.HandlesTypes;
 
 import org.glassfish.tyrus.core.DebugContext;
+import org.glassfish.tyrus.core.SlowConsumerPolicy;
 import org.glassfish.tyrus.core.TyrusWebSocketEngine;
 import org.glassfish.tyrus.core.monitoring.ApplicationEventListener;
 import org.glassfish.tyrus.server.TyrusServerContainer;
@@ -79,8 +80,18 @@ public class TyrusServletContainerInitializer implements ServletContainerInitial
         final Integer maxSessionsPerApp = getIntContextParam(ctx, TyrusWebSocketEngine.MAX_SESSIONS_PER_APP);
         final Integer maxSessionsPerRemoteAddr = getIntContextParam(
                 ctx, TyrusWebSocketEngine.MAX_SESSIONS_PER_REMOTE_ADDR);
+        final Integer maxHandshakesPerRemoteAddr = getIntContextParam(
+                ctx, TyrusWebSocketEngine.MAX_HANDSHAKES_PER_REMOTE_ADDR);
         final Boolean parallelBroadcastEnabled = getBooleanContextParam(
                 ctx, TyrusWebSocketEngine.PARALLEL_BROADCAST_ENABLED);
+        final Integer outboundQueueLimit = getIntContextParam(ctx, TyrusWebSocketEngine.OUTBOUND_QUEUE_LIMIT);
+        final SlowConsumerPolicy slowConsumerPolicy = getEnumContextParam(
+                ctx, TyrusWebSocketEngine.SLOW_CONSUMER_POLICY, SlowConsumerPolicy.class, null);
+        final Boolean virtualThreadsEnabled = getBooleanContextParam(
+                ctx, TyrusWebSocketEngine.VIRTUAL_THREADS_ENABLED);
+        final Boolean directBuffersEnabled = getBooleanContextParam(
+                ctx, TyrusWebSocketEngine.DIRECT_BUFFERS_ENABLED);
+        final Integer sendStreamFrameSize = getIntContextParam(ctx, TyrusWebSocketEngine.SEND_STREAM_FRAME_SIZE);
         final DebugContext.TracingType tracingType = getEnumContextParam(
                 ctx, TyrusWebSocketEngine.TRACING_TYPE, DebugContext.TracingType.class, DebugContext.TracingType.OFF);
         final DebugContext.TracingThreshold tracingThreshold =
@@ -89,8 +100,9 @@ public class TyrusServletContainerInitializer implements ServletContainerInitial
 
         final ApplicationEventListener applicationEventListener = createApplicationEventListener(ctx);
         final TyrusServerContainer serverContainer = new TyrusServerContainerImpl(classes, applicationEventListener,
-                incomingBufferSize, maxSessionsPerApp, maxSessionsPerRemoteAddr, parallelBroadcastEnabled, tracingType,
-                tracingThreshold, ctx.getContextPath());
+                incomingBufferSize, maxSessionsPerApp, maxSessionsPerRemoteAddr, maxHandshakesPerRemoteAddr,
+                parallelBroadcastEnabled, outboundQueueLimit, slowConsumerPolicy, virtualThreadsEnabled,
+                directBuffersEnabled, sendStreamFrameSize, tracingType, tracingThreshold, ctx.getContextPath());
         ctx.setAttribute(ServerContainer.class.getName(), serverContainer);
         Boolean wsadlEnabled = getBooleanContextParam(ctx, TyrusWebSocketEngine.WSADL_SUPPORT);
         if (wsadlEnabled == null) {
@@ -210,7 +222,13 @@ public class TyrusServletContainerInitializer implements ServletContainerInitial
         private final Integer incomingBufferSize;
         private final Integer maxSessionsPerApp;
         private final Integer maxSessionsPerRemoteAddr;
+        private final Integer maxHandshakesPerRemoteAddr;
         private final Boolean parallelBroadcastEnabled;
+        private final Integer outboundQueueLimit;
+        private final SlowConsumerPolicy slowConsumerPolicy;
+        private final Boolean virtualThreadsEnabled;
+        private final Boolean directBuffersEnabled;
+        private final Integer sendStreamFrameSize;
         private final DebugContext.TracingType tracingType;
         private final DebugContext.TracingThreshold tracingThreshold;
         private final String contextPath;
@@ -218,14 +236,22 @@ public class TyrusServletContainerInitializer implements ServletContainerInitial
 
         public TyrusServerContainerImpl(Set<Class<?>> set, ApplicationEventListener applicationEventListener,
                 Integer incomingBufferSize, Integer maxSessionsPerApp, Integer maxSessionsPerRemoteAddr,
-                Boolean parallelBroadcastEnabled, DebugContext.TracingType tracingType,
+                Integer maxHandshakesPerRemoteAddr, Boolean parallelBroadcastEnabled, Integer outboundQueueLimit,
+                SlowConsumerPolicy slowConsumerPolicy, Boolean virtualThreadsEnabled, Boolean directBuffersEnabled,
+                Integer sendStreamFrameSize, DebugContext.TracingType tracingType,
                 DebugContext.TracingThreshold tracingThreshold, String contextPath) {
             super(set);
             this.applicationEventListener = applicationEventListener;
             this.incomingBufferSize = incomingBufferSize;
             this.maxSessionsPerApp = maxSessionsPerApp;
             this.maxSessionsPerRemoteAddr = maxSessionsPerRemoteAddr;
+            this.maxHandshakesPerRemoteAddr = maxHandshakesPerRemoteAddr;
             this.parallelBroadcastEnabled = parallelBroadcastEnabled;
+            this.outboundQueueLimit = outboundQueueLimit;
+            this.slowConsumerPolicy = slowConsumerPolicy;
+            this.virtualThreadsEnabled = virtualThreadsEnabled;
+            this.directBuffersEnabled = directBuffersEnabled;
+            this.sendStreamFrameSize = sendStreamFrameSize;
             this.tracingType = tracingType;
             this.tracingThreshold = tracingThreshold;
             this.contextPath = contextPath;
@@ -234,7 +260,12 @@ public class TyrusServletContainerInitializer implements ServletContainerInitial
                         .incomingBufferSize(incomingBufferSize)
                         .maxSessionsPerApp(maxSessionsPerApp)
                         .maxSessionsPerRemoteAddr(maxSessionsPerRemoteAddr)
+                        .maxHandshakesPerRemoteAddr(maxHandshakesPerRemoteAddr)
                         .parallelBroadcastEnabled(parallelBroadcastEnabled)
+                        .outboundQueueLimit(outboundQueueLimit)
+                        .slowConsumerPolicy(slowConsumerPolicy)
+                        .directBuffersEnabled(directBuffersEnabled)
+                        .sendStreamFrameSize(sendStreamFrameSize)
                         .tracingType(tracingType)
                         .tracingThreshold(tracingThreshold)
                         .build();
@@ -254,5 +285,10 @@ public class TyrusServletContainerInitializer implements ServletContainerInitial
         public WebSocketEngine getWebSocketEngine() {
             return engine;
         }
+
+        @Override
+        protected boolean isVirtualThreadsEnabled() {
+            return virtualThreadsEnabled != null && virtualThreadsEnabled;
+        }
     }
 }
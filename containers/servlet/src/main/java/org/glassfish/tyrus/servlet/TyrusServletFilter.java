@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -48,6 +48,7 @@ import org.glassfish.tyrus.core.TyrusUpgradeResponse;
 import org.glassfish.tyrus.core.TyrusWebSocketEngine;
 import org.glassfish.tyrus.core.Utils;
 import org.glassfish.tyrus.core.wsadl.model.Application;
+import org.glassfish.tyrus.spi.BufferPool;
 import org.glassfish.tyrus.spi.UpgradeResponse;
 import org.glassfish.tyrus.spi.WebSocketEngine;
 import org.glassfish.tyrus.spi.Writer;
@@ -164,6 +165,11 @@ class TyrusServletFilter implements Filter, HttpSessionListener {
             handler.setIncomingBufferSize(incomingBufferSize);
         }
 
+        @Override
+        public void setBufferPool(BufferPool bufferPool) {
+            handler.setBufferPool(bufferPool);
+        }
+
         @Override
         WebConnection getWebConnection() {
             return handler.getWebConnection();
@@ -245,6 +251,7 @@ class TyrusServletFilter implements Filter, HttpSessionListener {
                     if (frameBufferSize != null) {
                         handler.setIncomingBufferSize(Integer.parseInt(frameBufferSize));
                     }
+                    handler.setBufferPool(engine.getBufferPool());
 
                     handler.preInit(upgradeInfo, webSocketConnection, httpServletRequest.getUserPrincipal() != null);
 
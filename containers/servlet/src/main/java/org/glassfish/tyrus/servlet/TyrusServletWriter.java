@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,8 +18,8 @@ package org.glassfish.tyrus.servlet;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,6 +28,7 @@ import javax.servlet.WriteListener;
 
 import org.glassfish.tyrus.spi.CompletionHandler;
 import org.glassfish.tyrus.spi.Writer;
+import org.glassfish.tyrus.spi.WriterInfo;
 
 /**
  * {@link org.glassfish.tyrus.spi.Writer} implementation used in Servlet integration.
@@ -37,7 +38,15 @@ import org.glassfish.tyrus.spi.Writer;
 class TyrusServletWriter extends Writer implements WriteListener {
 
     private final TyrusHttpUpgradeHandler tyrusHttpUpgradeHandler;
-    private final Deque<QueuedFrame> queue = new LinkedList<QueuedFrame>();
+
+    /**
+     * Frames waiting for the output stream to become ready.
+     * <p>
+     * A frame is completed only after it has been written, so the frames queued here are still counted by the
+     * session's outbound queue; when {@link org.glassfish.tyrus.core.TyrusWebSocketEngine#OUTBOUND_QUEUE_LIMIT} is
+     * set, the session stops handing frames over once the limit is reached and applies its slow consumer policy.
+     */
+    private final Deque<QueuedFrame> queue = new ArrayDeque<QueuedFrame>();
 
     private static final Logger LOGGER = Logger.getLogger(TyrusServletWriter.class.getName());
 
@@ -52,12 +61,15 @@ class TyrusServletWriter extends Writer implements WriteListener {
     private boolean isListenerSet;
 
     private static class QueuedFrame {
-        public final CompletionHandler<ByteBuffer> completionHandler;
-        public final ByteBuffer dataFrame;
+        public final CompletionHandler<ByteBuffer[]> completionHandler;
+        public final ByteBuffer[] dataFrame;
+        // index of the first buffer which has not been written yet.
+        public final int offset;
 
-        QueuedFrame(CompletionHandler<ByteBuffer> completionHandler, ByteBuffer dataFrame) {
+        QueuedFrame(CompletionHandler<ByteBuffer[]> completionHandler, ByteBuffer[] dataFrame, int offset) {
             this.completionHandler = completionHandler;
             this.dataFrame = dataFrame;
+            this.offset = offset;
         }
     }
 
@@ -79,7 +91,7 @@ class TyrusServletWriter extends Writer implements WriteListener {
                 final QueuedFrame queuedFrame = queue.poll();
                 assert queuedFrame != null;
 
-                _write(queuedFrame.dataFrame, queuedFrame.completionHandler);
+                _write(queuedFrame.dataFrame, queuedFrame.offset, queuedFrame.completionHandler);
             }
         } catch (Exception e) {
             onError(e);
@@ -98,7 +110,28 @@ class TyrusServletWriter extends Writer implements WriteListener {
     }
 
     @Override
-    public synchronized void write(final ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler) {
+    public void write(final ByteBuffer buffer, final CompletionHandler<ByteBuffer> completionHandler) {
+        if (completionHandler == null) {
+            write(new ByteBuffer[]{buffer}, null, null);
+            return;
+        }
+
+        write(new ByteBuffer[]{buffer}, new CompletionHandler<ByteBuffer[]>() {
+            @Override
+            public void failed(Throwable throwable) {
+                completionHandler.failed(throwable);
+            }
+
+            @Override
+            public void completed(ByteBuffer[] result) {
+                completionHandler.completed(buffer);
+            }
+        }, null);
+    }
+
+    @Override
+    public synchronized void write(final ByteBuffer[] buffers, CompletionHandler<ByteBuffer[]> completionHandler,
+                                   WriterInfo writerInfo) {
 
         // first write
         if (servletOutputStream == null) {
@@ -113,38 +146,56 @@ class TyrusServletWriter extends Writer implements WriteListener {
 
         try /* servletOutputStream.isReady() */ {
             if (queue.isEmpty() && servletOutputStream.isReady()) {
-                _write(buffer, completionHandler);
+                _write(buffers, 0, completionHandler);
             } else {
-                final QueuedFrame queuedFrame = new QueuedFrame(completionHandler, buffer);
+                final QueuedFrame queuedFrame = new QueuedFrame(completionHandler, buffers, 0);
                 queue.offer(queuedFrame);
-
-                if (!isListenerSet) {
-                    isListenerSet = true;
-                    servletOutputStream.setWriteListener(this);
-                }
+                setWriteListener();
             }
         } catch (Exception e) {
             completionHandler.failed(e);
         }
     }
 
-    private void _write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler) {
+    private void setWriteListener() {
+        if (!isListenerSet) {
+            isListenerSet = true;
+            servletOutputStream.setWriteListener(this);
+        }
+    }
+
+    /**
+     * Write buffers starting with given offset. The caller has checked that the output stream is ready.
+     * <p>
+     * When the output stream is not ready to accept the next buffer, the rest of the buffers is put to the head of the
+     * queue and written from {@link #onWritePossible()}.
+     */
+    private void _write(ByteBuffer[] buffers, int offset, CompletionHandler<ByteBuffer[]> completionHandler) {
 
         try {
-            if (buffer.hasArray()) {
-                byte[] array = buffer.array();
-                servletOutputStream.write(array, buffer.arrayOffset() + buffer.position(), buffer.remaining());
-            } else {
-                final int remaining = buffer.remaining();
-                final byte[] array = new byte[remaining];
-                buffer.get(array);
-                servletOutputStream.write(array);
+            for (int i = offset; i < buffers.length; i++) {
+                if (i > offset && !servletOutputStream.isReady()) {
+                    queue.addFirst(new QueuedFrame(completionHandler, buffers, i));
+                    setWriteListener();
+                    return;
+                }
+
+                final ByteBuffer buffer = buffers[i];
+                if (buffer.hasArray()) {
+                    byte[] array = buffer.array();
+                    servletOutputStream.write(array, buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                } else {
+                    final int remaining = buffer.remaining();
+                    final byte[] array = new byte[remaining];
+                    buffer.get(array);
+                    servletOutputStream.write(array);
+                }
             }
 
             servletOutputStream.flush();
 
             if (completionHandler != null) {
-                completionHandler.completed(buffer);
+                completionHandler.completed(buffers);
             }
         } catch (Exception e) {
             if (completionHandler != null) {
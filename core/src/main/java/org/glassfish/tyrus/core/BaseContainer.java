@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -27,6 +27,8 @@ import java.util.logging.Logger;
 
 import javax.websocket.WebSocketContainer;
 
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+
 /**
  * Base WebSocket container.
  * <p>
@@ -40,7 +42,7 @@ public abstract class BaseContainer extends ExecutorServiceProvider implements W
 
     private final ExecutorService managedExecutorService;
     private final ScheduledExecutorService managedScheduledExecutorService;
-    private final ThreadFactory threadFactory;
+    private final DaemonThreadFactory threadFactory;
     /**
      * This lock ensures that only one instance of each type of executors will be created and it also prevents a
      * situation
@@ -69,6 +71,9 @@ public abstract class BaseContainer extends ExecutorServiceProvider implements W
      * {@code java:comp/DefaultManagedExecutorService} or if the lookup has failed, it returns a
      * {@link java.util.concurrent.ExecutorService} created and managed by this instance of
      * {@link org.glassfish.tyrus.core.BaseContainer}.
+     * <p>
+     * The executor service created by this instance runs each task in a new virtual thread when
+     * {@link #isVirtualThreadsEnabled()} returns {@code true} and the JVM supports virtual threads.
      *
      * @return executor service.
      */
@@ -81,7 +86,7 @@ public abstract class BaseContainer extends ExecutorServiceProvider implements W
         if (executorService == null) {
             synchronized (EXECUTORS_CLEAN_UP_LOCK) {
                 if (executorService == null) {
-                    executorService = Executors.newCachedThreadPool(threadFactory);
+                    executorService = createExecutorService();
                 }
             }
         }
@@ -89,6 +94,33 @@ public abstract class BaseContainer extends ExecutorServiceProvider implements W
         return executorService;
     }
 
+    /**
+     * Determine whether the executor service created by this container should run tasks in virtual threads.
+     * <p>
+     * Evaluated when the executor service is created, i.e. when {@link #getExecutorService()} is invoked for the
+     * first time or after the executor services were released by {@link #shutdown()}.
+     *
+     * @return {@code true} when virtual threads should be used, {@code false} by default.
+     * @see TyrusWebSocketEngine#VIRTUAL_THREADS_ENABLED
+     */
+    protected boolean isVirtualThreadsEnabled() {
+        return false;
+    }
+
+    private ExecutorService createExecutorService() {
+        if (isVirtualThreadsEnabled()) {
+            final ExecutorService virtualThreadExecutorService =
+                    VirtualThreads.newVirtualThreadPerTaskExecutor(threadFactory.namePrefix);
+            if (virtualThreadExecutorService != null) {
+                return virtualThreadExecutorService;
+            }
+
+            LOGGER.warning(LocalizationMessages.VIRTUAL_THREADS_NOT_SUPPORTED());
+        }
+
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
     /**
      * Returns a container-managed {@link java.util.concurrent.ScheduledExecutorService} registered under
      * {@code java:comp/DefaultManagedScheduledExecutorService} or if the lookup has failed it returns a
@@ -119,6 +151,8 @@ public abstract class BaseContainer extends ExecutorServiceProvider implements W
      * shut down.
      */
     public void shutdown() {
+        stopTimer();
+
         if (executorService != null) {
             executorService.shutdown();
             executorService = null;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -26,6 +26,9 @@ import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 
 /**
  * Save received partial messages to a list and concatenate them.
+ * <p>
+ * Fragments are concatenated only once into a buffer of the exact message size. A message consisting of a single
+ * fragment backed by the whole array is returned without copying.
  *
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -62,17 +65,27 @@ class BinaryBuffer {
      * @return concatenated buffer.
      */
     ByteBuffer getBufferedContent() {
-        ByteBuffer b = ByteBuffer.allocate(currentlyBuffered);
-
-        for (ByteBuffer buffered : list) {
-            b.put(buffered);
+        final ByteBuffer b;
+        if (list.size() == 1 && isWholeArray(list.get(0))) {
+            b = list.get(0);
+        } else {
+            b = ByteBuffer.allocate(currentlyBuffered);
+            for (ByteBuffer buffered : list) {
+                b.put(buffered);
+            }
+            b.flip();
         }
 
-        b.flip();
         resetBuffer(0);
         return b;
     }
 
+    // message handlers of byte[] use ByteBuffer#array(), so only buffer exposing exactly its array can be passed on.
+    private static boolean isWholeArray(ByteBuffer buffer) {
+        return buffer.hasArray() && !buffer.isReadOnly() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length;
+    }
+
     /**
      * Reset buffer with setting maximal buffer size.
      *
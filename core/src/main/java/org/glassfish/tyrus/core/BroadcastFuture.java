@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.websocket.Session;
+
+/**
+ * Future of a broadcast aggregating futures of the local sends and the future of the cluster broadcast.
+ * <p>
+ * No thread waits for the aggregated futures, they are waited for by the caller of {@link #get()}.
+ */
+class BroadcastFuture implements Future<BroadcastResult> {
+
+    private final Map<Session, Future<?>> localFutures;
+    private final Future<Map<String, Integer>> remoteFuture;
+
+    /**
+     * Create new future.
+     *
+     * @param localFutures futures of the sends to the local sessions.
+     * @param remoteFuture future of the cluster broadcast, {@code null} if the message has not been sent to other
+     *                     nodes.
+     */
+    BroadcastFuture(Map<Session, Future<?>> localFutures, Future<Map<String, Integer>> remoteFuture) {
+        this.localFutures = localFutures;
+        this.remoteFuture = remoteFuture;
+    }
+
+    /**
+     * Get futures of the sends to the local sessions.
+     *
+     * @return local futures.
+     */
+    Map<Session, Future<?>> getLocalFutures() {
+        return localFutures;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        for (Future<?> future : localFutures.values()) {
+            if (!future.isDone()) {
+                return false;
+            }
+        }
+        return remoteFuture == null || remoteFuture.isDone();
+    }
+
+    @Override
+    public BroadcastResult get() throws InterruptedException, ExecutionException {
+        int sent = 0;
+        int failed = 0;
+        for (Future<?> future : localFutures.values()) {
+            try {
+                future.get();
+                sent++;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        final Map<String, Integer> remoteSessions =
+                remoteFuture == null ? Collections.<String, Integer>emptyMap() : remoteFuture.get();
+        return new BroadcastResult(sent, failed, remoteSessions);
+    }
+
+    @Override
+    public BroadcastResult get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        int sent = 0;
+        int failed = 0;
+        for (Future<?> future : localFutures.values()) {
+            try {
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                sent++;
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        final Map<String, Integer> remoteSessions = remoteFuture == null
+                ? Collections.<String, Integer>emptyMap()
+                : remoteFuture.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        return new BroadcastResult(sent, failed, remoteSessions);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of a broadcast, see {@link TyrusSession#clusterBroadcast(String)}.
+ */
+@Beta
+public final class BroadcastResult {
+
+    private final int localSessions;
+    private final int failedLocalSessions;
+    private final Map<String, Integer> remoteSessions;
+
+    BroadcastResult(int localSessions, int failedLocalSessions, Map<String, Integer> remoteSessions) {
+        this.localSessions = localSessions;
+        this.failedLocalSessions = failedLocalSessions;
+        this.remoteSessions = Collections.unmodifiableMap(remoteSessions);
+    }
+
+    /**
+     * Get the number of sessions connected to this node the message has been sent to.
+     *
+     * @return number of local sessions.
+     */
+    public int getLocalSessions() {
+        return localSessions;
+    }
+
+    /**
+     * Get the number of sessions connected to this node the message could not be sent to.
+     *
+     * @return number of local sessions which failed to send the message.
+     */
+    public int getFailedLocalSessions() {
+        return failedLocalSessions;
+    }
+
+    /**
+     * Get the numbers of sessions connected to the other cluster nodes the message has been handed to.
+     * <p>
+     * Unlike the local sessions, remote sessions are counted once the message has been queued for sending to them,
+     * without waiting for the writes to complete. Nodes which have not acknowledged the message in time are missing.
+     * The map is empty when the endpoint is not clustered or when the cluster context does not support
+     * {@link org.glassfish.tyrus.core.cluster.ClusterContext#broadcastFrame(String, byte[])}.
+     *
+     * @return numbers of remote sessions keyed by node ids.
+     */
+    public Map<String, Integer> getRemoteSessions() {
+        return remoteSessions;
+    }
+
+    /**
+     * Get the number of local sessions the message has been sent to and remote sessions it has been handed to, see
+     * {@link #getRemoteSessions()}.
+     *
+     * @return number of local and remote sessions.
+     */
+    public int getTotalSessions() {
+        int total = localSessions;
+        for (Integer count : remoteSessions.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastResult{localSessions=" + localSessions + ", failedLocalSessions=" + failedLocalSessions
+                + ", remoteSessions=" + remoteSessions + '}';
+    }
+}
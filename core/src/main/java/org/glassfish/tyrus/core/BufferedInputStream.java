@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,16 +18,25 @@ package org.glassfish.tyrus.core;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
 
 /**
  * Passed to the (@link MessageHandler.Whole} in case that partial messages are being received.
+ * <p>
+ * The stream is also a {@link ReadableByteChannel}, so that the message handler can read the message directly into
+ * a {@link ByteBuffer}.
  *
  * @author Danny Coward (danny.coward at oracle.com)
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
  */
-class BufferedInputStream extends InputStream {
+class BufferedInputStream extends InputStream implements ReadableByteChannel {
     private final InputStreamBuffer buffer;
 
+    private volatile boolean closed = false;
+
     /**
      * Constructor.
      *
@@ -42,8 +51,53 @@ class BufferedInputStream extends InputStream {
         return buffer.getNextByte();
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return buffer.read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        return buffer.read(dst);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return buffer.skip(n);
+    }
+
+    @Override
+    public int available() {
+        return buffer.available();
+    }
+
+    /**
+     * Write the rest of the message to the given stream.
+     * <p>
+     * Overrides {@code InputStream#transferTo(OutputStream)} when running on JDK 9 or newer.
+     *
+     * @param out the stream to write to.
+     * @return number of written bytes.
+     * @throws IOException if an I/O error occurs when reading or writing.
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        return buffer.transferTo(out);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
     @Override
     public void close() {
+        closed = true;
         this.buffer.finishReading();
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,6 +18,7 @@ package org.glassfish.tyrus.core;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 
 /**
  * Passed to the (@link MessageHandler.Whole} in case that partial messages are being received.
@@ -39,13 +40,36 @@ class BufferedStringReader extends Reader {
 
     @Override
     public int read(char[] destination, int offsetToStart, int numberOfChars) throws IOException {
-        char[] got = readerBuffer.getNextChars(numberOfChars);
-        if (got != null) {
-            System.arraycopy(got, 0, destination, offsetToStart, got.length);
-            return got.length;
-        } else {
-            return -1;
+        return readerBuffer.read(destination, offsetToStart, numberOfChars);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n < 0L) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+        return readerBuffer.skip(n);
+    }
+
+    @Override
+    public boolean ready() {
+        return readerBuffer.ready();
+    }
+
+    /**
+     * Write the rest of the message to the given writer.
+     * <p>
+     * Overrides {@code Reader#transferTo(Writer)} when running on JDK 10 or newer.
+     *
+     * @param out the writer to write to.
+     * @return number of written chars.
+     * @throws IOException if an I/O error occurs when reading or writing.
+     */
+    public long transferTo(Writer out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException();
         }
+        return readerBuffer.transferTo(out);
     }
 
     @Override
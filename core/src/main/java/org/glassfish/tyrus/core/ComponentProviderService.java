@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,10 +20,10 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.websocket.Decoder;
 import javax.websocket.DeploymentException;
@@ -36,6 +36,10 @@ import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 /**
  * Provides an instance of component. Searches for registered {@link ComponentProvider}s which are used to provide
  * instances.
+ * <p>
+ * Instances coupled to a {@link Session} are kept in a lock-free registry until the session is removed. Instances
+ * provided for a {@link TyrusSession} are also attached to the session itself, so that the next time they are
+ * retrieved without any lookup.
  *
  * @author Martin Matula (martin.matula at oracle.com)
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
@@ -43,7 +47,7 @@ import org.glassfish.tyrus.core.l10n.LocalizationMessages;
  */
 public class ComponentProviderService {
 
-    private final Map<Session, Map<Class<?>, Object>> sessionToObject;
+    private final ConcurrentMap<Session, ConcurrentMap<Class<?>, Object>> sessionToObject;
     private final List<ComponentProvider> providers;
 
     /**
@@ -84,7 +88,7 @@ public class ComponentProviderService {
 
     private ComponentProviderService(List<ComponentProvider> providers) {
         this.providers = providers;
-        this.sessionToObject = new ConcurrentHashMap<Session, Map<Class<?>, Object>>();
+        this.sessionToObject = new ConcurrentHashMap<Session, ConcurrentMap<Class<?>, Object>>();
     }
 
     /**
@@ -110,27 +114,18 @@ public class ComponentProviderService {
      * @return instance
      */
     public <T> Object getInstance(Class<T> c, Session session, ErrorCollector collector) {
-        Object loaded = null;
-
-        final Map<Class<?>, Object> classObjectMap = sessionToObject.get(session);
+        Object loaded = getAttachedInstance(session, TyrusSession.ENDPOINT_INSTANCE, c);
+        if (loaded != null) {
+            return loaded;
+        }
 
         try {
-            if (classObjectMap != null) {
-                synchronized (classObjectMap) {
-                    if (classObjectMap.containsKey(c)) {
-                        loaded = classObjectMap.get(c);
-                    } else {
-                        // returns not-null value
-                        loaded = getEndpointInstance(c);
-                        sessionToObject.get(session).put(c, loaded);
-                    }
-                }
-            } else {
-                loaded = getEndpointInstance(c);
-                final HashMap<Class<?>, Object> hashMap = new HashMap<Class<?>, Object>();
-                hashMap.put(c, loaded);
-                sessionToObject.put(session, hashMap);
+            loaded = getRegisteredInstance(session, c);
+            if (loaded == null) {
+                // returns not-null value
+                loaded = register(session, c, getEndpointInstance(c));
             }
+            attachInstance(session, TyrusSession.ENDPOINT_INSTANCE, loaded);
         } catch (Exception e) {
             collector.addException(
                     new DeploymentException(LocalizationMessages.COMPONENT_PROVIDER_THREW_EXCEPTION(c.getName()), e));
@@ -159,41 +154,19 @@ public class ComponentProviderService {
      */
     public <T> Object getCoderInstance(Class<T> c, Session session, EndpointConfig endpointConfig,
                                        ErrorCollector collector) {
-        Object loaded = null;
-
-        final Map<Class<?>, Object> classObjectMap = sessionToObject.get(session);
+        Object loaded = getRegisteredInstance(session, c);
+        if (loaded != null) {
+            return loaded;
+        }
 
         try {
-            if (classObjectMap != null) {
-                synchronized (classObjectMap) {
-                    if (classObjectMap.containsKey(c)) {
-                        loaded = classObjectMap.get(c);
-                    } else {
-                        loaded = getInstance(c);
-                        if (loaded != null) {
-                            if (loaded instanceof Encoder) {
-                                ((Encoder) loaded).init(endpointConfig);
-                            } else if (loaded instanceof Decoder) {
-                                ((Decoder) loaded).init(endpointConfig);
-                            }
-                            sessionToObject.get(session).put(c, loaded);
-                        }
-                    }
-                }
-            } else {
-                loaded = getInstance(c);
-                if (loaded != null) {
-                    if (loaded instanceof Encoder) {
-                        ((Encoder) loaded).init(endpointConfig);
-                    } else if (loaded instanceof Decoder) {
-                        ((Decoder) loaded).init(endpointConfig);
-                    }
-                    final HashMap<Class<?>, Object> hashMap = new HashMap<Class<?>, Object>();
-                    hashMap.put(c, loaded);
-
-                    sessionToObject.put(session, hashMap);
-                }
+            loaded = getInstance(c);
+            if (loaded instanceof Encoder) {
+                ((Encoder) loaded).init(endpointConfig);
+            } else if (loaded instanceof Decoder) {
+                ((Decoder) loaded).init(endpointConfig);
             }
+            loaded = register(session, c, loaded);
         } catch (InstantiationException e) {
             collector.addException(
                     new DeploymentException(LocalizationMessages.COMPONENT_PROVIDER_THREW_EXCEPTION(c.getName()), e));
@@ -231,26 +204,86 @@ public class ComponentProviderService {
      * @param session to be removed.
      */
     public void removeSession(Session session) {
-        final Map<Class<?>, Object> classObjectMap = sessionToObject.get(session);
+        if (session instanceof TyrusSession) {
+            ((TyrusSession) session).releaseComponentInstances();
+        }
+
+        final Map<Class<?>, Object> classObjectMap = sessionToObject.remove(session);
         if (classObjectMap != null) {
-            synchronized (classObjectMap) {
-                for (Object o : classObjectMap.values()) {
-                    if (o instanceof Encoder) {
-                        ((Encoder) o).destroy();
-                    } else if (o instanceof Decoder) {
-                        ((Decoder) o).destroy();
-                    }
-
-                    for (ComponentProvider componentProvider : providers) {
-                        if (componentProvider.destroy(o)) {
-                            break;
-                        }
-                    }
-                }
+            for (Object o : classObjectMap.values()) {
+                destroy(o);
+            }
+        }
+    }
+
+    private Object getRegisteredInstance(Session session, Class<?> c) {
+        final Map<Class<?>, Object> classObjectMap = sessionToObject.get(session);
+        return classObjectMap == null ? null : classObjectMap.get(c);
+    }
+
+    /**
+     * Register an instance coupled to a session.
+     * <p>
+     * When another thread has registered an instance of the same class in the meantime, the given instance is
+     * destroyed and the already registered one is returned.
+     *
+     * @param session  session to which the instance belongs.
+     * @param c        class of the instance.
+     * @param instance instance to be registered.
+     * @return registered instance.
+     */
+    private Object register(Session session, Class<?> c, Object instance) {
+        ConcurrentMap<Class<?>, Object> classObjectMap = sessionToObject.get(session);
+        if (classObjectMap == null) {
+            final ConcurrentMap<Class<?>, Object> newMap = new ConcurrentHashMap<Class<?>, Object>(4);
+            classObjectMap = sessionToObject.putIfAbsent(session, newMap);
+            if (classObjectMap == null) {
+                classObjectMap = newMap;
+            }
+        }
+
+        final Object registered = classObjectMap.putIfAbsent(c, instance);
+        if (registered != null) {
+            // component providers may return the same (e.g. application scoped) instance to both threads.
+            if (registered != instance) {
+                destroy(instance);
             }
+            return registered;
         }
 
-        sessionToObject.remove(session);
+        return instance;
+    }
+
+    private void destroy(Object o) {
+        if (o instanceof Encoder) {
+            ((Encoder) o).destroy();
+        } else if (o instanceof Decoder) {
+            ((Decoder) o).destroy();
+        }
+
+        for (ComponentProvider componentProvider : providers) {
+            if (componentProvider.destroy(o)) {
+                break;
+            }
+        }
+    }
+
+    private static Object getAttachedInstance(Session session, int index, Class<?> c) {
+        if (session instanceof TyrusSession) {
+            final Object instance = ((TyrusSession) session).getComponentInstance(index);
+            // endpoint instance is always of the same class within a session, just to be sure.
+            if (c.isInstance(instance)) {
+                return instance;
+            }
+        }
+
+        return null;
+    }
+
+    private static void attachInstance(Session session, int index, Object instance) {
+        if (session instanceof TyrusSession) {
+            ((TyrusSession) session).setComponentInstance(index, instance);
+        }
     }
 
     /**
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+import org.glassfish.tyrus.spi.BufferPool;
+
+/**
+ * Default {@link BufferPool} implementation.
+ * <p>
+ * Capacities of the buffers are rounded up to a power of two (size class), buffers of each size class are kept in
+ * a separate lock-free queue. Each size class keeps at most {@link #MAX_POOLED_BYTES_PER_CLASS} bytes, buffers released
+ * over the limit and buffers bigger than the biggest size class are left to the garbage collector.
+ * <p>
+ * The pool provides either heap or direct buffers. Direct buffers save a copy when the transport reads from a socket
+ * channel, but they are expensive to allocate, so they should be used only with a pool shared by all connections.
+ * <p>
+ * When leak detection is enabled, the pool tracks every acquired buffer and logs the stack trace of the acquisition of
+ * buffers which have been garbage collected without being released. Leak detection is enabled by default when logging
+ * of {@code org.glassfish.tyrus.core.DefaultBufferPool} is enabled for {@link Level#FINE}, it is not meant to be used
+ * in production.
+ */
+@Beta
+public final class DefaultBufferPool implements BufferPool {
+
+    private static final Logger LOGGER = Logger.getLogger(DefaultBufferPool.class.getName());
+
+    private static final int MIN_SIZE_CLASS_SHIFT = 8;
+    private static final int MAX_SIZE_CLASS_SHIFT = 16;
+    private static final int MAX_POOLED_BYTES_PER_CLASS = 1024 * 1024;
+
+    private final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+    private final boolean direct;
+    private final LeakDetector leakDetector;
+
+    /**
+     * Create new pool of heap buffers.
+     */
+    public DefaultBufferPool() {
+        this(false);
+    }
+
+    /**
+     * Create new pool.
+     *
+     * @param direct {@code true} if the pool should provide direct buffers, {@code false} for heap buffers.
+     */
+    public DefaultBufferPool(boolean direct) {
+        this(direct, LOGGER.isLoggable(Level.FINE));
+    }
+
+    /**
+     * Create new pool.
+     *
+     * @param direct        {@code true} if the pool should provide direct buffers, {@code false} for heap buffers.
+     * @param leakDetection {@code true} if buffers garbage collected without being released should be reported.
+     */
+    public DefaultBufferPool(boolean direct, boolean leakDetection) {
+        this.direct = direct;
+        this.leakDetector = leakDetection ? new LeakDetector() : null;
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(1 << (MIN_SIZE_CLASS_SHIFT + i));
+        }
+    }
+
+    /**
+     * Get the pool shared by all containers which have not been configured with their own pool.
+     *
+     * @param direct {@code true} if the pool of direct buffers should be returned, {@code false} for heap buffers.
+     * @return shared pool.
+     */
+    public static DefaultBufferPool getShared(boolean direct) {
+        return direct ? DirectHolder.POOL : HeapHolder.POOL;
+    }
+
+    /**
+     * Get the pool configured in properties of a container.
+     *
+     * @param properties container properties, may be {@code null}.
+     * @return pool set as {@link TyrusWebSocketEngine#BUFFER_POOL}, otherwise the shared pool of direct or heap
+     * buffers depending on {@link TyrusWebSocketEngine#DIRECT_BUFFERS_ENABLED}.
+     */
+    public static BufferPool getBufferPool(Map<String, Object> properties) {
+        final BufferPool bufferPool =
+                Utils.getProperty(properties, TyrusWebSocketEngine.BUFFER_POOL, BufferPool.class);
+        if (bufferPool != null) {
+            return bufferPool;
+        }
+
+        return getShared(Utils.getProperty(properties, TyrusWebSocketEngine.DIRECT_BUFFERS_ENABLED, Boolean.class,
+                                           false));
+    }
+
+    /**
+     * Check whether the pool provides direct buffers.
+     *
+     * @return {@code true} if the pool provides direct buffers, {@code false} for heap buffers.
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    @Override
+    public ByteBuffer acquire(int capacity) {
+        final int index = sizeClassIndex(capacity);
+
+        ByteBuffer buffer;
+        if (index < sizeClasses.length) {
+            final SizeClass sizeClass = sizeClasses[index];
+            buffer = sizeClass.buffers.poll();
+            if (buffer == null) {
+                buffer = allocate(sizeClass.capacity);
+            } else {
+                sizeClass.count.decrementAndGet();
+            }
+        } else {
+            buffer = allocate(capacity);
+        }
+
+        if (leakDetector != null) {
+            leakDetector.track(buffer);
+        }
+        return buffer;
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (leakDetector != null) {
+            leakDetector.untrack(buffer);
+        }
+
+        final int index = sizeClassIndex(buffer.capacity());
+        if (index >= sizeClasses.length || sizeClasses[index].capacity != buffer.capacity() || buffer.isReadOnly()
+                || buffer.isDirect() != direct) {
+            return;
+        }
+
+        final SizeClass sizeClass = sizeClasses[index];
+        if (sizeClass.count.incrementAndGet() > sizeClass.maxCount) {
+            sizeClass.count.decrementAndGet();
+            return;
+        }
+
+        buffer.clear();
+        sizeClass.buffers.offer(buffer);
+    }
+
+    /**
+     * Get the number of acquired buffers which have not been released yet.
+     *
+     * @return number of tracked buffers, {@code 0} when leak detection is disabled.
+     */
+    int trackedBuffers() {
+        return leakDetector == null ? 0 : leakDetector.size();
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private static int sizeClassIndex(int capacity) {
+        if (capacity <= 1 << MIN_SIZE_CLASS_SHIFT) {
+            return 0;
+        }
+
+        // ceil(log2(capacity)) - MIN_SIZE_CLASS_SHIFT
+        return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static final class SizeClass {
+
+        private final int capacity;
+        private final int maxCount;
+        private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+        private final AtomicInteger count = new AtomicInteger(0);
+
+        private SizeClass(int capacity) {
+            this.capacity = capacity;
+            this.maxCount = MAX_POOLED_BYTES_PER_CLASS / capacity;
+        }
+    }
+
+    /**
+     * Tracks acquired buffers by weak references, so that buffers which have been garbage collected without being
+     * released show up in the reference queue.
+     * <p>
+     * Buffers cannot be used as keys of a map (their equality depends on their content), so the trackers are kept
+     * by identity hash codes of the buffers.
+     */
+    private static final class LeakDetector {
+
+        private final ReferenceQueue<ByteBuffer> referenceQueue = new ReferenceQueue<ByteBuffer>();
+        private final Map<Integer, List<Tracker>> trackers = new HashMap<Integer, List<Tracker>>();
+
+        private void track(ByteBuffer buffer) {
+            reportLeaks();
+
+            final Tracker tracker = new Tracker(buffer, referenceQueue);
+            synchronized (trackers) {
+                List<Tracker> list = trackers.get(tracker.hash);
+                if (list == null) {
+                    list = new ArrayList<Tracker>(1);
+                    trackers.put(tracker.hash, list);
+                }
+                list.add(tracker);
+            }
+        }
+
+        private void untrack(ByteBuffer buffer) {
+            final Tracker tracker = remove(System.identityHashCode(buffer), buffer, null);
+            if (tracker != null) {
+                // cleared reference is not enqueued.
+                tracker.clear();
+            }
+        }
+
+        private int size() {
+            int size = 0;
+            synchronized (trackers) {
+                for (List<Tracker> list : trackers.values()) {
+                    size += list.size();
+                }
+            }
+            return size;
+        }
+
+        private void reportLeaks() {
+            Reference<? extends ByteBuffer> reference;
+            while ((reference = referenceQueue.poll()) != null) {
+                final Tracker tracker = (Tracker) reference;
+                if (remove(tracker.hash, null, tracker) != null) {
+                    LOGGER.log(Level.WARNING, LocalizationMessages.BUFFER_POOL_LEAK(tracker.capacity),
+                               tracker.acquisition);
+                }
+            }
+        }
+
+        private Tracker remove(int hash, ByteBuffer buffer, Tracker removed) {
+            synchronized (trackers) {
+                final List<Tracker> list = trackers.get(hash);
+                if (list == null) {
+                    return null;
+                }
+
+                Tracker result = null;
+                for (Iterator<Tracker> iterator = list.iterator(); iterator.hasNext(); ) {
+                    final Tracker tracker = iterator.next();
+                    if (tracker == removed || (buffer != null && tracker.get() == buffer)) {
+                        iterator.remove();
+                        result = tracker;
+                        break;
+                    }
+                }
+
+                if (list.isEmpty()) {
+                    trackers.remove(hash);
+                }
+                return result;
+            }
+        }
+    }
+
+    private static final class Tracker extends WeakReference<ByteBuffer> {
+
+        private final int hash;
+        private final int capacity;
+        private final Throwable acquisition = new Throwable();
+
+        private Tracker(ByteBuffer buffer, ReferenceQueue<ByteBuffer> referenceQueue) {
+            super(buffer, referenceQueue);
+            this.hash = System.identityHashCode(buffer);
+            this.capacity = buffer.capacity();
+        }
+    }
+
+    private static final class HeapHolder {
+
+        private static final DefaultBufferPool POOL = new DefaultBufferPool(false);
+    }
+
+    private static final class DirectHolder {
+
+        private static final DefaultBufferPool POOL = new DefaultBufferPool(true);
+    }
+}
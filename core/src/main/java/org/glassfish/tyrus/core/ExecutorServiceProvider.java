@@ -24,6 +24,9 @@ import java.util.concurrent.ScheduledExecutorService;
  */
 public abstract class ExecutorServiceProvider {
 
+    private final Object timerLock = new Object();
+    private volatile HashedWheelTimer timer = null;
+
     /**
      * Get the {@link ExecutorService}.
      *
@@ -37,4 +40,38 @@ public abstract class ExecutorServiceProvider {
      * @return scheduled executor service.
      */
     public abstract ScheduledExecutorService getScheduledExecutorService();
+
+    /**
+     * Get the timer shared by all sessions for idle timeouts and heartbeats.
+     * <p>
+     * The timer is driven by {@link #getScheduledExecutorService()} and it is created on the first invocation.
+     *
+     * @return hashed wheel timer.
+     */
+    HashedWheelTimer getTimer() {
+        HashedWheelTimer result = timer;
+        if (result == null) {
+            synchronized (timerLock) {
+                if (timer == null) {
+                    timer = new HashedWheelTimer(getScheduledExecutorService());
+                }
+                result = timer;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stop the timer returned by {@link #getTimer()}, if it was created. Next invocation of {@link #getTimer()}
+     * creates a new one.
+     */
+    void stopTimer() {
+        synchronized (timerLock) {
+            if (timer != null) {
+                timer.stop();
+                timer = null;
+            }
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,6 +20,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +29,7 @@ import javax.websocket.HandshakeResponse;
 import javax.websocket.server.HandshakeRequest;
 
 import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.ExtensionDeclinedException;
 import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 import org.glassfish.tyrus.spi.UpgradeRequest;
 import org.glassfish.tyrus.spi.UpgradeResponse;
@@ -278,33 +280,36 @@ public final class Handshake {
             }
         }
 
-        final List<Extension> negotiatedExtensions = endpointWrapper.getNegotiatedExtensions(extensions);
-        if (!negotiatedExtensions.isEmpty()) {
+        final List<Extension> negotiatedExtensions =
+                new ArrayList<Extension>(endpointWrapper.getNegotiatedExtensions(extensions));
+        final List<Extension> responseExtensions = new ArrayList<Extension>();
+
+        final Iterator<Extension> iterator = negotiatedExtensions.iterator();
+        while (iterator.hasNext()) {
+            final Extension extension = iterator.next();
+            if (extension instanceof ExtendedExtension) {
+                // null is there because extension is wrapped and the original parameters are stored in the wrapped
+                // instance.
+                try {
+                    final List<Extension.Parameter> parameters =
+                            ((ExtendedExtension) extension).onExtensionNegotiation(extensionContext, null);
+                    responseExtensions.add(new TyrusExtension(extension.getName(), parameters));
+                } catch (ExtensionDeclinedException e) {
+                    // all offers of the extension have been declined.
+                    iterator.remove();
+                }
+            } else {
+                responseExtensions.add(extension);
+            }
+        }
+
+        if (!responseExtensions.isEmpty()) {
             response.getHeaders().put(
                     HandshakeRequest.SEC_WEBSOCKET_EXTENSIONS,
-                    Utils.getStringList(negotiatedExtensions, new Utils.Stringifier<Extension>() {
+                    Utils.getStringList(responseExtensions, new Utils.Stringifier<Extension>() {
                         @Override
                         String toString(final Extension extension) {
-                            if (extension instanceof ExtendedExtension) {
-                                return TyrusExtension.toString(new Extension() {
-                                    @Override
-                                    public String getName() {
-                                        return extension.getName();
-                                    }
-
-                                    @Override
-                                    public List<Parameter> getParameters() {
-                                        // TODO! XXX FIXME
-                                        // null is there because extension is wrapped and the
-                                        // original parameters are stored
-                                        // in the wrapped instance.
-                                        return ((ExtendedExtension) extension)
-                                                .onExtensionNegotiation(extensionContext, null);
-                                    }
-                                });
-                            } else {
-                                return TyrusExtension.toString(extension);
-                            }
+                            return TyrusExtension.toString(extension);
                         }
                     }));
         }
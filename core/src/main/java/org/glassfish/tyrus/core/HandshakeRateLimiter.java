@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting the rate of handshakes per remote address.
+ * <p>
+ * Every remote address has a bucket of {@code handshakesPerSecond} tokens refilled continuously at the same rate, so
+ * a client can do a burst of {@code handshakesPerSecond} handshakes and then one handshake per
+ * {@code 1 / handshakesPerSecond} seconds.
+ * <p>
+ * The bucket is implemented as the "virtual scheduling" variant of the generic cell rate algorithm: it keeps just the
+ * theoretical arrival time of the next handshake, which is updated by compare-and-set. Buckets which are full are
+ * removed from time to time, so that the number of kept buckets is bounded by the number of recently active remote
+ * addresses.
+ */
+final class HandshakeRateLimiter {
+
+    // how often (in acquisitions) are full buckets removed.
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<String, AtomicLong>();
+    private final AtomicInteger acquisitions = new AtomicInteger(0);
+
+    /**
+     * Create new limiter.
+     *
+     * @param handshakesPerSecond number of handshakes allowed per second and per remote address, also the size of
+     *                            the burst. Has to be positive.
+     */
+    HandshakeRateLimiter(int handshakesPerSecond) {
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / handshakesPerSecond;
+        this.burstNanos = emissionIntervalNanos * (handshakesPerSecond - 1);
+    }
+
+    /**
+     * Try to take a token for a handshake from given remote address.
+     *
+     * @param remoteAddr remote address of the client.
+     * @return {@code true} if the handshake is allowed, {@code false} if the rate has been exceeded.
+     */
+    boolean tryAcquire(String remoteAddr) {
+        return tryAcquire(remoteAddr, System.nanoTime());
+    }
+
+    boolean tryAcquire(String remoteAddr, long now) {
+        if ((acquisitions.incrementAndGet() % SWEEP_INTERVAL) == 0) {
+            sweep(now);
+        }
+
+        AtomicLong bucket = buckets.get(remoteAddr);
+        if (bucket == null) {
+            final AtomicLong newBucket = new AtomicLong(now + emissionIntervalNanos);
+            bucket = buckets.putIfAbsent(remoteAddr, newBucket);
+            if (bucket == null) {
+                return true;
+            }
+        }
+
+        while (true) {
+            // theoretical arrival time
+            final long tat = bucket.get();
+            if (tat - now > burstNanos) {
+                return false;
+            }
+
+            if (bucket.compareAndSet(tat, Math.max(tat - now, 0) + now + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the number of kept buckets.
+     *
+     * @return number of remote addresses with a bucket.
+     */
+    int size() {
+        return buckets.size();
+    }
+
+    private void sweep(long now) {
+        for (Iterator<Map.Entry<String, AtomicLong>> iterator = buckets.entrySet().iterator(); iterator.hasNext(); ) {
+            // bucket is full when its theoretical arrival time has passed.
+            if (iterator.next().getValue().get() - now <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed wheel timer shared by all sessions of a container for idle timeouts and heartbeats.
+ * <p>
+ * Scheduling and cancelling a timeout are O(1) operations which do not touch the queue of the
+ * {@link ScheduledExecutorService}: new timeouts are put to a lock-free queue and moved to the buckets of the wheel by
+ * a single periodic tick task, cancelled timeouts are only marked and they are removed from the wheel when their bucket
+ * is visited. Timeouts expire with the granularity of the tick duration and never before their deadline.
+ * <p>
+ * Expired timeouts are run by the {@link ScheduledExecutorService} driving the ticks, so a slow task does not delay
+ * expiration of other timeouts.
+ */
+final class HashedWheelTimer {
+
+    /**
+     * Default duration of one tick in milliseconds.
+     */
+    static final long DEFAULT_TICK_DURATION = 100;
+
+    /**
+     * Default number of buckets of the wheel.
+     */
+    static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final Logger LOGGER = Logger.getLogger(HashedWheelTimer.class.getName());
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final ScheduledExecutorService executorService;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<Timeout>();
+    private final ScheduledFuture<?> tickFuture;
+
+    private volatile boolean stopped = false;
+
+    // accessed only from the tick task, executions of which do not overlap.
+    private long tick = 0;
+
+    /**
+     * Create a timer with the default tick duration and wheel size.
+     *
+     * @param executorService executor service which drives the ticks and runs expired timeouts.
+     */
+    HashedWheelTimer(ScheduledExecutorService executorService) {
+        this(executorService, DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Create a timer.
+     *
+     * @param executorService executor service which drives the ticks and runs expired timeouts.
+     * @param tickDuration    duration of one tick.
+     * @param unit            unit of the {@code tickDuration}.
+     * @param ticksPerWheel   number of buckets of the wheel, rounded up to a power of two.
+     */
+    HashedWheelTimer(ScheduledExecutorService executorService, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel must be in range (0, 2^30]: " + ticksPerWheel);
+        }
+
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+
+        this.executorService = executorService;
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        this.tickFuture = executorService.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                onTick();
+            }
+        }, this.tickDuration, this.tickDuration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Schedule a task to be run once after the given delay.
+     *
+     * @param task  task to be run.
+     * @param delay delay after which the task will be run.
+     * @param unit  unit of the {@code delay}.
+     * @return handle which can be used to cancel the timeout. The task is never run when the timer has been stopped.
+     */
+    Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(delay, 0));
+        if (deadline < 0) {
+            // overflow
+            deadline = Long.MAX_VALUE;
+        }
+
+        final Timeout timeout = new Timeout(task, deadline);
+        if (!stopped) {
+            pendingTimeouts.offer(timeout);
+        }
+        return timeout;
+    }
+
+    /**
+     * Stop the timer. Pending timeouts are discarded without being run.
+     */
+    void stop() {
+        stopped = true;
+        if (tickFuture != null) {
+            tickFuture.cancel(false);
+        }
+        pendingTimeouts.clear();
+    }
+
+    private void onTick() {
+        final long elapsed = System.nanoTime() - startTime;
+
+        // ticks missed due to a delayed execution are processed as well.
+        while (!stopped && tickDuration * (tick + 1) <= elapsed) {
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            // deadlines which have already passed are expired in the current tick.
+            final long ticks = Math.max(timeout.deadline / tickDuration, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void execute(Timeout timeout) {
+        try {
+            executorService.execute(timeout);
+        } catch (RejectedExecutionException e) {
+            // executor service has been shut down.
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Task run by the timer.
+     */
+    interface TimerTask {
+
+        /**
+         * Run the task.
+         *
+         * @param timeout timeout which has expired.
+         */
+        void run(Timeout timeout);
+    }
+
+    /**
+     * Handle of a scheduled {@link TimerTask}.
+     */
+    final class Timeout implements Runnable {
+
+        private final TimerTask task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+        // wheel bookkeeping, accessed only from the tick task.
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(TimerTask task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout.
+         *
+         * @return {@code true} if the timeout has been cancelled, {@code false} when it has already expired or been
+         * cancelled.
+         */
+        boolean cancel() {
+            return state.compareAndSet(STATE_INIT, STATE_CANCELLED);
+        }
+
+        /**
+         * Check whether the timeout has been cancelled.
+         *
+         * @return {@code true} if the timeout has been cancelled.
+         */
+        boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        /**
+         * Check whether the timeout has expired, i.e. its task has been or is about to be run.
+         *
+         * @return {@code true} if the timeout has expired.
+         */
+        boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+                HashedWheelTimer.this.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            task.run(this);
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts which fall into one tick of the wheel. Accessed only from the tick task.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+
+            timeout.next = null;
+            timeout.prev = null;
+        }
+
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,9 +18,10 @@ package org.glassfish.tyrus.core;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -36,6 +37,9 @@ import org.glassfish.tyrus.core.l10n.LocalizationMessages;
  * <p>
  * For the first received message {@link MessageHandler.Whole#onMessage(Object)} is called in a new {@link Thread} to
  * allow blocking reading of passed {@link java.io.InputStream}.
+ * <p>
+ * Bulk operations copy as many bytes as are buffered, possibly from several fragments, under a single lock
+ * acquisition. They block only when no bytes are buffered and the last part of the message has not been received yet.
  *
  * @author Danny Coward (danny.coward at oracle.com)
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
@@ -46,7 +50,7 @@ class InputStreamBuffer {
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition condition = lock.newCondition();
 
-    private final List<ByteBuffer> bufferedFragments = new ArrayList<ByteBuffer>();
+    private final Deque<ByteBuffer> bufferedFragments = new ArrayDeque<ByteBuffer>();
     private final ExecutorService executorService;
 
     private static final Logger LOGGER = Logger.getLogger(InputStreamBuffer.class.getName());
@@ -74,40 +78,15 @@ class InputStreamBuffer {
     public int getNextByte() throws IOException {
         lock.lock();
         try {
-            if (this.bufferedFragments.isEmpty()) {
-                if (receivedLast) {
-                    this.inputStream = null;
-                    this.currentlyBuffered = 0;
-                    return -1;
-                } else { // there's more to come...so wait here...
-                    // don't let the reader block on a closed session
-                    checkClosedSession();
-
-                    boolean interrupted;
-                    do {
-                        interrupted = false;
-                        try {
-                            condition.await();
-
-                            checkClosedSession();
-                        } catch (InterruptedException e) {
-                            interrupted = true;
-                        }
-                    } while (interrupted);
-                }
-            }
-
-            if (bufferedFragments.size() == 1 && !bufferedFragments.get(0).hasRemaining() && receivedLast) {
-                this.inputStream = null;
-                this.currentlyBuffered = 0;
+            if (!awaitData()) {
                 return -1;
             }
 
-            ByteBuffer firstBuffer = bufferedFragments.get(0);
-            byte result = firstBuffer.get();
+            final ByteBuffer firstBuffer = bufferedFragments.peekFirst();
+            final byte result = firstBuffer.get();
 
             if (!firstBuffer.hasRemaining()) {
-                bufferedFragments.remove(0);
+                bufferedFragments.removeFirst();
             }
 
             return result & 0xFF;
@@ -116,11 +95,155 @@ class InputStreamBuffer {
         }
     }
 
+    /**
+     * Copy received bytes to the given buffer.
+     * <p>
+     * Blocks until at least one byte is received, then copies all buffered bytes which fit into the destination.
+     *
+     * @param destination buffer the bytes are copied to.
+     * @return number of copied bytes, {@code -1} when the whole message has been read.
+     */
+    public int read(ByteBuffer destination) throws IOException {
+        if (!destination.hasRemaining()) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            if (!awaitData()) {
+                return -1;
+            }
+
+            int read = 0;
+            while (destination.hasRemaining() && !bufferedFragments.isEmpty()) {
+                final ByteBuffer fragment = bufferedFragments.peekFirst();
+                if (fragment.remaining() <= destination.remaining()) {
+                    read += fragment.remaining();
+                    destination.put(fragment);
+                    bufferedFragments.removeFirst();
+                } else {
+                    final int length = destination.remaining();
+                    final ByteBuffer head = fragment.duplicate();
+                    head.limit(head.position() + length);
+                    destination.put(head);
+                    fragment.position(fragment.position() + length);
+                    read += length;
+                }
+            }
+
+            return read;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Skip received bytes.
+     * <p>
+     * Blocks until at least one byte is received, then skips at most the buffered bytes.
+     *
+     * @param count number of bytes to be skipped.
+     * @return number of skipped bytes, {@code 0} when the whole message has been read.
+     */
+    public long skip(long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            if (!awaitData()) {
+                return 0;
+            }
+
+            long skipped = 0;
+            while (skipped < count && !bufferedFragments.isEmpty()) {
+                final ByteBuffer fragment = bufferedFragments.peekFirst();
+                final int length = (int) Math.min(fragment.remaining(), count - skipped);
+                fragment.position(fragment.position() + length);
+                skipped += length;
+
+                if (!fragment.hasRemaining()) {
+                    bufferedFragments.removeFirst();
+                }
+            }
+
+            return skipped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of bytes which can be read without blocking.
+     *
+     * @return number of buffered bytes.
+     */
+    public int available() {
+        lock.lock();
+        try {
+            int available = 0;
+            for (ByteBuffer fragment : bufferedFragments) {
+                available += fragment.remaining();
+            }
+            return available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the rest of the message to the given stream.
+     * <p>
+     * Whole fragments are taken from the buffer and written without holding the lock, so that the receiving thread is
+     * not blocked by a slow stream.
+     *
+     * @param outputStream stream the message is written to.
+     * @return number of written bytes.
+     */
+    public long transferTo(OutputStream outputStream) throws IOException {
+        long transferred = 0;
+        byte[] chunk = null;
+
+        while (true) {
+            final ByteBuffer fragment;
+            lock.lock();
+            try {
+                if (!awaitData()) {
+                    return transferred;
+                }
+                fragment = bufferedFragments.removeFirst();
+            } finally {
+                lock.unlock();
+            }
+
+            final int length = fragment.remaining();
+            if (fragment.hasArray()) {
+                outputStream.write(fragment.array(), fragment.arrayOffset() + fragment.position(), length);
+            } else {
+                if (chunk == null) {
+                    chunk = new byte[Math.min(length, 8192)];
+                }
+                while (fragment.hasRemaining()) {
+                    final int chunkLength = Math.min(fragment.remaining(), chunk.length);
+                    fragment.get(chunk, 0, chunkLength);
+                    outputStream.write(chunk, 0, chunkLength);
+                }
+            }
+            transferred += length;
+        }
+    }
+
     /**
      * Finish reading of the buffer.
      */
     public void finishReading() {
-        this.bufferedFragments.clear();
+        lock.lock();
+        try {
+            this.bufferedFragments.clear();
+        } finally {
+            lock.unlock();
+        }
         this.inputStream = null;
     }
 
@@ -177,8 +300,13 @@ class InputStreamBuffer {
      */
     public void resetBuffer(int bufferSize) {
         this.bufferSize = bufferSize;
-        currentlyBuffered = 0;
-        bufferedFragments.clear();
+        lock.lock();
+        try {
+            currentlyBuffered = 0;
+            bufferedFragments.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     void onSessionClosed() {
@@ -192,6 +320,44 @@ class InputStreamBuffer {
         }
     }
 
+    /**
+     * Wait until a byte is buffered or the whole message has been read.
+     * <p>
+     * Has to be called with the lock held.
+     *
+     * @return {@code true} if there is a buffered byte, {@code false} when the whole message has been read.
+     */
+    private boolean awaitData() throws IOException {
+        while (true) {
+            // drained fragments, e.g. empty last part of the message.
+            while (!bufferedFragments.isEmpty() && !bufferedFragments.peekFirst().hasRemaining()) {
+                bufferedFragments.removeFirst();
+            }
+
+            if (!bufferedFragments.isEmpty()) {
+                return true;
+            }
+
+            if (receivedLast) {
+                this.inputStream = null;
+                this.currentlyBuffered = 0;
+                return false;
+            }
+
+            // there's more to come...so wait here...
+            // don't let the reader block on a closed session
+            checkClosedSession();
+
+            try {
+                condition.await();
+
+                checkClosedSession();
+            } catch (InterruptedException e) {
+                // keep waiting, the message has not been received yet.
+            }
+        }
+    }
+
     private void checkClosedSession() throws IOException {
         if (sessionClosed) {
             throw new IOException("Websocket session has been closed.");
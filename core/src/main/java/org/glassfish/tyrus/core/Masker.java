@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,11 +17,23 @@
 package org.glassfish.tyrus.core;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+/**
+ * Masks and unmasks frame payloads (RFC 6455, chapter 5.3).
+ * <p>
+ * Payloads are processed eight bytes at a time using {@code long} views; only the tail which does not fill a whole
+ * {@code long} is processed byte by byte. Instances are not thread safe - one instance is used by a single frame
+ * parsing or serialization at a time.
+ */
 class Masker {
-    private volatile ByteBuffer buffer;
-    private volatile byte[] mask;
-    private volatile int index = 0;
+
+    private static final int WORD_SIZE = 8;
+
+    private ByteBuffer buffer;
+    private byte[] mask;
+    private long wordMask;
+    private int index = 0;
 
     public Masker(ByteBuffer buffer) {
         this.buffer = buffer;
@@ -33,6 +45,7 @@ class Masker {
         this.mask[1] = (byte) (mask >> 16);
         this.mask[2] = (byte) (mask >> 8);
         this.mask[3] = (byte) mask;
+        this.wordMask = toWordMask(mask);
     }
 
     byte get() {
@@ -45,27 +58,69 @@ class Masker {
         return bytes;
     }
 
+    /**
+     * Read {@code count} bytes from the current buffer and unmask them.
+     * <p>
+     * Copying and unmasking is done in a single pass over the data.
+     *
+     * @param count number of bytes to be read.
+     * @return unmasked bytes.
+     */
     public byte[] unmask(int count) {
-        byte[] bytes = get(count);
-        if (mask != null) {
-            for (int i = 0; i < bytes.length; i++) {
-                bytes[i] ^= mask[index++ % ProtocolHandler.MASK_SIZE];
-            }
+        if (mask == null) {
+            return get(count);
         }
 
+        final byte[] bytes = new byte[count];
+        final ByteBuffer source = buffer.order() == ByteOrder.BIG_ENDIAN
+                ? buffer
+                : buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        final int position = buffer.position();
+
+        xor(source, position, bytes, 0, count);
+        buffer.position(position + count);
+
         return bytes;
     }
 
+    /**
+     * Copy {@code length} bytes from {@code bytes} to {@code target} starting at {@code location}, masking them when
+     * the masking key is set.
+     *
+     * @param target   target array.
+     * @param location position in {@code target} where the first byte will be written.
+     * @param bytes    source array.
+     * @param length   number of bytes to be copied.
+     */
     public void mask(byte[] target, int location, byte[] bytes, int length) {
         if (bytes != null && target != null) {
-            for (int i = 0; i < length; i++) {
-                target[location + i] = mask == null
-                        ? bytes[i]
-                        : (byte) (bytes[i] ^ mask[index++ % ProtocolHandler.MASK_SIZE]);
+            if (mask == null) {
+                System.arraycopy(bytes, 0, target, location, length);
+            } else {
+                xor(ByteBuffer.wrap(bytes), 0, target, location, length);
             }
         }
     }
 
+    /**
+     * Copy remaining bytes of {@code payload} to {@code target} starting at {@code location}, masking them when the
+     * masking key is set. Position of {@code payload} is not changed.
+     *
+     * @param target   target array.
+     * @param location position in {@code target} where the first byte will be written.
+     * @param payload  source buffer.
+     */
+    public void mask(byte[] target, int location, ByteBuffer payload) {
+        if (mask == null) {
+            payload.duplicate().get(target, location, payload.remaining());
+        } else {
+            final ByteBuffer source = payload.order() == ByteOrder.BIG_ENDIAN
+                    ? payload
+                    : payload.duplicate().order(ByteOrder.BIG_ENDIAN);
+            xor(source, payload.position(), target, location, payload.remaining());
+        }
+    }
+
     public void setBuffer(ByteBuffer buffer) {
         this.buffer = buffer;
     }
@@ -76,5 +131,37 @@ class Masker {
 
     public void readMask() {
         mask = get(ProtocolHandler.MASK_SIZE);
+        wordMask = toWordMask(((mask[0] & 0xFF) << 24) | ((mask[1] & 0xFF) << 16)
+                                      | ((mask[2] & 0xFF) << 8) | (mask[3] & 0xFF));
+    }
+
+    /**
+     * XOR {@code length} bytes read from {@code source} (absolute, big endian) with the mask and store them to {@code
+     * target}.
+     */
+    private void xor(ByteBuffer source, int sourceOffset, byte[] target, int targetOffset, int length) {
+        int i = 0;
+
+        if (length >= WORD_SIZE) {
+            // whole words are aligned to the mask size, so the rotation is the same for all of them.
+            final long rotatedMask = Long.rotateLeft(wordMask, (index & 3) * 8);
+            final ByteBuffer targetBuffer = ByteBuffer.wrap(target);
+            final int wordsEnd = length & ~(WORD_SIZE - 1);
+
+            for (; i < wordsEnd; i += WORD_SIZE) {
+                targetBuffer.putLong(targetOffset + i, source.getLong(sourceOffset + i) ^ rotatedMask);
+            }
+        }
+
+        for (; i < length; i++) {
+            target[targetOffset + i] = (byte) (source.get(sourceOffset + i) ^ mask[(index + i) & 3]);
+        }
+
+        index += length;
+    }
+
+    private static long toWordMask(int mask) {
+        final long m = mask & 0xFFFFFFFFL;
+        return (m << 32) | m;
     }
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+import org.glassfish.tyrus.spi.CompletionHandler;
+import org.glassfish.tyrus.spi.Writer;
+import org.glassfish.tyrus.spi.WriterInfo;
+
+/**
+ * Outbound queue of a single connection, bounded by number of bytes.
+ * <p>
+ * Serialized frames are passed to the {@link Writer} as long as the bytes not yet confirmed by the writer fit into
+ * the limit. Remaining frames wait in this queue, where they can be dropped according to the configured
+ * {@link SlowConsumerPolicy}. The writer is never invoked while holding the queue lock, so completion handlers
+ * invoked from transport threads cannot deadlock with locking done inside the writer.
+ * <p>
+ * When no limit is set, frames are passed to the writer directly, without any accounting.
+ */
+final class OutboundQueue {
+
+    private final int limit;
+    private final SlowConsumerPolicy policy;
+    private final Runnable overflowHandler;
+
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final ArrayDeque<Entry> backlog = new ArrayDeque<Entry>();
+
+    // guarded by this
+    private long inFlight = 0;
+    private boolean draining = false;
+    private boolean overflowed = false;
+
+    /**
+     * Constructor.
+     *
+     * @param limit           maximal number of queued bytes. Zero or negative value means no limit.
+     * @param policy          policy applied when the limit would be exceeded. {@code null} means
+     *                        {@link SlowConsumerPolicy#DROP_NEWEST}.
+     * @param overflowHandler invoked once, when the limit is exceeded and policy is {@link SlowConsumerPolicy#CLOSE}.
+     */
+    OutboundQueue(int limit, SlowConsumerPolicy policy, Runnable overflowHandler) {
+        this.limit = limit;
+        this.policy = policy == null ? SlowConsumerPolicy.DROP_NEWEST : policy;
+        this.overflowHandler = overflowHandler;
+    }
+
+    /**
+     * Get number of bytes handed to this queue and not yet written by the transport.
+     *
+     * @return number of queued bytes, always {@code 0} when no limit is set.
+     */
+    long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * Queue serialized frame.
+     *
+     * @param writer            writer used for writing the frame.
+     * @param buffers           serialized frame.
+     * @param completionHandler completion handler, notified also when the frame is dropped.
+     * @param writerInfo        additional information about the frame.
+     * @param droppable         {@code true} when the frame contains whole data message and can be dropped.
+     */
+    void write(Writer writer, ByteBuffer[] buffers, CompletionHandler<ByteBuffer[]> completionHandler,
+               WriterInfo writerInfo, boolean droppable) {
+        if (limit <= 0) {
+            writer.write(buffers, completionHandler, writerInfo);
+            return;
+        }
+
+        final Entry entry = new Entry(writer, buffers, completionHandler, writerInfo, droppable);
+        final List<Entry> dropped = new ArrayList<Entry>();
+        boolean accepted = true;
+        boolean overflow = false;
+
+        synchronized (this) {
+            final long queued = queuedBytes.get();
+            if (droppable && (overflowed || (queued > 0 && queued + entry.size > limit))) {
+                switch (policy) {
+                    case DROP_OLDEST:
+                        dropBacklog(dropped, queued + entry.size - limit);
+                        break;
+                    case COALESCE:
+                        dropBacklog(dropped, Long.MAX_VALUE);
+                        break;
+                    case CLOSE:
+                        dropBacklog(dropped, Long.MAX_VALUE);
+                        overflow = !overflowed;
+                        overflowed = true;
+                        accepted = false;
+                        break;
+                    default:
+                        accepted = false;
+                        break;
+                }
+            }
+
+            if (accepted) {
+                backlog.add(entry);
+                queuedBytes.addAndGet(entry.size);
+            }
+        }
+
+        for (Entry droppedEntry : dropped) {
+            droppedEntry.drop();
+        }
+
+        if (!accepted) {
+            entry.drop();
+        }
+
+        if (overflow && overflowHandler != null) {
+            overflowHandler.run();
+        }
+
+        drain();
+    }
+
+    /**
+     * Remove droppable frames from the backlog, oldest first.
+     *
+     * @param dropped list where the removed frames are added.
+     * @param bytes   minimal number of bytes to be removed.
+     */
+    private void dropBacklog(List<Entry> dropped, long bytes) {
+        long remaining = bytes;
+        final Iterator<Entry> iterator = backlog.iterator();
+        while (remaining > 0 && iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.droppable) {
+                iterator.remove();
+                queuedBytes.addAndGet(-entry.size);
+                remaining -= entry.size;
+                dropped.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Hand queued frames to the writer while they fit into the limit.
+     * <p>
+     * Only one thread drains the queue at a time, which keeps the frames ordered. Frames queued meanwhile by other
+     * threads (or completion handlers invoked synchronously by the writer) are picked up by the draining thread.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+
+        while (true) {
+            final Entry entry;
+            synchronized (this) {
+                entry = backlog.peek();
+                if (entry == null || (inFlight > 0 && inFlight + entry.size > limit)) {
+                    draining = false;
+                    return;
+                }
+                backlog.poll();
+                inFlight += entry.size;
+            }
+
+            try {
+                entry.writer.write(entry.buffers, new ReleasingCompletionHandler(entry), entry.writerInfo);
+            } catch (RuntimeException e) {
+                release(entry);
+                entry.completionHandler.failed(e);
+            }
+        }
+    }
+
+    private void release(Entry entry) {
+        queuedBytes.addAndGet(-entry.size);
+
+        synchronized (this) {
+            inFlight -= entry.size;
+        }
+        drain();
+    }
+
+    private final class Entry {
+
+        private final Writer writer;
+        private final ByteBuffer[] buffers;
+        private final CompletionHandler<ByteBuffer[]> completionHandler;
+        private final WriterInfo writerInfo;
+        private final boolean droppable;
+        private final long size;
+
+        private Entry(Writer writer, ByteBuffer[] buffers, CompletionHandler<ByteBuffer[]> completionHandler,
+                      WriterInfo writerInfo, boolean droppable) {
+            this.writer = writer;
+            this.buffers = buffers;
+            this.completionHandler = completionHandler;
+            this.writerInfo = writerInfo;
+            this.droppable = droppable;
+
+            long size = 0;
+            for (ByteBuffer buffer : buffers) {
+                size += buffer.remaining();
+            }
+            this.size = size;
+        }
+
+        private void drop() {
+            completionHandler.failed(new IOException(LocalizationMessages.OUTBOUND_QUEUE_FRAME_DROPPED(limit)));
+        }
+    }
+
+    /**
+     * Releases the frame from the queue before notifying the wrapped completion handler.
+     */
+    private final class ReleasingCompletionHandler extends CompletionHandler<ByteBuffer[]> {
+
+        private final Entry entry;
+
+        private ReleasingCompletionHandler(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void cancelled() {
+            release(entry);
+            entry.completionHandler.cancelled();
+        }
+
+        @Override
+        public void failed(Throwable throwable) {
+            release(entry);
+            entry.completionHandler.failed(throwable);
+        }
+
+        @Override
+        public void completed(ByteBuffer[] result) {
+            release(entry);
+            entry.completionHandler.completed(result);
+        }
+
+        @Override
+        public void updated(ByteBuffer[] result) {
+            entry.completionHandler.updated(result);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,20 +16,27 @@
 
 package org.glassfish.tyrus.core;
 
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 import org.glassfish.tyrus.spi.WriterInfo;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
 /**
  * Simple Writer that writes its data to an async sink.
+ * <p>
+ * Written bytes are coalesced into frames of {@link ProtocolHandler#getSendStreamFrameSize()} bytes, a frame is sent
+ * when the buffer is full, on {@link #flush()} and {@link #close()}. Frames are sent without waiting for each other,
+ * see {@link PendingSends}.
  *
  * @author Danny Coward (danny.coward at oracle.com)
  */
 class OutputStreamToAsyncBinaryAdapter extends OutputStream {
     private final TyrusWebSocket socket;
+    private final byte[] buffer;
+    private final PendingSends pendingSends = new PendingSends();
+    private int count = 0;
+    private boolean closed = false;
     private static final WriterInfo BINARY_CONTINUATION_INFO =
             new WriterInfo(WriterInfo.MessageType.BINARY_CONTINUATION, WriterInfo.RemoteEndpointType.BASIC);
     private static final WriterInfo BINARY_INFO =
@@ -37,6 +44,7 @@ class OutputStreamToAsyncBinaryAdapter extends OutputStream {
 
     public OutputStreamToAsyncBinaryAdapter(TyrusWebSocket socket) {
         this.socket = socket;
+        this.buffer = new byte[socket.getProtocolHandler().getSendStreamFrameSize()];
     }
 
     @Override
@@ -48,35 +56,64 @@ class OutputStreamToAsyncBinaryAdapter extends OutputStream {
         } else if (len == 0) {
             return;
         }
+        checkNotClosed();
 
-        final Future<?> future = socket.sendBinary(b, off, len, false, BINARY_CONTINUATION_INFO);
-        try {
-            future.get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-            if (e.getCause() instanceof IOException) {
-                throw (IOException) e.getCause();
-            } else {
-                throw new IOException(e.getCause());
-            }
+        if (len >= buffer.length) {
+            // big enough for its own frame, no need to copy it to the buffer.
+            sendBuffer();
+            pendingSends.add(socket.sendBinary(b, off, len, false, BINARY_CONTINUATION_INFO));
+            return;
+        }
+
+        if (len > buffer.length - count) {
+            sendBuffer();
         }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
     }
 
     @Override
     public void write(int i) throws IOException {
-        byte[] byteArray = new byte[]{(byte) i};
+        checkNotClosed();
 
-        write(byteArray, 0, byteArray.length);
+        if (count == buffer.length) {
+            sendBuffer();
+        }
+        buffer[count++] = (byte) i;
     }
 
     @Override
     public void flush() throws IOException {
-        // do nothing.
+        checkNotClosed();
+
+        sendBuffer();
+        pendingSends.awaitAll();
     }
 
     @Override
     public void close() throws IOException {
-        socket.sendBinary(new byte[]{}, true, BINARY_INFO);
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // the last frame carries the rest of the buffer
+        pendingSends.add(socket.sendBinary(buffer, 0, count, true, BINARY_INFO));
+        count = 0;
+        pendingSends.awaitAll();
+    }
+
+    private void sendBuffer() throws IOException {
+        if (count > 0) {
+            // the data is copied when the frame is created, the buffer can be reused right away.
+            pendingSends.add(socket.sendBinary(buffer, 0, count, false, BINARY_CONTINUATION_INFO));
+            count = 0;
+        }
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.SEND_STREAM_CLOSED());
+        }
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+import org.glassfish.tyrus.spi.BufferPool;
+
+/**
+ * Keeps the incomplete frame left at the end of incoming data until the rest of it arrives.
+ * <p>
+ * Incoming data are unframed directly from the buffer passed by the transport as long as it contains whole frames. Only
+ * the remaining bytes of an incomplete frame are copied to a pooled buffer, which is returned to the pool once all its
+ * data have been unframed, so an idle connection does not hold any buffer.
+ * <p>
+ * Usage:
+ * <pre>
+ * data = partialFrameBuffer.prepend(data);
+ * Frame frame;
+ * while ((frame = protocolHandler.unframe(data)) != null) {
+ *     // process frame
+ * }
+ * partialFrameBuffer.retain(data);
+ * </pre>
+ * Not thread safe, the transport is expected to pass incoming data of a connection from one thread at a time.
+ */
+@Beta
+public final class PartialFrameBuffer {
+
+    private final int incomingBufferSize;
+    private final BufferPool pool;
+
+    private volatile ByteBuffer tail = null;
+
+    /**
+     * Create new buffer drawing from the shared pool of heap buffers.
+     *
+     * @param incomingBufferSize maximal number of bytes of incoming data which can be kept.
+     * @see DefaultBufferPool#getShared(boolean)
+     */
+    public PartialFrameBuffer(int incomingBufferSize) {
+        this(incomingBufferSize, DefaultBufferPool.getShared(false));
+    }
+
+    /**
+     * Create new buffer.
+     *
+     * @param incomingBufferSize maximal number of bytes of incoming data which can be kept.
+     * @param pool               pool the buffers for incomplete frames are acquired from.
+     */
+    public PartialFrameBuffer(int incomingBufferSize, BufferPool pool) {
+        this.incomingBufferSize = incomingBufferSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Prepend the incomplete frame kept from previous data to the incoming data.
+     * <p>
+     * Remaining bytes of {@code data} are consumed when they are appended to the kept incomplete frame.
+     *
+     * @param data incoming data.
+     * @return buffer to be unframed, {@code data} itself when no incomplete frame is kept.
+     * @throws IllegalArgumentException when the data to be unframed would exceed the incoming buffer size.
+     */
+    public ByteBuffer prepend(ByteBuffer data) {
+        if (tail == null) {
+            if (data.remaining() > incomingBufferSize) {
+                throw new IllegalArgumentException(LocalizationMessages.BUFFER_OVERFLOW());
+            }
+            return data;
+        }
+
+        final int length = data.remaining();
+        final int required = tail.remaining() + length;
+        if (required > incomingBufferSize) {
+            throw new IllegalArgumentException(LocalizationMessages.BUFFER_OVERFLOW());
+        }
+
+        if (tail.capacity() - tail.limit() < length) {
+            if (tail.capacity() >= required) {
+                // move remaining data to the beginning
+                tail.compact();
+                tail.flip();
+            } else {
+                final ByteBuffer grown = pool.acquire(required);
+                grown.put(tail);
+                grown.flip();
+                pool.release(tail);
+                tail = grown;
+            }
+        }
+
+        final int position = tail.position();
+        final int limit = tail.limit();
+        tail.limit(limit + length);
+        tail.position(limit);
+        tail.put(data);
+        tail.position(position);
+
+        return tail;
+    }
+
+    /**
+     * Keep the remaining bytes of an unframed buffer - an incomplete frame - until more data arrive.
+     *
+     * @param buffer buffer returned from {@link #prepend(ByteBuffer)} after all complete frames have been unframed.
+     */
+    public void retain(ByteBuffer buffer) {
+        if (buffer == tail) {
+            if (!tail.hasRemaining()) {
+                pool.release(tail);
+                tail = null;
+            }
+            return;
+        }
+
+        if (buffer.hasRemaining()) {
+            tail = pool.acquire(buffer.remaining());
+            tail.put(buffer);
+            tail.flip();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Frames sent by {@link OutputStreamToAsyncBinaryAdapter} or {@link WriterToAsyncTextAdapter} which have not been
+ * confirmed yet.
+ * <p>
+ * Frames are sent without waiting for the previous ones to be written, at most {@link #MAX_PENDING_SENDS} frames can
+ * be in flight. Failures are reported by the next write, flush or close.
+ * <p>
+ * Not thread safe, the streams are not meant to be used by more threads at once.
+ */
+class PendingSends {
+
+    private static final int MAX_PENDING_SENDS = 4;
+
+    private final Deque<Future<?>> futures = new ArrayDeque<Future<?>>();
+
+    /**
+     * Add a sent frame, wait for the oldest frame when there are too many frames in flight.
+     *
+     * @param future future of the sent frame.
+     * @throws IOException when a frame could not be sent.
+     */
+    void add(Future<?> future) throws IOException {
+        futures.addLast(future);
+
+        while (!futures.isEmpty() && (futures.size() > MAX_PENDING_SENDS || futures.peekFirst().isDone())) {
+            await(futures.removeFirst());
+        }
+    }
+
+    /**
+     * Wait for all sent frames.
+     *
+     * @throws IOException when a frame could not be sent.
+     */
+    void awaitAll() throws IOException {
+        while (!futures.isEmpty()) {
+            await(futures.removeFirst());
+        }
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else {
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2025 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,8 +19,13 @@ package org.glassfish.tyrus.core;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +42,7 @@ import javax.websocket.SendResult;
 import javax.websocket.server.HandshakeRequest;
 
 import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.StatelessOutgoingExtension;
 import org.glassfish.tyrus.core.frame.BinaryFrame;
 import org.glassfish.tyrus.core.frame.CloseFrame;
 import org.glassfish.tyrus.core.frame.Frame;
@@ -44,6 +50,7 @@ import org.glassfish.tyrus.core.frame.TextFrame;
 import org.glassfish.tyrus.core.frame.TyrusFrame;
 import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 import org.glassfish.tyrus.core.monitoring.MessageEventListener;
+import org.glassfish.tyrus.core.monitoring.MessageLatencyListener;
 import org.glassfish.tyrus.spi.CompletionHandler;
 import org.glassfish.tyrus.spi.UpgradeRequest;
 import org.glassfish.tyrus.spi.UpgradeResponse;
@@ -64,6 +71,7 @@ public final class ProtocolHandler {
 
     private static final Logger LOGGER = Logger.getLogger(ProtocolHandler.class.getName());
     private static final int SEND_TIMEOUT = 3000; // millis.
+    private static final int DEFAULT_SEND_STREAM_FRAME_SIZE = 8192;
 
     private final boolean client;
     private final MaskingKeyGenerator maskingKeyGenerator;
@@ -78,15 +86,56 @@ public final class ProtocolHandler {
     private volatile List<Extension> extensions;
     private volatile ExtendedExtension.ExtensionContext extensionContext;
     private volatile ByteBuffer remainder = null;
+    private final StrictUtf8.Decoding decoding = new StrictUtf8.Decoding();
     private volatile boolean hasExtensions = false;
     private volatile MessageEventListener messageEventListener = MessageEventListener.NO_OP;
+    // messageEventListener if it wants to know send latencies, null otherwise
+    private volatile MessageLatencyListener messageLatencyListener = null;
     private volatile SendingFragmentState sendingFragment = SendingFragmentState.IDLE;
+    private volatile OutboundQueue outboundQueue = new OutboundQueue(0, null, null);
+    private volatile int sendStreamFrameSize = DEFAULT_SEND_STREAM_FRAME_SIZE;
 
     private static final WriterInfo CLOSE = new WriterInfo(WriterInfo.MessageType.CLOSE, WriterInfo.RemoteEndpointType.SUPER);
     private static final WriterInfo NULL_INFO = new WriterInfo(null, null);
+    private static final WriterInfo BROADCAST =
+            new WriterInfo(WriterInfo.MessageType.BINARY, WriterInfo.RemoteEndpointType.BROADCAST);
 
     /**
-     * Synchronizes all public send* (including stream variants) methods.
+     * Frames waiting to be handed over to the {@link Writer}, in the order in which they were sent.
+     */
+    private final Queue<PendingFrame> sendQueue = new ConcurrentLinkedQueue<PendingFrame>();
+
+    /**
+     * Number of {@link #drainSendQueue()} invocations not yet taken into account by the draining thread.
+     */
+    private final AtomicInteger sendQueueWip = new AtomicInteger();
+
+    /**
+     * Whole messages waiting for the last fragment of a partial message, accessed only by the draining thread.
+     * <p>
+     * A whole message fails when it has waited longer than {@value #SEND_TIMEOUT} ms or when the close frame is sent.
+     * The queue is drained again by {@link #deferredExpiry} when the oldest deferred message expires.
+     */
+    private final ArrayDeque<PendingFrame> deferredFrames = new ArrayDeque<PendingFrame>();
+
+    /**
+     * Timer of the session, {@code null} when the handler is not used by a container. Without it the deferred whole
+     * messages are expired only when the send queue is drained.
+     */
+    private volatile HashedWheelTimer timer;
+
+    // armed while there are deferred frames, accessed only by the draining thread.
+    private HashedWheelTimer.Timeout deferredExpiry;
+
+    private final HashedWheelTimer.TimerTask deferredExpiryTask = new HashedWheelTimer.TimerTask() {
+        @Override
+        public void run(HashedWheelTimer.Timeout timeout) {
+            drainSendQueue();
+        }
+    };
+
+    /**
+     * Synchronizes stream (partial) send methods and whole message sends issued while a partial message is in progress.
      * <p>
      * The reason for this lock is that we need to have consistent value in {#sendingFragment} field to be able to
      * determine the sending state of this particular instance/session.
@@ -163,6 +212,66 @@ public final class ProtocolHandler {
         this.writer = writer;
     }
 
+    /**
+     * Set the timer used to fail whole messages deferred by a partial message which is not finished in time.
+     *
+     * @param timer timer of the session.
+     */
+    void setTimer(HashedWheelTimer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Limit the number of bytes queued for sending by this handler.
+     * <p>
+     * Has to be set before the first frame is sent.
+     *
+     * @param limit  maximal number of bytes written, but not yet confirmed by the {@link Writer}. Zero or negative
+     *               value means no limit.
+     * @param policy policy applied when the limit would be exceeded. If {@code null},
+     *               {@link SlowConsumerPolicy#DROP_NEWEST} is used.
+     * @see TyrusWebSocketEngine#OUTBOUND_QUEUE_LIMIT
+     */
+    public void setOutboundQueueLimit(int limit, SlowConsumerPolicy policy) {
+        this.outboundQueue = new OutboundQueue(limit, policy, new Runnable() {
+            @Override
+            public void run() {
+                close(CloseReason.CloseCodes.VIOLATED_POLICY.getCode(),
+                      LocalizationMessages.OUTBOUND_QUEUE_LIMIT_EXCEEDED());
+            }
+        });
+    }
+
+    /**
+     * Set the size of frames sent by {@link javax.websocket.RemoteEndpoint.Basic#getSendStream()} and
+     * {@link javax.websocket.RemoteEndpoint.Basic#getSendWriter()}.
+     *
+     * @param frameSize number of bytes (characters for the writer) coalesced into one frame. Zero or negative value
+     *                  means the default size of 8192.
+     * @see TyrusWebSocketEngine#SEND_STREAM_FRAME_SIZE
+     */
+    public void setSendStreamFrameSize(int frameSize) {
+        this.sendStreamFrameSize = frameSize > 0 ? frameSize : DEFAULT_SEND_STREAM_FRAME_SIZE;
+    }
+
+    /**
+     * Get the size of frames sent by send streams and writers.
+     *
+     * @return number of bytes (characters for the writer) coalesced into one frame.
+     */
+    /* package */ int getSendStreamFrameSize() {
+        return sendStreamFrameSize;
+    }
+
+    /**
+     * Get number of bytes handed to this handler for sending and not yet written by the transport.
+     *
+     * @return number of queued bytes, always {@code 0} when the outbound queue is not limited.
+     */
+    /* package */ long getQueuedBytes() {
+        return outboundQueue.getQueuedBytes();
+    }
+
     /**
      * Returns true when current connection has some negotiated extension.
      *
@@ -207,6 +316,46 @@ public final class ProtocolHandler {
         this.hasExtensions = extensions != null && extensions.size() > 0;
     }
 
+    /**
+     * Get a key describing how outgoing data frames are serialized by this handler.
+     * <p>
+     * Handlers returning equal keys serialize equal data frames to equal bytes, so a serialized frame can be shared
+     * among them (see broadcast). Only server side handlers without extensions or with extensions which all implement
+     * {@link StatelessOutgoingExtension} can share frames; client side frames are masked with per-frame masking key.
+     *
+     * @return outgoing frame key or {@code null} when frames serialized by this handler cannot be shared.
+     */
+    /* package */ Object getOutgoingFrameKey() {
+        if (client) {
+            return null;
+        }
+
+        final List<Extension> localExtensions = extensions;
+        if (localExtensions == null || localExtensions.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Object> key = new ArrayList<Object>(localExtensions.size() * 2);
+        for (Extension extension : localExtensions) {
+            if (extension instanceof ExtendedExtension) {
+                if (!(extension instanceof StatelessOutgoingExtension)) {
+                    return null;
+                }
+
+                final Object extensionKey =
+                        ((StatelessOutgoingExtension) extension).getOutgoingFrameKey(extensionContext);
+                if (extensionKey == null) {
+                    return null;
+                }
+
+                key.add(extension.getName());
+                key.add(extensionKey);
+            }
+        }
+
+        return key;
+    }
+
     /* package */ String getSubProtocol() {
         return subProtocol;
     }
@@ -236,6 +385,8 @@ public final class ProtocolHandler {
      */
     public void setMessageEventListener(MessageEventListener messageEventListener) {
         this.messageEventListener = messageEventListener;
+        this.messageLatencyListener = messageEventListener instanceof MessageLatencyListener
+                ? (MessageLatencyListener) messageEventListener : null;
     }
 
     /**
@@ -243,17 +394,7 @@ public final class ProtocolHandler {
      */
     /* package */
     final Future<Frame> send(TyrusFrame frame, WriterInfo writerInfo) {
-        return send(frame, null, writerInfo, true);
-    }
-
-    private
-    Future<Frame> send(TyrusFrame frame, CompletionHandler<Frame> completionHandler, WriterInfo writerInfo, Boolean useTimeout) {
-        return write(frame, completionHandler, writerInfo, useTimeout);
-    }
-
-    private
-    Future<Frame> send(ByteBuffer frame, CompletionHandler<Frame> completionHandler, WriterInfo writerInfo, Boolean useTimeout) {
-        return write(frame, completionHandler, writerInfo, useTimeout);
+        return enqueue(pendingFrame(frame, null, writerInfo));
     }
 
     @Deprecated
@@ -262,14 +403,7 @@ public final class ProtocolHandler {
     }
 
     public Future<Frame> send(byte[] data, WriterInfo writerInfo) {
-        lock.lock();
-        try {
-            checkSendingFragment();
-
-            return send(new BinaryFrame(data, false, true), null, writerInfo, true);
-        } finally {
-            lock.unlock();
-        }
+        return sendWhole(pendingFrame(new BinaryFrame(data, false, true), null, writerInfo));
     }
 
     @Deprecated
@@ -278,25 +412,17 @@ public final class ProtocolHandler {
     }
 
     public void send(final byte[] data, final SendHandler handler, WriterInfo writerInfo) {
-        lock.lock();
-
-        try {
-            checkSendingFragment();
-
-            send(new BinaryFrame(data, false, true), new CompletionHandler<Frame>() {
-                @Override
-                public void failed(Throwable throwable) {
-                    handler.onResult(new SendResult(throwable));
-                }
+        sendWhole(pendingFrame(new BinaryFrame(data, false, true), new CompletionHandler<Frame>() {
+            @Override
+            public void failed(Throwable throwable) {
+                handler.onResult(new SendResult(throwable));
+            }
 
-                @Override
-                public void completed(Frame result) {
-                    handler.onResult(new SendResult());
-                }
-            }, writerInfo, true);
-        } finally {
-            lock.unlock();
-        }
+            @Override
+            public void completed(Frame result) {
+                handler.onResult(new SendResult());
+            }
+        }, writerInfo));
     }
 
     @Deprecated
@@ -305,14 +431,7 @@ public final class ProtocolHandler {
     }
 
     public Future<Frame> send(String data, WriterInfo writerInfo) {
-        lock.lock();
-
-        try {
-            checkSendingFragment();
-            return send(new TextFrame(data, false, true), writerInfo);
-        } finally {
-            lock.unlock();
-        }
+        return sendWhole(pendingFrame(new TextFrame(data, false, true), null, writerInfo));
     }
 
     @Deprecated
@@ -321,25 +440,17 @@ public final class ProtocolHandler {
     }
 
     public void send(final String data, final SendHandler handler, WriterInfo writerInfo) {
-        lock.lock();
-
-        try {
-            checkSendingFragment();
-
-            send(new TextFrame(data, false, true), new CompletionHandler<Frame>() {
-                @Override
-                public void failed(Throwable throwable) {
-                    handler.onResult(new SendResult(throwable));
-                }
+        sendWhole(pendingFrame(new TextFrame(data, false, true), new CompletionHandler<Frame>() {
+            @Override
+            public void failed(Throwable throwable) {
+                handler.onResult(new SendResult(throwable));
+            }
 
-                @Override
-                public void completed(Frame result) {
-                    handler.onResult(new SendResult());
-                }
-            }, writerInfo, true);
-        } finally {
-            lock.unlock();
-        }
+            @Override
+            public void completed(Frame result) {
+                handler.onResult(new SendResult());
+            }
+        }, writerInfo));
     }
 
     /**
@@ -349,15 +460,19 @@ public final class ProtocolHandler {
      * @return send future.
      */
     public Future<Frame> sendRawFrame(ByteBuffer data) {
-        lock.lock();
-
-        try {
-            checkSendingFragment();
+        return sendWhole(new PendingFrame(getWriter(), null, new ByteBuffer[]{data}, null, null, BROADCAST));
+    }
 
-            return send(data, null, new WriterInfo(WriterInfo.MessageType.BINARY, WriterInfo.RemoteEndpointType.BROADCAST), true);
-        } finally {
-            lock.unlock();
-        }
+    /**
+     * Send a whole message serialized by the thread which hands the frames of this handler over to the {@link Writer},
+     * in order with the other frames, so the negotiated extensions never process it concurrently with a partial
+     * message.
+     *
+     * @param sharedFrame frame to be serialized.
+     * @return send future.
+     */
+    /* package */ Future<Frame> sendSharedFrame(SharedFrame sharedFrame) {
+        return sendWhole(new PendingFrame(getWriter(), null, null, sharedFrame, null, BROADCAST));
     }
 
     /**
@@ -396,33 +511,43 @@ public final class ProtocolHandler {
     }
 
     public Future<Frame> stream(boolean last, byte[] bytes, int off, int len, WriterInfo writerInfo) {
+        final byte[] fragment = Arrays.copyOfRange(bytes, off, off + len);
+        final PendingFrame pendingFrame;
+
         lock.lock();
 
         try {
             switch (sendingFragment) {
                 case SENDING_BINARY:
-                    Future<Frame> frameFuture = send(
-                            new BinaryFrame(Arrays.copyOfRange(bytes, off, off + len), true, last), writerInfo);
+                    pendingFrame = pendingFrame(new BinaryFrame(fragment, true, last), null, writerInfo);
+                    sendQueue.offer(pendingFrame);
                     if (last) {
                         sendingFragment = SendingFragmentState.IDLE;
                         idleCondition.signalAll();
                     }
-                    return frameFuture;
+                    break;
 
                 case SENDING_TEXT:
                     checkSendingFragment();
                     sendingFragment = (last ? SendingFragmentState.IDLE : SendingFragmentState.SENDING_BINARY);
-                    return send(new BinaryFrame(Arrays.copyOfRange(bytes, off, off + len), false, last), writerInfo);
+                    pendingFrame = pendingFrame(new BinaryFrame(fragment, false, last), null, writerInfo);
+                    sendQueue.offer(pendingFrame);
+                    break;
 
                 default:
                     // IDLE
                     sendingFragment = (last ? SendingFragmentState.IDLE : SendingFragmentState.SENDING_BINARY);
-                    return send(new BinaryFrame(Arrays.copyOfRange(bytes, off, off + len), false, last), writerInfo);
+                    pendingFrame = pendingFrame(new BinaryFrame(fragment, false, last), null, writerInfo);
+                    sendQueue.offer(pendingFrame);
+                    break;
             }
 
         } finally {
             lock.unlock();
         }
+
+        drainSendQueue();
+        return pendingFrame.future;
     }
 
     @Deprecated
@@ -431,32 +556,42 @@ public final class ProtocolHandler {
     }
 
     public Future<Frame> stream(boolean last, String fragment, WriterInfo writerInfo) {
+        final PendingFrame pendingFrame;
+
         lock.lock();
 
         try {
             switch (sendingFragment) {
                 case SENDING_TEXT:
-                    Future<Frame> frameFuture = send(new TextFrame(fragment, true, last), writerInfo);
+                    pendingFrame = pendingFrame(new TextFrame(fragment, true, last), null, writerInfo);
+                    sendQueue.offer(pendingFrame);
                     if (last) {
                         sendingFragment = SendingFragmentState.IDLE;
                         idleCondition.signalAll();
                     }
-                    return frameFuture;
+                    break;
 
                 case SENDING_BINARY:
                     checkSendingFragment();
                     sendingFragment = (last ? SendingFragmentState.IDLE : SendingFragmentState.SENDING_TEXT);
-                    return send(new TextFrame(fragment, false, last), writerInfo);
+                    pendingFrame = pendingFrame(new TextFrame(fragment, false, last), null, writerInfo);
+                    sendQueue.offer(pendingFrame);
+                    break;
 
                 default:
                     // IDLE
                     sendingFragment = (last ? SendingFragmentState.IDLE : SendingFragmentState.SENDING_TEXT);
-                    return send(new TextFrame(fragment, false, last), writerInfo);
+                    pendingFrame = pendingFrame(new TextFrame(fragment, false, last), null, writerInfo);
+                    sendQueue.offer(pendingFrame);
+                    break;
             }
 
         } finally {
             lock.unlock();
         }
+
+        drainSendQueue();
+        return pendingFrame.future;
     }
 
     public Future<Frame> close(final int code, final String reason) {
@@ -477,15 +612,12 @@ public final class ProtocolHandler {
         }
 
         Future<Frame> send;
-        lock.lock();
         try {
-            send = send(outgoingCloseFrame, null, CLOSE, false);
+            send = enqueue(pendingFrame(outgoingCloseFrame, null, CLOSE));
         } catch (Exception e) {
             send = new TyrusFuture<>();
             ((TyrusFuture) send).setFailure(e);
             LOGGER.warning(LocalizationMessages.EXCEPTION_CLOSE(e.getMessage()));
-        } finally {
-            lock.unlock();
         }
 
         webSocket.onClose(new CloseFrame(closeReason));
@@ -493,74 +625,182 @@ public final class ProtocolHandler {
         return send;
     }
 
-    private Future<Frame> write(final TyrusFrame frame, final CompletionHandler<Frame> completionHandler,
-                                WriterInfo data, boolean useTimeout) {
+    private Writer getWriter() {
         final Writer localWriter = writer;
-        final TyrusFuture<Frame> future = new TyrusFuture<Frame>();
 
         if (localWriter == null) {
             throw new IllegalStateException(LocalizationMessages.CONNECTION_NULL());
         }
 
-        final ByteBuffer byteBuffer = frame(frame);
-        localWriter.write(byteBuffer, new CompletionHandlerWrapper(completionHandler, future, frame), data);
-        messageEventListener.onFrameSent(frame.getFrameType(), frame.getPayloadLength());
+        return localWriter;
+    }
 
-        return future;
+    /**
+     * Create a frame to be enqueued.
+     * <p>
+     * Whole messages and control frames are serialized right away by the calling thread when there is no negotiated
+     * extension, since their serialized form does not depend on any state of this handler. Other frames are
+     * serialized when handed to the {@link Writer}, see {@link #drainSendQueue()}.
+     */
+    private PendingFrame pendingFrame(TyrusFrame frame, CompletionHandler<Frame> completionHandler,
+                                      WriterInfo writerInfo) {
+        final Writer localWriter = getWriter();
+        final ByteBuffer[] buffers = frame.isFin() && frame.getOpcode() != 0x00 && !hasExtensions
+                ? wholeFrameBuffers(frame) : null;
+        return new PendingFrame(localWriter, frame, buffers, null, completionHandler, writerInfo);
     }
 
-    private Future<Frame> write(final ByteBuffer frame, final CompletionHandler<Frame> completionHandler,
-                                WriterInfo data, boolean useTimeout) {
-        final Writer localWriter = writer;
-        final TyrusFuture<Frame> future = new TyrusFuture<Frame>();
+    /**
+     * Enqueue whole data message.
+     * <p>
+     * The lock is taken only when a partial message is being sent, in which case the caller waits for its last
+     * fragment. A partial message started concurrently, after the check, is handled by {@link #drainSendQueue()}.
+     */
+    private Future<Frame> sendWhole(PendingFrame pendingFrame) {
+        if (sendingFragment != SendingFragmentState.IDLE) {
+            lock.lock();
+            try {
+                checkSendingFragment();
+                sendQueue.offer(pendingFrame);
+            } finally {
+                lock.unlock();
+            }
 
-        if (localWriter == null) {
-            throw new IllegalStateException(LocalizationMessages.CONNECTION_NULL());
+            drainSendQueue();
+            return pendingFrame.future;
         }
 
-        localWriter.write(frame, new CompletionHandlerWrapper(completionHandler, future, null), data);
+        return enqueue(pendingFrame);
+    }
 
-        return future;
+    private Future<Frame> enqueue(PendingFrame pendingFrame) {
+        sendQueue.offer(pendingFrame);
+        drainSendQueue();
+        return pendingFrame.future;
     }
 
     /**
-     * Convert a byte[] to a long. Used for rebuilding payload length.
-     *
-     * @param bytes byte array to be converted.
-     * @return converted byte array.
+     * Hand enqueued frames over to the {@link Writer}, in order.
+     * <p>
+     * Only one thread drains the queue at a time; other threads just enqueue their frames and leave, the frames are
+     * handed over by the thread which is already draining. Frames depending on the state of this handler (fragments,
+     * frames processed by extensions) are serialized here. Whole data messages enqueued while a partial message is
+     * in progress are deferred until its last fragment is handed over.
      */
-    private long decodeLength(byte[] bytes) {
-        return Utils.toLong(bytes, 0, bytes.length);
+    private void drainSendQueue() {
+        if (sendQueueWip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            PendingFrame pendingFrame;
+            while ((pendingFrame = sendQueue.poll()) != null) {
+                if (pendingFrame.wholeMessage && outFragmentedType != 0) {
+                    pendingFrame.deferredUntil = System.currentTimeMillis() + SEND_TIMEOUT;
+                    deferredFrames.add(pendingFrame);
+                    continue;
+                }
+
+                handOver(pendingFrame);
+
+                if (pendingFrame.writerInfo == CLOSE) {
+                    failDeferredFrames(new IOException(LocalizationMessages.CONNECTION_HAS_BEEN_CLOSED()));
+                }
+
+                while (outFragmentedType == 0 && !deferredFrames.isEmpty()) {
+                    handOver(deferredFrames.poll());
+                }
+            }
+
+            expireDeferredFrames();
+            scheduleDeferredExpiry();
+
+            missed = sendQueueWip.addAndGet(-missed);
+        } while (missed != 0);
     }
 
     /**
-     * Converts the length given to the appropriate framing data: <ol> <li>0-125 one element that is the payload
-     * length.
-     * <li>up to 0xFFFF, 3 element array starting with 126 with the following 2 bytes interpreted as a 16 bit unsigned
-     * integer showing the payload length. <li>else 9 element array starting with 127 with the following 8 bytes
-     * interpreted as a 64-bit unsigned integer (the high bit must be 0) showing the payload length. </ol>
-     *
-     * @param length the payload size
-     * @return the array
-     */
-    private byte[] encodeLength(final long length) {
-        byte[] lengthBytes;
-        if (length <= 125) {
-            lengthBytes = new byte[1];
-            lengthBytes[0] = (byte) length;
-        } else {
-            byte[] b = Utils.toArray(length);
-            if (length <= 0xFFFF) {
-                lengthBytes = new byte[3];
-                lengthBytes[0] = 126;
-                System.arraycopy(b, 6, lengthBytes, 1, 2);
+     * Fail deferred whole messages which have waited for the partial message longer than {@value #SEND_TIMEOUT} ms,
+     * same as a whole message sent while a partial message is in progress would fail when the send methods were
+     * blocking.
+     */
+    private void expireDeferredFrames() {
+        if (deferredFrames.isEmpty()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        PendingFrame pendingFrame;
+        while ((pendingFrame = deferredFrames.peek()) != null && pendingFrame.deferredUntil <= now) {
+            deferredFrames.poll();
+            pendingFrame.completionHandler.failed(
+                    new IllegalStateException(LocalizationMessages.SEND_MESSAGE_INFRAGMENT()));
+        }
+    }
+
+    /**
+     * Make sure the queue is drained when the oldest deferred whole message expires, even if nothing else is sent.
+     */
+    private void scheduleDeferredExpiry() {
+        if (deferredFrames.isEmpty()) {
+            if (deferredExpiry != null) {
+                deferredExpiry.cancel();
+                deferredExpiry = null;
+            }
+            return;
+        }
+
+        final HashedWheelTimer localTimer = timer;
+        // deadlines of deferred frames only grow, an armed timeout expires before the oldest frame does.
+        if (localTimer == null || (deferredExpiry != null && !deferredExpiry.isExpired())) {
+            return;
+        }
+        deferredExpiry = localTimer.newTimeout(deferredExpiryTask,
+                                               deferredFrames.peek().deferredUntil - System.currentTimeMillis(),
+                                               TimeUnit.MILLISECONDS);
+    }
+
+    private void failDeferredFrames(Throwable throwable) {
+        PendingFrame pendingFrame;
+        while ((pendingFrame = deferredFrames.poll()) != null) {
+            pendingFrame.completionHandler.failed(throwable);
+        }
+    }
+
+    private void handOver(PendingFrame pendingFrame) {
+        final TyrusFrame frame = pendingFrame.frame;
+
+        try {
+            final ByteBuffer[] buffers;
+            if (pendingFrame.buffers != null) {
+                buffers = pendingFrame.buffers;
+            } else if (pendingFrame.sharedFrame != null) {
+                buffers = new ByteBuffer[]{pendingFrame.sharedFrame.serialize(this)};
             } else {
-                lengthBytes = new byte[9];
-                lengthBytes[0] = 127;
-                System.arraycopy(b, 0, lengthBytes, 1, 8);
+                buffers = frameBuffers(frame);
             }
+            // only whole data messages can be dropped by the outbound queue
+            outboundQueue.write(pendingFrame.writer, buffers, pendingFrame.completionHandler, pendingFrame.writerInfo,
+                                pendingFrame.wholeMessage);
+        } catch (RuntimeException e) {
+            pendingFrame.completionHandler.failed(e);
+            return;
+        }
+
+        if (frame != null) {
+            messageEventListener.onFrameSent(frame.getFrameType(), frame.getPayloadLength());
         }
-        return lengthBytes;
+    }
+
+    /**
+     * Convert a byte[] to a long. Used for rebuilding payload length.
+     *
+     * @param bytes byte array to be converted.
+     * @return converted byte array.
+     */
+    private long decodeLength(byte[] bytes) {
+        return Utils.toLong(bytes, 0, bytes.length);
     }
 
     private void validate(final byte fragmentType, byte opcode) {
@@ -607,10 +847,91 @@ public final class ProtocolHandler {
         }
     }
 
+    /**
+     * Serialize whole message or control frame.
+     *
+     * @param frame whole message or control frame.
+     * @return serialized frame.
+     */
     /* package */ ByteBuffer frame(Frame frame) {
+        final ByteBuffer[] buffers = wholeFrameBuffers(frame);
+        if (buffers.length == 1) {
+            return buffers[0];
+        }
+
+        final ByteBuffer header = buffers[0];
+        final ByteBuffer payload = buffers[1];
+        final byte[] packet = new byte[header.remaining() + payload.remaining()];
+        header.get(packet, 0, header.remaining());
+        payload.duplicate().get(packet, packet.length - payload.remaining(), payload.remaining());
+        return ByteBuffer.wrap(packet);
+    }
+
+    /**
+     * Serialize whole data message the way a server side handler without extensions does.
+     * <p>
+     * Such a frame can be written as it is to every server side connection which would not change it, see
+     * {@link #getOutgoingFrameKey()}.
+     *
+     * @param opcode  opcode of the message, {@code 0x01} for text or {@code 0x02} for binary.
+     * @param payload message payload, its position is not changed.
+     * @return serialized frame, payload starts at
+     * {@link org.glassfish.tyrus.core.cluster.ClusterContext#getFramePayloadOffset(byte[])}.
+     */
+    /* package */
+    static byte[] serializeUnmasked(byte opcode, ByteBuffer payload) {
+        final int payloadLength = payload.remaining();
+        final int payloadStart = 1 + encodedLengthSize(payloadLength);
+        final byte[] packet = new byte[payloadStart + payloadLength];
+        writeHeader(packet, (byte) (opcode | 0x80), payloadLength);
+        payload.duplicate().get(packet, payloadStart, payloadLength);
+        return packet;
+    }
+
+    /**
+     * Serialize frame for a gathering write.
+     * <p>
+     * Server side frames are returned as two buffers - the frame header and the frame payload. Payload buffer is a view
+     * of the frame payload, no copy is made. Client side frames have to be masked, which requires a copy of the payload
+     * anyway, so header and masked payload are returned in one buffer.
+     * <p>
+     * Updates the outgoing fragmentation state, so the frames have to be serialized in the order they are sent.
+     *
+     * @param frame frame to be serialized.
+     * @return buffers to be written, in given order.
+     */
+    /* package */ ByteBuffer[] frameBuffers(Frame frame) {
+        frame = processOutgoing(frame);
+        return serialize(frame, checkForLastFrame(frame));
+    }
+
+    /**
+     * Serialize whole message or control frame for a gathering write.
+     * <p>
+     * Does not touch the outgoing fragmentation state, so it can be invoked concurrently with sending of a partial
+     * message.
+     *
+     * @param frame whole message or control frame.
+     * @return buffers to be written, in given order.
+     * @see #frameBuffers(Frame)
+     */
+    private ByteBuffer[] wholeFrameBuffers(Frame frame) {
+        frame = processOutgoing(frame);
+        return serialize(frame, (byte) (frame.getOpcode() | 0x80));
+    }
+
+    private Frame processOutgoing(Frame frame) {
 
         if (client) {
-            frame = Frame.builder(frame).maskingKey(maskingKeyGenerator.nextInt()).mask(true).build();
+            // frames can be serialized concurrently, the masking key generator is not required to be thread safe.
+            final int maskingKey;
+            lock.lock();
+            try {
+                maskingKey = maskingKeyGenerator.nextInt();
+            } finally {
+                lock.unlock();
+            }
+            frame = Frame.builder(frame).maskingKey(maskingKey).mask(true).build();
         }
 
         if (extensions != null && extensions.size() > 0) {
@@ -627,7 +948,10 @@ public final class ProtocolHandler {
             }
         }
 
-        byte opcode = checkForLastFrame(frame);
+        return frame;
+    }
+
+    private ByteBuffer[] serialize(Frame frame, byte opcode) {
         if (frame.isRsv1()) {
             opcode |= 0x40;
         }
@@ -638,18 +962,13 @@ public final class ProtocolHandler {
             opcode |= 0x10;
         }
 
-        final byte[] bytes = frame.getPayloadData();
-        final byte[] lengthBytes = encodeLength(frame.getPayloadLength());
-
         // TODO - length limited to int, it should be long (see RFC 9788, chapter 5.2)
         // TODO - in that case, we will need to NOT store dataframe inmemory - introduce maskingByteStream or
         // TODO   maskingByteBuffer
-        final int payloadLength = (int) frame.getPayloadLength();
-        int length = 1 + lengthBytes.length + payloadLength + (client ? MASK_SIZE : 0);
-        int payloadStart = 1 + lengthBytes.length + (client ? MASK_SIZE : 0);
-        final byte[] packet = new byte[length];
-        packet[0] = opcode;
-        System.arraycopy(lengthBytes, 0, packet, 1, lengthBytes.length);
+        final ByteBuffer payload = frame.getPayloadBuffer();
+        final int payloadLength = payload.remaining();
+        final int payloadStart = 1 + encodedLengthSize(payloadLength) + (client ? MASK_SIZE : 0);
+
         // if client, then we need to mask data.
         if (client) {
             Integer maskingKey = frame.getMaskingKey();
@@ -659,13 +978,61 @@ public final class ProtocolHandler {
                 throw new ProtocolException("Masking key cannot be null when sending message from client to server.");
             }
             Masker masker = new Masker(maskingKey);
+            final byte[] packet = new byte[payloadStart + payloadLength];
+            writeHeader(packet, opcode, payloadLength);
             packet[1] |= 0x80;
-            masker.mask(packet, payloadStart, bytes, payloadLength);
             System.arraycopy(masker.getMask(), 0, packet, payloadStart - MASK_SIZE, MASK_SIZE);
+            masker.mask(packet, payloadStart, payload);
+            return new ByteBuffer[]{ByteBuffer.wrap(packet)};
         } else {
-            System.arraycopy(bytes, 0, packet, payloadStart, payloadLength);
+            final byte[] header = new byte[payloadStart];
+            writeHeader(header, opcode, payloadLength);
+            return new ByteBuffer[]{ByteBuffer.wrap(header), payload};
+        }
+    }
+
+    /**
+     * Write opcode and payload length to the beginning of {@code header}.
+     * <p>
+     * Payload length is encoded as: <ol> <li>0-125 one byte that is the payload length. <li>up to 0xFFFF, 3 bytes
+     * starting with 126 with the following 2 bytes interpreted as a 16 bit unsigned integer showing the payload length.
+     * <li>else 9 bytes starting with 127 with the following 8 bytes interpreted as a 64-bit unsigned integer (the high
+     * bit must be 0) showing the payload length. </ol>
+     *
+     * @param header        target array.
+     * @param opcode        first byte of the frame.
+     * @param payloadLength the payload size.
+     */
+    private static void writeHeader(byte[] header, byte opcode, long payloadLength) {
+        header[0] = opcode;
+        if (payloadLength <= 125) {
+            header[1] = (byte) payloadLength;
+        } else if (payloadLength <= 0xFFFF) {
+            header[1] = 126;
+            header[2] = (byte) (payloadLength >> 8);
+            header[3] = (byte) payloadLength;
+        } else {
+            header[1] = 127;
+            for (int i = 0; i < 8; i++) {
+                header[2 + i] = (byte) (payloadLength >> (8 * (7 - i)));
+            }
+        }
+    }
+
+    /**
+     * Number of bytes used for encoding the payload length, see {@link #writeHeader(byte[], byte, long)}.
+     *
+     * @param payloadLength the payload size.
+     * @return encoded length size.
+     */
+    private static int encodedLengthSize(long payloadLength) {
+        if (payloadLength <= 125) {
+            return 1;
+        } else if (payloadLength <= 0xFFFF) {
+            return 3;
+        } else {
+            return 9;
         }
-        return ByteBuffer.wrap(packet);
     }
 
     /**
@@ -806,7 +1173,7 @@ public final class ProtocolHandler {
             }
         }
 
-        TyrusFrame tyrusFrame = TyrusFrame.wrap(frame, inFragmentedType, remainder);
+        TyrusFrame tyrusFrame = TyrusFrame.wrap(frame, inFragmentedType, remainder, decoding);
 
         // TODO - utf8 decoder needs this state to be shared among decoded frames.
         // TODO - investigate whether it can be removed; (this effectively denies lazy decoding)
@@ -845,17 +1212,21 @@ public final class ProtocolHandler {
     /**
      * Handler passed to the {@link org.glassfish.tyrus.spi.Writer}.
      */
-    private static class CompletionHandlerWrapper extends CompletionHandler<ByteBuffer> {
+    private static class CompletionHandlerWrapper<T> extends CompletionHandler<T> {
 
         private final CompletionHandler<Frame> frameCompletionHandler;
         private final TyrusFuture<Frame> future;
         private final Frame frame;
+        private final MessageLatencyListener messageLatencyListener;
+        private final long enqueued;
 
         private CompletionHandlerWrapper(CompletionHandler<Frame> frameCompletionHandler, TyrusFuture<Frame> future,
-                                         Frame frame) {
+                                         Frame frame, MessageLatencyListener messageLatencyListener) {
             this.frameCompletionHandler = frameCompletionHandler;
             this.future = future;
             this.frame = frame;
+            this.messageLatencyListener = messageLatencyListener;
+            this.enqueued = messageLatencyListener == null ? 0 : System.nanoTime();
         }
 
         @Override
@@ -881,7 +1252,11 @@ public final class ProtocolHandler {
         }
 
         @Override
-        public void completed(ByteBuffer result) {
+        public void completed(T result) {
+            if (messageLatencyListener != null) {
+                messageLatencyListener.onFrameSendCompleted(System.nanoTime() - enqueued);
+            }
+
             if (frameCompletionHandler != null) {
                 frameCompletionHandler.completed(frame);
             }
@@ -892,13 +1267,71 @@ public final class ProtocolHandler {
         }
 
         @Override
-        public void updated(ByteBuffer result) {
+        public void updated(T result) {
             if (frameCompletionHandler != null) {
                 frameCompletionHandler.updated(frame);
             }
         }
     }
 
+    /**
+     * Frame enqueued for sending.
+     */
+    /**
+     * Whole message sent by several handlers, see {@link #sendSharedFrame(SharedFrame)}.
+     */
+    /* package */ interface SharedFrame {
+
+        /**
+         * Serialize the frame for a handler. Invoked by the thread handing the frames of the handler over to its
+         * {@link Writer}.
+         *
+         * @param protocolHandler handler the frame is sent by.
+         * @return serialized frame.
+         */
+        ByteBuffer serialize(ProtocolHandler protocolHandler);
+    }
+
+    private final class PendingFrame {
+
+        private final Writer writer;
+        private final TyrusFrame frame;
+        private final ByteBuffer[] buffers;
+        private final SharedFrame sharedFrame;
+        private final WriterInfo writerInfo;
+        private final TyrusFuture<Frame> future = new TyrusFuture<Frame>();
+        private final CompletionHandlerWrapper<ByteBuffer[]> completionHandler;
+        private final boolean wholeMessage;
+
+        // deadline of a deferred whole message, accessed only by the draining thread.
+        private long deferredUntil;
+
+        /**
+         * Constructor.
+         *
+         * @param writer            writer used for sending the frame.
+         * @param frame             frame to be sent, {@code null} when sending already serialized frame.
+         * @param buffers           serialized frame, {@code null} when the frame has to be serialized before it is
+         *                          handed over to the writer.
+         * @param sharedFrame       frame serialized before it is handed over to the writer, {@code null} when
+         *                          {@code frame} or {@code buffers} is set.
+         * @param completionHandler completion handler, can be {@code null}.
+         * @param writerInfo        additional information about the frame.
+         */
+        private PendingFrame(Writer writer, TyrusFrame frame, ByteBuffer[] buffers, SharedFrame sharedFrame,
+                             CompletionHandler<Frame> completionHandler, WriterInfo writerInfo) {
+            this.writer = writer;
+            this.frame = frame;
+            this.buffers = buffers;
+            this.sharedFrame = sharedFrame;
+            this.writerInfo = writerInfo;
+            this.completionHandler = new CompletionHandlerWrapper<ByteBuffer[]>(completionHandler, future, frame,
+                                                                             messageLatencyListener);
+            this.wholeMessage = frame == null
+                    || (frame.isFin() && frame.getOpcode() != 0x00 && !isControlFrame(frame.getOpcode()));
+        }
+    }
+
     private static class ParsingState {
         final AtomicInteger state = new AtomicInteger(0);
         volatile byte opcode = (byte) -1;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,6 +18,7 @@ package org.glassfish.tyrus.core;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
@@ -34,6 +35,10 @@ import org.glassfish.tyrus.core.l10n.LocalizationMessages;
  * <p>
  * For the first received message {@link MessageHandler.Whole#onMessage(Object)} is called within a new executor to
  * allow blocking reading of passed {@link Reader}.
+ * <p>
+ * Received characters are appended to a single buffer, read characters are not removed from the buffer one by one,
+ * only a read position is moved. The buffer is emptied when everything has been read and compacted when more than
+ * a half of it has already been read.
  *
  * @author Danny Coward (danny.coward at oracle.com)
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
@@ -51,7 +56,9 @@ class ReaderBuffer {
     private volatile boolean receivedLast = false;
     private volatile int bufferSize;
     private volatile int currentlyBuffered;
-    private volatile StringBuffer buffer;
+    private volatile StringBuilder buffer;
+    // guarded by lock.
+    private int position = 0;
     private volatile BufferedStringReader reader = null;
     private volatile MessageHandler.Whole<Reader> messageHandler;
     private volatile boolean sessionClosed = false;
@@ -60,60 +67,119 @@ class ReaderBuffer {
      * Constructor.
      */
     public ReaderBuffer(ExecutorService executorService) {
-        this.buffer = new StringBuffer();
+        this.buffer = new StringBuilder();
         this.executorService = executorService;
         currentlyBuffered = 0;
     }
 
     /**
-     * Get next received chars.
+     * Copy received chars to the given array.
+     * <p>
+     * Blocks until at least one char is received, then copies all buffered chars which fit into the destination.
      *
-     * @return next received chars.
+     * @param destination array the chars are copied to.
+     * @param offset      offset in the destination array.
+     * @param length      maximal number of chars to be copied.
+     * @return number of copied chars, {@code -1} when the whole message has been read.
      */
-    public char[] getNextChars(int number) throws IOException {
+    public int read(char[] destination, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > destination.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+
         lock.lock();
         try {
-            if (buffer.length() == 0) {
-                if (receivedLast) {
-                    this.reader = null;
-                    buffering.set(true);
-                    this.currentlyBuffered = 0;
-                    return null;
-                } else { // there's more to come...so wait here...
-                    // don't let the reader block on a closed session
-                    checkClosedSession();
-
-                    boolean interrupted;
-                    do {
-                        interrupted = false;
-                        try {
-                            condition.await();
-
-                            checkClosedSession();
-                        } catch (InterruptedException e) {
-                            interrupted = true;
-                        }
-                    } while (interrupted);
-                }
+            if (!awaitData()) {
+                return -1;
             }
 
-            int size = number > buffer.length() ? buffer.length() : number;
+            final int size = Math.min(length, buffer.length() - position);
+            buffer.getChars(position, position + size, destination, offset);
+            consumed(size);
 
-            char[] result = new char[size];
-            buffer.getChars(0, size, result, 0);
-            buffer.delete(0, size);
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            return result;
+    /**
+     * Skip received chars.
+     * <p>
+     * Blocks until at least one char is received, then skips at most the buffered chars.
+     *
+     * @param count number of chars to be skipped.
+     * @return number of skipped chars, {@code 0} when the whole message has been read.
+     */
+    public long skip(long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            if (!awaitData()) {
+                return 0;
+            }
+
+            final int size = (int) Math.min(count, buffer.length() - position);
+            consumed(size);
+
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check whether there are chars which can be read without blocking.
+     *
+     * @return {@code true} if there are buffered chars.
+     */
+    public boolean ready() {
+        lock.lock();
+        try {
+            return position < buffer.length();
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Write the rest of the message to the given writer.
+     * <p>
+     * The lock is not held while writing, so that the receiving thread is not blocked by a slow writer.
+     *
+     * @param writer writer the message is written to.
+     * @return number of written chars.
+     */
+    public long transferTo(Writer writer) throws IOException {
+        final char[] chunk = new char[8192];
+        long transferred = 0;
+
+        int read;
+        while ((read = read(chunk, 0, chunk.length)) != -1) {
+            writer.write(chunk, 0, read);
+            transferred += read;
+        }
+
+        return transferred;
+    }
+
     /**
      * Finish reading of the buffer.
      */
     public void finishReading() {
-        buffer = new StringBuffer();
+        lock.lock();
+        try {
+            buffer = new StringBuilder();
+            position = 0;
+        } finally {
+            lock.unlock();
+        }
         reader = null;
     }
 
@@ -175,8 +241,14 @@ class ReaderBuffer {
     public void resetBuffer(int bufferSize) {
         this.bufferSize = bufferSize;
         buffering.set(true);
-        currentlyBuffered = 0;
-        buffer.delete(0, buffer.length());
+        lock.lock();
+        try {
+            currentlyBuffered = 0;
+            buffer.setLength(0);
+            position = 0;
+        } finally {
+            lock.unlock();
+        }
     }
 
     void onSessionClosed() {
@@ -190,6 +262,54 @@ class ReaderBuffer {
         }
     }
 
+    /**
+     * Wait until a char is buffered or the whole message has been read.
+     * <p>
+     * Has to be called with the lock held.
+     *
+     * @return {@code true} if there is a buffered char, {@code false} when the whole message has been read.
+     */
+    private boolean awaitData() throws IOException {
+        while (position == buffer.length()) {
+            if (receivedLast) {
+                this.reader = null;
+                buffering.set(true);
+                this.currentlyBuffered = 0;
+                return false;
+            }
+
+            // there's more to come...so wait here...
+            // don't let the reader block on a closed session
+            checkClosedSession();
+
+            try {
+                condition.await();
+
+                checkClosedSession();
+            } catch (InterruptedException e) {
+                // keep waiting, the message has not been received yet.
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Move the read position. Has to be called with the lock held.
+     *
+     * @param count number of read chars.
+     */
+    private void consumed(int count) {
+        position += count;
+        if (position == buffer.length()) {
+            buffer.setLength(0);
+            position = 0;
+        } else if (position > buffer.length() - position) {
+            buffer.delete(0, position);
+            position = 0;
+        }
+    }
+
     private void checkClosedSession() throws IOException {
         if (sessionClosed) {
             throw new IOException("Websocket session has been closed.");
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.websocket.CloseReason;
+
+/**
+ * {@link TyrusEndpointWrapper.SessionListener} counting open sessions per application and per remote address.
+ * <p>
+ * Counters are updated by compare-and-set, so that handshakes are not serialized on a global lock. Counter of a remote
+ * address is removed once it drops to zero; a counter which has dropped to zero is never incremented again, a new
+ * counter is registered instead.
+ */
+final class SessionLimitListener extends TyrusEndpointWrapper.SessionListener {
+
+    // used as a key for sessions without known remote address, concurrent map does not support null keys.
+    private static final String UNKNOWN_REMOTE_ADDR = "";
+
+    private final Integer maxSessionsPerApp;
+    private final Integer maxSessionsPerRemoteAddr;
+
+    // limit per application counter
+    private final AtomicInteger counter = new AtomicInteger(0);
+    // limit per remote address counters
+    private final ConcurrentMap<String, AtomicInteger> remoteAddressCounters =
+            new ConcurrentHashMap<String, AtomicInteger>();
+
+    /**
+     * Create new listener.
+     *
+     * @param maxSessionsPerApp        maximal number of open sessions per application. If {@code null}, no limit is
+     *                                 applied.
+     * @param maxSessionsPerRemoteAddr maximal number of open sessions per remote address. If {@code null}, no limit is
+     *                                 applied.
+     */
+    SessionLimitListener(Integer maxSessionsPerApp, Integer maxSessionsPerRemoteAddr) {
+        this.maxSessionsPerApp = maxSessionsPerApp;
+        this.maxSessionsPerRemoteAddr = maxSessionsPerRemoteAddr;
+    }
+
+    @Override
+    public OnOpenResult onOpen(final TyrusSession session) {
+        if (maxSessionsPerApp != null && !tryIncrement(counter, maxSessionsPerApp)) {
+            return OnOpenResult.MAX_SESSIONS_PER_APP_EXCEEDED;
+        }
+
+        if (maxSessionsPerRemoteAddr != null && !tryIncrement(remoteAddr(session))) {
+            if (maxSessionsPerApp != null) {
+                // session is not going to be opened, so it will not be closed either.
+                counter.decrementAndGet();
+            }
+            return OnOpenResult.MAX_SESSIONS_PER_REMOTE_ADDR_EXCEEDED;
+        }
+
+        return OnOpenResult.SESSION_ALLOWED;
+    }
+
+    @Override
+    public void onClose(final TyrusSession session, final CloseReason closeReason) {
+        if (maxSessionsPerApp != null) {
+            counter.decrementAndGet();
+        }
+
+        if (maxSessionsPerRemoteAddr != null) {
+            final String remoteAddr = remoteAddr(session);
+            final AtomicInteger remoteAddressCounter = remoteAddressCounters.get(remoteAddr);
+            if (remoteAddressCounter != null && remoteAddressCounter.decrementAndGet() == 0) {
+                remoteAddressCounters.remove(remoteAddr, remoteAddressCounter);
+            }
+        }
+    }
+
+    /**
+     * Get the number of open sessions.
+     *
+     * @return number of open sessions, {@code 0} if the number of sessions per application is not limited.
+     */
+    int getOpenSessions() {
+        return counter.get();
+    }
+
+    /**
+     * Get the number of open sessions from a remote address.
+     *
+     * @param remoteAddr remote address.
+     * @return number of open sessions from the remote address.
+     */
+    int getOpenSessions(String remoteAddr) {
+        final AtomicInteger remoteAddressCounter =
+                remoteAddressCounters.get(remoteAddr == null ? UNKNOWN_REMOTE_ADDR : remoteAddr);
+        return remoteAddressCounter == null ? 0 : remoteAddressCounter.get();
+    }
+
+    private boolean tryIncrement(String remoteAddr) {
+        while (true) {
+            final AtomicInteger remoteAddressCounter = remoteAddressCounters.get(remoteAddr);
+            if (remoteAddressCounter == null) {
+                if (remoteAddressCounters.putIfAbsent(remoteAddr, new AtomicInteger(1)) == null) {
+                    return true;
+                }
+                continue;
+            }
+
+            final int current = remoteAddressCounter.get();
+            if (current == 0) {
+                // counter is being removed by the last closed session, replace it.
+                remoteAddressCounters.remove(remoteAddr, remoteAddressCounter);
+                continue;
+            }
+
+            if (current >= maxSessionsPerRemoteAddr) {
+                return false;
+            }
+
+            if (remoteAddressCounter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean tryIncrement(AtomicInteger counter, int max) {
+        while (true) {
+            final int current = counter.get();
+            if (current >= max) {
+                return false;
+            }
+
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static String remoteAddr(TyrusSession session) {
+        final String remoteAddr = session.getRemoteAddr();
+        return remoteAddr == null ? UNKNOWN_REMOTE_ADDR : remoteAddr;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+/**
+ * Action taken when a session's outbound queue would grow beyond the configured limit.
+ * <p>
+ * Only whole data messages can be dropped; control frames and fragments of partial messages are always queued, so
+ * the stream sent to the remote endpoint stays valid.
+ *
+ * @see TyrusWebSocketEngine#OUTBOUND_QUEUE_LIMIT
+ * @see TyrusWebSocketEngine#SLOW_CONSUMER_POLICY
+ */
+@Beta
+public enum SlowConsumerPolicy {
+
+    /**
+     * Messages waiting in the queue are dropped, oldest first, until the new message fits.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new message is dropped; messages already queued are kept.
+     */
+    DROP_NEWEST,
+
+    /**
+     * All messages waiting in the queue are dropped and only the new one is kept, so the remote endpoint receives
+     * the latest value once it catches up.
+     */
+    COALESCE,
+
+    /**
+     * The new message is dropped and the session is closed with
+     * {@link javax.websocket.CloseReason.CloseCodes#VIOLATED_POLICY}.
+     */
+    CLOSE
+}
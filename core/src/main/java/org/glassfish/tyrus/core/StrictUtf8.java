@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,6 +19,7 @@ package org.glassfish.tyrus.core;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
@@ -46,10 +47,104 @@ import java.nio.charset.CodingErrorAction;
  */
 
 public class StrictUtf8 extends Charset {
+
+    /**
+     * Maximal capacity of the {@link CharBuffer} kept by {@link Decoding}, bigger buffers are not reused.
+     */
+    private static final int MAX_CACHED_CHARS = 8 * 1024;
+
+    private static final StrictUtf8 CHARSET = new StrictUtf8();
+
     public StrictUtf8() {
         super("StrictUtf8", new String[]{});
     }
 
+    /**
+     * Encode a string to an array of exactly the length of its UTF-8 representation.
+     * <p>
+     * ASCII strings and strings with valid surrogate pairs are encoded directly to the resulting array, no encoder
+     * and no intermediate buffer is used.
+     *
+     * @param string string to be encoded.
+     * @return UTF-8 bytes of the string.
+     * @throws Error when the string contains an unpaired surrogate.
+     */
+    public static byte[] toBytes(String string) {
+        final int length = string.length();
+
+        // ASCII only check, the array is allocated once the length of the result is known.
+        int i = 0;
+        while (i < length && string.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == length) {
+            final byte[] ascii = new byte[length];
+            for (int j = 0; j < length; j++) {
+                ascii[j] = (byte) string.charAt(j);
+            }
+            return ascii;
+        }
+
+        int utf8Length = i;
+        for (int j = i; j < length; j++) {
+            final char c = string.charAt(j);
+            if (c < 0x80) {
+                utf8Length += 1;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && j + 1 < length && Character.isLowSurrogate(string.charAt(j + 1))) {
+                    utf8Length += 4;
+                    j++;
+                } else {
+                    // let the encoder report the malformed input.
+                    return encodeWithEncoder(string);
+                }
+            } else {
+                utf8Length += 3;
+            }
+        }
+
+        final byte[] bytes = new byte[utf8Length];
+        int dp = 0;
+        for (int j = 0; j < length; j++) {
+            final char c = string.charAt(j);
+            if (c < 0x80) {
+                bytes[dp++] = (byte) c;
+            } else if (c < 0x800) {
+                // 2 bytes, 11 bits
+                bytes[dp++] = (byte) (0xc0 | (c >> 6));
+                bytes[dp++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c)) {
+                // 4 bytes, 21 bits
+                final int uc = Character.toCodePoint(c, string.charAt(++j));
+                bytes[dp++] = (byte) (0xf0 | ((uc >> 18)));
+                bytes[dp++] = (byte) (0x80 | ((uc >> 12) & 0x3f));
+                bytes[dp++] = (byte) (0x80 | ((uc >> 6) & 0x3f));
+                bytes[dp++] = (byte) (0x80 | (uc & 0x3f));
+            } else {
+                // 3 bytes, 16 bits
+                bytes[dp++] = (byte) (0xe0 | ((c >> 12)));
+                bytes[dp++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[dp++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        return bytes;
+    }
+
+    private static byte[] encodeWithEncoder(String string) {
+        final CharsetEncoder encoder = CHARSET.newEncoder();
+        try {
+            final ByteBuffer bb = encoder.encode(CharBuffer.wrap(string));
+            final byte[] bytes = new byte[bb.remaining()];
+            bb.get(bytes);
+            return bytes;
+        } catch (CharacterCodingException x) {
+            throw new Error(x);
+        }
+    }
+
     @Override
     public CharsetDecoder newDecoder() {
         return new Decoder(this);
@@ -65,6 +160,53 @@ public class StrictUtf8 extends Charset {
         return "StrictUtf8".equals(cs.name());
     }
 
+    /**
+     * Decoder and decoding buffer reused by all text frames of one connection.
+     * <p>
+     * Frames of a connection are decoded one at a time, so the instance is not thread safe and must not be shared among
+     * connections. The decoder and the buffer are created when they are needed for the first time.
+     */
+    public static final class Decoding {
+
+        private CharsetDecoder decoder;
+        private CharBuffer chars;
+
+        /**
+         * Get the reset decoder.
+         *
+         * @return reset decoder.
+         */
+        public CharsetDecoder getDecoder() {
+            if (decoder == null) {
+                decoder = CHARSET.newDecoder();
+            } else {
+                decoder.reset();
+            }
+            return decoder;
+        }
+
+        /**
+         * Get cleared {@link CharBuffer} to decode to.
+         * <p>
+         * The buffer must not be kept after the decoded chars have been copied.
+         *
+         * @param capacity minimal capacity of the buffer.
+         * @return cleared buffer, a new one not kept for the connection when {@code capacity} is too big.
+         */
+        public CharBuffer getCharBuffer(int capacity) {
+            if (capacity > MAX_CACHED_CHARS) {
+                return CharBuffer.allocate(capacity);
+            }
+
+            if (chars == null || chars.capacity() < capacity) {
+                // grow in steps, so that slightly bigger messages do not reallocate it every time.
+                chars = CharBuffer.allocate(Math.min(MAX_CACHED_CHARS, 2 * capacity));
+            }
+            chars.clear();
+            return chars;
+        }
+    }
+
     private static boolean isSurrogate(char ch) {
         return ch >= Character.MIN_SURROGATE && ch < (Character.MAX_SURROGATE + 1);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,26 +16,34 @@
 
 package org.glassfish.tyrus.core;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 
 /**
+ * Save received partial text messages to a list and concatenate them.
+ * <p>
+ * Fragments are kept as they were decoded, the message is materialized only once into a string of the exact length.
+ *
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
  */
 class TextBuffer {
-    private StringBuffer buffer;
+    private final List<String> chunks = new ArrayList<String>();
     private int bufferSize;
-    private static final Logger LOGGER = Logger.getLogger(BinaryBuffer.class.getName());
+    private int currentlyBuffered = 0;
+    private static final Logger LOGGER = Logger.getLogger(TextBuffer.class.getName());
 
     void appendMessagePart(String message) {
         if (message == null || message.length() == 0) {
             return;
         }
 
-        if (buffer.length() + message.length() <= bufferSize) {
-            buffer.append(message);
+        if (currentlyBuffered + message.length() <= bufferSize) {
+            currentlyBuffered += message.length();
+            chunks.add(message);
         } else {
             final MessageTooBigException messageTooBigException =
                     new MessageTooBigException(LocalizationMessages.PARTIAL_MESSAGE_BUFFER_OVERFLOW());
@@ -44,12 +52,38 @@ class TextBuffer {
         }
     }
 
+    /**
+     * Return concatenated fragments and reset internal state.
+     *
+     * @return buffered message.
+     */
     String getBufferedContent() {
-        return buffer.toString();
+        final String content;
+        if (chunks.isEmpty()) {
+            content = "";
+        } else if (chunks.size() == 1) {
+            content = chunks.get(0);
+        } else {
+            // presized, so that the fragments are copied just once.
+            final StringBuilder sb = new StringBuilder(currentlyBuffered);
+            for (String chunk : chunks) {
+                sb.append(chunk);
+            }
+            content = sb.toString();
+        }
+
+        resetBuffer(0);
+        return content;
     }
 
+    /**
+     * Reset buffer with setting maximal buffer size.
+     *
+     * @param bufferSize max buffer size.
+     */
     void resetBuffer(int bufferSize) {
         this.bufferSize = bufferSize;
-        this.buffer = new StringBuffer();
+        this.chunks.clear();
+        currentlyBuffered = 0;
     }
 }
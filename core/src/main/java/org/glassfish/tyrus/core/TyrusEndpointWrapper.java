@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -30,6 +30,7 @@ import java.net.URI;
 import java.nio.ByteBuffer;
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -38,6 +39,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -61,8 +63,8 @@ import javax.websocket.WebSocketContainer;
 import javax.websocket.server.HandshakeRequest;
 import javax.websocket.server.ServerEndpointConfig;
 
-import org.glassfish.tyrus.core.cluster.BroadcastListener;
 import org.glassfish.tyrus.core.cluster.ClusterContext;
+import org.glassfish.tyrus.core.cluster.FrameBroadcastListener;
 import org.glassfish.tyrus.core.cluster.RemoteSession;
 import org.glassfish.tyrus.core.coder.CoderWrapper;
 import org.glassfish.tyrus.core.coder.InputStreamDecoder;
@@ -72,7 +74,6 @@ import org.glassfish.tyrus.core.coder.NoOpTextCoder;
 import org.glassfish.tyrus.core.coder.PrimitiveDecoders;
 import org.glassfish.tyrus.core.coder.ReaderDecoder;
 import org.glassfish.tyrus.core.coder.ToStringEncoder;
-import org.glassfish.tyrus.core.frame.BinaryFrame;
 import org.glassfish.tyrus.core.frame.Frame;
 import org.glassfish.tyrus.core.frame.TextFrame;
 import org.glassfish.tyrus.core.frame.TyrusFrame;
@@ -100,6 +101,10 @@ public class TyrusEndpointWrapper {
      * thread should not be lower than this constant.
      */
     private static final int MIN_SESSIONS_PER_THREAD = 16;
+    /**
+     * Maximal number of message classes with cached encoder.
+     */
+    private static final int MAX_CACHED_ENCODERS = 512;
     /**
      * The container for this session.
      */
@@ -109,6 +114,13 @@ public class TyrusEndpointWrapper {
     private final String serverEndpointPath;
     private final List<CoderWrapper<Decoder>> decoders = new ArrayList<CoderWrapper<Decoder>>();
     private final List<CoderWrapper<Encoder>> encoders = new ArrayList<CoderWrapper<Encoder>>();
+    // decoders able to decode text / binary messages, in the order of registration.
+    private final List<CoderWrapper<Decoder>> textDecoders = new ArrayList<CoderWrapper<Decoder>>();
+    private final List<CoderWrapper<Decoder>> binaryDecoders = new ArrayList<CoderWrapper<Decoder>>();
+    // message class -> first applicable encoder.
+    private final ConcurrentMap<Class<?>, CoderWrapper<Encoder>> encoderCache =
+            new ConcurrentHashMap<Class<?>, CoderWrapper<Encoder>>();
+    private int sessionScopedCoders = 0;
     private final EndpointConfig configuration;
     private final Class<? extends Endpoint> endpointClass;
     private final Endpoint endpoint;
@@ -294,7 +306,8 @@ public class TyrusEndpointWrapper {
                     throw new DeploymentException(e.getMessage(), e);
                 }
             } else {
-                decoders.add(new CoderWrapper<Decoder>(decoderClass, type));
+                decoders.add(new SessionScopedCoderWrapper<Decoder>(decoderClass, type,
+                        TyrusSession.FIRST_CODER_INSTANCE + sessionScopedCoders++));
             }
         }
 
@@ -312,7 +325,8 @@ public class TyrusEndpointWrapper {
 
         for (Class<? extends Encoder> encoderClass : this.configuration.getEncoders()) {
             Class<?> type = getEncoderClassType(encoderClass);
-            encoders.add(new CoderWrapper<Encoder>(encoderClass, type));
+            encoders.add(new SessionScopedCoderWrapper<Encoder>(encoderClass, type,
+                    TyrusSession.FIRST_CODER_INSTANCE + sessionScopedCoders++));
         }
 
         encoders.add(new CoderWrapper<Encoder>(new NoOpTextCoder(), String.class));
@@ -320,6 +334,18 @@ public class TyrusEndpointWrapper {
         encoders.add(new CoderWrapper<Encoder>(new NoOpByteArrayCoder(), byte[].class));
         encoders.add(new CoderWrapper<Encoder>(new ToStringEncoder(), Object.class));
 
+        for (CoderWrapper<Decoder> decoder : decoders) {
+            final Class<? extends Decoder> decoderClass = decoder.getCoderClass();
+            if (Decoder.Text.class.isAssignableFrom(decoderClass)
+                    || Decoder.TextStream.class.isAssignableFrom(decoderClass)) {
+                textDecoders.add(decoder);
+            }
+            if (Decoder.Binary.class.isAssignableFrom(decoderClass)
+                    || Decoder.BinaryStream.class.isAssignableFrom(decoderClass)) {
+                binaryDecoders.add(decoder);
+            }
+        }
+
         // clustered mode
         if (clusterContext != null) {
             clusterContext
@@ -340,15 +366,20 @@ public class TyrusEndpointWrapper {
                         }
                     });
 
-            clusterContext.registerBroadcastListener(getEndpointPath(), new BroadcastListener() {
+            clusterContext.registerBroadcastListener(getEndpointPath(), new FrameBroadcastListener() {
                 @Override
                 public void onBroadcast(String text) {
-                    broadcast(text, true);
+                    broadcastLocally(SharedFrameCallable.text(text));
                 }
 
                 @Override
                 public void onBroadcast(byte[] data) {
-                    broadcast(ByteBuffer.wrap(data), true);
+                    broadcastLocally(SharedFrameCallable.binary(ByteBuffer.wrap(data)));
+                }
+
+                @Override
+                public int onBroadcastFrame(byte[] frame) {
+                    return broadcastLocally(new SharedFrameCallable(frame)).size();
                 }
             });
 
@@ -383,20 +414,48 @@ public class TyrusEndpointWrapper {
 
     private <T> Object getCoderInstance(Session session, CoderWrapper<T> wrapper) {
         final Object coder = wrapper.getCoder();
-        if (coder == null) {
-            ErrorCollector collector = new ErrorCollector();
-            final Object coderInstance = this.componentProvider
-                    .getCoderInstance(wrapper.getCoderClass(), session, getEndpointConfig(), collector);
-            if (!collector.isEmpty()) {
-                final DeploymentException deploymentException = collector.composeComprehensiveException();
-                LOGGER.log(Level.WARNING, deploymentException.getMessage(), deploymentException);
-                return null;
+        if (coder != null) {
+            return coder;
+        }
+
+        if (wrapper instanceof SessionScopedCoderWrapper && session instanceof TyrusSession) {
+            // resolved instances are attached to the session, so that the component provider is consulted only once.
+            final TyrusSession tyrusSession = (TyrusSession) session;
+            final int index = ((SessionScopedCoderWrapper<T>) wrapper).index;
+            Object coderInstance = tyrusSession.getComponentInstance(index);
+            if (coderInstance == null) {
+                // component provider returns the same instance for concurrent calls within one session.
+                coderInstance = createCoderInstance(session, wrapper);
+                if (coderInstance != null) {
+                    tyrusSession.setComponentInstance(index, coderInstance);
+                }
             }
-
             return coderInstance;
         }
 
-        return coder;
+        return createCoderInstance(session, wrapper);
+    }
+
+    private <T> Object createCoderInstance(Session session, CoderWrapper<T> wrapper) {
+        ErrorCollector collector = new ErrorCollector();
+        final Object coderInstance = this.componentProvider
+                .getCoderInstance(wrapper.getCoderClass(), session, getEndpointConfig(), collector);
+        if (!collector.isEmpty()) {
+            final DeploymentException deploymentException = collector.composeComprehensiveException();
+            LOGGER.log(Level.WARNING, deploymentException.getMessage(), deploymentException);
+            return null;
+        }
+
+        return coderInstance;
+    }
+
+    /**
+     * Number of coders registered by class, which are instantiated once per session.
+     *
+     * @return number of session scoped coders.
+     */
+    int getSessionScopedCoderCount() {
+        return sessionScopedCoders;
     }
 
     Object decodeCompleteMessage(TyrusSession session, Object message, Class<?> type,
@@ -454,23 +513,29 @@ public class TyrusEndpointWrapper {
                                                                     boolean isString) {
         ArrayList<CoderWrapper<Decoder>> result = new ArrayList<CoderWrapper<Decoder>>();
 
-        for (CoderWrapper<Decoder> dec : decoders) {
-            if (isString && (Decoder.Text.class.isAssignableFrom(dec.getCoderClass()))) {
-                final Decoder.Text decoder = (Decoder.Text) getCoderInstance(session, dec);
+        if (isString) {
+            for (CoderWrapper<Decoder> dec : textDecoders) {
+                if (Decoder.Text.class.isAssignableFrom(dec.getCoderClass())) {
+                    final Decoder.Text decoder = (Decoder.Text) getCoderInstance(session, dec);
 
-                if (decoder.willDecode((String) message)) {
+                    if (decoder.willDecode((String) message)) {
+                        result.add(dec);
+                    }
+                } else {
                     result.add(dec);
                 }
-            } else if (!isString && (Decoder.Binary.class.isAssignableFrom(dec.getCoderClass()))) {
-                final Decoder.Binary decoder = (Decoder.Binary) getCoderInstance(session, dec);
+            }
+        } else {
+            for (CoderWrapper<Decoder> dec : binaryDecoders) {
+                if (Decoder.Binary.class.isAssignableFrom(dec.getCoderClass())) {
+                    final Decoder.Binary decoder = (Decoder.Binary) getCoderInstance(session, dec);
 
-                if (decoder.willDecode((ByteBuffer) message)) {
+                    if (decoder.willDecode((ByteBuffer) message)) {
+                        result.add(dec);
+                    }
+                } else {
                     result.add(dec);
                 }
-            } else if (isString && (Decoder.TextStream.class.isAssignableFrom(dec.getCoderClass()))) {
-                result.add(dec);
-            } else if (!isString && (Decoder.BinaryStream.class.isAssignableFrom(dec.getCoderClass()))) {
-                result.add(dec);
             }
         }
 
@@ -482,49 +547,72 @@ public class TyrusEndpointWrapper {
 
     @SuppressWarnings("unchecked")
     public Object doEncode(Session session, Object message) throws EncodeException, IOException {
-        for (CoderWrapper<Encoder> enc : encoders) {
-            final Class<? extends Encoder> encoderClass = enc.getCoderClass();
+        final Class<?> messageClass = message.getClass();
 
-            if (Encoder.Binary.class.isAssignableFrom(encoderClass)) {
-                if (enc.getType().isAssignableFrom(message.getClass())) {
-                    final Encoder.Binary encoder = (Encoder.Binary) getCoderInstance(session, enc);
+        CoderWrapper<Encoder> enc = encoderCache.get(messageClass);
+        if (enc == null) {
+            enc = findEncoder(messageClass);
+            if (enc == null) {
+                throw new EncodeException(message, LocalizationMessages.ENCODING_FAILED());
+            }
+            if (encoderCache.size() < MAX_CACHED_ENCODERS) {
+                encoderCache.putIfAbsent(messageClass, enc);
+            }
+        }
 
-                    logUsedEncoder(enc, session);
+        final Class<? extends Encoder> encoderClass = enc.getCoderClass();
 
-                    return encoder.encode(message);
-                }
-            } else if (Encoder.Text.class.isAssignableFrom(encoderClass)) {
-                if (enc.getType().isAssignableFrom(message.getClass())) {
-                    final Encoder.Text encoder = (Encoder.Text) getCoderInstance(session, enc);
+        if (Encoder.Binary.class.isAssignableFrom(encoderClass)) {
+            final Encoder.Binary encoder = (Encoder.Binary) getCoderInstance(session, enc);
 
-                    logUsedEncoder(enc, session);
+            logUsedEncoder(enc, session);
 
-                    return encoder.encode(message);
-                }
-            } else if (Encoder.BinaryStream.class.isAssignableFrom(encoderClass)) {
-                if (enc.getType().isAssignableFrom(message.getClass())) {
-                    final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                    final Encoder.BinaryStream encoder = (Encoder.BinaryStream) getCoderInstance(session, enc);
+            return encoder.encode(message);
+        } else if (Encoder.Text.class.isAssignableFrom(encoderClass)) {
+            final Encoder.Text encoder = (Encoder.Text) getCoderInstance(session, enc);
 
-                    logUsedEncoder(enc, session);
+            logUsedEncoder(enc, session);
 
-                    encoder.encode(message, stream);
-                    return stream;
-                }
-            } else if (Encoder.TextStream.class.isAssignableFrom(encoderClass)) {
-                if (enc.getType().isAssignableFrom(message.getClass())) {
-                    final Writer writer = new StringWriter();
-                    final Encoder.TextStream encoder = (Encoder.TextStream) getCoderInstance(session, enc);
+            return encoder.encode(message);
+        } else if (Encoder.BinaryStream.class.isAssignableFrom(encoderClass)) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            final Encoder.BinaryStream encoder = (Encoder.BinaryStream) getCoderInstance(session, enc);
 
-                    logUsedEncoder(enc, session);
+            logUsedEncoder(enc, session);
 
-                    encoder.encode(message, writer);
-                    return writer;
-                }
+            encoder.encode(message, stream);
+            return stream;
+        } else {
+            final Writer writer = new StringWriter();
+            final Encoder.TextStream encoder = (Encoder.TextStream) getCoderInstance(session, enc);
+
+            logUsedEncoder(enc, session);
+
+            encoder.encode(message, writer);
+            return writer;
+        }
+    }
+
+    /**
+     * Find the first registered encoder able to encode instances of given class.
+     *
+     * @param messageClass class of the message to be encoded.
+     * @return encoder or {@code null} when there is no applicable encoder.
+     */
+    private CoderWrapper<Encoder> findEncoder(Class<?> messageClass) {
+        for (CoderWrapper<Encoder> enc : encoders) {
+            final Class<? extends Encoder> encoderClass = enc.getCoderClass();
+
+            if ((Encoder.Binary.class.isAssignableFrom(encoderClass)
+                    || Encoder.Text.class.isAssignableFrom(encoderClass)
+                    || Encoder.BinaryStream.class.isAssignableFrom(encoderClass)
+                    || Encoder.TextStream.class.isAssignableFrom(encoderClass))
+                    && enc.getType().isAssignableFrom(messageClass)) {
+                return enc;
             }
         }
 
-        throw new EncodeException(message, LocalizationMessages.ENCODING_FAILED());
+        return null;
     }
 
     private void logUsedEncoder(CoderWrapper<Encoder> encoder, Session session) {
@@ -546,6 +634,15 @@ public class TyrusEndpointWrapper {
         return endpointPath;
     }
 
+    /**
+     * Get the listener of events of this endpoint.
+     *
+     * @return endpoint event listener.
+     */
+    EndpointEventListener getEndpointEventListener() {
+        return endpointEventListener;
+    }
+
     /**
      * Server-side; Get server endpoint path.
      * <p>
@@ -678,7 +775,10 @@ public class TyrusEndpointWrapper {
                     && ((TyrusServerEndpointConfig) configuration).getMaxSessions() > 0
                     && webSocketToSession.size() > ((TyrusServerEndpointConfig) configuration).getMaxSessions();
 
-            SessionListener.OnOpenResult onOpenResult = sessionListener.onOpen(session);
+            // session refused by the endpoint limit is not counted by the session listener, it would never be
+            // released since refused sessions are not closed through onClose.
+            SessionListener.OnOpenResult onOpenResult = maxSessionPerEndpointExceeded
+                    ? null : sessionListener.onOpen(session);
 
             // test max open sessions per endpoint and per application
             if (maxSessionPerEndpointExceeded || !onOpenResult.equals(SessionListener.OnOpenResult.SESSION_ALLOWED)) {
@@ -1292,47 +1392,7 @@ public class TyrusEndpointWrapper {
      * from other cluster nodes are not included.
      */
     Map<Session, Future<?>> broadcast(final String message) {
-        return broadcast(message, false);
-    }
-
-    private Map<Session, Future<?>> broadcast(final String message, boolean local) {
-
-        if (!local && clusterContext != null) {
-            clusterContext.broadcastText(getEndpointPath(), message);
-            return new HashMap<Session, Future<?>>();
-        } else {
-
-            if (webSocketToSession.isEmpty()) {
-                return new HashMap<Session, Future<?>>();
-            }
-
-            TyrusWebSocket webSocket = webSocketToSession.keySet().iterator().next();
-            final Frame dataFrame = new TextFrame(message, false, true);
-            final ByteBuffer byteBuffer = webSocket.getProtocolHandler().frame(dataFrame);
-            final byte[] frame = new byte[byteBuffer.remaining()];
-            byteBuffer.get(frame);
-            final long payloadLength = dataFrame.getPayloadLength();
-
-            SessionCallable broadcastCallable = new SessionCallable() {
-
-                @Override
-                public Future<?> call(TyrusWebSocket webSocket, TyrusSession session) {
-                    final ProtocolHandler protocolHandler = webSocket.getProtocolHandler();
-
-                    // we need to let protocol handler execute extensions if there are any
-                    if (protocolHandler.hasExtensions()) {
-                        final Frame dataFrame = new TextFrame(message, false, true);
-                        return sendBroadcast(webSocket, dataFrame, TyrusFrame.FrameType.TEXT);
-                    } else {
-                        final Future<Frame> frameFuture = webSocket.sendRawFrame(ByteBuffer.wrap(frame));
-                        webSocket.getMessageEventListener().onFrameSent(TyrusFrame.FrameType.TEXT, payloadLength);
-                        return frameFuture;
-                    }
-                }
-            };
-
-            return broadcast(broadcastCallable);
-        }
+        return clusterBroadcast(SharedFrameCallable.text(message)).getLocalFutures();
     }
 
     /**
@@ -1343,50 +1403,60 @@ public class TyrusEndpointWrapper {
      * from other cluster nodes are not included.
      */
     Map<Session, Future<?>> broadcast(final ByteBuffer message) {
-        return broadcast(message, false);
+        return clusterBroadcast(SharedFrameCallable.binary(message)).getLocalFutures();
     }
 
-    private Map<Session, Future<?>> broadcast(final ByteBuffer message, boolean local) {
+    /**
+     * Broadcasts text message to all clients connected to all cluster nodes.
+     *
+     * @param message message to be broadcasted.
+     * @return future of the numbers of sessions the message has been sent to.
+     */
+    Future<BroadcastResult> clusterBroadcast(final String message) {
+        return clusterBroadcast(SharedFrameCallable.text(message));
+    }
 
-        final byte[] byteArrayMessage = Utils.getRemainingArray(message);
+    /**
+     * Broadcasts binary message to all clients connected to all cluster nodes.
+     *
+     * @param message message to be broadcasted.
+     * @return future of the numbers of sessions the message has been sent to.
+     */
+    Future<BroadcastResult> clusterBroadcast(final ByteBuffer message) {
+        return clusterBroadcast(SharedFrameCallable.binary(message));
+    }
 
-        if (!local && clusterContext != null) {
-            clusterContext.broadcastBinary(getEndpointPath(), byteArrayMessage);
-            // TODO: fix for cluster case
-            return new HashMap<Session, Future<?>>();
-        } else {
+    /**
+     * Broadcast a message to the local sessions and, in clustered mode, to the other nodes.
+     * <p>
+     * The message is serialized once; the same frame is written to the local sessions which do not change outgoing
+     * frames and sent to the other nodes, which write it to their sessions as it is.
+     */
+    private BroadcastFuture clusterBroadcast(SharedFrameCallable broadcastCallable) {
+        Future<Map<String, Integer>> remoteFuture = null;
 
-            if (webSocketToSession.isEmpty()) {
-                return new HashMap<Session, Future<?>>();
+        if (clusterContext != null) {
+            remoteFuture = clusterContext.broadcastFrame(getEndpointPath(), broadcastCallable.serializedFrame);
+            if (remoteFuture == null) {
+                // cluster context delivers the message to the local sessions through the broadcast listener.
+                if (broadcastCallable.frameType == TyrusFrame.FrameType.TEXT) {
+                    clusterContext.broadcastText(getEndpointPath(), broadcastCallable.getTextPayload());
+                } else {
+                    clusterContext.broadcastBinary(getEndpointPath(), broadcastCallable.getPayload());
+                }
+                return new BroadcastFuture(new HashMap<Session, Future<?>>(), null);
             }
+        }
 
-            TyrusWebSocket webSocket = webSocketToSession.keySet().iterator().next();
-            final Frame dataFrame = new BinaryFrame(byteArrayMessage, false, true);
-            final ByteBuffer byteBuffer = webSocket.getProtocolHandler().frame(dataFrame);
-            final byte[] frame = new byte[byteBuffer.remaining()];
-            byteBuffer.get(frame);
-            final long payloadLength = dataFrame.getPayloadLength();
-
-            SessionCallable broadcastCallable = new SessionCallable() {
-
-                @Override
-                public Future<?> call(TyrusWebSocket webSocket, TyrusSession session) {
-                    final ProtocolHandler protocolHandler = webSocket.getProtocolHandler();
-
-                    // we need to let protocol handler execute extensions if there are any
-                    if (protocolHandler.hasExtensions()) {
-                        final Frame dataFrame = new BinaryFrame(byteArrayMessage, false, true);
-                        return sendBroadcast(webSocket, dataFrame, TyrusFrame.FrameType.BINARY);
-                    } else {
-                        final Future<Frame> frameFuture = webSocket.sendRawFrame(ByteBuffer.wrap(frame));
-                        webSocket.getMessageEventListener().onFrameSent(TyrusFrame.FrameType.BINARY, payloadLength);
-                        return frameFuture;
-                    }
-                }
-            };
+        return new BroadcastFuture(broadcastLocally(broadcastCallable), remoteFuture);
+    }
 
-            return broadcast(broadcastCallable);
+    private Map<Session, Future<?>> broadcastLocally(SessionCallable broadcastCallable) {
+        if (webSocketToSession.isEmpty()) {
+            return new HashMap<Session, Future<?>>();
         }
+
+        return broadcast(broadcastCallable);
     }
 
     /**
@@ -1417,26 +1487,6 @@ public class TyrusEndpointWrapper {
         return futures;
     }
 
-    /**
-     * Serialize dataframe and send it to {@link org.glassfish.tyrus.core.TyrusWebSocket}.
-     *
-     * @param webSocket {@link org.glassfish.tyrus.core.TyrusWebSocket} instance used for sending the frame.
-     * @param dataFrame frame to be sent.
-     * @param frameType type of the frame (monitoring).
-     * @return future representing outcome of the send operation.
-     */
-    private Future<?> sendBroadcast(TyrusWebSocket webSocket, Frame dataFrame, TyrusFrame.FrameType frameType) {
-        byte[] tempFrame;
-        final ByteBuffer byteBuffer = webSocket.getProtocolHandler().frame(dataFrame);
-        tempFrame = new byte[byteBuffer.remaining()];
-        byteBuffer.get(tempFrame);
-
-        final Future<Frame> frameFuture = webSocket.sendRawFrame(ByteBuffer.wrap(tempFrame));
-        webSocket.getMessageEventListener()
-                 .onFrameSent(frameType, dataFrame.getPayloadLength());
-        return frameFuture;
-    }
-
     /**
      * Divides open sessions into subsets on which an operation passed as {@code broadcastCallable} will be executed in
      * parallel.
@@ -1736,6 +1786,21 @@ public class TyrusEndpointWrapper {
         }
     }
 
+    /**
+     * Coder registered by class, instantiated by {@link ComponentProviderService} once per session.
+     * <p>
+     * The index identifies the slot in {@link TyrusSession#getComponentInstance(int)} where the instance is kept.
+     */
+    private static final class SessionScopedCoderWrapper<T> extends CoderWrapper<T> {
+
+        private final int index;
+
+        private SessionScopedCoderWrapper(Class<? extends T> coderClass, Class<?> type, int index) {
+            super(coderClass, type);
+            this.index = index;
+        }
+    }
+
     /**
      * Used only as a placeholder to get encoder instances from {@link ComponentProvider}.
      */
@@ -1881,4 +1946,109 @@ public class TyrusEndpointWrapper {
 
         Future<?> call(TyrusWebSocket tyrusWebSocket, TyrusSession session);
     }
+
+    /**
+     * Sends one data frame to sessions, serializing it only once for all sessions with equal {@link
+     * ProtocolHandler#getOutgoingFrameKey() outgoing frame key}. That covers sessions without extensions as well as
+     * sessions with equally negotiated {@link org.glassfish.tyrus.core.extension.StatelessOutgoingExtension}s; other
+     * sessions get the frame serialized (and processed by their extensions) separately.
+     * <p>
+     * The frame is kept in its serialized form, so a frame received from another cluster node is written to local
+     * sessions without being parsed and serialized again. The frame is serialized for a session by the thread sending
+     * its frames, in order with them, so that its extensions never process the frame in the middle of a partial
+     * message.
+     * <p>
+     * Can be invoked concurrently (parallel broadcast).
+     */
+    private static class SharedFrameCallable implements SessionCallable, ProtocolHandler.SharedFrame {
+
+        private final byte[] serializedFrame;
+        private final int payloadOffset;
+        private final TyrusFrame.FrameType frameType;
+        private final ConcurrentHashMap<Object, ByteBuffer> serializedFrames =
+                new ConcurrentHashMap<Object, ByteBuffer>();
+
+        private volatile Frame dataFrame;
+
+        /**
+         * Create new callable.
+         *
+         * @param serializedFrame whole text or binary message serialized as by a server side connection without
+         *                        extensions.
+         */
+        SharedFrameCallable(byte[] serializedFrame) {
+            final byte opcode = (byte) (serializedFrame[0] & 0x0F);
+            if (opcode != 0x01 && opcode != 0x02) {
+                throw new IllegalArgumentException("Not a data frame: " + opcode);
+            }
+            this.serializedFrame = serializedFrame;
+            this.payloadOffset = ClusterContext.getFramePayloadOffset(serializedFrame);
+            this.frameType = opcode == 0x01 ? TyrusFrame.FrameType.TEXT : TyrusFrame.FrameType.BINARY;
+            serializedFrames.put(Collections.emptyList(), ByteBuffer.wrap(serializedFrame));
+        }
+
+        static SharedFrameCallable text(String message) {
+            final TextFrame textFrame = new TextFrame(message, false, true);
+            final SharedFrameCallable callable =
+                    new SharedFrameCallable(ProtocolHandler.serializeUnmasked((byte) 0x01,
+                                                                             textFrame.getPayloadBuffer()));
+            callable.dataFrame = textFrame;
+            return callable;
+        }
+
+        static SharedFrameCallable binary(ByteBuffer message) {
+            return new SharedFrameCallable(ProtocolHandler.serializeUnmasked((byte) 0x02, message));
+        }
+
+        @Override
+        public Future<?> call(TyrusWebSocket webSocket, TyrusSession session) {
+            final Future<Frame> frameFuture = webSocket.sendSharedFrame(this);
+            webSocket.getMessageEventListener().onFrameSent(frameType, serializedFrame.length - payloadOffset);
+            return frameFuture;
+        }
+
+        /**
+         * Serialize the frame for a session, invoked in order with the other frames sent by the session.
+         */
+        @Override
+        public ByteBuffer serialize(ProtocolHandler protocolHandler) {
+            final Object key = protocolHandler.getOutgoingFrameKey();
+            if (key == null) {
+                return protocolHandler.frame(getDataFrame());
+            }
+
+            ByteBuffer serialized = serializedFrames.get(key);
+            if (serialized == null) {
+                serialized = protocolHandler.frame(getDataFrame());
+                final ByteBuffer previous = serializedFrames.putIfAbsent(key, serialized);
+                if (previous != null) {
+                    serialized = previous;
+                }
+            }
+            return serialized.duplicate();
+        }
+
+        byte[] getPayload() {
+            return Arrays.copyOfRange(serializedFrame, payloadOffset, serializedFrame.length);
+        }
+
+        String getTextPayload() {
+            final Frame frame = getDataFrame();
+            return frame instanceof TextFrame
+                    ? ((TextFrame) frame).getTextPayload() : new TextFrame(frame, null).getTextPayload();
+        }
+
+        /**
+         * Get the frame to be processed by extensions, created only when a session needs it.
+         */
+        private Frame getDataFrame() {
+            Frame frame = dataFrame;
+            if (frame == null) {
+                frame = Frame.builder().fin(true).opcode((byte) (serializedFrame[0] & 0x0F))
+                             .payloadData(getPayload()).build();
+                dataFrame = frame;
+            }
+            return frame;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,6 +31,8 @@ import org.glassfish.tyrus.core.collection.LazyValue;
 import org.glassfish.tyrus.core.collection.Value;
 import org.glassfish.tyrus.core.collection.Values;
 import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.ExtensionDeclinedException;
+import org.glassfish.tyrus.core.extension.StatelessOutgoingExtension;
 import org.glassfish.tyrus.core.frame.Frame;
 
 /**
@@ -65,7 +67,7 @@ public class TyrusServerEndpointConfigurator extends ServerEndpointConfig.Config
     }
 
     @Override
-    public List<Extension> getNegotiatedExtensions(List<Extension> installed, List<Extension> requested) {
+    public List<Extension> getNegotiatedExtensions(List<Extension> installed, final List<Extension> requested) {
         installed = new ArrayList<Extension>(installed);
 
         List<Extension> result = new ArrayList<Extension>();
@@ -97,7 +99,7 @@ public class TyrusServerEndpointConfigurator extends ServerEndpointConfig.Config
                         if (!alreadyAdded) {
                             if (extension instanceof ExtendedExtension) {
                                 final ExtendedExtension extendedExtension = (ExtendedExtension) extension;
-                                result.add(new ExtendedExtension() {
+                                result.add(new StatelessOutgoingExtension() {
                                     @Override
                                     public Frame processIncoming(ExtensionContext context, Frame frame) {
                                         return extendedExtension.processIncoming(context, frame);
@@ -111,14 +113,25 @@ public class TyrusServerEndpointConfigurator extends ServerEndpointConfig.Config
                                     /**
                                      * {@inheritDoc}
                                      * <p/>
-                                     * Please note the TODO. {@link
-                                     * ExtendedExtension#onExtensionNegotiation(ExtensionContext, List)}
+                                     * Offers of the extension are tried in the order they were requested until one
+                                     * of them is accepted.
                                      */
                                     @Override
                                     public List<Parameter> onExtensionNegotiation(ExtensionContext context,
                                                                                   List<Parameter> requestedParameters) {
-                                        return extendedExtension
-                                                .onExtensionNegotiation(context, requestedExtension.getParameters());
+                                        ExtensionDeclinedException declined = null;
+                                        for (Extension offer : requested) {
+                                            if (name.equals(offer.getName())) {
+                                                try {
+                                                    return extendedExtension
+                                                            .onExtensionNegotiation(context, offer.getParameters());
+                                                } catch (ExtensionDeclinedException e) {
+                                                    declined = e;
+                                                }
+                                            }
+                                        }
+
+                                        throw declined;
                                     }
 
                                     @Override
@@ -132,6 +145,16 @@ public class TyrusServerEndpointConfigurator extends ServerEndpointConfig.Config
                                         extendedExtension.destroy(context);
                                     }
 
+                                    @Override
+                                    public Object getOutgoingFrameKey(ExtensionContext context) {
+                                        if (extendedExtension instanceof StatelessOutgoingExtension) {
+                                            return ((StatelessOutgoingExtension) extendedExtension)
+                                                    .getOutgoingFrameKey(context);
+                                        }
+
+                                        return null;
+                                    }
+
                                     @Override
                                     public String getName() {
                                         return name;
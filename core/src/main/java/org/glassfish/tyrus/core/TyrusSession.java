@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2025 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,10 +31,9 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.Map.Entry;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,10 +63,20 @@ import org.glassfish.tyrus.core.l10n.LocalizationMessages;
  */
 public class TyrusSession implements DistributedSession {
 
+    /**
+     * Index of the endpoint instance in the instances attached to the session.
+     */
+    static final int ENDPOINT_INSTANCE = 0;
+    /**
+     * Index of the first coder in the instances attached to the session.
+     */
+    static final int FIRST_CODER_INSTANCE = 1;
+
     private static final Logger LOGGER = Logger.getLogger(TyrusSession.class.getName());
 
     private final WebSocketContainer container;
     private final TyrusEndpointWrapper endpointWrapper;
+    private final TyrusWebSocket socket;
     private final TyrusRemoteEndpoint.Basic basicRemote;
     private final TyrusRemoteEndpoint.Async asyncRemote;
     private final boolean isSecure;
@@ -76,7 +85,7 @@ public class TyrusSession implements DistributedSession {
     private final Map<String, String> pathParameters;
     private final Principal userPrincipal;
     private final Map<String, List<String>> requestParameterMap;
-    private final Object idleTimeoutLock = new Object();
+    private final Object timeoutLock = new Object();
     private final String id;
     private final String connectionId;
     private final Map<String, Object> userProperties;
@@ -84,6 +93,7 @@ public class TyrusSession implements DistributedSession {
     private final AtomicReference<State> state = new AtomicReference<State>(State.RUNNING);
     private final TextBuffer textBuffer = new TextBuffer();
     private final BinaryBuffer binaryBuffer = new BinaryBuffer();
+    private volatile AtomicReferenceArray<Object> componentInstances;
     private final List<Extension> negotiatedExtensions;
     private final String negotiatedSubprotocol;
     private final String remoteAddr;
@@ -93,14 +103,15 @@ public class TyrusSession implements DistributedSession {
     private final Map<String, Object> distributedUserProperties;
 
     private volatile long maxIdleTimeout = 0;
-    private volatile ScheduledFuture<?> idleTimeoutFuture = null;
+    private volatile long lastActivity;
+    private volatile HashedWheelTimer.Timeout idleTimeout = null;
     private int maxBinaryMessageBufferSize = Integer.MAX_VALUE;
     private int maxTextMessageBufferSize = Integer.MAX_VALUE;
-    private ScheduledExecutorService service;
+    private HashedWheelTimer timer;
     private ReaderBuffer readerBuffer;
     private InputStreamBuffer inputStreamBuffer;
     private volatile long heartbeatInterval;
-    private volatile ScheduledFuture<?> heartbeatTask;
+    private volatile HashedWheelTimer.Timeout heartbeatTimeout;
 
     TyrusSession(WebSocketContainer container, TyrusWebSocket socket, TyrusEndpointWrapper endpointWrapper,
                  String subprotocol, List<Extension> extensions, boolean isSecure,
@@ -109,6 +120,7 @@ public class TyrusSession implements DistributedSession {
                  String connectionId, final String remoteAddr, DebugContext debugContext) {
         this.container = container;
         this.endpointWrapper = endpointWrapper;
+        this.socket = socket;
         this.negotiatedExtensions =
                 extensions == null ? Collections.<Extension>emptyList() : Collections.unmodifiableList(extensions);
         this.negotiatedSubprotocol = subprotocol == null ? "" : subprotocol;
@@ -120,6 +132,8 @@ public class TyrusSession implements DistributedSession {
         this.basicRemote = new TyrusRemoteEndpoint.Basic(this, socket, endpointWrapper);
         this.asyncRemote = new TyrusRemoteEndpoint.Async(this, socket, endpointWrapper);
         this.handlerManager = MessageHandlerManager.fromDecoderInstances(endpointWrapper.getDecoders());
+        this.componentInstances = new AtomicReferenceArray<Object>(
+                FIRST_CODER_INSTANCE + endpointWrapper.getSessionScopedCoderCount());
         this.userPrincipal = principal;
         this.requestParameterMap = requestParameterMap == null ? Collections.<String, List<String>>emptyMap()
                 : Collections.unmodifiableMap(new HashMap<String, List<String>>(requestParameterMap));
@@ -130,7 +144,10 @@ public class TyrusSession implements DistributedSession {
         if (container != null) {
             maxTextMessageBufferSize = container.getDefaultMaxTextMessageBufferSize();
             maxBinaryMessageBufferSize = container.getDefaultMaxBinaryMessageBufferSize();
-            service = ((ExecutorServiceProvider) container).getScheduledExecutorService();
+            timer = ((ExecutorServiceProvider) container).getTimer();
+            if (socket != null) {
+                socket.getProtocolHandler().setTimer(timer);
+            }
             setMaxIdleTimeout(container.getDefaultMaxSessionIdleTimeout());
         }
 
@@ -291,7 +308,10 @@ public class TyrusSession implements DistributedSession {
     public void setMaxIdleTimeout(long maxIdleTimeout) {
         checkConnectionState(State.CLOSED);
         this.maxIdleTimeout = maxIdleTimeout;
-        restartIdleTimeoutExecutor();
+        synchronized (timeoutLock) {
+            cancelIdleTimeout();
+            restartIdleTimeoutExecutor();
+        }
         if (distributedPropertyMap != null) {
             distributedPropertyMap.put(RemoteSession.DistributedMapKey.MAX_IDLE_TIMEOUT, maxIdleTimeout);
         }
@@ -452,6 +472,50 @@ public class TyrusSession implements DistributedSession {
         return endpointWrapper.broadcast(message);
     }
 
+    /**
+     * Broadcasts text message to all clients connected to this endpoint on all cluster nodes.
+     * <p>
+     * The message is serialized once and other cluster nodes write the serialized frame to their sessions as it is.
+     * Returned future completes when the message has been written to the local sessions and all other nodes have
+     * acknowledged it.
+     *
+     * @param message message to be broadcasted.
+     * @return future of the numbers of sessions the message has been sent to.
+     * @see org.glassfish.tyrus.core.cluster.ClusterContext#broadcastFrame(String, byte[])
+     */
+    @Beta
+    public Future<BroadcastResult> clusterBroadcast(String message) {
+        return endpointWrapper.clusterBroadcast(message);
+    }
+
+    /**
+     * Broadcasts binary message to all clients connected to this endpoint on all cluster nodes.
+     * <p>
+     * The message is serialized once and other cluster nodes write the serialized frame to their sessions as it is.
+     * Returned future completes when the message has been written to the local sessions and all other nodes have
+     * acknowledged it.
+     *
+     * @param message message to be broadcasted.
+     * @return future of the numbers of sessions the message has been sent to.
+     * @see org.glassfish.tyrus.core.cluster.ClusterContext#broadcastFrame(String, byte[])
+     */
+    @Beta
+    public Future<BroadcastResult> clusterBroadcast(ByteBuffer message) {
+        return endpointWrapper.clusterBroadcast(message);
+    }
+
+    /**
+     * Get number of bytes which were sent by this session, but not yet written to the underlying connection.
+     * <p>
+     * The number can be limited by setting {@link TyrusWebSocketEngine#OUTBOUND_QUEUE_LIMIT} in server or client
+     * properties. Queued bytes are counted only when the limit is set.
+     *
+     * @return number of queued outbound bytes, always {@code 0} when no limit is set.
+     */
+    public long getQueuedBytes() {
+        return socket == null ? 0 : socket.getProtocolHandler().getQueuedBytes();
+    }
+
     /**
      * Return an interval in milliseconds between scheduled periodic Pong messages.
      * A negative value or 0 means that sending of periodic Pong messages is not turned on.
@@ -471,39 +535,42 @@ public class TyrusSession implements DistributedSession {
     public void setHeartbeatInterval(long heartbeatInterval) {
         checkConnectionState(State.CLOSED);
         this.heartbeatInterval = heartbeatInterval;
-        cancelHeartBeatTask();
 
-        if (heartbeatInterval < 1) {
-            return;
-        }
-
-        heartbeatTask = service.scheduleAtFixedRate(new HeartbeatCommand(), heartbeatInterval, heartbeatInterval,
-                                                    TimeUnit.MILLISECONDS);
-    }
+        synchronized (timeoutLock) {
+            cancelHeartBeatTask();
 
-    void restartIdleTimeoutExecutor() {
-        synchronized (idleTimeoutLock) {
-            cancelIdleTimeoutExecutor();
-            if (this.maxIdleTimeout >= 0) {
-                idleTimeoutFuture =
-                        service.schedule(new IdleTimeoutCommand(), this.getMaxIdleTimeout(), TimeUnit.MILLISECONDS);
+            if (heartbeatInterval < 1) {
+                return;
             }
+
+            heartbeatTimeout = timer.newTimeout(new HeartbeatCommand(), heartbeatInterval, TimeUnit.MILLISECONDS);
         }
     }
 
-    private void cancelIdleTimeoutExecutor() {
-        if (this.maxIdleTimeout < 1) {
-            synchronized (idleTimeoutLock) {
-                if (idleTimeoutFuture != null) {
-                    idleTimeoutFuture.cancel(true);
+    /**
+     * Record activity on the session.
+     * <p>
+     * Only the time of the activity is recorded, the idle timeout is not rescheduled. The scheduled idle timeout
+     * compares the time of the last activity with {@link #getMaxIdleTimeout()} when it expires and it is scheduled
+     * again for the remaining time when the session has not been idle long enough.
+     */
+    void restartIdleTimeoutExecutor() {
+        lastActivity = System.nanoTime();
+
+        if (idleTimeout == null && maxIdleTimeout > 0) {
+            synchronized (timeoutLock) {
+                if (idleTimeout == null && maxIdleTimeout > 0) {
+                    idleTimeout = timer.newTimeout(new IdleTimeoutCommand(), maxIdleTimeout, TimeUnit.MILLISECONDS);
                 }
-                return;
             }
         }
+    }
 
-        synchronized (idleTimeoutLock) {
-            if (idleTimeoutFuture != null) {
-                idleTimeoutFuture.cancel(false);
+    private void cancelIdleTimeout() {
+        synchronized (timeoutLock) {
+            if (idleTimeout != null) {
+                idleTimeout.cancel();
+                idleTimeout = null;
             }
         }
     }
@@ -688,6 +755,40 @@ public class TyrusSession implements DistributedSession {
         return binaryBuffer;
     }
 
+    /**
+     * Get an endpoint or coder instance attached to this session.
+     *
+     * @param index {@link #ENDPOINT_INSTANCE} or index of a coder assigned by {@link TyrusEndpointWrapper}.
+     * @return attached instance or {@code null} if there is none or the instances have been already released.
+     */
+    Object getComponentInstance(int index) {
+        final AtomicReferenceArray<Object> instances = componentInstances;
+        return instances == null || index >= instances.length() ? null : instances.get(index);
+    }
+
+    /**
+     * Attach an endpoint or coder instance to this session.
+     * <p>
+     * Instances are created and destroyed by {@link ComponentProviderService}, the session just keeps them, so that
+     * they can be retrieved without any lookup.
+     *
+     * @param index    {@link #ENDPOINT_INSTANCE} or index of a coder assigned by {@link TyrusEndpointWrapper}.
+     * @param instance instance to be attached.
+     */
+    void setComponentInstance(int index, Object instance) {
+        final AtomicReferenceArray<Object> instances = componentInstances;
+        if (instances != null && index < instances.length()) {
+            instances.lazySet(index, instance);
+        }
+    }
+
+    /**
+     * Release all attached instances, called once they are destroyed.
+     */
+    void releaseComponentInstances() {
+        componentInstances = null;
+    }
+
     ReaderBuffer getReaderBuffer() {
         return readerBuffer;
     }
@@ -722,8 +823,11 @@ public class TyrusSession implements DistributedSession {
     }
 
     private void cancelHeartBeatTask() {
-        if (heartbeatTask != null && !heartbeatTask.isCancelled()) {
-            heartbeatTask.cancel(true);
+        synchronized (timeoutLock) {
+            if (heartbeatTimeout != null) {
+                heartbeatTimeout.cancel();
+                heartbeatTimeout = null;
+            }
         }
     }
 
@@ -737,7 +841,7 @@ public class TyrusSession implements DistributedSession {
         }
 
         cancelHeartBeatTask();
-        cancelIdleTimeoutExecutor();
+        cancelIdleTimeout();
     }
 
     /**
@@ -776,35 +880,64 @@ public class TyrusSession implements DistributedSession {
         CLOSED
     }
 
-    private class IdleTimeoutCommand implements Runnable {
+    private class IdleTimeoutCommand implements HashedWheelTimer.TimerTask {
 
         @Override
-        public void run() {
+        public void run(HashedWheelTimer.Timeout timeout) {
             TyrusSession session = TyrusSession.this;
 
-            // condition is required because scheduled task can be (for some reason) run even when it is cancelled.
-            if (session.getMaxIdleTimeout() > 0 && session.isOpen()) {
-                try {
-                    session.close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY,
-                                                  LocalizationMessages.SESSION_CLOSED_IDLE_TIMEOUT()));
-                } catch (IOException e) {
-                    LOGGER.log(Level.FINE, "Session could not been closed. " + e.getMessage());
+            synchronized (timeoutLock) {
+                // timeout has been cancelled or replaced after it had expired.
+                if (timeout != idleTimeout) {
+                    return;
+                }
+                idleTimeout = null;
+
+                final long maxIdleTimeout = session.getMaxIdleTimeout();
+                if (maxIdleTimeout < 1 || !session.isOpen()) {
+                    return;
+                }
+
+                final long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+                if (idle < maxIdleTimeout) {
+                    idleTimeout = timer.newTimeout(this, maxIdleTimeout - idle, TimeUnit.MILLISECONDS);
+                    return;
                 }
             }
+
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY,
+                                              LocalizationMessages.SESSION_CLOSED_IDLE_TIMEOUT()));
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Session could not been closed. " + e.getMessage());
+            }
         }
     }
 
-    private class HeartbeatCommand implements Runnable {
+    private class HeartbeatCommand implements HashedWheelTimer.TimerTask {
 
         @Override
-        public void run() {
+        public void run(HashedWheelTimer.Timeout timeout) {
             TyrusSession session = TyrusSession.this;
+
+            // timeout has been cancelled or replaced after it had expired.
+            if (timeout != heartbeatTimeout) {
+                return;
+            }
+
             if (session.isOpen() && session.getHeartbeatInterval() > 0) {
                 try {
                     session.getBasicRemote().sendPong(null);
                 } catch (IOException e) {
                     LOGGER.log(Level.FINE, "Pong could not have been sent " + e.getMessage());
                 }
+
+                synchronized (timeoutLock) {
+                    if (timeout == heartbeatTimeout) {
+                        heartbeatTimeout =
+                                timer.newTimeout(this, session.getHeartbeatInterval(), TimeUnit.MILLISECONDS);
+                    }
+                }
             } else {
                 cancelHeartBeatTask();
             }
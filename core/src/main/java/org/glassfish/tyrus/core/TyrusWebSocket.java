@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -38,6 +38,7 @@ import org.glassfish.tyrus.core.frame.TextFrame;
 import org.glassfish.tyrus.core.frame.TyrusFrame;
 import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 import org.glassfish.tyrus.core.monitoring.MessageEventListener;
+import org.glassfish.tyrus.core.monitoring.MessageLatencyListener;
 import org.glassfish.tyrus.spi.UpgradeRequest;
 import org.glassfish.tyrus.spi.WriterInfo;
 
@@ -57,6 +58,8 @@ public class TyrusWebSocket {
     private final Lock lock = new ReentrantLock();
 
     private volatile MessageEventListener messageEventListener = MessageEventListener.NO_OP;
+    // messageEventListener if it wants to know handler latencies, null otherwise
+    private volatile MessageLatencyListener messageLatencyListener = null;
 
     private static final WriterInfo PING_INFO = new WriterInfo(WriterInfo.MessageType.PING, WriterInfo.RemoteEndpointType.SUPER);
     private static final WriterInfo PONG_INFO = new WriterInfo(WriterInfo.MessageType.PONG, WriterInfo.RemoteEndpointType.SUPER);
@@ -152,8 +155,10 @@ public class TyrusWebSocket {
     public void onFragment(BinaryFrame frame, boolean last) {
         awaitOnConnect();
         if (endpointWrapper != null) {
+            final long handlingStarted = handlingStarted();
             endpointWrapper.onPartialMessage(this, ByteBuffer.wrap(frame.getPayloadData()), last);
             messageEventListener.onFrameReceived(frame.getFrameType(), frame.getPayloadLength());
+            handled(handlingStarted);
         }
     }
 
@@ -167,8 +172,10 @@ public class TyrusWebSocket {
     public void onFragment(TextFrame frame, boolean last) {
         awaitOnConnect();
         if (endpointWrapper != null) {
+            final long handlingStarted = handlingStarted();
             endpointWrapper.onPartialMessage(this, frame.getTextPayload(), last);
             messageEventListener.onFrameReceived(frame.getFrameType(), frame.getPayloadLength());
+            handled(handlingStarted);
         }
     }
 
@@ -180,8 +187,10 @@ public class TyrusWebSocket {
     public void onMessage(BinaryFrame frame) {
         awaitOnConnect();
         if (endpointWrapper != null) {
+            final long handlingStarted = handlingStarted();
             endpointWrapper.onMessage(this, ByteBuffer.wrap(frame.getPayloadData()));
             messageEventListener.onFrameReceived(frame.getFrameType(), frame.getPayloadLength());
+            handled(handlingStarted);
         }
     }
 
@@ -193,8 +202,10 @@ public class TyrusWebSocket {
     public void onMessage(TextFrame frame) {
         awaitOnConnect();
         if (endpointWrapper != null) {
+            final long handlingStarted = handlingStarted();
             endpointWrapper.onMessage(this, frame.getTextPayload());
             messageEventListener.onFrameReceived(frame.getFrameType(), frame.getPayloadLength());
+            handled(handlingStarted);
         }
     }
 
@@ -206,8 +217,10 @@ public class TyrusWebSocket {
     public void onPing(PingFrame frame) {
         awaitOnConnect();
         if (endpointWrapper != null) {
+            final long handlingStarted = handlingStarted();
             endpointWrapper.onPing(this, ByteBuffer.wrap(frame.getPayloadData()));
             messageEventListener.onFrameReceived(frame.getFrameType(), frame.getPayloadLength());
+            handled(handlingStarted);
         }
     }
 
@@ -220,8 +233,10 @@ public class TyrusWebSocket {
     public void onPong(PongFrame frame) {
         awaitOnConnect();
         if (endpointWrapper != null) {
+            final long handlingStarted = handlingStarted();
             endpointWrapper.onPong(this, ByteBuffer.wrap(frame.getPayloadData()));
             messageEventListener.onFrameReceived(frame.getFrameType(), frame.getPayloadLength());
+            handled(handlingStarted);
         }
     }
 
@@ -361,6 +376,17 @@ public class TyrusWebSocket {
         return protocolHandler.sendRawFrame(data);
     }
 
+    /**
+     * Send a whole message serialized in order with the other frames of this connection.
+     *
+     * @param sharedFrame frame shared with other connections.
+     * @return {@link Future} which could be used to control/check the sending completion state.
+     */
+    Future<Frame> sendSharedFrame(ProtocolHandler.SharedFrame sharedFrame) {
+        checkConnectedState();
+        return protocolHandler.sendSharedFrame(sharedFrame);
+    }
+
     /**
      * Sends a <code>ping</code> frame with the specified payload (if any).
      *
@@ -492,6 +518,8 @@ public class TyrusWebSocket {
      */
     void setMessageEventListener(MessageEventListener messageEventListener) {
         this.messageEventListener = messageEventListener;
+        this.messageLatencyListener = messageEventListener instanceof MessageLatencyListener
+                ? (MessageLatencyListener) messageEventListener : null;
         protocolHandler.setMessageEventListener(messageEventListener);
     }
 
@@ -504,6 +532,17 @@ public class TyrusWebSocket {
         return messageEventListener;
     }
 
+    private long handlingStarted() {
+        return messageLatencyListener == null ? 0 : System.nanoTime();
+    }
+
+    private void handled(long handlingStarted) {
+        final MessageLatencyListener listener = messageLatencyListener;
+        if (listener != null && handlingStarted != 0) {
+            listener.onFrameHandled(System.nanoTime() - handlingStarted);
+        }
+    }
+
     private void checkConnectedState() {
         if (!isConnected()) {
             throw new RuntimeException(LocalizationMessages.SOCKET_NOT_CONNECTED());
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -21,11 +21,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,9 +44,12 @@ import org.glassfish.tyrus.core.frame.Frame;
 import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 import org.glassfish.tyrus.core.monitoring.ApplicationEventListener;
 import org.glassfish.tyrus.core.monitoring.EndpointEventListener;
+import org.glassfish.tyrus.core.monitoring.HandshakeLatencyListener;
 import org.glassfish.tyrus.core.monitoring.MessageEventListener;
+import org.glassfish.tyrus.core.uri.EndpointTrie;
 import org.glassfish.tyrus.core.uri.Match;
 import org.glassfish.tyrus.core.wsadl.model.Application;
+import org.glassfish.tyrus.spi.BufferPool;
 import org.glassfish.tyrus.spi.Connection;
 import org.glassfish.tyrus.spi.ReadHandler;
 import org.glassfish.tyrus.spi.UpgradeRequest;
@@ -94,6 +97,21 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
      */
     public static final String MAX_SESSIONS_PER_REMOTE_ADDR = "org.glassfish.tyrus.maxSessionsPerRemoteAddr";
 
+    /**
+     * Maximum number of handshakes per second per unique remote address.
+     * <p>
+     * Each remote address can do a burst of up to this number of handshakes, further handshakes are allowed at this
+     * rate. Handshakes over the limit are refused with HTTP status 429 (Too Many Requests) before any session is
+     * created, so reconnecting clients do not consume server resources.
+     * <p>
+     * The value must be positive {@link java.lang.Integer} or its primitive alternative. Negative values
+     * and zero are ignored.
+     * <p>
+     * The handshake rate is not limited by default.
+     */
+    @Beta
+    public static final String MAX_HANDSHAKES_PER_REMOTE_ADDR = "org.glassfish.tyrus.maxHandshakesPerRemoteAddr";
+
     /**
      * Property used for configuring the type of tracing supported by the server.
      * <p>
@@ -141,19 +159,100 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
      */
     public static final String PARALLEL_BROADCAST_ENABLED = "org.glassfish.tyrus.server.parallelBroadcastEnabled";
 
-    private static final int BUFFER_STEP_SIZE = 256;
+    /**
+     * Maximum number of bytes queued for sending per session.
+     * <p>
+     * Bytes are queued when the remote endpoint reads slower than the application sends. When the limit would be
+     * exceeded, the {@link #SLOW_CONSUMER_POLICY} is applied. A single message bigger than the limit is still sent
+     * when nothing else is queued.
+     * <p>
+     * The value must be positive {@link java.lang.Integer} or its primitive alternative. Negative values and zero
+     * are ignored.
+     * <p>
+     * The outbound queue is not limited by default. The same property name can be used in client properties.
+     *
+     * @see org.glassfish.tyrus.core.TyrusSession#getQueuedBytes()
+     */
+    @Beta
+    public static final String OUTBOUND_QUEUE_LIMIT = "org.glassfish.tyrus.outboundQueueLimit";
+
+    /**
+     * Policy applied when {@link #OUTBOUND_QUEUE_LIMIT} would be exceeded.
+     * <p>
+     * The value is expected to be {@link org.glassfish.tyrus.core.SlowConsumerPolicy} or its string value.
+     * <p>
+     * The default value is {@link org.glassfish.tyrus.core.SlowConsumerPolicy#DROP_NEWEST}. The same property name can
+     * be used in client properties.
+     */
+    @Beta
+    public static final String SLOW_CONSUMER_POLICY = "org.glassfish.tyrus.slowConsumerPolicy";
+
+    /**
+     * Run tasks of the container's executor service in virtual threads.
+     * <p>
+     * The executor service is used for streaming message handlers ({@link java.io.Reader} and
+     * {@link java.io.InputStream}) and parallel broadcast, so blocking in such handlers does not occupy platform
+     * threads. Requires JDK 21 or newer; platform threads are used otherwise. Has no effect when a container-managed
+     * executor service is available.
+     * <p>
+     * The value must be {@link java.lang.Boolean} or its primitive alternative. The default value is {@code false}.
+     * The same property name can be used in client properties.
+     *
+     * @see org.glassfish.tyrus.core.VirtualThreads
+     */
+    @Beta
+    public static final String VIRTUAL_THREADS_ENABLED = "org.glassfish.tyrus.virtualThreadsEnabled";
+
+    /**
+     * Pool of buffers used for reading incoming data.
+     * <p>
+     * The value must be an instance of {@link org.glassfish.tyrus.spi.BufferPool}. The same pool can be shared by more
+     * containers. If not set, the pool shared by all containers, {@link DefaultBufferPool#getShared(boolean)}, is used.
+     * The same property name can be used in client properties.
+     *
+     * @see #DIRECT_BUFFERS_ENABLED
+     */
+    @Beta
+    public static final String BUFFER_POOL = "org.glassfish.tyrus.bufferPool";
+
+    /**
+     * Use direct buffers for reading incoming data.
+     * <p>
+     * The value must be {@link java.lang.Boolean} or its primitive alternative. The default value is {@code false}.
+     * Ignored when {@link #BUFFER_POOL} is set. The same property name can be used in client properties.
+     */
+    @Beta
+    public static final String DIRECT_BUFFERS_ENABLED = "org.glassfish.tyrus.directBuffersEnabled";
+
+    /**
+     * Size of frames sent by {@link javax.websocket.RemoteEndpoint.Basic#getSendStream()} and
+     * {@link javax.websocket.RemoteEndpoint.Basic#getSendWriter()}.
+     * <p>
+     * Data written to the stream (or writer) are buffered and sent as a continuation frame when the buffer of this
+     * size is full, when the stream is flushed and when it is closed. The size is in bytes for the stream and in
+     * characters for the writer.
+     * <p>
+     * The value must be positive {@link java.lang.Integer} or its primitive alternative. Negative values and zero
+     * are ignored. The default value is {@code 8192}. The same property name can be used in client properties.
+     */
+    @Beta
+    public static final String SEND_STREAM_FRAME_SIZE = "org.glassfish.tyrus.sendStreamFrameSize";
+
     private static final Logger LOGGER = Logger.getLogger(TyrusWebSocketEngine.class.getName());
 
     private static final UpgradeInfo NOT_APPLICABLE_UPGRADE_INFO =
             new NoConnectionUpgradeInfo(UpgradeStatus.NOT_APPLICABLE);
     private static final UpgradeInfo HANDSHAKE_FAILED_UPGRADE_INFO =
             new NoConnectionUpgradeInfo(UpgradeStatus.HANDSHAKE_FAILED);
+    private static final String RETRY_AFTER = "Retry-After";
     private static final TyrusEndpointWrapper.SessionListener NO_OP_SESSION_LISTENER =
             new TyrusEndpointWrapper.SessionListener() {
             };
 
     private final Set<TyrusEndpointWrapper> endpointWrappers =
             Collections.newSetFromMap(new ConcurrentHashMap<TyrusEndpointWrapper, Boolean>());
+    // endpoint paths compiled for matching of handshake request URIs
+    private final EndpointTrie endpointTrie = new EndpointTrie();
     private final ComponentProviderService componentProviderService = ComponentProviderService.create();
     private final WebSocketContainer webSocketContainer;
 
@@ -162,7 +261,12 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
     private final ClusterContext clusterContext;
     private final ApplicationEventListener applicationEventListener;
     private final TyrusEndpointWrapper.SessionListener sessionListener;
+    private final HandshakeRateLimiter handshakeRateLimiter;
     private final Boolean parallelBroadcastEnabled;
+    private final Integer outboundQueueLimit;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final BufferPool bufferPool;
+    private final Integer sendStreamFrameSize;
 
     private final DebugContext.TracingType tracingType;
     private final DebugContext.TracingThreshold tracingThreshold;
@@ -194,18 +298,32 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
      * @param tracingType              type of tracing.
      * @param tracingThreshold         tracing threshold.
      * @param parallelBroadcastEnabled {@code true} if parallel broadcast should be enabled, {@code true} is default.
+     * @param outboundQueueLimit       maximal number of bytes queued for sending per session. If {@code null}, no
+     *                                 limit is applied.
+     * @param slowConsumerPolicy       policy applied when the outbound queue limit would be exceeded.
+     * @param bufferPool               pool of buffers used for reading incoming data.
+     * @param maxHandshakesPerRemoteAddr maximal number of handshakes per second per remote address. If {@code null},
+     *                                 no limit is applied.
+     * @param sendStreamFrameSize      size of frames sent by send streams and writers. If {@code null}, the default
+     *                                 size is used.
      */
     private TyrusWebSocketEngine(WebSocketContainer webSocketContainer, Integer incomingBufferSize,
                                  ClusterContext clusterContext, ApplicationEventListener applicationEventListener,
                                  final Integer maxSessionsPerApp, final Integer maxSessionsPerRemoteAddr,
                                  DebugContext.TracingType tracingType, DebugContext.TracingThreshold tracingThreshold,
-                                 Boolean parallelBroadcastEnabled) {
+                                 Boolean parallelBroadcastEnabled, Integer outboundQueueLimit,
+                                 SlowConsumerPolicy slowConsumerPolicy, BufferPool bufferPool,
+                                 Integer maxHandshakesPerRemoteAddr, Integer sendStreamFrameSize) {
         if (incomingBufferSize != null) {
             this.incomingBufferSize = incomingBufferSize;
         }
         this.webSocketContainer = webSocketContainer;
         this.clusterContext = clusterContext;
         this.parallelBroadcastEnabled = parallelBroadcastEnabled;
+        this.outboundQueueLimit = outboundQueueLimit;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.bufferPool = bufferPool;
+        this.sendStreamFrameSize = sendStreamFrameSize;
         if (applicationEventListener == null) {
             // create dummy instance in order not to have to check null pointer
             this.applicationEventListener = ApplicationEventListener.NO_OP;
@@ -216,72 +334,24 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         }
 
         LOGGER.config("Incoming buffer size: " + this.incomingBufferSize);
+        LOGGER.config("Buffer pool: " + bufferPool);
         LOGGER.config("Max sessions per app: " + maxSessionsPerApp);
         LOGGER.config("Max sessions per remote address: " + maxSessionsPerRemoteAddr);
+        LOGGER.config("Max handshakes per second per remote address: " + maxHandshakesPerRemoteAddr);
         // parallel broadcast is enabled by default, so null means true
         LOGGER.config("Parallel broadcast enabled: " + (parallelBroadcastEnabled != null && parallelBroadcastEnabled));
+        if (outboundQueueLimit != null) {
+            LOGGER.config("Outbound queue limit: " + outboundQueueLimit + ", slow consumer policy: "
+                                  + (slowConsumerPolicy == null ? SlowConsumerPolicy.DROP_NEWEST : slowConsumerPolicy));
+        }
 
         this.tracingType = tracingType;
         this.tracingThreshold = tracingThreshold;
 
         this.sessionListener = maxSessionsPerApp == null && maxSessionsPerRemoteAddr == null
-                ? NO_OP_SESSION_LISTENER : new TyrusEndpointWrapper.SessionListener() {
-            // Implementation of {@link org.glassfish.tyrus.core.TyrusEndpointWrapper.SessionListener} counting
-            // sessions.
-
-            // limit per application counter
-            private final AtomicInteger counter = new AtomicInteger(0);
-            private final Object counterLock = new Object();
-
-            // limit per remote address counter
-            private final Map<String, AtomicInteger> remoteAddressCounters = new HashMap<String, AtomicInteger>();
-
-            @Override
-            public OnOpenResult onOpen(final TyrusSession session) {
-                if (maxSessionsPerApp != null) {
-                    synchronized (counterLock) {
-                        if (counter.get() >= maxSessionsPerApp) {
-                            return OnOpenResult.MAX_SESSIONS_PER_APP_EXCEEDED;
-                        } else {
-                            counter.incrementAndGet();
-                        }
-                    }
-                }
-
-                if (maxSessionsPerRemoteAddr != null) {
-                    synchronized (remoteAddressCounters) {
-                        AtomicInteger remoteAddressCounter = remoteAddressCounters.get(session.getRemoteAddr());
-                        if (remoteAddressCounter == null) {
-                            remoteAddressCounter = new AtomicInteger(1);
-                            remoteAddressCounters.put(session.getRemoteAddr(), remoteAddressCounter);
-                        } else if (remoteAddressCounter.get() >= maxSessionsPerRemoteAddr) {
-                            return OnOpenResult.MAX_SESSIONS_PER_REMOTE_ADDR_EXCEEDED;
-                        } else {
-                            remoteAddressCounter.incrementAndGet();
-                        }
-                    }
-                }
-
-                return OnOpenResult.SESSION_ALLOWED;
-            }
-
-            @Override
-            public void onClose(final TyrusSession session, final CloseReason closeReason) {
-                if (maxSessionsPerApp != null) {
-                    synchronized (counterLock) {
-                        counter.decrementAndGet();
-                    }
-                }
-                if (maxSessionsPerRemoteAddr != null) {
-                    synchronized (remoteAddressCounters) {
-                        int remoteAddressCounter = remoteAddressCounters.get(session.getRemoteAddr()).decrementAndGet();
-                        if (remoteAddressCounter == 0) {
-                            remoteAddressCounters.remove(session.getRemoteAddr());
-                        }
-                    }
-                }
-            }
-        };
+                ? NO_OP_SESSION_LISTENER : new SessionLimitListener(maxSessionsPerApp, maxSessionsPerRemoteAddr);
+        this.handshakeRateLimiter =
+                maxHandshakesPerRemoteAddr == null ? null : new HandshakeRateLimiter(maxHandshakesPerRemoteAddr);
     }
 
     private static ProtocolHandler loadHandler(UpgradeRequest request) {
@@ -307,7 +377,8 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
 
         final String requestPath = request.getRequestUri();
 
-        for (Match m : Match.getAllMatches(requestPath, endpointWrappers, debugContext)) {
+        for (Iterator<Match> matches = endpointTrie.match(requestPath, debugContext); matches.hasNext(); ) {
+            final Match m = matches.next();
             final TyrusEndpointWrapper endpointWrapper = m.getEndpointWrapper();
 
             for (Map.Entry<String, String> parameter : m.getParameters().entrySet()) {
@@ -327,9 +398,23 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         return null;
     }
 
+    /**
+     * Get the listener of handshake durations registered for the endpoint.
+     *
+     * @return endpoint event listener of the endpoint if it implements {@link HandshakeLatencyListener}, {@code null}
+     * otherwise.
+     */
+    private static HandshakeLatencyListener getHandshakeLatencyListener(TyrusEndpointWrapper endpointWrapper) {
+        EndpointEventListener listener = endpointWrapper.getEndpointEventListener();
+        if (listener instanceof EndpointEventListenerWrapper) {
+            listener = ((EndpointEventListenerWrapper) listener).endpointEventListener;
+        }
+
+        return listener instanceof HandshakeLatencyListener ? (HandshakeLatencyListener) listener : null;
+    }
+
     @Override
     public UpgradeInfo upgrade(final UpgradeRequest request, final UpgradeResponse response) {
-
         DebugContext debugContext = createDebugContext(request);
 
         if (LOGGER.isLoggable(Level.FINE)) {
@@ -345,6 +430,22 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         }
 
         if (endpointWrapper != null) {
+            final HandshakeLatencyListener handshakeLatencyListener = getHandshakeLatencyListener(endpointWrapper);
+            final long handshakeStarted = handshakeLatencyListener == null ? 0 : System.nanoTime();
+
+            if (handshakeRateLimiter != null && request instanceof RequestContext) {
+                final String remoteAddr = ((RequestContext) request).getRemoteAddr();
+                if (remoteAddr != null && !handshakeRateLimiter.tryAcquire(remoteAddr)) {
+                    debugContext.appendLogMessage(LOGGER, Level.FINE, DebugContext.Type.MESSAGE_IN,
+                                                  "Handshake refused: ",
+                                                  LocalizationMessages.MAX_HANDSHAKES_PER_REMOTEADDR_EXCEEDED());
+                    response.getHeaders().put(RETRY_AFTER, Collections.singletonList("1"));
+                    return handleHandshakeException(
+                            new HandshakeException(429, LocalizationMessages.MAX_HANDSHAKES_PER_REMOTEADDR_EXCEEDED()),
+                            response);
+                }
+            }
+
             final ProtocolHandler protocolHandler = loadHandler(request);
             if (protocolHandler == null) {
                 handleUnsupportedVersion(request, response);
@@ -362,6 +463,14 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
                 return HANDSHAKE_FAILED_UPGRADE_INFO;
             }
 
+            if (outboundQueueLimit != null) {
+                protocolHandler.setOutboundQueueLimit(outboundQueueLimit, slowConsumerPolicy);
+            }
+
+            if (sendStreamFrameSize != null) {
+                protocolHandler.setSendStreamFrameSize(sendStreamFrameSize);
+            }
+
             final ExtendedExtension.ExtensionContext extensionContext = new ExtendedExtension.ExtensionContext() {
 
                 private final Map<String, Object> properties = new HashMap<String, Object>();
@@ -401,6 +510,11 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
             }
 
             response.getHeaders().putAll(debugContext.getTracingHeaders());
+
+            if (response.getStatus() == 101 && handshakeLatencyListener != null) {
+                handshakeLatencyListener.onHandshakeCompleted(System.nanoTime() - handshakeStarted);
+            }
+
             switch (response.getStatus()) {
                 case 101:
                 case 300:
@@ -411,8 +525,8 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
                 case 308:
                 case 401:
                 case 503:
-                    return new SuccessfulUpgradeInfo(endpointWrapper, protocolHandler, incomingBufferSize, request, response,
-                            extensionContext, debugContext);
+                    return new SuccessfulUpgradeInfo(endpointWrapper, protocolHandler, incomingBufferSize, bufferPool,
+                                                     request, response, extensionContext, debugContext);
                 default:
                     return new NoConnectionUpgradeInfo(UpgradeStatus.HANDSHAKE_FAILED);
             }
@@ -487,21 +601,19 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         private final ProtocolHandler protocolHandler;
         private final TyrusWebSocket socket;
         private final TyrusEndpointWrapper endpointWrapper;
-        private final int incomingBufferSize;
         private final ExtendedExtension.ExtensionContext extensionContext;
         private final DebugContext debugContext;
-
-        private volatile ByteBuffer buffer;
+        private final PartialFrameBuffer partialFrameBuffer;
 
         private TyrusReadHandler(ProtocolHandler protocolHandler, TyrusWebSocket socket,
-                                 TyrusEndpointWrapper endpointWrapper, int incomingBufferSize,
+                                 TyrusEndpointWrapper endpointWrapper, PartialFrameBuffer partialFrameBuffer,
                                  ExtendedExtension.ExtensionContext extensionContext, DebugContext debugContext) {
             this.extensionContext = extensionContext;
             this.protocolHandler = protocolHandler;
             this.socket = socket;
             this.endpointWrapper = endpointWrapper;
-            this.incomingBufferSize = incomingBufferSize;
             this.debugContext = debugContext;
+            this.partialFrameBuffer = partialFrameBuffer;
         }
 
         @Override
@@ -509,27 +621,14 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
             try {
                 if (data != null && data.hasRemaining()) {
 
-                    if (buffer != null) {
-                        data = Utils.appendBuffers(buffer, data, incomingBufferSize, BUFFER_STEP_SIZE);
-                    } else {
-                        int newSize = data.remaining();
-                        if (newSize > incomingBufferSize) {
-                            throw new IllegalArgumentException(LocalizationMessages.BUFFER_OVERFLOW());
-                        } else {
-                            final int roundedSize = (newSize % BUFFER_STEP_SIZE) > 0
-                                    ? ((newSize / BUFFER_STEP_SIZE) + 1) * BUFFER_STEP_SIZE : newSize;
-                            final ByteBuffer result =
-                                    ByteBuffer.allocate(roundedSize > incomingBufferSize ? newSize : roundedSize);
-                            result.flip();
-                            data = Utils.appendBuffers(result, data, incomingBufferSize, BUFFER_STEP_SIZE);
-                        }
-                    }
+                    // frames are unframed directly from the passed buffer, only an incomplete frame is copied.
+                    data = partialFrameBuffer.prepend(data);
 
                     do {
                         final Frame incomingFrame = protocolHandler.unframe(data);
 
                         if (incomingFrame == null) {
-                            buffer = data;
+                            partialFrameBuffer.retain(data);
                             break;
                         } else {
                             Frame frame = incomingFrame;
@@ -590,6 +689,7 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         checkPath(endpointWrapper);
         LOGGER.log(Level.FINER, "Registered endpoint: " + endpointWrapper);
         endpointWrappers.add(endpointWrapper);
+        endpointTrie.add(endpointWrapper);
     }
 
     @Override
@@ -688,6 +788,7 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
      */
     public void unregister(TyrusEndpointWrapper endpointWrapper) {
         endpointWrappers.remove(endpointWrapper);
+        endpointTrie.remove(endpointWrapper);
         applicationEventListener.onEndpointUnregistered(endpointWrapper.getEndpointPath());
     }
 
@@ -714,18 +815,20 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         private final TyrusEndpointWrapper endpointWrapper;
         private final ProtocolHandler protocolHandler;
         private final int incomingBufferSize;
+        private final BufferPool bufferPool;
         private final UpgradeRequest upgradeRequest;
         private final UpgradeResponse upgradeResponse;
         private final ExtendedExtension.ExtensionContext extensionContext;
         private final DebugContext debugContext;
 
         SuccessfulUpgradeInfo(TyrusEndpointWrapper endpointWrapper, ProtocolHandler protocolHandler,
-                              int incomingBufferSize,
+                              int incomingBufferSize, BufferPool bufferPool,
                               UpgradeRequest upgradeRequest, UpgradeResponse upgradeResponse,
                               ExtendedExtension.ExtensionContext extensionContext, DebugContext debugContext) {
             this.endpointWrapper = endpointWrapper;
             this.protocolHandler = protocolHandler;
             this.incomingBufferSize = incomingBufferSize;
+            this.bufferPool = bufferPool;
             this.upgradeRequest = upgradeRequest;
             this.upgradeResponse = upgradeResponse;
             this.extensionContext = extensionContext;
@@ -740,7 +843,8 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         @Override
         public Connection createConnection(Writer writer, Connection.CloseListener closeListener) {
             TyrusConnection tyrusConnection =
-                    new TyrusConnection(endpointWrapper, protocolHandler, incomingBufferSize, writer, closeListener,
+                    new TyrusConnection(endpointWrapper, protocolHandler,
+                                        new PartialFrameBuffer(incomingBufferSize, bufferPool), writer, closeListener,
                                         upgradeRequest, upgradeResponse, extensionContext, debugContext);
             debugContext.flush();
             return tyrusConnection;
@@ -757,6 +861,18 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         return applicationEventListener;
     }
 
+    /**
+     * Get {@link BufferPool} used for reading incoming data by current {@link TyrusWebSocketEngine} instance.
+     * <p>
+     * Transports can acquire their read buffers from the same pool.
+     *
+     * @return buffer pool instance.
+     */
+    @Beta
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     /**
      * Get {@link org.glassfish.tyrus.core.wsadl.model.Application} representing current set of deployed endpoints.
      *
@@ -784,8 +900,8 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         private final ExtendedExtension.ExtensionContext extensionContext;
         private final List<Extension> extensions;
 
-        TyrusConnection(TyrusEndpointWrapper endpointWrapper, ProtocolHandler protocolHandler, int incomingBufferSize,
-                        Writer writer, CloseListener closeListener,
+        TyrusConnection(TyrusEndpointWrapper endpointWrapper, ProtocolHandler protocolHandler,
+                        PartialFrameBuffer partialFrameBuffer, Writer writer, CloseListener closeListener,
                         UpgradeRequest upgradeRequest, UpgradeResponse upgradeResponse,
                         ExtendedExtension.ExtensionContext extensionContext, DebugContext debugContext) {
             protocolHandler.setWriter(writer);
@@ -807,7 +923,7 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
                                   debugContext);
 
             this.readHandler =
-                    new TyrusReadHandler(protocolHandler, socket, endpointWrapper, incomingBufferSize, extensionContext,
+                    new TyrusReadHandler(protocolHandler, socket, endpointWrapper, partialFrameBuffer, extensionContext,
                                          debugContext);
             this.writer = writer;
             this.closeListener = closeListener;
@@ -861,9 +977,15 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
         private ApplicationEventListener applicationEventListener = null;
         private Integer maxSessionsPerApp = null;
         private Integer maxSessionsPerRemoteAddr = null;
+        private Integer maxHandshakesPerRemoteAddr = null;
         private DebugContext.TracingType tracingType = null;
         private DebugContext.TracingThreshold tracingThreshold = null;
         private Boolean parallelBroadcastEnabled = null;
+        private Integer outboundQueueLimit = null;
+        private SlowConsumerPolicy slowConsumerPolicy = null;
+        private BufferPool bufferPool = null;
+        private Boolean directBuffersEnabled = null;
+        private Integer sendStreamFrameSize = null;
 
         /**
          * Create new {@link org.glassfish.tyrus.core.TyrusWebSocketEngine} instance with current set of parameters.
@@ -892,9 +1014,33 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
                                          maxSessionsPerApp));
             }
 
+            if (maxHandshakesPerRemoteAddr != null && maxHandshakesPerRemoteAddr <= 0) {
+                LOGGER.log(Level.CONFIG, "Invalid configuration value " + MAX_HANDSHAKES_PER_REMOTE_ADDR + " ("
+                        + maxHandshakesPerRemoteAddr + "), expected value greater than 0.");
+                maxHandshakesPerRemoteAddr = null;
+            }
+
+            if (outboundQueueLimit != null && outboundQueueLimit <= 0) {
+                LOGGER.log(Level.CONFIG, "Invalid configuration value " + OUTBOUND_QUEUE_LIMIT + " ("
+                        + outboundQueueLimit + "), expected value greater than 0.");
+                outboundQueueLimit = null;
+            }
+
+            if (sendStreamFrameSize != null && sendStreamFrameSize <= 0) {
+                LOGGER.log(Level.CONFIG, "Invalid configuration value " + SEND_STREAM_FRAME_SIZE + " ("
+                        + sendStreamFrameSize + "), expected value greater than 0.");
+                sendStreamFrameSize = null;
+            }
+
+            if (bufferPool == null) {
+                bufferPool = DefaultBufferPool.getShared(directBuffersEnabled != null && directBuffersEnabled);
+            }
+
             return new TyrusWebSocketEngine(webSocketContainer, incomingBufferSize, clusterContext,
                                             applicationEventListener, maxSessionsPerApp, maxSessionsPerRemoteAddr,
-                                            tracingType, tracingThreshold, parallelBroadcastEnabled);
+                                            tracingType, tracingThreshold, parallelBroadcastEnabled,
+                                            outboundQueueLimit, slowConsumerPolicy, bufferPool,
+                                            maxHandshakesPerRemoteAddr, sendStreamFrameSize);
         }
 
         TyrusWebSocketEngineBuilder(WebSocketContainer webSocketContainer) {
@@ -968,6 +1114,20 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
             return this;
         }
 
+        /**
+         * Set maximal number of handshakes per second from remote address.
+         *
+         * @param maxHandshakesPerRemoteAddr maximal number of handshakes per second from remote address, also the
+         *                                   allowed burst. If {@code null}, no limit is applied.
+         * @return updated builder.
+         * @see #MAX_HANDSHAKES_PER_REMOTE_ADDR
+         */
+        @Beta
+        public TyrusWebSocketEngineBuilder maxHandshakesPerRemoteAddr(Integer maxHandshakesPerRemoteAddr) {
+            this.maxHandshakesPerRemoteAddr = maxHandshakesPerRemoteAddr;
+            return this;
+        }
+
         /**
          * Set type of tracing.
          *
@@ -994,6 +1154,73 @@ public class TyrusWebSocketEngine implements WebSocketEngine {
             this.parallelBroadcastEnabled = parallelBroadcastEnabled;
             return this;
         }
+
+        /**
+         * Set maximal number of bytes queued for sending per session.
+         *
+         * @param outboundQueueLimit maximal number of queued bytes. If {@code null}, no limit is applied.
+         * @return updated builder.
+         * @see TyrusWebSocketEngine#OUTBOUND_QUEUE_LIMIT
+         */
+        @Beta
+        public TyrusWebSocketEngineBuilder outboundQueueLimit(Integer outboundQueueLimit) {
+            this.outboundQueueLimit = outboundQueueLimit;
+            return this;
+        }
+
+        /**
+         * Set policy applied when the outbound queue limit would be exceeded.
+         *
+         * @param slowConsumerPolicy slow consumer policy. If {@code null},
+         *                           {@link SlowConsumerPolicy#DROP_NEWEST} is used.
+         * @return updated builder.
+         * @see TyrusWebSocketEngine#SLOW_CONSUMER_POLICY
+         */
+        @Beta
+        public TyrusWebSocketEngineBuilder slowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+            this.slowConsumerPolicy = slowConsumerPolicy;
+            return this;
+        }
+
+        /**
+         * Set pool of buffers used for reading incoming data.
+         *
+         * @param bufferPool buffer pool. If {@code null}, the shared {@link DefaultBufferPool} is used.
+         * @return updated builder.
+         * @see TyrusWebSocketEngine#BUFFER_POOL
+         */
+        @Beta
+        public TyrusWebSocketEngineBuilder bufferPool(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        /**
+         * Set whether the shared pool of direct buffers should be used when no buffer pool is set.
+         *
+         * @param directBuffersEnabled {@code true} if direct buffers should be used. If {@code null}, heap buffers are
+         *                             used.
+         * @return updated builder.
+         * @see TyrusWebSocketEngine#DIRECT_BUFFERS_ENABLED
+         */
+        @Beta
+        public TyrusWebSocketEngineBuilder directBuffersEnabled(Boolean directBuffersEnabled) {
+            this.directBuffersEnabled = directBuffersEnabled;
+            return this;
+        }
+
+        /**
+         * Set size of frames sent by send streams and writers.
+         *
+         * @param sendStreamFrameSize frame size. If {@code null}, the default size is used.
+         * @return updated builder.
+         * @see TyrusWebSocketEngine#SEND_STREAM_FRAME_SIZE
+         */
+        @Beta
+        public TyrusWebSocketEngineBuilder sendStreamFrameSize(Integer sendStreamFrameSize) {
+            this.sendStreamFrameSize = sendStreamFrameSize;
+            return this;
+        }
     }
 
     /**
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
+
+/**
+ * Access to virtual threads (JDK 21+) without compile time dependency on the JDK version.
+ * <p>
+ * On JDK versions which pin the carrier thread when a virtual thread blocks inside a {@code synchronized} block or
+ * method (JDK 21 - 23), blocking in such a block in a message handler limits the scalability to the number of carrier
+ * threads. Pinned virtual threads can be reported by setting {@code -Djdk.tracePinnedThreads=short} or by recording
+ * the {@code jdk.VirtualThreadPinned} JFR event; the executor service creation logs whether the tracing is enabled.
+ */
+@Beta
+public final class VirtualThreads {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreads.class.getName());
+
+    private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+
+    /**
+     * First JDK version which does not pin virtual threads in {@code synchronized} blocks (JEP 491).
+     */
+    private static final int UNPINNED_MONITORS_VERSION = 24;
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Exception e) {
+            // JDK without virtual threads
+            ofVirtual = null;
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+        } catch (LinkageError error) {
+            ofVirtual = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Check whether the running JDK supports virtual threads.
+     *
+     * @return {@code true} when virtual threads can be created.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create an {@link ExecutorService} which starts a new virtual thread for each task.
+     *
+     * @param namePrefix prefix of the names of created threads, a sequence number is appended to it.
+     * @return new executor service or {@code null} when virtual threads are not supported by the running JDK (or are
+     * a preview feature which is not enabled).
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+
+        final ExecutorService executorService;
+        try {
+            final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            final ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            executorService = (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (Exception e) {
+            // JDK 19 and 20 - preview feature not enabled
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+            return null;
+        }
+
+        logPinningDiagnostics();
+        return executorService;
+    }
+
+    private static void logPinningDiagnostics() {
+        if (!LOGGER.isLoggable(Level.CONFIG)) {
+            return;
+        }
+
+        if (getJavaVersion() >= UNPINNED_MONITORS_VERSION) {
+            LOGGER.config(LocalizationMessages.VIRTUAL_THREADS_ENABLED());
+        } else {
+            final String tracePinnedThreads = System.getProperty(TRACE_PINNED_THREADS);
+            LOGGER.config(LocalizationMessages.VIRTUAL_THREADS_ENABLED_PINNING(
+                    tracePinnedThreads == null ? "off" : tracePinnedThreads));
+        }
+    }
+
+    private static int getJavaVersion() {
+        final String version = System.getProperty("java.specification.version", "");
+        try {
+            return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,7 @@
 
 package org.glassfish.tyrus.core;
 
+import org.glassfish.tyrus.core.l10n.LocalizationMessages;
 import org.glassfish.tyrus.spi.WriterInfo;
 
 import java.io.IOException;
@@ -23,41 +24,119 @@ import java.io.Writer;
 
 /**
  * Simple Writer that writes its data to an async sink.
+ * <p>
+ * Written characters are coalesced into frames of {@link ProtocolHandler#getSendStreamFrameSize()} characters, a frame
+ * is sent when the buffer is full, on {@link #flush()} and {@link #close()}. Frames are sent without waiting for each
+ * other, see {@link PendingSends}. A surrogate pair is never split between two frames.
  *
  * @author Danny Coward (danny.coward at oracle.com)
  */
 class WriterToAsyncTextAdapter extends Writer {
     private final TyrusWebSocket socket;
-    private String buffer = null;
-    private static final WriterInfo TEXT_INFO = new WriterInfo(WriterInfo.MessageType.TEXT, WriterInfo.RemoteEndpointType.BASIC);
+    private final char[] buffer;
+    private final PendingSends pendingSends = new PendingSends();
+    private int count = 0;
+    private boolean closed = false;
+    private static final WriterInfo TEXT_CONTINUATION_INFO =
+            new WriterInfo(WriterInfo.MessageType.TEXT_CONTINUATION, WriterInfo.RemoteEndpointType.BASIC);
+    private static final WriterInfo TEXT_INFO =
+            new WriterInfo(WriterInfo.MessageType.TEXT, WriterInfo.RemoteEndpointType.BASIC);
 
     public WriterToAsyncTextAdapter(TyrusWebSocket socket) {
         this.socket = socket;
+        // room for at least one surrogate pair.
+        this.buffer = new char[Math.max(2, socket.getProtocolHandler().getSendStreamFrameSize())];
     }
 
-    private void sendBuffer(boolean last) {
-        socket.sendText(buffer, last, TEXT_INFO);
+    @Override
+    public void write(char[] chars, int index, int len) throws IOException {
+        if ((index < 0) || (index > chars.length) || (len < 0) || ((index + len) > chars.length)
+                || ((index + len) < 0)) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkNotClosed();
+
+        while (len > 0) {
+            if (count == buffer.length) {
+                sendBuffer();
+            }
+            final int length = Math.min(len, buffer.length - count);
+            System.arraycopy(chars, index, buffer, count, length);
+            count += length;
+            index += length;
+            len -= length;
+        }
     }
 
     @Override
-    public void write(char[] chars, int index, int len) throws IOException {
-        if (buffer != null) {
-            this.sendBuffer(false);
+    public void write(String str, int off, int len) throws IOException {
+        if ((off < 0) || (len < 0) || ((off + len) > str.length()) || ((off + len) < 0)) {
+            throw new IndexOutOfBoundsException();
         }
-        buffer = (new String(chars)).substring(index, index + len);
+        checkNotClosed();
 
+        while (len > 0) {
+            if (count == buffer.length) {
+                sendBuffer();
+            }
+            final int length = Math.min(len, buffer.length - count);
+            str.getChars(off, off + length, buffer, count);
+            count += length;
+            off += length;
+            len -= length;
+        }
     }
 
     @Override
-    public void flush() throws IOException {
-        if (buffer != null) {
-            this.sendBuffer(false);
+    public void write(int c) throws IOException {
+        checkNotClosed();
+
+        if (count == buffer.length) {
+            sendBuffer();
         }
-        buffer = null;
+        buffer[count++] = (char) c;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkNotClosed();
+
+        sendBuffer();
+        pendingSends.awaitAll();
     }
 
     @Override
     public void close() throws IOException {
-        this.sendBuffer(true);
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // the last frame carries the rest of the buffer
+        pendingSends.add(socket.sendText(new String(buffer, 0, count), true, TEXT_INFO));
+        count = 0;
+        pendingSends.awaitAll();
+    }
+
+    private void sendBuffer() throws IOException {
+        int length = count;
+        // high surrogate waits for its low surrogate, each frame is encoded separately.
+        if (length > 0 && Character.isHighSurrogate(buffer[length - 1])) {
+            length--;
+        }
+
+        if (length > 0) {
+            pendingSends.add(socket.sendText(new String(buffer, 0, length), false, TEXT_CONTINUATION_INFO));
+            if (length < count) {
+                buffer[0] = buffer[length];
+            }
+            count -= length;
+        }
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.SEND_STREAM_CLOSED());
+        }
     }
 }
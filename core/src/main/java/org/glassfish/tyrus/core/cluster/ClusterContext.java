@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,6 +23,8 @@ import java.util.concurrent.Future;
 import javax.websocket.CloseReason;
 import javax.websocket.SendHandler;
 
+import org.glassfish.tyrus.core.Beta;
+
 /**
  * Cluster related context.
  * <p>
@@ -146,6 +148,52 @@ public abstract class ClusterContext {
      */
     public abstract void broadcastBinary(String endpointPath, byte[] data);
 
+    /**
+     * Broadcast a serialized data frame to the sessions connected to the other nodes.
+     * <p>
+     * The frame is a whole text or binary message serialized as by a server side connection without extensions. Other
+     * nodes pass it to the {@link FrameBroadcastListener}s registered for the endpoint, which write it to their
+     * sessions without serializing it again. Unlike {@link #broadcastText(String, String)}, the frame is not
+     * delivered to the sessions connected to this node.
+     * <p>
+     * The default implementation does not support frame broadcast and returns {@code null}, in which case the caller
+     * falls back to {@link #broadcastText(String, String)} or {@link #broadcastBinary(String, byte[])}.
+     *
+     * @param endpointPath endpoint path identifying sessions alignment to the endpoint.
+     * @param frame        serialized frame.
+     * @return future of the numbers of sessions the frame has been handed to by the other nodes, keyed by node ids,
+     * or {@code null} when frame broadcast is not supported. A session counts once the frame has been queued for
+     * sending to it, the frame may still fail to be written. Nodes which leave the cluster or do not acknowledge the
+     * frame in time are not included.
+     */
+    @Beta
+    public Future<Map<String, Integer>> broadcastFrame(String endpointPath, byte[] frame) {
+        return null;
+    }
+
+    /**
+     * Get offset of the payload in a frame passed to {@link #broadcastFrame(String, byte[])}.
+     *
+     * @param frame serialized frame.
+     * @return offset of the frame payload.
+     */
+    @Beta
+    public static int getFramePayloadOffset(byte[] frame) {
+        final int length = frame[1] & 0x7F;
+        return length <= 125 ? 2 : (length == 126 ? 4 : 10);
+    }
+
+    /**
+     * Check whether a frame passed to {@link #broadcastFrame(String, byte[])} contains a text message.
+     *
+     * @param frame serialized frame.
+     * @return {@code true} for text, {@code false} for binary message.
+     */
+    @Beta
+    public static boolean isTextFrame(byte[] frame) {
+        return (frame[0] & 0x0F) == 0x01;
+    }
+
     /**
      * Get information about session state.
      *
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.cluster;
+
+import org.glassfish.tyrus.core.Beta;
+
+/**
+ * Broadcast listener which accepts serialized frames.
+ *
+ * @see ClusterContext#broadcastFrame(String, byte[])
+ */
+@Beta
+public interface FrameBroadcastListener extends BroadcastListener {
+
+    /**
+     * Invoked when received request to broadcast a serialized data frame.
+     *
+     * @param frame whole text or binary message serialized as by a server side connection without extensions.
+     * @return number of sessions the frame has been handed to for sending, the writes may not have completed yet.
+     */
+    int onBroadcastFrame(byte[] frame);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -60,7 +60,6 @@ import org.glassfish.tyrus.core.frame.Frame;
  * - param negotiation.
  * - param validation.
  * - general validation - two extensions using same rsv bit cannot be "negotiated" for same session/connection.
- * - negotiation exception handling (onExtensionNegotiation)
  * </pre>
  *
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -93,15 +92,14 @@ public interface ExtendedExtension extends Extension {
      * Parameter negotiation. Executed before handshake response is sent to the client (server only). Returned
      * list of parameters will be present in handshake response headers.
      * <p>
-     * TODO: Seems like list of all "requested" extensions should be passed (at least all with the same name) - the
-     * TODO: extension implementation should be able to choose which version (parameter set) will be used for the
-     * TODO: established WebSocket session. (We should also properly describe that this method will be called only once
-     * TODO: per extension per websocket session and have the possibility to NOT add this extension to negotiated
-     * TODO: extensions).
+     * When the client sends more offers of the same extension, this method is invoked for each of them in the order
+     * they were requested until one of them is accepted.
      *
      * @param context             extension context.
      * @param requestedParameters requested parameters (from handshake request).
-     * @return parameters to be present in handshake response.
+     * @return parameters to be present in handshake response, {@code null} is the same as an empty list.
+     * @throws ExtensionDeclinedException when the offer is declined. The extension is not negotiated when all its
+     *                                    offers are declined.
      */
     List<Parameter> onExtensionNegotiation(ExtensionContext context, List<Parameter> requestedParameters);
 
@@ -112,6 +110,7 @@ public interface ExtendedExtension extends Extension {
      *
      * @param context            extension context.
      * @param responseParameters extension parameters returned from the server.
+     * @throws IllegalStateException when the response parameters cannot be accepted, the handshake fails.
      */
     void onHandshakeResponse(ExtensionContext context, List<Parameter> responseParameters);
 
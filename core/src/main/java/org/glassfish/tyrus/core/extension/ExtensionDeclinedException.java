@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.extension;
+
+import java.util.List;
+
+import org.glassfish.tyrus.core.Beta;
+
+/**
+ * Thrown from {@link ExtendedExtension#onExtensionNegotiation(ExtendedExtension.ExtensionContext, List)} when the
+ * requested parameters cannot be accepted and the offer is declined.
+ * <p>
+ * Declining an offer is a regular outcome of the negotiation, so the exception does not fill in its stack trace.
+ */
+@Beta
+public class ExtensionDeclinedException extends RuntimeException {
+
+    private static final long serialVersionUID = -3254387652089283145L;
+
+    /**
+     * Create the exception.
+     *
+     * @param message reason why the offer has been declined.
+     */
+    public ExtensionDeclinedException(String message) {
+        super(message, null, false, false);
+    }
+}
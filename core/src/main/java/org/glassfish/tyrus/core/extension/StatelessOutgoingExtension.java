@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.extension;
+
+import org.glassfish.tyrus.core.Beta;
+
+/**
+ * {@link ExtendedExtension} which can declare that its outgoing frame processing does not depend on per-session state.
+ * <p>
+ * When a message is broadcast, Tyrus groups sessions by the keys returned from {@link
+ * #getOutgoingFrameKey(ExtendedExtension.ExtensionContext)} of all negotiated extensions and runs the extension chain
+ * only once per group; the resulting frame is then sent to all the sessions in the group. An example is a compression
+ * extension negotiated without context takeover - the compressed form of a message depends only on the negotiated
+ * parameters, not on previously sent messages.
+ * <p>
+ * Extensions which do not implement this interface (or return {@code null}) are invoked for every session separately.
+ */
+@Beta
+public interface StatelessOutgoingExtension extends ExtendedExtension {
+
+    /**
+     * Get a key describing how outgoing frames are processed for given context.
+     * <p>
+     * {@link #processOutgoing(ExtendedExtension.ExtensionContext, org.glassfish.tyrus.core.frame.Frame)} invoked with
+     * any two contexts for which this method returns equal keys must produce equal frames for equal input and must not
+     * change the contexts in a way which would affect following frames. The key must cover all the configuration
+     * affecting the output, including configuration of the extension instance itself.
+     *
+     * @param context per-connection/session context.
+     * @return key with properly implemented {@code equals} and {@code hashCode} or {@code null} when outgoing frames
+     * processed with given context cannot be shared with other sessions.
+     */
+    Object getOutgoingFrameKey(ExtensionContext context);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,7 +18,6 @@ package org.glassfish.tyrus.core.frame;
 
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
-import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 
@@ -115,8 +114,7 @@ public class CloseFrame extends TyrusFrame {
     private String utf8Decode(byte[] data) {
         String reason;
         final ByteBuffer b = ByteBuffer.wrap(data, 2, data.length - 2);
-        Charset charset = new StrictUtf8();
-        final CharsetDecoder decoder = charset.newDecoder();
+        final CharsetDecoder decoder = new StrictUtf8().newDecoder();
         int n = (int) (b.remaining() * decoder.averageCharsPerByte());
         CharBuffer cb = CharBuffer.allocate(n);
         while (true) {
@@ -128,7 +126,7 @@ public class CloseFrame extends TyrusFrame {
                 break;
             }
             if (result.isOverflow()) {
-                CharBuffer tmp = CharBuffer.allocate(2 * n + 1);
+                CharBuffer tmp = CharBuffer.allocate(2 * cb.capacity() + 1);
                 cb.flip();
                 tmp.put(cb);
                 cb = tmp;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,8 @@
 
 package org.glassfish.tyrus.core.frame;
 
+import java.nio.ByteBuffer;
+
 /**
  * WebSocket frame representation.
  * <pre>TODO:
@@ -164,6 +166,18 @@ public class Frame {
         return tmp;
     }
 
+    /**
+     * Get payload data without copying.
+     * <p>
+     * Returned buffer is backed by the payload of this {@link Frame} instance and its remaining bytes are the payload.
+     * It is meant to be passed to a transport and must not be modified.
+     *
+     * @return payload data view.
+     */
+    public ByteBuffer getPayloadBuffer() {
+        return ByteBuffer.wrap(payloadData, 0, (int) payloadLength);
+    }
+
     /**
      * Get information about frame type.
      *
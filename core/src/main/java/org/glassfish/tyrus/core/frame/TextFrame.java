@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,11 +18,9 @@ package org.glassfish.tyrus.core.frame;
 
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
 
 import org.glassfish.tyrus.core.StrictUtf8;
 import org.glassfish.tyrus.core.TyrusWebSocket;
@@ -35,8 +33,8 @@ import org.glassfish.tyrus.core.Utf8DecodingException;
  */
 public class TextFrame extends TyrusFrame {
 
-    private final Charset utf8 = new StrictUtf8();
-    private final CharsetDecoder currentDecoder = utf8.newDecoder();
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
     private final String textPayload;
     private final boolean continuation;
 
@@ -49,9 +47,7 @@ public class TextFrame extends TyrusFrame {
      * @param remainder UTF-8 decoding remainder from previously processed frame.
      */
     public TextFrame(Frame frame, ByteBuffer remainder) {
-        super(frame, FrameType.TEXT);
-        this.textPayload = utf8Decode(isFin(), getPayloadData(), remainder);
-        this.continuation = false;
+        this(frame, remainder, false);
     }
 
     /**
@@ -62,8 +58,21 @@ public class TextFrame extends TyrusFrame {
      * @param continuation {@code true} when this frame is continuation frame, {@code false} otherwise.
      */
     public TextFrame(Frame frame, ByteBuffer remainder, boolean continuation) {
+        this(frame, remainder, continuation, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param frame        original (text) frame.
+     * @param remainder    UTF-8 decoding remainder from previously processed frame.
+     * @param continuation {@code true} when this frame is continuation frame, {@code false} otherwise.
+     * @param decoding     decoder and buffer of the connection the frame was received on, {@code null} if the frame
+     *                     is decoded on its own.
+     */
+    public TextFrame(Frame frame, ByteBuffer remainder, boolean continuation, StrictUtf8.Decoding decoding) {
         super(frame, continuation ? FrameType.TEXT_CONTINUATION : FrameType.TEXT);
-        this.textPayload = utf8Decode(isFin(), getPayloadData(), remainder);
+        this.textPayload = utf8Decode(isFin(), getPayloadData(), remainder, decoding);
         this.continuation = continuation;
     }
 
@@ -77,7 +86,7 @@ public class TextFrame extends TyrusFrame {
      */
     public TextFrame(String message, boolean continuation, boolean fin) {
         super(Frame.builder()
-                   .payloadData(encode(new StrictUtf8(), message))
+                   .payloadData(encode(message))
                    .opcode(continuation ? (byte) 0x00 : (byte) 0x01)
                    .fin(fin)
                    .build(), continuation ? FrameType.TEXT_CONTINUATION : FrameType.TEXT);
@@ -120,10 +129,19 @@ public class TextFrame extends TyrusFrame {
 
     }
 
-    private String utf8Decode(boolean finalFragment, byte[] data, ByteBuffer remainder) {
+    private String utf8Decode(boolean finalFragment, byte[] data, ByteBuffer remainder,
+                              StrictUtf8.Decoding decoding) {
+        if (remainder == null && isAscii(data)) {
+            // ASCII is the same in ISO-8859-1, which is decoded without a decoder and an intermediate buffer.
+            return new String(data, StandardCharsets.ISO_8859_1);
+        }
+
         final ByteBuffer b = getByteBuffer(data, remainder);
+        // decoding state is carried over in the remainder, so the decoder is shared by all frames of the connection.
+        final StrictUtf8.Decoding currentDecoding = decoding == null ? new StrictUtf8.Decoding() : decoding;
+        final CharsetDecoder currentDecoder = currentDecoding.getDecoder();
         int n = (int) (b.remaining() * currentDecoder.averageCharsPerByte());
-        CharBuffer cb = CharBuffer.allocate(n);
+        CharBuffer cb = currentDecoding.getCharBuffer(n);
         String res;
         while (true) {
             CoderResult result = currentDecoder.decode(b, cb, finalFragment);
@@ -134,7 +152,6 @@ public class TextFrame extends TyrusFrame {
                         throw new IllegalStateException(
                                 "Final UTF-8 fragment received, but not all bytes consumed by decode process");
                     }
-                    currentDecoder.reset();
                 } else {
                     if (b.hasRemaining()) {
                         this.remainder = b;
@@ -145,7 +162,7 @@ public class TextFrame extends TyrusFrame {
                 break;
             }
             if (result.isOverflow()) {
-                CharBuffer tmp = CharBuffer.allocate(2 * n + 1);
+                CharBuffer tmp = CharBuffer.allocate(2 * cb.capacity() + 1);
                 cb.flip();
                 tmp.put(cb);
                 cb = tmp;
@@ -159,6 +176,15 @@ public class TextFrame extends TyrusFrame {
         return res;
     }
 
+    private static boolean isAscii(byte[] data) {
+        for (byte b : data) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private ByteBuffer getByteBuffer(final byte[] data, ByteBuffer remainder) {
         if (remainder == null) {
             return ByteBuffer.wrap(data);
@@ -179,56 +205,11 @@ public class TextFrame extends TyrusFrame {
         return sb.toString();
     }
 
-    private static byte[] encode(Charset charset, String string) {
+    private static byte[] encode(String string) {
         if (string == null || string.isEmpty()) {
-            return new byte[0];
-        }
-
-        CharsetEncoder ce = charset.newEncoder();
-        int en = scale(string.length(), ce.maxBytesPerChar());
-        byte[] ba = new byte[en];
-        if (string.length() == 0) {
-            return ba;
-        }
-
-        ce.reset();
-        ByteBuffer bb = ByteBuffer.wrap(ba);
-        CharBuffer cb = CharBuffer.wrap(string);
-        try {
-            CoderResult cr = ce.encode(cb, bb, true);
-            if (!cr.isUnderflow()) {
-                cr.throwException();
-            }
-            cr = ce.flush(bb);
-            if (!cr.isUnderflow()) {
-                cr.throwException();
-            }
-        } catch (CharacterCodingException x) {
-            // Substitution is always enabled,
-            // so this shouldn't happen
-            throw new Error(x);
+            return EMPTY_BYTES;
         }
-        return safeTrim(ba, bb.position());
-    }
-
-    private static int scale(int len, float expansionFactor) {
-        // We need to perform double, not float, arithmetic; otherwise
-        // we lose low order bits when len is larger than 2**24.
-        return (int) (len * (double) expansionFactor);
-    }
-
-    // Trim the given byte array to the given length
-    private static byte[] safeTrim(byte[] ba, int len) {
-        if (len == ba.length && (System.getSecurityManager() == null)) {
-            return ba;
-        } else {
-            return copyOf(ba, len);
-        }
-    }
 
-    private static byte[] copyOf(byte[] original, int newLength) {
-        byte[] copy = new byte[newLength];
-        System.arraycopy(original, 0, copy, 0, Math.min(original.length, newLength));
-        return copy;
+        return StrictUtf8.toBytes(string);
     }
 }
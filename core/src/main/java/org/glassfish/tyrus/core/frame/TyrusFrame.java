@@ -20,6 +20,7 @@ import java.nio.ByteBuffer;
 import java.util.Locale;
 
 import org.glassfish.tyrus.core.ProtocolException;
+import org.glassfish.tyrus.core.StrictUtf8;
 import org.glassfish.tyrus.core.TyrusWebSocket;
 
 /**
@@ -71,16 +72,31 @@ public abstract class TyrusFrame extends Frame {
      * @return new TyrusFrame.
      */
     public static TyrusFrame wrap(Frame frame, byte inFragmentedType, ByteBuffer remainder) {
+        return wrap(frame, inFragmentedType, remainder, null);
+    }
+
+    /**
+     * {@link TyrusFrame} factory method.
+     *
+     * @param frame            original plain frame.
+     * @param inFragmentedType type of fragment (text or binary).
+     * @param remainder        decoding remainder. Used only for partial text frames.
+     * @param decoding         decoder and buffer of the connection. Used only for text frames, {@code null} if the
+     *                         frame is decoded on its own.
+     * @return new TyrusFrame.
+     */
+    public static TyrusFrame wrap(Frame frame, byte inFragmentedType, ByteBuffer remainder,
+                                  StrictUtf8.Decoding decoding) {
 
         switch (frame.getOpcode()) {
             case 0x00:
                 if ((inFragmentedType & 0x01) == 0x01) {
-                    return new TextFrame(frame, remainder, true);
+                    return new TextFrame(frame, remainder, true, decoding);
                 } else {
                     return new BinaryFrame(frame, true);
                 }
             case 0x01:
-                return new TextFrame(frame, remainder);
+                return new TextFrame(frame, remainder, false, decoding);
             case 0x02:
                 return new BinaryFrame(frame);
             case 0x08:
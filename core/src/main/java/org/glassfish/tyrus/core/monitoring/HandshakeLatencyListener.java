@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.monitoring;
+
+import org.glassfish.tyrus.core.Beta;
+
+/**
+ * Optional extension of {@link EndpointEventListener} receiving durations of handshakes.
+ * <p>
+ * An {@link EndpointEventListener} returned from {@link ApplicationEventListener#onEndpointRegistered(String, Class)}
+ * which also implements this interface is notified about every successful handshake to the endpoint.
+ */
+@Beta
+public interface HandshakeLatencyListener {
+
+    /**
+     * Called when a handshake response upgrading the connection has been prepared.
+     *
+     * @param durationNanos time from matching the handshake request to the endpoint to preparing the response in
+     *                      nanoseconds.
+     */
+    void onHandshakeCompleted(long durationNanos);
+}
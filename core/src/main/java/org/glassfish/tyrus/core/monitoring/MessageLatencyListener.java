@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.monitoring;
+
+import org.glassfish.tyrus.core.Beta;
+
+/**
+ * Optional extension of {@link MessageEventListener} receiving durations of message processing.
+ * <p>
+ * A {@link MessageEventListener} returned from {@link EndpointEventListener#onSessionOpened(String)} which also
+ * implements this interface is notified about time spent in message handlers and about time it took to send a frame.
+ * Time is measured only for listeners implementing this interface.
+ */
+@Beta
+public interface MessageLatencyListener {
+
+    /**
+     * Called when a received frame has been handled, i.e. when the message handler or the endpoint method invoked for
+     * the frame has returned.
+     *
+     * @param durationNanos time spent in the handler in nanoseconds.
+     */
+    void onFrameHandled(long durationNanos);
+
+    /**
+     * Called when a frame has been written, measured from the moment it was enqueued for sending to the completion
+     * reported by the transport.
+     *
+     * @param durationNanos time from enqueuing the frame to the completion of the write in nanoseconds.
+     */
+    void onFrameSendCompleted(long durationNanos);
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.uri;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.tyrus.core.DebugContext;
+import org.glassfish.tyrus.core.TyrusEndpointWrapper;
+import org.glassfish.tyrus.core.uri.internal.PathSegment;
+import org.glassfish.tyrus.core.uri.internal.UriComponent;
+
+/**
+ * Endpoint paths compiled into a trie of path segments.
+ * <p>
+ * Each node keeps its literal children in a hash map and has at most one variable child shared by all variable
+ * segments ({@code {name}}) at that position. A request path is resolved by depth-first search which tries the literal
+ * child before the variable one, so the cost is proportional to the number of path segments and matching endpoints are
+ * returned in the order defined by {@link MatchComparator}: exact match first, then the match which has a literal
+ * segment where the other one has a variable, at the first position where they differ.
+ * <p>
+ * The trie is immutable once built. It is rebuilt whenever an endpoint is added or removed and published by a volatile
+ * write, so lookups do not lock.
+ */
+public class EndpointTrie {
+
+    private static final Logger LOGGER = Logger.getLogger(EndpointTrie.class.getName());
+
+    private final Set<TyrusEndpointWrapper> endpoints = new LinkedHashSet<TyrusEndpointWrapper>();
+    private volatile Node root = new Node();
+
+    /**
+     * Add an endpoint.
+     *
+     * @param endpoint endpoint to be added.
+     */
+    public synchronized void add(TyrusEndpointWrapper endpoint) {
+        if (endpoints.add(endpoint)) {
+            root = build(endpoints);
+        }
+    }
+
+    /**
+     * Remove an endpoint.
+     *
+     * @param endpoint endpoint to be removed.
+     */
+    public synchronized void remove(TyrusEndpointWrapper endpoint) {
+        if (endpoints.remove(endpoint)) {
+            root = build(endpoints);
+        }
+    }
+
+    /**
+     * Get endpoints matching the request path, best match first.
+     * <p>
+     * The trie is traversed lazily, matches are created as the returned iterator advances.
+     *
+     * @param requestPath  request path.
+     * @param debugContext debug context.
+     * @return iterator over matching endpoints in the order of preference.
+     */
+    public Iterator<Match> match(String requestPath, DebugContext debugContext) {
+        final Node node = root;
+        if (node.literals.isEmpty() && node.variable == null) {
+            return Collections.<Match>emptyList().iterator();
+        }
+
+        return new Matches(node, toSegments(requestPath), debugContext);
+    }
+
+    private static Node build(Set<TyrusEndpointWrapper> endpoints) {
+        final Node root = new Node();
+
+        for (TyrusEndpointWrapper endpoint : endpoints) {
+            final String[] segments = toSegments(endpoint.getEndpointPath());
+
+            Node node = root;
+            for (String segment : segments) {
+                if (isVariable(segment)) {
+                    if (node.variable == null) {
+                        node.variable = new Node();
+                    }
+                    node = node.variable;
+                } else {
+                    Node child = node.literals.get(segment);
+                    if (child == null) {
+                        child = new Node();
+                        node.literals.put(segment, child);
+                    }
+                    node = child;
+                }
+            }
+
+            if (node.leaves.isEmpty()) {
+                node.leaves = new ArrayList<Leaf>(1);
+            }
+            node.leaves.add(new Leaf(endpoint, segments));
+        }
+
+        return root;
+    }
+
+    private static String[] toSegments(String path) {
+        final List<PathSegment> pathSegments = UriComponent.decodePath(path, true);
+        final String[] segments = new String[pathSegments.size()];
+
+        int i = 0;
+        for (PathSegment pathSegment : pathSegments) {
+            segments[i++] = pathSegment.getPath();
+        }
+
+        return segments;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    /**
+     * Depth-first traversal of the trie, literal child before the variable one.
+     * <p>
+     * Depth of the traversal is the index of the current request path segment, so the stack of visited nodes never
+     * grows over the number of segments.
+     */
+    private static final class Matches implements Iterator<Match> {
+
+        private static final byte LITERAL = 0;
+        private static final byte VARIABLE = 1;
+        private static final byte DONE = 2;
+
+        private final String[] segments;
+        private final DebugContext debugContext;
+        private final Node[] nodes;
+        // next child to be tried by the node at the same depth
+        private final byte[] states;
+        private int depth = 0;
+        private int leaf = 0;
+        private Match next;
+
+        private Matches(Node root, String[] segments, DebugContext debugContext) {
+            this.segments = segments;
+            this.debugContext = debugContext;
+            this.nodes = new Node[segments.length + 1];
+            this.states = new byte[segments.length];
+            this.nodes[0] = root;
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Match next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            final Match match = next;
+            next = advance();
+            return match;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private Match advance() {
+            while (depth >= 0) {
+                final Node node = nodes[depth];
+
+                if (depth == segments.length) {
+                    if (leaf < node.leaves.size()) {
+                        final Match match = node.leaves.get(leaf++).createMatch(segments);
+                        debugContext.appendTraceMessage(LOGGER, Level.FINE, DebugContext.Type.MESSAGE_IN,
+                                                        "Endpoint matched to the request URI: ", match);
+                        return match;
+                    }
+                    depth--;
+                    continue;
+                }
+
+                switch (states[depth]) {
+                    case LITERAL:
+                        states[depth] = VARIABLE;
+                        push(node.literals.get(segments[depth]));
+                        break;
+                    case VARIABLE:
+                        states[depth] = DONE;
+                        push(node.variable);
+                        break;
+                    default:
+                        depth--;
+                }
+            }
+
+            return null;
+        }
+
+        private void push(Node child) {
+            if (child == null) {
+                return;
+            }
+
+            nodes[++depth] = child;
+            if (depth < segments.length) {
+                states[depth] = LITERAL;
+            } else {
+                leaf = 0;
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<String, Node>();
+        private Node variable;
+        private List<Leaf> leaves = Collections.emptyList();
+    }
+
+    /**
+     * Endpoint whose path ends in a node.
+     */
+    private static final class Leaf {
+
+        private final TyrusEndpointWrapper endpoint;
+        // indices of variable segments, the segments and names of the variables
+        private final int[] variableIndices;
+        private final String[] variableSegments;
+        private final String[] variableNames;
+
+        private Leaf(TyrusEndpointWrapper endpoint, String[] segments) {
+            this.endpoint = endpoint;
+
+            int variables = 0;
+            for (String segment : segments) {
+                if (isVariable(segment)) {
+                    variables++;
+                }
+            }
+
+            this.variableIndices = new int[variables];
+            this.variableSegments = new String[variables];
+            this.variableNames = new String[variables];
+
+            int variable = 0;
+            for (int i = 0; i < segments.length; i++) {
+                if (isVariable(segments[i])) {
+                    variableIndices[variable] = i;
+                    variableSegments[variable] = segments[i];
+                    variableNames[variable] = segments[i].substring(1, segments[i].length() - 1);
+                    variable++;
+                }
+            }
+        }
+
+        private Match createMatch(String[] segments) {
+            final Match match = new Match(endpoint);
+            for (int i = 0; i < variableIndices.length; i++) {
+                final String segment = segments[variableIndices[i]];
+                // same as Match#matchPath, request segment equal to the variable segment is matched literally
+                if (!segment.equals(variableSegments[i])) {
+                    match.addParameter(variableNames[i], segment, variableIndices[i]);
+                }
+            }
+            return match;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Extension;
+import javax.websocket.SendHandler;
+import javax.websocket.Session;
+
+import org.glassfish.tyrus.core.cluster.BroadcastListener;
+import org.glassfish.tyrus.core.cluster.ClusterContext;
+import org.glassfish.tyrus.core.cluster.FrameBroadcastListener;
+import org.glassfish.tyrus.core.cluster.RemoteSession;
+import org.glassfish.tyrus.core.cluster.SessionEventListener;
+import org.glassfish.tyrus.core.cluster.SessionListener;
+
+import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.StatelessOutgoingExtension;
+import org.glassfish.tyrus.core.frame.Frame;
+import org.glassfish.tyrus.spi.CompletionHandler;
+import org.glassfish.tyrus.spi.Writer;
+import org.glassfish.tyrus.spi.WriterInfo;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests serialization sharing in {@link TyrusEndpointWrapper#broadcast(String)} and cluster broadcast.
+ */
+public class BroadcastTest {
+
+    private static final String MESSAGE = "broadcast";
+
+    @Test
+    public void testStatelessExtensionInvokedOncePerGroup() throws Exception {
+        final TyrusEndpointWrapper endpointWrapper = createEndpointWrapper();
+        final CountingExtension extensionA = new CountingExtension("a");
+        final CountingExtension extensionB = new CountingExtension("b");
+
+        final List<RecordingWriter> writers = new ArrayList<RecordingWriter>();
+        for (int i = 0; i < 10; i++) {
+            writers.add(connect(endpointWrapper, i % 2 == 0 ? extensionA : extensionB, "key"));
+        }
+
+        endpointWrapper.broadcast(MESSAGE);
+
+        assertEquals(1, extensionA.processed.get());
+        assertEquals(1, extensionB.processed.get());
+        for (int i = 0; i < writers.size(); i++) {
+            assertArrayEquals(serialized(i % 2 == 0 ? "a" : "b"), writers.get(i).written);
+        }
+    }
+
+    @Test
+    public void testExtensionWithoutKeyInvokedPerSession() throws Exception {
+        final TyrusEndpointWrapper endpointWrapper = createEndpointWrapper();
+        final CountingExtension extension = new CountingExtension("a");
+
+        for (int i = 0; i < 5; i++) {
+            connect(endpointWrapper, extension, null);
+        }
+
+        endpointWrapper.broadcast(MESSAGE);
+
+        assertEquals(5, extension.processed.get());
+    }
+
+    @Test
+    public void testSessionsWithoutExtensionsNotAffected() throws Exception {
+        final TyrusEndpointWrapper endpointWrapper = createEndpointWrapper();
+        final CountingExtension extension = new CountingExtension("a");
+
+        final RecordingWriter withExtension = connect(endpointWrapper, extension, "key");
+        final RecordingWriter withoutExtension = connect(endpointWrapper, null, null);
+
+        endpointWrapper.broadcast(MESSAGE);
+
+        assertArrayEquals(serialized("a"), withExtension.written);
+        assertArrayEquals(serialized(""), withoutExtension.written);
+    }
+
+    @Test
+    public void testClusterBroadcastStandalone() throws Exception {
+        final TyrusEndpointWrapper endpointWrapper = createEndpointWrapper();
+        for (int i = 0; i < 3; i++) {
+            connect(endpointWrapper, null, null);
+        }
+
+        final BroadcastResult result = endpointWrapper.clusterBroadcast(MESSAGE).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, result.getLocalSessions());
+        assertEquals(0, result.getFailedLocalSessions());
+        assertTrue(result.getRemoteSessions().isEmpty());
+        assertEquals(3, result.getTotalSessions());
+    }
+
+    @Test
+    public void testClusterBroadcastSendsSerializedFrame() throws Exception {
+        final TestClusterContext clusterContext = new TestClusterContext();
+        final TyrusEndpointWrapper endpointWrapper = createEndpointWrapper(clusterContext);
+        final RecordingWriter writer = connect(endpointWrapper, null, null);
+        connect(endpointWrapper, null, null);
+
+        final BroadcastResult result = endpointWrapper.clusterBroadcast(MESSAGE).get(5, TimeUnit.SECONDS);
+
+        assertArrayEquals(serialized(""), clusterContext.broadcastFrame);
+        assertArrayEquals(serialized(""), writer.written);
+        assertEquals(2, result.getLocalSessions());
+        assertEquals(Integer.valueOf(4), result.getRemoteSessions().get("node"));
+        assertEquals(6, result.getTotalSessions());
+
+        // local sessions are included in the plain broadcast too.
+        assertEquals(2, endpointWrapper.broadcast(ByteBuffer.wrap(new byte[]{1, 2, 3})).size());
+        assertArrayEquals(new byte[]{(byte) 0x82, 3, 1, 2, 3}, clusterContext.broadcastFrame);
+    }
+
+    @Test
+    public void testFrameFromOtherNodeIsNotSerializedAgain() throws Exception {
+        final TestClusterContext clusterContext = new TestClusterContext();
+        final TyrusEndpointWrapper endpointWrapper = createEndpointWrapper(clusterContext);
+        final CountingExtension extension = new CountingExtension("a");
+        final RecordingWriter withoutExtension = connect(endpointWrapper, null, null);
+        final RecordingWriter withExtension = connect(endpointWrapper, extension, "key");
+
+        final int sessions = clusterContext.broadcastListener.onBroadcastFrame(serialized(""));
+
+        assertEquals(2, sessions);
+        assertArrayEquals(serialized(""), withoutExtension.written);
+        assertArrayEquals(serialized("a"), withExtension.written);
+        assertEquals(1, extension.processed.get());
+    }
+
+    private static byte[] serialized(String suffix) {
+        final byte[] payload = (MESSAGE + suffix).getBytes();
+        final byte[] frame = new byte[payload.length + 2];
+        frame[0] = (byte) 0x81;
+        frame[1] = (byte) payload.length;
+        System.arraycopy(payload, 0, frame, 2, payload.length);
+        return frame;
+    }
+
+    private static TyrusEndpointWrapper createEndpointWrapper() throws Exception {
+        return createEndpointWrapper(null);
+    }
+
+    private static TyrusEndpointWrapper createEndpointWrapper(ClusterContext clusterContext) throws Exception {
+        return new TyrusEndpointWrapper(new TestEndpoint(), null, ComponentProviderService.create(), null, "/",
+                                        null, new TyrusEndpointWrapper.SessionListener() {}, clusterContext, null,
+                                        false);
+    }
+
+    private static RecordingWriter connect(TyrusEndpointWrapper endpointWrapper, Extension extension,
+                                           final Object key) {
+        final ProtocolHandler protocolHandler = new ProtocolHandler(false, null);
+        final RecordingWriter writer = new RecordingWriter();
+        protocolHandler.setWriter(writer);
+
+        final List<Extension> extensions = extension == null
+                ? Collections.<Extension>emptyList()
+                : Collections.singletonList(extension);
+        protocolHandler.setExtensions(extensions);
+        protocolHandler.setExtensionContext(new ExtendedExtension.ExtensionContext() {
+            private final Map<String, Object> properties = new HashMap<String, Object>();
+
+            {
+                properties.put("key", key);
+            }
+
+            @Override
+            public Map<String, Object> getProperties() {
+                return properties;
+            }
+        });
+
+        final TyrusWebSocket webSocket = new TyrusWebSocket(protocolHandler, endpointWrapper);
+        protocolHandler.setWebSocket(webSocket);
+        endpointWrapper.createSessionForRemoteEndpoint(webSocket, null, extensions, new DebugContext());
+        webSocket.onConnect(RequestContext.Builder.create().requestURI(URI.create("/")).build(), null, extensions,
+                            null, new DebugContext());
+        return writer;
+    }
+
+    /**
+     * Appends its name to every outgoing text payload; shareable when the context contains "key" property.
+     */
+    private static class CountingExtension implements StatelessOutgoingExtension {
+
+        private final String suffix;
+        private final AtomicInteger processed = new AtomicInteger();
+
+        CountingExtension(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public Object getOutgoingFrameKey(ExtensionContext context) {
+            return context.getProperties().get("key");
+        }
+
+        @Override
+        public Frame processOutgoing(ExtensionContext context, Frame frame) {
+            processed.incrementAndGet();
+            return Frame.builder(frame).payloadData((new String(frame.getPayloadData()) + suffix).getBytes()).build();
+        }
+
+        @Override
+        public Frame processIncoming(ExtensionContext context, Frame frame) {
+            return frame;
+        }
+
+        @Override
+        public List<Parameter> onExtensionNegotiation(ExtensionContext context, List<Parameter> requestedParameters) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void onHandshakeResponse(ExtensionContext context, List<Parameter> responseParameters) {
+        }
+
+        @Override
+        public void destroy(ExtensionContext context) {
+        }
+
+        @Override
+        public String getName() {
+            return "counting-" + suffix;
+        }
+
+        @Override
+        public List<Parameter> getParameters() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class RecordingWriter extends Writer {
+
+        private volatile byte[] written;
+
+        @Override
+        public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler) {
+            written = Utils.getRemainingArray(buffer);
+            completionHandler.completed(buffer);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler, WriterInfo writerInfo) {
+            write(buffer, completionHandler);
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    /**
+     * Records broadcast frames and reports 4 sessions on one other node.
+     */
+    private static class TestClusterContext extends ClusterContext {
+
+        private volatile byte[] broadcastFrame;
+        private volatile FrameBroadcastListener broadcastListener;
+
+        @Override
+        public Future<Map<String, Integer>> broadcastFrame(String endpointPath, byte[] frame) {
+            broadcastFrame = frame;
+            final TyrusFuture<Map<String, Integer>> future = new TyrusFuture<Map<String, Integer>>();
+            future.setResult(Collections.singletonMap("node", 4));
+            return future;
+        }
+
+        @Override
+        public void registerBroadcastListener(String endpointPath, BroadcastListener listener) {
+            broadcastListener = (FrameBroadcastListener) listener;
+        }
+
+        @Override
+        public Future<Void> sendText(String sessionId, String text) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> sendText(String sessionId, String text, boolean isLast) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> sendBinary(String sessionId, byte[] data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> sendBinary(String sessionId, byte[] data, boolean isLast) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> sendPing(String sessionId, byte[] data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> sendPong(String sessionId, byte[] data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendText(String sessionId, String text, SendHandler sendHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void sendBinary(String sessionId, byte[] data, SendHandler sendHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void broadcastText(String endpointPath, String text) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void broadcastBinary(String endpointPath, byte[] data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isSessionOpen(String sessionId, String endpointPath) {
+            return false;
+        }
+
+        @Override
+        public Future<Void> close(String sessionId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Void> close(String sessionId, CloseReason closeReason) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<String> getRemoteSessionIds(String endpointPath) {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public String createSessionId() {
+            return UUID.randomUUID().toString();
+        }
+
+        @Override
+        public String createConnectionId() {
+            return UUID.randomUUID().toString();
+        }
+
+        @Override
+        public void registerSession(String sessionId, String endpointPath, SessionEventListener listener) {
+        }
+
+        @Override
+        public void registerSessionListener(String endpointPath, SessionListener listener) {
+        }
+
+        @Override
+        public Map<RemoteSession.DistributedMapKey, Object> getDistributedSessionProperties(String sessionId) {
+            return new HashMap<RemoteSession.DistributedMapKey, Object>();
+        }
+
+        @Override
+        public Map<String, Object> getDistributedUserProperties(String connectionId) {
+            return new HashMap<String, Object>();
+        }
+
+        @Override
+        public void destroyDistributedUserProperties(String connectionId) {
+        }
+
+        @Override
+        public void removeSession(String sessionId, String endpointPath) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    public static class TestEndpoint extends Endpoint {
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+        }
+
+        @Override
+        public void onClose(Session session, CloseReason closeReason) {
+        }
+    }
+}
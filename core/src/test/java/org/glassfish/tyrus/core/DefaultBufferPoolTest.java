@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link DefaultBufferPool}.
+ */
+public class DefaultBufferPoolTest {
+
+    @Test
+    public void testSizeClasses() {
+        final DefaultBufferPool pool = new DefaultBufferPool(false, false);
+
+        assertEquals(256, pool.acquire(1).capacity());
+        assertEquals(256, pool.acquire(256).capacity());
+        assertEquals(512, pool.acquire(257).capacity());
+        assertEquals(65536, pool.acquire(65536).capacity());
+        // bigger than the biggest size class
+        assertEquals(65537, pool.acquire(65537).capacity());
+    }
+
+    @Test
+    public void testReleasedBufferIsReused() {
+        final DefaultBufferPool pool = new DefaultBufferPool(false, false);
+
+        final ByteBuffer buffer = pool.acquire(1000);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        final ByteBuffer reused = pool.acquire(600);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(reused.capacity(), reused.limit());
+    }
+
+    @Test
+    public void testForeignBufferIsNotPooled() {
+        final DefaultBufferPool pool = new DefaultBufferPool(false, false);
+
+        final ByteBuffer odd = ByteBuffer.allocate(1000);
+        pool.release(odd);
+        assertNotSame(odd, pool.acquire(1000));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(1024);
+        pool.release(direct);
+        assertFalse(pool.acquire(1024).isDirect());
+    }
+
+    @Test
+    public void testDirect() {
+        final DefaultBufferPool pool = new DefaultBufferPool(true, false);
+
+        assertTrue(pool.isDirect());
+        final ByteBuffer buffer = pool.acquire(100);
+        assertTrue(buffer.isDirect());
+        pool.release(buffer);
+        assertSame(buffer, pool.acquire(100));
+    }
+
+    @Test
+    public void testLeakDetectionTracksUnreleasedBuffers() {
+        final DefaultBufferPool pool = new DefaultBufferPool(false, true);
+
+        final ByteBuffer first = pool.acquire(100);
+        final ByteBuffer second = pool.acquire(100);
+        assertEquals(2, pool.trackedBuffers());
+
+        pool.release(first);
+        assertEquals(1, pool.trackedBuffers());
+
+        pool.release(second);
+        assertEquals(0, pool.trackedBuffers());
+    }
+}
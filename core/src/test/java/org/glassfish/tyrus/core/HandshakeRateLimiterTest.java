@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link HandshakeRateLimiter}.
+ */
+public class HandshakeRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurst() {
+        final HandshakeRateLimiter limiter = new HandshakeRateLimiter(3);
+
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertFalse(limiter.tryAcquire("a", 0));
+
+        // other address has its own bucket
+        assertTrue(limiter.tryAcquire("b", 0));
+    }
+
+    @Test
+    public void testRefill() {
+        final HandshakeRateLimiter limiter = new HandshakeRateLimiter(2);
+
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertFalse(limiter.tryAcquire("a", SECOND / 4));
+
+        // one token each half a second
+        assertTrue(limiter.tryAcquire("a", SECOND / 2));
+        assertFalse(limiter.tryAcquire("a", SECOND / 2));
+
+        // bucket does not grow over the burst
+        assertTrue(limiter.tryAcquire("a", 10 * SECOND));
+        assertTrue(limiter.tryAcquire("a", 10 * SECOND));
+        assertFalse(limiter.tryAcquire("a", 10 * SECOND));
+    }
+
+    @Test
+    public void testFullBucketsAreRemoved() {
+        final HandshakeRateLimiter limiter = new HandshakeRateLimiter(10);
+
+        for (int i = 0; i < 1023; i++) {
+            limiter.tryAcquire("address" + i, 0);
+        }
+        assertEquals(1023, limiter.size());
+
+        limiter.tryAcquire("a", SECOND);
+        assertEquals(1, limiter.size());
+    }
+}
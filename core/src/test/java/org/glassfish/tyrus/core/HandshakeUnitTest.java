@@ -17,7 +17,22 @@
 package org.glassfish.tyrus.core;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Extension;
+import javax.websocket.Session;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+
+import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.ExtensionDeclinedException;
+import org.glassfish.tyrus.core.frame.Frame;
 import org.glassfish.tyrus.spi.UpgradeRequest;
 
 import org.junit.Test;
@@ -54,4 +69,115 @@ public class HandshakeUnitTest {
 
         assertThat(upgradeRequest.getHeader("Origin"), is("https://localhost:8443"));
     }
+
+    @Test
+    public void declinedExtensionsAreNotNegotiated() throws Exception {
+        final ServerEndpointConfig config = ServerEndpointConfig.Builder
+                .create(Endpoint.class, "/echo")
+                .extensions(Arrays.<Extension>asList(new NegotiatingExtension("accepting", null),
+                                                     new NegotiatingExtension("declining", "never"),
+                                                     new NegotiatingExtension("choosy", "2")))
+                .build();
+        final TyrusEndpointWrapper endpointWrapper = new TyrusEndpointWrapper(new Endpoint() {
+            @Override
+            public void onOpen(Session session, EndpointConfig config) {
+            }
+        }, config, ComponentProviderService.create(), null, "/", new TyrusServerEndpointConfigurator(), null, null,
+                null, null);
+
+        final RequestContext request = RequestContext.Builder.create().requestURI(new URI("/echo")).build();
+        request.getHeaders().put(UpgradeRequest.UPGRADE, Collections.singletonList("websocket"));
+        request.getHeaders().put(UpgradeRequest.CONNECTION, Collections.singletonList("Upgrade"));
+        request.getHeaders().put(UpgradeRequest.HOST, Collections.singletonList("localhost"));
+        request.getHeaders().put(HandshakeRequest.SEC_WEBSOCKET_KEY,
+                                 Collections.singletonList("dGhlIHNhbXBsZSBub25jZQ=="));
+        request.getHeaders().put(HandshakeRequest.SEC_WEBSOCKET_EXTENSIONS,
+                                 Collections.singletonList("accepting, declining, choosy; x=1, choosy; x=2"));
+        final TyrusUpgradeResponse response = new TyrusUpgradeResponse();
+
+        final List<Extension> negotiated = Handshake.createServerHandshake(request, new TestExtensionContext())
+                                                    .respond(request, response, endpointWrapper);
+
+        assertThat(names(negotiated), is(Arrays.asList("accepting", "choosy")));
+        final List<Extension> responseExtensions =
+                TyrusExtension.fromHeaders(response.getHeaders().get(HandshakeRequest.SEC_WEBSOCKET_EXTENSIONS));
+        assertThat(names(responseExtensions), is(Arrays.asList("accepting", "choosy")));
+        // null means accepted without parameters.
+        assertThat(responseExtensions.get(0).getParameters().isEmpty(), is(true));
+        assertThat(responseExtensions.get(1).getParameters().get(0).getValue(), is("2"));
+    }
+
+    private static List<String> names(List<Extension> extensions) {
+        final String[] names = new String[extensions.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = extensions.get(i).getName();
+        }
+        return Arrays.asList(names);
+    }
+
+    /**
+     * Accepts offers with a parameter of given value and echoes their parameters; returns {@code null} when there is
+     * no such value.
+     */
+    private static class NegotiatingExtension implements ExtendedExtension {
+
+        private final String name;
+        private final String acceptedValue;
+
+        NegotiatingExtension(String name, String acceptedValue) {
+            this.name = name;
+            this.acceptedValue = acceptedValue;
+        }
+
+        @Override
+        public List<Parameter> onExtensionNegotiation(ExtensionContext context, List<Parameter> requestedParameters) {
+            if (acceptedValue == null) {
+                return null;
+            }
+            for (Parameter parameter : requestedParameters) {
+                if (acceptedValue.equals(parameter.getValue())) {
+                    return requestedParameters;
+                }
+            }
+            throw new ExtensionDeclinedException("Declined: " + requestedParameters);
+        }
+
+        @Override
+        public Frame processIncoming(ExtensionContext context, Frame frame) {
+            return frame;
+        }
+
+        @Override
+        public Frame processOutgoing(ExtensionContext context, Frame frame) {
+            return frame;
+        }
+
+        @Override
+        public void onHandshakeResponse(ExtensionContext context, List<Parameter> responseParameters) {
+        }
+
+        @Override
+        public void destroy(ExtensionContext context) {
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Parameter> getParameters() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class TestExtensionContext implements ExtendedExtension.ExtensionContext {
+
+        private final Map<String, Object> properties = new HashMap<String, Object>();
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return properties;
+        }
+    }
 }
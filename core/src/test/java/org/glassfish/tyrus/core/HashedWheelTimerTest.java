@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link HashedWheelTimer}.
+ */
+public class HashedWheelTimerTest {
+
+    private ScheduledExecutorService executorService;
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newScheduledThreadPool(2);
+        // small wheel, so that timeouts spanning more rounds are tested as well.
+        timer = new HashedWheelTimer(executorService, 10, TimeUnit.MILLISECONDS, 4);
+    }
+
+    @After
+    public void tearDown() {
+        timer.stop();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testExpiresNotBeforeDeadline() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicLong expired = new AtomicLong();
+        final long start = System.nanoTime();
+
+        final HashedWheelTimer.Timeout timeout = timer.newTimeout(new HashedWheelTimer.TimerTask() {
+            @Override
+            public void run(HashedWheelTimer.Timeout timeout) {
+                expired.set(System.nanoTime());
+                latch.countDown();
+            }
+        }, 150, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(expired.get() - start) >= 150);
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final CountDownLatch cancelledLatch = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        final HashedWheelTimer.Timeout cancelled = timer.newTimeout(new HashedWheelTimer.TimerTask() {
+            @Override
+            public void run(HashedWheelTimer.Timeout timeout) {
+                cancelledLatch.countDown();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+        timer.newTimeout(new HashedWheelTimer.TimerTask() {
+            @Override
+            public void run(HashedWheelTimer.Timeout timeout) {
+                latch.countDown();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, cancelledLatch.getCount());
+        assertFalse(cancelled.isExpired());
+    }
+
+    @Test
+    public void testRescheduleFromTask() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        timer.newTimeout(new HashedWheelTimer.TimerTask() {
+            @Override
+            public void run(HashedWheelTimer.Timeout timeout) {
+                latch.countDown();
+                if (latch.getCount() > 0) {
+                    timer.newTimeout(this, 20, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        timer.newTimeout(new HashedWheelTimer.TimerTask() {
+            @Override
+            public void run(HashedWheelTimer.Timeout timeout) {
+                latch.countDown();
+            }
+        }, 20, TimeUnit.MILLISECONDS);
+        timer.stop();
+
+        assertFalse(latch.await(200, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.websocket.MessageHandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests bulk operations of {@link InputStreamBuffer} and {@link BufferedInputStream}.
+ */
+public class InputStreamBufferTest {
+
+    private final SynchronousQueue<InputStream> streams = new SynchronousQueue<InputStream>();
+
+    private ExecutorService executorService;
+    private InputStreamBuffer buffer;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        buffer = new InputStreamBuffer(executorService);
+        buffer.resetBuffer(1024);
+        buffer.setMessageHandler(new MessageHandler.Whole<InputStream>() {
+            @Override
+            public void onMessage(InputStream message) {
+                try {
+                    streams.put(message);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testBulkReadSpansFragments() throws Exception {
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{1, 2, 3}), false);
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[0]), false);
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{4, 5}), true);
+        final InputStream inputStream = takeStream();
+
+        assertEquals(5, inputStream.available());
+
+        final byte[] bytes = new byte[10];
+        assertEquals(4, inputStream.read(bytes, 1, 4));
+        assertArrayEquals(new byte[]{0, 1, 2, 3, 4, 0, 0, 0, 0, 0}, bytes);
+        assertEquals(1, inputStream.available());
+
+        assertEquals(1, inputStream.read(bytes));
+        assertEquals(5, bytes[0]);
+        assertEquals(-1, inputStream.read(bytes));
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{1, 2, 3}), false);
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{4, 5, 6}), true);
+        final InputStream inputStream = takeStream();
+
+        assertEquals(4, inputStream.skip(4));
+        assertEquals(5, inputStream.read());
+        assertEquals(1, inputStream.skip(10));
+        assertEquals(0, inputStream.skip(10));
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void testTransferToWaitsForLastPart() throws Exception {
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{1, 2}), false);
+        final InputStream inputStream = takeStream();
+        assertEquals(1, inputStream.read());
+
+        final Thread sender = new Thread() {
+            @Override
+            public void run() {
+                buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{3, 4}), false);
+                buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{5}), true);
+            }
+        };
+        sender.start();
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertEquals(4, ((BufferedInputStream) inputStream).transferTo(outputStream));
+        assertArrayEquals(new byte[]{2, 3, 4, 5}, outputStream.toByteArray());
+        sender.join();
+    }
+
+    @Test
+    public void testChannel() throws Exception {
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{1, 2, 3}), false);
+        buffer.appendMessagePart(ByteBuffer.wrap(new byte[]{4, 5}), true);
+        final InputStream inputStream = takeStream();
+
+        assertTrue(inputStream instanceof ReadableByteChannel);
+        final ReadableByteChannel channel = (ReadableByteChannel) inputStream;
+
+        final ByteBuffer destination = ByteBuffer.allocate(4);
+        assertEquals(4, channel.read(destination));
+        assertEquals(0, channel.read(destination));
+        destination.flip();
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), destination);
+
+        destination.clear();
+        assertEquals(1, channel.read(destination));
+        assertEquals(-1, channel.read(destination));
+
+        channel.close();
+        assertTrue(!channel.isOpen());
+    }
+
+    private InputStream takeStream() throws InterruptedException {
+        final InputStream inputStream = streams.poll(5, TimeUnit.SECONDS);
+        assertNotNull(inputStream);
+        return inputStream;
+    }
+}
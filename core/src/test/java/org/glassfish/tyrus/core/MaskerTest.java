@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link Masker}.
+ */
+public class MaskerTest {
+
+    private static final int MASKING_KEY = 0x1a2b3c4d;
+    private static final byte[] MASK = {0x1a, 0x2b, 0x3c, 0x4d};
+
+    @Test
+    public void testMask() {
+        for (int length = 0; length < 40; length++) {
+            final byte[] payload = payload(length);
+            final byte[] target = new byte[length + 3];
+
+            new Masker(MASKING_KEY).mask(target, 3, payload, length);
+
+            for (int i = 0; i < length; i++) {
+                assertEquals("length " + length + ", index " + i, (byte) (payload[i] ^ MASK[i % 4]), target[i + 3]);
+            }
+        }
+    }
+
+    @Test
+    public void testMaskContinuesMaskIndex() {
+        final byte[] payload = payload(37);
+        final byte[] target = new byte[payload.length];
+        final Masker masker = new Masker(MASKING_KEY);
+
+        masker.mask(target, 0, payload, 3);
+        masker.mask(target, 3, Arrays.copyOfRange(payload, 3, 37), 34);
+
+        for (int i = 0; i < payload.length; i++) {
+            assertEquals((byte) (payload[i] ^ MASK[i % 4]), target[i]);
+        }
+    }
+
+    @Test
+    public void testUnmask() {
+        for (int length = 0; length < 40; length++) {
+            final byte[] payload = payload(length);
+            final ByteBuffer buffer = ByteBuffer.allocate(2 + ProtocolHandler.MASK_SIZE + length);
+            buffer.put(new byte[]{1, 2}).put(MASK);
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) (payload[i] ^ MASK[i % 4]));
+            }
+            buffer.flip();
+            buffer.position(2);
+
+            final Masker masker = new Masker(buffer);
+            masker.readMask();
+
+            assertArrayEquals(payload, masker.unmask(length));
+            assertEquals(0, buffer.remaining());
+        }
+    }
+
+    @Test
+    public void testUnmaskLittleEndianDirectBuffer() {
+        final byte[] payload = payload(29);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(ProtocolHandler.MASK_SIZE + payload.length)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MASK);
+        for (int i = 0; i < payload.length; i++) {
+            buffer.put((byte) (payload[i] ^ MASK[i % 4]));
+        }
+        buffer.flip();
+
+        final Masker masker = new Masker(buffer);
+        masker.readMask();
+
+        assertArrayEquals(Arrays.copyOfRange(payload, 0, 5), masker.unmask(5));
+        assertArrayEquals(Arrays.copyOfRange(payload, 5, 29), masker.unmask(24));
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+    }
+
+    private static byte[] payload(int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
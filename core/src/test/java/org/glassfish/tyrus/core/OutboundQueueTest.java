@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.tyrus.spi.CompletionHandler;
+import org.glassfish.tyrus.spi.Writer;
+import org.glassfish.tyrus.spi.WriterInfo;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link OutboundQueue} limits and slow consumer policies.
+ */
+public class OutboundQueueTest {
+
+    private static final WriterInfo WRITER_INFO =
+            new WriterInfo(WriterInfo.MessageType.TEXT, WriterInfo.RemoteEndpointType.BASIC);
+
+    @Test
+    public void testNoLimit() {
+        final PendingWriter writer = new PendingWriter();
+        final OutboundQueue queue = new OutboundQueue(0, null, null);
+
+        final Result first = write(queue, writer, 100, true);
+        final Result second = write(queue, writer, 100, true);
+
+        assertEquals(2, writer.pending.size());
+        // frames are not accounted without a limit.
+        assertEquals(0, queue.getQueuedBytes());
+
+        writer.complete();
+        writer.complete();
+
+        assertTrue(first.completed);
+        assertTrue(second.completed);
+        assertEquals(0, queue.getQueuedBytes());
+    }
+
+    @Test
+    public void testDropNewest() {
+        final PendingWriter writer = new PendingWriter();
+        final OutboundQueue queue = new OutboundQueue(10, SlowConsumerPolicy.DROP_NEWEST, null);
+
+        final Result first = write(queue, writer, 6, true);
+        final Result second = write(queue, writer, 6, true);
+
+        assertEquals(1, writer.pending.size());
+        assertTrue(second.failure instanceof IOException);
+        assertEquals(6, queue.getQueuedBytes());
+
+        writer.complete();
+        assertTrue(first.completed);
+        assertEquals(0, queue.getQueuedBytes());
+    }
+
+    @Test
+    public void testDropOldest() {
+        final PendingWriter writer = new PendingWriter();
+        final OutboundQueue queue = new OutboundQueue(10, SlowConsumerPolicy.DROP_OLDEST, null);
+
+        write(queue, writer, 4, true);
+        write(queue, writer, 4, true);
+        final Result third = write(queue, writer, 4, true);
+        final Result fourth = write(queue, writer, 4, true);
+
+        // first two are written, third was waiting and got replaced by the fourth one
+        assertEquals(2, writer.pending.size());
+        assertTrue(third.failure instanceof IOException);
+        assertNull(fourth.failure);
+        assertEquals(12, queue.getQueuedBytes());
+
+        writer.complete();
+        assertEquals(2, writer.pending.size());
+        writer.complete();
+        writer.complete();
+        assertTrue(fourth.completed);
+        assertEquals(0, queue.getQueuedBytes());
+    }
+
+    @Test
+    public void testCoalesce() {
+        final PendingWriter writer = new PendingWriter();
+        final OutboundQueue queue = new OutboundQueue(10, SlowConsumerPolicy.COALESCE, null);
+
+        write(queue, writer, 8, true);
+        final Result second = write(queue, writer, 4, true);
+        final Result third = write(queue, writer, 4, true);
+        final Result fourth = write(queue, writer, 3, true);
+
+        // second and third waited for the first one, each newer frame replaced them
+        assertEquals(1, writer.pending.size());
+        assertTrue(second.failure instanceof IOException);
+        assertTrue(third.failure instanceof IOException);
+        assertEquals(11, queue.getQueuedBytes());
+
+        writer.complete();
+        writer.complete();
+        assertTrue(fourth.completed);
+        assertEquals(0, queue.getQueuedBytes());
+    }
+
+    @Test
+    public void testClose() {
+        final PendingWriter writer = new PendingWriter();
+        final AtomicInteger overflowCounter = new AtomicInteger();
+        final OutboundQueue queue = new OutboundQueue(10, SlowConsumerPolicy.CLOSE, new Runnable() {
+            @Override
+            public void run() {
+                overflowCounter.incrementAndGet();
+            }
+        });
+
+        write(queue, writer, 8, true);
+        final Result second = write(queue, writer, 8, true);
+        final Result third = write(queue, writer, 1, true);
+        final Result close = write(queue, writer, 4, false);
+
+        assertEquals(1, overflowCounter.get());
+        assertTrue(second.failure instanceof IOException);
+        assertTrue(third.failure instanceof IOException);
+
+        writer.complete();
+        writer.complete();
+        assertTrue(close.completed);
+    }
+
+    @Test
+    public void testNonDroppableFramesAreQueued() {
+        final PendingWriter writer = new PendingWriter();
+        final OutboundQueue queue = new OutboundQueue(10, SlowConsumerPolicy.DROP_NEWEST, null);
+
+        final List<Result> results = new ArrayList<Result>();
+        for (int i = 0; i < 5; i++) {
+            results.add(write(queue, writer, 6, false));
+        }
+
+        assertEquals(30, queue.getQueuedBytes());
+        for (int i = 0; i < 5; i++) {
+            writer.complete();
+        }
+
+        for (Result result : results) {
+            assertTrue(result.completed);
+        }
+        assertEquals(0, queue.getQueuedBytes());
+    }
+
+    @Test
+    public void testOrderPreserved() {
+        final PendingWriter writer = new PendingWriter();
+        final OutboundQueue queue = new OutboundQueue(10, SlowConsumerPolicy.DROP_NEWEST, null);
+
+        final List<ByteBuffer[]> sent = new ArrayList<ByteBuffer[]>();
+        for (int i = 0; i < 4; i++) {
+            final ByteBuffer[] buffers = {ByteBuffer.allocate(5)};
+            sent.add(buffers);
+            queue.write(writer, buffers, new Result(), WRITER_INFO, false);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertSame(sent.get(i), writer.pending.get(0).buffers);
+            writer.complete();
+        }
+    }
+
+    private static Result write(OutboundQueue queue, Writer writer, int size, boolean droppable) {
+        final Result result = new Result();
+        queue.write(writer, new ByteBuffer[]{ByteBuffer.allocate(size)}, result, WRITER_INFO, droppable);
+        return result;
+    }
+
+    private static class Result extends CompletionHandler<ByteBuffer[]> {
+
+        private volatile boolean completed;
+        private volatile Throwable failure;
+
+        @Override
+        public void completed(ByteBuffer[] result) {
+            completed = true;
+        }
+
+        @Override
+        public void failed(Throwable throwable) {
+            failure = throwable;
+        }
+    }
+
+    /**
+     * Writer which completes the writes only when asked to.
+     */
+    private static class PendingWriter extends Writer {
+
+        private final List<PendingWrite> pending = new ArrayList<PendingWrite>();
+
+        void complete() {
+            final PendingWrite write = pending.remove(0);
+            write.completionHandler.completed(write.buffers);
+        }
+
+        @Override
+        public void write(ByteBuffer[] buffers, CompletionHandler<ByteBuffer[]> completionHandler,
+                          WriterInfo writerInfo) {
+            pending.add(new PendingWrite(buffers, completionHandler));
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static class PendingWrite {
+
+        private final ByteBuffer[] buffers;
+        private final CompletionHandler<ByteBuffer[]> completionHandler;
+
+        PendingWrite(ByteBuffer[] buffers, CompletionHandler<ByteBuffer[]> completionHandler) {
+            this.buffers = buffers;
+            this.completionHandler = completionHandler;
+        }
+    }
+}
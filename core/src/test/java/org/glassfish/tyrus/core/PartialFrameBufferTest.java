@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests {@link PartialFrameBuffer}.
+ */
+public class PartialFrameBufferTest {
+
+    @Test
+    public void testWholeFramesAreNotCopied() {
+        final PartialFrameBuffer partialFrameBuffer = new PartialFrameBuffer(1024, new DefaultBufferPool(false, false));
+        final ByteBuffer data = ByteBuffer.wrap(new byte[]{1, 2, 3});
+
+        assertSame(data, partialFrameBuffer.prepend(data));
+        data.position(data.limit());
+        partialFrameBuffer.retain(data);
+
+        final ByteBuffer next = ByteBuffer.wrap(new byte[]{4});
+        assertSame(next, partialFrameBuffer.prepend(next));
+    }
+
+    @Test
+    public void testIncompleteFrameIsKept() {
+        final DefaultBufferPool pool = new DefaultBufferPool(false, false);
+        final PartialFrameBuffer partialFrameBuffer = new PartialFrameBuffer(1024, pool);
+
+        final ByteBuffer data = ByteBuffer.wrap(new byte[]{1, 2, 3, 4});
+        assertSame(data, partialFrameBuffer.prepend(data));
+        // first two bytes unframed
+        data.position(2);
+        partialFrameBuffer.retain(data);
+        assertEquals(0, data.remaining());
+
+        final ByteBuffer tail = partialFrameBuffer.prepend(ByteBuffer.wrap(new byte[]{5, 6}));
+        assertNotSame(data, tail);
+        assertEquals(4, tail.remaining());
+        for (byte b = 3; b <= 6; b++) {
+            assertEquals(b, tail.get());
+        }
+
+        // drained tail is returned to the pool
+        partialFrameBuffer.retain(tail);
+        assertSame(tail, pool.acquire(16));
+    }
+
+    @Test
+    public void testIncompleteFrameGrows() {
+        final PartialFrameBuffer partialFrameBuffer = new PartialFrameBuffer(4096, new DefaultBufferPool(false, false));
+
+        final ByteBuffer data = ByteBuffer.wrap(new byte[]{1, 2});
+        partialFrameBuffer.prepend(data);
+        partialFrameBuffer.retain(data);
+
+        final ByteBuffer tail = partialFrameBuffer.prepend(ByteBuffer.allocate(1000));
+        assertEquals(1002, tail.remaining());
+        assertEquals(1, tail.get(0));
+        assertEquals(2, tail.get(1));
+        assertEquals(1024, tail.capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOverflow() {
+        final PartialFrameBuffer partialFrameBuffer = new PartialFrameBuffer(8, new DefaultBufferPool(false, false));
+
+        final ByteBuffer data = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        partialFrameBuffer.prepend(data);
+        partialFrameBuffer.retain(data);
+
+        partialFrameBuffer.prepend(ByteBuffer.allocate(4));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests {@link TextBuffer} and {@link BinaryBuffer}.
+ */
+public class PartialMessageBufferTest {
+
+    @Test
+    public void testText() {
+        final TextBuffer textBuffer = new TextBuffer();
+        textBuffer.resetBuffer(100);
+        textBuffer.appendMessagePart("Hello");
+        textBuffer.appendMessagePart("");
+        textBuffer.appendMessagePart(", ");
+        textBuffer.appendMessagePart("world");
+
+        assertEquals("Hello, world", textBuffer.getBufferedContent());
+        assertEquals("", textBuffer.getBufferedContent());
+    }
+
+    @Test
+    public void testSingleTextFragmentIsNotCopied() {
+        final TextBuffer textBuffer = new TextBuffer();
+        textBuffer.resetBuffer(100);
+        final String message = new String("message");
+        textBuffer.appendMessagePart(message);
+
+        assertSame(message, textBuffer.getBufferedContent());
+    }
+
+    @Test(expected = MessageTooBigException.class)
+    public void testTextOverflow() {
+        final TextBuffer textBuffer = new TextBuffer();
+        textBuffer.resetBuffer(8);
+        textBuffer.appendMessagePart("12345");
+        textBuffer.appendMessagePart("6789");
+    }
+
+    @Test
+    public void testBinary() {
+        final BinaryBuffer binaryBuffer = new BinaryBuffer();
+        binaryBuffer.resetBuffer(100);
+        binaryBuffer.appendMessagePart(ByteBuffer.wrap(new byte[]{1, 2}));
+        binaryBuffer.appendMessagePart(ByteBuffer.wrap(new byte[]{0, 3, 4, 0}, 1, 2));
+
+        final ByteBuffer content = binaryBuffer.getBufferedContent();
+        assertEquals(4, content.remaining());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, content.array());
+        assertEquals(0, binaryBuffer.getBufferedContent().remaining());
+    }
+
+    @Test
+    public void testSingleBinaryFragment() {
+        final BinaryBuffer binaryBuffer = new BinaryBuffer();
+        binaryBuffer.resetBuffer(100);
+        final ByteBuffer whole = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        binaryBuffer.appendMessagePart(whole);
+        assertSame(whole, binaryBuffer.getBufferedContent());
+
+        // slice of a bigger array has to be copied, byte[] handlers get the whole backing array.
+        binaryBuffer.resetBuffer(100);
+        final ByteBuffer slice = ByteBuffer.wrap(new byte[]{1, 2, 3}, 1, 2);
+        binaryBuffer.appendMessagePart(slice);
+        final ByteBuffer content = binaryBuffer.getBufferedContent();
+        assertNotSame(slice, content);
+        assertArrayEquals(new byte[]{2, 3}, content.array());
+    }
+
+    @Test(expected = MessageTooBigException.class)
+    public void testBinaryOverflow() {
+        final BinaryBuffer binaryBuffer = new BinaryBuffer();
+        binaryBuffer.resetBuffer(4);
+        binaryBuffer.appendMessagePart(ByteBuffer.allocate(3));
+        binaryBuffer.appendMessagePart(ByteBuffer.allocate(2));
+    }
+}
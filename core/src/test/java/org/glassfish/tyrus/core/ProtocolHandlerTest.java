@@ -16,6 +16,7 @@
 
 package org.glassfish.tyrus.core;
 
+import org.glassfish.tyrus.core.frame.TextFrame;
 import org.glassfish.tyrus.spi.CompletionHandler;
 import org.glassfish.tyrus.spi.Writer;
 import org.glassfish.tyrus.spi.WriterInfo;
@@ -31,8 +32,18 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class ProtocolHandlerTest {
 
@@ -81,4 +92,171 @@ public class ProtocolHandlerTest {
         handler.close(1000, "TEST");
         Assert.assertEquals(0, endpoint.onCloseLatch.getCount());
     }
+
+    @Test
+    public void testConcurrentSendsKeepOrder() throws Exception {
+        final ProtocolHandler handler = new ProtocolHandler(false, null);
+        final RecordingWriter writer = new RecordingWriter();
+        handler.setWriter(writer);
+
+        final int threads = 4;
+        final int messages = 500;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                final int thread = i;
+                futures.add(executorService.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < messages; j++) {
+                            handler.send(thread + ":" + j, (WriterInfo) null);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assert.assertEquals(threads * messages, writer.payloads.size());
+        final int[] next = new int[threads];
+        for (String payload : writer.payloads) {
+            final String[] split = payload.split(":");
+            final int thread = Integer.parseInt(split[0]);
+            Assert.assertEquals(next[thread]++, Integer.parseInt(split[1]));
+        }
+    }
+
+    @Test
+    public void testWholeMessageWaitsForPartialMessage() throws Exception {
+        final ProtocolHandler handler = new ProtocolHandler(false, null);
+        final RecordingWriter writer = new RecordingWriter();
+        handler.setWriter(writer);
+
+        handler.stream(false, "a", null);
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> whole = executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    handler.send("whole", (WriterInfo) null);
+                }
+            });
+
+            Thread.sleep(100);
+            handler.stream(true, "b", null);
+            whole.get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assert.assertEquals(3, writer.payloads.size());
+        Assert.assertEquals("a", writer.payloads.get(0));
+        Assert.assertEquals(0x01, writer.opcodes.get(0).intValue());
+        Assert.assertEquals("b", writer.payloads.get(1));
+        Assert.assertEquals(0x80, writer.opcodes.get(1).intValue());
+        Assert.assertEquals("whole", writer.payloads.get(2));
+        Assert.assertEquals(0x81, writer.opcodes.get(2).intValue());
+    }
+
+    @Test
+    public void testDeferredWholeMessageFails() throws Exception {
+        final ProtocolHandler handler = new ProtocolHandler(false, null);
+        final RecordingWriter writer = new RecordingWriter();
+        handler.setWriter(writer);
+        final TyrusEndpointWrapper endpointWrapper = new TyrusEndpointWrapper(
+                new ProtocolHandlerOnCloseEndpoint(), null, ComponentProviderService.create(), null, "path",
+                null, new TyrusEndpointWrapper.SessionListener() {}, null, null, null);
+        final TyrusWebSocket tyrusWebSocket = new TyrusWebSocket(handler, endpointWrapper);
+        handler.setWebSocket(tyrusWebSocket);
+        endpointWrapper.createSessionForRemoteEndpoint(tyrusWebSocket, null, Collections.emptyList(), new DebugContext());
+
+        handler.stream(false, "a", null);
+
+        // whole message which has passed the partial message check before the partial message was started.
+        final Future<?> expired = handler.send(new TextFrame("expired", false, true), null);
+        Thread.sleep(3100);
+        handler.stream(false, "b", null);
+        try {
+            expired.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        final Future<?> closed = handler.send(new TextFrame("closed", false, true), null);
+        handler.close(1000, "TEST");
+        try {
+            closed.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+
+        Assert.assertEquals(Arrays.asList("a", "b"), writer.payloads.subList(0, 2));
+        Assert.assertEquals(3, writer.payloads.size());
+    }
+
+    @Test
+    public void testDeferredWholeMessageExpiresWithoutFurtherSends() throws Exception {
+        final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
+        final HashedWheelTimer timer = new HashedWheelTimer(scheduledExecutorService);
+        try {
+            final ProtocolHandler handler = new ProtocolHandler(false, null);
+            final RecordingWriter writer = new RecordingWriter();
+            handler.setWriter(writer);
+            handler.setTimer(timer);
+            final TyrusEndpointWrapper endpointWrapper = new TyrusEndpointWrapper(
+                    new ProtocolHandlerOnCloseEndpoint(), null, ComponentProviderService.create(), null, "path",
+                    null, new TyrusEndpointWrapper.SessionListener() {}, null, null, null);
+            final TyrusWebSocket tyrusWebSocket = new TyrusWebSocket(handler, endpointWrapper);
+            handler.setWebSocket(tyrusWebSocket);
+
+            handler.stream(false, "a", null);
+            final Future<?> deferred = handler.send(new TextFrame("deferred", false, true), null);
+
+            // nothing else is sent, the timer drains the queue.
+            try {
+                deferred.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+            Assert.assertEquals(Collections.singletonList("a"), writer.payloads);
+        } finally {
+            timer.stop();
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Records opcodes and payloads of server side text frames.
+     */
+    private static class RecordingWriter extends Writer {
+
+        private final List<Integer> opcodes = Collections.synchronizedList(new ArrayList<Integer>());
+        private final List<String> payloads = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void write(ByteBuffer[] buffers, CompletionHandler<ByteBuffer[]> completionHandler,
+                          WriterInfo writerInfo) {
+            opcodes.add(buffers[0].get(0) & 0xFF);
+            payloads.add(StandardCharsets.UTF_8.decode(buffers[1].duplicate()).toString());
+            completionHandler.completed(buffers);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.websocket.MessageHandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests bulk operations of {@link ReaderBuffer} and {@link BufferedStringReader}.
+ */
+public class ReaderBufferTest {
+
+    private final SynchronousQueue<Reader> readers = new SynchronousQueue<Reader>();
+
+    private ExecutorService executorService;
+    private ReaderBuffer buffer;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        buffer = new ReaderBuffer(executorService);
+        buffer.resetBuffer(1024);
+        buffer.setMessageHandler(new MessageHandler.Whole<Reader>() {
+            @Override
+            public void onMessage(Reader message) {
+                try {
+                    readers.put(message);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testBulkRead() throws Exception {
+        buffer.appendMessagePart("abcdef", false);
+        buffer.appendMessagePart("gh", true);
+        final Reader reader = takeReader();
+
+        assertTrue(reader.ready());
+
+        final char[] chars = new char[10];
+        assertEquals(4, reader.read(chars, 2, 4));
+        assertEquals("abcd", new String(chars, 2, 4));
+
+        assertEquals(4, reader.read(chars));
+        assertEquals("efgh", new String(chars, 0, 4));
+        assertFalse(reader.ready());
+        assertEquals(-1, reader.read(chars));
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        buffer.appendMessagePart("abcdef", true);
+        final Reader reader = takeReader();
+
+        assertEquals(2, reader.skip(2));
+        assertEquals('c', reader.read());
+        assertEquals(3, reader.skip(10));
+        assertEquals(0, reader.skip(10));
+        assertEquals(-1, reader.read());
+    }
+
+    @Test
+    public void testTransferToWaitsForLastPart() throws Exception {
+        buffer.appendMessagePart("ab", false);
+        final Reader reader = takeReader();
+        assertEquals('a', reader.read());
+
+        final Thread sender = new Thread() {
+            @Override
+            public void run() {
+                buffer.appendMessagePart("cd", false);
+                buffer.appendMessagePart("e", true);
+            }
+        };
+        sender.start();
+
+        final StringWriter writer = new StringWriter();
+        assertEquals(4, ((BufferedStringReader) reader).transferTo(writer));
+        assertEquals("bcde", writer.toString());
+        sender.join();
+    }
+
+    private Reader takeReader() throws InterruptedException {
+        final Reader reader = readers.poll(5, TimeUnit.SECONDS);
+        assertNotNull(reader);
+        return reader;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.HashMap;
+import java.util.List;
+
+import javax.websocket.CloseReason;
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+
+import org.glassfish.tyrus.core.TyrusEndpointWrapper.SessionListener.OnOpenResult;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link SessionLimitListener}.
+ */
+public class SessionLimitListenerTest {
+
+    private static final CloseReason NORMAL_CLOSURE =
+            new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, "normal");
+
+    private final TyrusEndpointWrapper endpointWrapper;
+
+    public SessionLimitListenerTest() throws DeploymentException {
+        endpointWrapper = new TyrusEndpointWrapper(TestEndpoint.class, null, ComponentProviderService.create(), null,
+                                                   null, null, null, null, null, null);
+    }
+
+    @Test
+    public void testMaxSessionsPerApp() {
+        final SessionLimitListener listener = new SessionLimitListener(2, null);
+        final TyrusSession first = createSession("1.1.1.1");
+
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(first));
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(createSession("2.2.2.2")));
+        assertEquals(OnOpenResult.MAX_SESSIONS_PER_APP_EXCEEDED, listener.onOpen(createSession("3.3.3.3")));
+        assertEquals(2, listener.getOpenSessions());
+
+        listener.onClose(first, NORMAL_CLOSURE);
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(createSession("3.3.3.3")));
+    }
+
+    @Test
+    public void testMaxSessionsPerRemoteAddr() {
+        final SessionLimitListener listener = new SessionLimitListener(null, 1);
+        final TyrusSession first = createSession("1.1.1.1");
+
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(first));
+        assertEquals(OnOpenResult.MAX_SESSIONS_PER_REMOTE_ADDR_EXCEEDED, listener.onOpen(createSession("1.1.1.1")));
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(createSession("2.2.2.2")));
+        // unknown address is counted as any other
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(createSession(null)));
+        assertEquals(OnOpenResult.MAX_SESSIONS_PER_REMOTE_ADDR_EXCEEDED, listener.onOpen(createSession(null)));
+
+        listener.onClose(first, NORMAL_CLOSURE);
+        assertEquals(0, listener.getOpenSessions("1.1.1.1"));
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(createSession("1.1.1.1")));
+        assertEquals(1, listener.getOpenSessions("1.1.1.1"));
+    }
+
+    @Test
+    public void testRefusedSessionIsNotCounted() {
+        final SessionLimitListener listener = new SessionLimitListener(10, 1);
+
+        assertEquals(OnOpenResult.SESSION_ALLOWED, listener.onOpen(createSession("1.1.1.1")));
+        assertEquals(OnOpenResult.MAX_SESSIONS_PER_REMOTE_ADDR_EXCEEDED, listener.onOpen(createSession("1.1.1.1")));
+        assertEquals(1, listener.getOpenSessions());
+    }
+
+    private TyrusSession createSession(String remoteAddr) {
+        return new TyrusSession(null, new TyrusWebSocket(new ProtocolHandler(false, null), null), endpointWrapper,
+                                null, null, false, null, null, null, null, new HashMap<String, List<String>>(), null,
+                                null, remoteAddr, new DebugContext());
+    }
+
+    public static class TestEndpoint extends Endpoint {
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.glassfish.tyrus.core.frame.Frame;
+import org.glassfish.tyrus.core.frame.TextFrame;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests {@link StrictUtf8} and its use in {@link TextFrame}.
+ */
+public class StrictUtf8Test {
+
+    private static final String[] TEXTS = {
+            "",
+            "ascii only",
+            "\u00e9l\u00e8ve",                      // 2 bytes
+            "\u20ac 100",                           // 3 bytes
+            "smile \ud83d\ude00 and \ud800\udc00",  // 4 bytes
+            "mixed a\u00e9\u20ac\ud83d\ude00z"
+    };
+
+    @Test
+    public void testEncode() {
+        for (String text : TEXTS) {
+            assertArrayEquals(text, text.getBytes(StandardCharsets.UTF_8), StrictUtf8.toBytes(text));
+        }
+    }
+
+    @Test(expected = Error.class)
+    public void testEncodeUnpairedSurrogate() {
+        StrictUtf8.toBytes("broken \ud83d pair");
+    }
+
+    @Test
+    public void testTextFrameRoundTrip() {
+        for (String text : TEXTS) {
+            final byte[] payload = new TextFrame(text, false, true).getPayloadData();
+            final Frame frame = Frame.builder().fin(true).opcode((byte) 0x01).payloadData(payload).build();
+
+            assertEquals(text, new TextFrame(frame, null).getTextPayload());
+        }
+    }
+
+    @Test
+    public void testTextFrameSplitMultibyteCharacter() {
+        final String text = "a\u20acb";
+        final byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+
+        // split in the middle of the 3 byte euro sign
+        final Frame first = Frame.builder().fin(false).opcode((byte) 0x01)
+                                 .payloadData(Arrays.copyOfRange(payload, 0, 2)).build();
+        final Frame second = Frame.builder().fin(true).opcode((byte) 0x00)
+                                  .payloadData(Arrays.copyOfRange(payload, 2, payload.length)).build();
+
+        final TextFrame firstFrame = new TextFrame(first, null);
+        assertEquals("a", firstFrame.getTextPayload());
+        final ByteBuffer remainder = firstFrame.getRemainder();
+        assertNotNull(remainder);
+
+        final TextFrame secondFrame = new TextFrame(second, remainder, true);
+        assertEquals("\u20acb", secondFrame.getTextPayload());
+        assertNull(secondFrame.getRemainder());
+    }
+
+    @Test
+    public void testDecodingIsReused() {
+        final StrictUtf8.Decoding decoding = new StrictUtf8.Decoding();
+        assertSame(decoding.getDecoder(), decoding.getDecoder());
+        assertSame(decoding.getCharBuffer(16), decoding.getCharBuffer(16));
+
+        for (String text : TEXTS) {
+            final Frame frame = Frame.builder().fin(true).opcode((byte) 0x01)
+                                     .payloadData(text.getBytes(StandardCharsets.UTF_8)).build();
+            assertEquals(text, new TextFrame(frame, null, false, decoding).getTextPayload());
+        }
+    }
+
+    @Test(expected = Utf8DecodingException.class)
+    public void testTextFrameMalformed() {
+        final Frame frame = Frame.builder().fin(true).opcode((byte) 0x01)
+                                 .payloadData(new byte[]{'a', (byte) 0xc0, (byte) 0x80}).build();
+        new TextFrame(frame, null);
+    }
+}
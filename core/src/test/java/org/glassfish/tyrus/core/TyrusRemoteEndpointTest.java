@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -100,6 +100,7 @@ public class TyrusRemoteEndpointTest {
         OutputStream stream = rew.getSendStream();
 
         stream.write(sentBytesComplete);
+        stream.flush();
         Assert.assertEquals(6, tre.getLastSentMessageSize());
         stream.close();
         Assert.assertEquals(0, tre.getLastSentMessageSize());
@@ -117,8 +118,10 @@ public class TyrusRemoteEndpointTest {
         OutputStream stream = rew.getSendStream();
 
         stream.write(sentBytes);
+        stream.flush();
         Assert.assertEquals(3, tre.getLastSentMessageSize());
         stream.write(sentBytes);
+        stream.flush();
         Assert.assertEquals(3, tre.getLastSentMessageSize());
         stream.close();
         Assert.assertEquals(0, tre.getLastSentMessageSize());
@@ -151,6 +154,48 @@ public class TyrusRemoteEndpointTest {
         Assert.assertEquals("Writing first character.", String.valueOf(toSend[2]), tre.getStringAndCleanBuilder());
     }
 
+    @Test
+    public void testGetSendStreamCoalescesWrites() throws IOException {
+        TestRemoteEndpoint tre = new TestRemoteEndpoint();
+        tre.getProtocolHandler().setSendStreamFrameSize(4);
+        TyrusSession testSession = createTestSession(tre, endpointWrapper);
+        TyrusRemoteEndpoint.Basic rew = new TyrusRemoteEndpoint.Basic(testSession, tre, endpointWrapper);
+        OutputStream stream = rew.getSendStream();
+
+        for (byte b : sentBytesComplete) {
+            stream.write(b);
+        }
+        Assert.assertEquals("Full buffer is sent as one frame.", 1, tre.getSentFrames());
+        Assert.assertEquals(4, tre.getLastSentMessageSize());
+
+        stream.close();
+        Assert.assertEquals("The rest is sent in the last frame.", 2, tre.getSentFrames());
+        Assert.assertEquals(2, tre.getLastSentMessageSize());
+        Assert.assertArrayEquals(sentBytesComplete, tre.getBytesAndClearBuffer());
+    }
+
+    @Test
+    public void testGetSendWriterCoalescesWrites() throws IOException {
+        TestRemoteEndpoint tre = new TestRemoteEndpoint();
+        tre.getProtocolHandler().setSendStreamFrameSize(4);
+        TyrusSession testSession = createTestSession(tre, endpointWrapper);
+        TyrusRemoteEndpoint.Basic rew = new TyrusRemoteEndpoint.Basic(testSession, tre, endpointWrapper);
+        Writer writer = rew.getSendWriter();
+
+        writer.write("ab");
+        writer.write('c');
+        Assert.assertEquals(0, tre.getSentFrames());
+
+        // the surrogate pair would be split by the frame boundary
+        writer.write("\ud83d\ude00d");
+        Assert.assertEquals(1, tre.getSentFrames());
+        Assert.assertEquals("abc", tre.getStringAndCleanBuilder());
+
+        writer.close();
+        Assert.assertEquals(2, tre.getSentFrames());
+        Assert.assertEquals("\ud83d\ude00d", tre.getStringAndCleanBuilder());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBasicSendText() throws IOException {
         TestRemoteEndpoint tre = new TestRemoteEndpoint();
@@ -303,6 +348,7 @@ public class TyrusRemoteEndpointTest {
         private final ArrayList<Byte> bytesToSend = new ArrayList<Byte>();
         StringBuilder builder = new StringBuilder();
         private int lastSentMessageSize;
+        private int sentFrames;
 
         private TestRemoteEndpoint() {
             super(new ProtocolHandler(false, null), null);
@@ -311,6 +357,7 @@ public class TyrusRemoteEndpointTest {
         @Override
         public Future<Frame> sendText(String fragment, boolean isLast, WriterInfo writerInfo) {
             builder.append(fragment);
+            sentFrames++;
             return new Future<Frame>() {
                 @Override
                 public boolean cancel(boolean mayInterruptIfRunning) {
@@ -343,7 +390,8 @@ public class TyrusRemoteEndpointTest {
         @Override
         public Future<Frame> sendBinary(byte[] data, int off, int len, boolean isLast, WriterInfo writerInfo) {
             lastSentMessageSize = len;
-            for (int i = off; i < len; i++) {
+            sentFrames++;
+            for (int i = off; i < off + len; i++) {
                 bytesToSend.add(data[i]);
             }
             return new Future<Frame>() {
@@ -375,6 +423,10 @@ public class TyrusRemoteEndpointTest {
             };
         }
 
+        public int getSentFrames() {
+            return sentFrames;
+        }
+
         public byte[] getBytesAndClearBuffer() {
             byte[] result = new byte[bytesToSend.size()];
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2025 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,17 +20,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Proxy;
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.websocket.DeploymentException;
+import javax.websocket.EncodeException;
+import javax.websocket.Encoder;
 import javax.websocket.Endpoint;
 import javax.websocket.EndpointConfig;
 import javax.websocket.MessageHandler;
@@ -39,11 +39,15 @@ import javax.websocket.PongMessage;
 import javax.websocket.Session;
 import javax.websocket.WebSocketContainer;
 import javax.websocket.server.ServerEndpoint;
+import javax.websocket.server.ServerEndpointConfig;
 
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -492,67 +496,173 @@ public class TyrusSessionTest {
     }
 
     @Test
-    public void testIdleTimeoutFutureIsCanceled() throws IOException {
-        final AtomicBoolean canceled = new AtomicBoolean(false);
-        final InvocationHandler scheduledFutureHandler = (proxy, method, args) -> {
-            switch (method.getName()) {
-                case "cancel":
-                    canceled.set(true);
-                    return true;
-                default:
-                    return null;
-            }
-        };
-        final InvocationHandler scheduledExecutorServiceHandler = (proxy, method, args) -> {
-            switch (method.getName()) {
-                case "schedule":
-                    return Proxy.newProxyInstance(
-                            getClass().getClassLoader(), new Class[]{ScheduledFuture.class}, scheduledFutureHandler
-                    );
-                default:
-                    return null;
-            }
-        };
-        final WebSocketContainer webSocketContainer = new TestContainer() {
+    public void testIdleTimeoutIsCanceled() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        final TestContainer webSocketContainer = new TestContainer() {
             @Override
             public ScheduledExecutorService getScheduledExecutorService() {
-                return (ScheduledExecutorService) Proxy.newProxyInstance(
-                        getClass().getClassLoader(),
-                        new Class[]{ScheduledExecutorService.class},
-                        scheduledExecutorServiceHandler
-                );
+                return scheduler;
             }
         };
-        final Session session = createSession(endpointWrapper, webSocketContainer);
+        Field field = TyrusSession.class.getDeclaredField("idleTimeout");
+        field.setAccessible(true);
+
+        final TyrusSession session = createSession(endpointWrapper, webSocketContainer);
+        session.setMaxIdleTimeout(10000L);
+        final HashedWheelTimer.Timeout timeout = (HashedWheelTimer.Timeout) field.get(session);
+        assertNotNull(timeout);
+
         session.close();
-        assertTrue(canceled.get());
+        assertTrue("idleTimeout is NOT cancelled", timeout.isCancelled());
+        assertNull(field.get(session));
+
+        webSocketContainer.shutdown();
+        scheduler.shutdownNow();
     }
 
     @Test
     public void testIdleTimeoutNegative() throws Exception {
         final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-        final WebSocketContainer webSocketContainer = new TestContainer() {
+        final TestContainer webSocketContainer = new TestContainer() {
             @Override
             public ScheduledExecutorService getScheduledExecutorService() {
                 return scheduler;
             }
         };
-        Field field = TyrusSession.class.getDeclaredField("idleTimeoutFuture");
+        Field field = TyrusSession.class.getDeclaredField("idleTimeout");
         field.setAccessible(true);
 
         TyrusSession session = createSession(endpointWrapper, webSocketContainer);
-        ScheduledFuture future = (ScheduledFuture) field.get(session);
-        assertFalse("idleTimeoutFuture is cancelled", future.isCancelled());
+        assertNull("idleTimeout is scheduled", field.get(session));
 
         session.setMaxIdleTimeout(2000L);
-        future = (ScheduledFuture) field.get(session);
-        assertFalse("idleTimeoutFuture is cancelled", future.isCancelled());
+        final HashedWheelTimer.Timeout timeout = (HashedWheelTimer.Timeout) field.get(session);
+        assertFalse("idleTimeout is cancelled", timeout.isCancelled());
 
         session.setMaxIdleTimeout(-1L);
-        future = (ScheduledFuture) field.get(session);
-        assertTrue("idleTimeoutFuture is NOT cancelled", future.isCancelled());
+        assertTrue("idleTimeout is NOT cancelled", timeout.isCancelled());
+        assertNull(field.get(session));
+
+        session.close();
+        webSocketContainer.shutdown();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testIdleTimeoutNotRescheduledOnActivity() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        final TestContainer webSocketContainer = new TestContainer() {
+            @Override
+            public ScheduledExecutorService getScheduledExecutorService() {
+                return scheduler;
+            }
+        };
+        Field field = TyrusSession.class.getDeclaredField("idleTimeout");
+        field.setAccessible(true);
+
+        TyrusSession session = createSession(endpointWrapper, webSocketContainer);
+        session.setMaxIdleTimeout(2000L);
+        final Object timeout = field.get(session);
+        assertNotNull(timeout);
+
+        session.restartIdleTimeoutExecutor();
+        session.restartIdleTimeoutExecutor();
+        assertSame(timeout, field.get(session));
 
         session.close();
+        webSocketContainer.shutdown();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testEncoderIsResolvedOncePerSession() throws Exception {
+        final ServerEndpointConfig config = ServerEndpointConfig.Builder
+                .create(EchoEndpoint.class, "/echo")
+                .encoders(Collections.<Class<? extends Encoder>>singletonList(CountingEncoder.class))
+                .build();
+        final TyrusEndpointWrapper wrapper =
+                new TyrusEndpointWrapper(EchoEndpoint.class, config, ComponentProviderService.create(), null, "/",
+                                         null, null, null, null, null);
+        CountingEncoder.INITIALIZED.set(0);
+
+        final TyrusSession first = createSession(wrapper);
+        final TyrusSession second = createSession(wrapper);
+
+        // subclass of the encoded type is dispatched to the same encoder
+        assertEquals("encoded", wrapper.doEncode(first, new Number() {
+            @Override
+            public int intValue() {
+                return 0;
+            }
+
+            @Override
+            public long longValue() {
+                return 0;
+            }
+
+            @Override
+            public float floatValue() {
+                return 0;
+            }
+
+            @Override
+            public double doubleValue() {
+                return 0;
+            }
+        }));
+        assertEquals("encoded", wrapper.doEncode(first, 1));
+        assertEquals(1, CountingEncoder.INITIALIZED.get());
+
+        assertEquals("encoded", wrapper.doEncode(second, 2L));
+        assertEquals(2, CountingEncoder.INITIALIZED.get());
+
+        // no registered encoder for String, default one is used
+        assertEquals("text", wrapper.doEncode(first, "text"));
+    }
+
+    @Test
+    public void testEndpointInstanceIsAttachedToSession() {
+        final ComponentProviderService componentProvider = ComponentProviderService.create();
+        final TyrusSession session = createSession(endpointWrapper);
+        final ErrorCollector collector = new ErrorCollector();
+
+        final Object instance = componentProvider.getInstance(PublicEndpoint.class, session, collector);
+        assertNotNull(instance);
+        assertSame(instance, session.getComponentInstance(TyrusSession.ENDPOINT_INSTANCE));
+        assertSame(instance, componentProvider.getInstance(PublicEndpoint.class, session, collector));
+        // other session gets its own instance
+        assertNotSame(instance, componentProvider.getInstance(PublicEndpoint.class, createSession(endpointWrapper),
+                                                              collector));
+
+        componentProvider.removeSession(session);
+        assertNull(session.getComponentInstance(TyrusSession.ENDPOINT_INSTANCE));
+        assertTrue(collector.isEmpty());
+    }
+
+    public static class PublicEndpoint extends Endpoint {
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+        }
+    }
+
+    public static class CountingEncoder implements Encoder.Text<Number> {
+
+        private static final AtomicInteger INITIALIZED = new AtomicInteger();
+
+        @Override
+        public String encode(Number object) throws EncodeException {
+            return "encoded";
+        }
+
+        @Override
+        public void init(EndpointConfig config) {
+            INITIALIZED.incrementAndGet();
+        }
+
+        @Override
+        public void destroy() {
+        }
     }
 
     private TyrusSession createSession(TyrusEndpointWrapper endpointWrapper, WebSocketContainer container) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link VirtualThreads} and virtual thread executor of {@link BaseContainer}.
+ */
+public class VirtualThreadsTest {
+
+    @Test
+    public void testExecutorService() throws Exception {
+        final ExecutorService executorService = VirtualThreads.newVirtualThreadPerTaskExecutor("test-");
+
+        if (!VirtualThreads.isSupported()) {
+            assertNull(executorService);
+            return;
+        }
+
+        // preview feature not enabled on JDK 19 and 20
+        if (executorService != null) {
+            final AtomicReference<String> threadName = new AtomicReference<String>();
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    threadName.set(Thread.currentThread().getName());
+                }
+            });
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals("test-0", threadName.get());
+        }
+    }
+
+    @Test
+    public void testContainerExecutorService() throws Exception {
+        final TestContainer container = new TestContainer() {
+            @Override
+            protected boolean isVirtualThreadsEnabled() {
+                return true;
+            }
+        };
+
+        final ExecutorService executorService = container.getExecutorService();
+        assertNotNull(executorService);
+
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        assertNotNull(thread.get());
+        container.shutdown();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core.uri;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+
+import org.glassfish.tyrus.core.ComponentProviderService;
+import org.glassfish.tyrus.core.DebugContext;
+import org.glassfish.tyrus.core.TyrusEndpointWrapper;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link EndpointTrie}.
+ */
+public class EndpointTrieTest {
+
+    private static final String[] PATHS = {
+            "/a", "/{v1}", "/a/b", "/{v1}/b", "/a/{v2}", "/{v1}/{v2}", "/a/b/c", "/a/{v2}/c", "/a/{v2}/{v3}",
+            "/{v1}/b/{v3}", "/{v1}/{v2}/c", "/b/{v2}", "/{v1}/d"
+    };
+
+    private static final String[] REQUESTS = {
+            "/a", "/x", "/a/b", "/x/b", "/a/y", "/x/y", "/a/b/c", "/a/y/c", "/a/b/z", "/x/b/c", "/x/y/c", "/x/y/z",
+            "/b/d", "/a/b/c/d", "/", "/a%20b/b"
+    };
+
+    @Test
+    public void testOrderIsSameAsMatchComparator() throws DeploymentException {
+        final List<TyrusEndpointWrapper> endpoints = createEndpoints(PATHS);
+        final EndpointTrie trie = new EndpointTrie();
+        for (TyrusEndpointWrapper endpoint : endpoints) {
+            trie.add(endpoint);
+        }
+
+        for (String request : REQUESTS) {
+            final List<Match> expected =
+                    Match.getAllMatches(request, new HashSet<TyrusEndpointWrapper>(endpoints), new DebugContext());
+            final List<Match> matched = toList(trie.match(request, new DebugContext()));
+
+            assertEquals(request, expected.size(), matched.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(request, expected.get(i).getEndpointWrapper(), matched.get(i).getEndpointWrapper());
+                assertEquals(request, expected.get(i).getParameters(), matched.get(i).getParameters());
+            }
+        }
+    }
+
+    @Test
+    public void testParameters() throws DeploymentException {
+        final EndpointTrie trie = new EndpointTrie();
+        for (TyrusEndpointWrapper endpoint : createEndpoints("/a/b", "/a/{var}", "/{var}/b")) {
+            trie.add(endpoint);
+        }
+
+        final List<Match> matches = toList(trie.match("/a/b", new DebugContext()));
+        assertEquals(3, matches.size());
+        assertEquals("/a/b", matches.get(0).getEndpointWrapper().getEndpointPath());
+        assertTrue(matches.get(0).getParameters().isEmpty());
+        assertEquals("/a/{var}", matches.get(1).getEndpointWrapper().getEndpointPath());
+        assertEquals("b", matches.get(1).getParameters().get("var"));
+        assertEquals("/{var}/b", matches.get(2).getEndpointWrapper().getEndpointPath());
+        assertEquals("a", matches.get(2).getParameters().get("var"));
+    }
+
+    @Test
+    public void testRemove() throws DeploymentException {
+        final List<TyrusEndpointWrapper> endpoints = createEndpoints("/a/b", "/a/{var}");
+        final EndpointTrie trie = new EndpointTrie();
+        for (TyrusEndpointWrapper endpoint : endpoints) {
+            trie.add(endpoint);
+        }
+
+        assertEquals("/a/b", trie.match("/a/b", new DebugContext()).next().getEndpointWrapper().getEndpointPath());
+
+        trie.remove(endpoints.get(0));
+        assertEquals("/a/{var}",
+                     trie.match("/a/b", new DebugContext()).next().getEndpointWrapper().getEndpointPath());
+
+        trie.remove(endpoints.get(1));
+        assertFalse(trie.match("/a/b", new DebugContext()).hasNext());
+    }
+
+    private static List<Match> toList(Iterator<Match> matches) {
+        final List<Match> list = new ArrayList<Match>();
+        while (matches.hasNext()) {
+            list.add(matches.next());
+        }
+        return list;
+    }
+
+    private static List<TyrusEndpointWrapper> createEndpoints(String... paths) throws DeploymentException {
+        final List<TyrusEndpointWrapper> endpoints = new ArrayList<TyrusEndpointWrapper>();
+        for (String path : paths) {
+            endpoints.add(new TestWebSocketEndpoint(path));
+        }
+        return endpoints;
+    }
+
+    private static class TestWebSocketEndpoint extends TyrusEndpointWrapper {
+
+        private final String path;
+
+        private TestWebSocketEndpoint(String path) throws DeploymentException {
+            super(TestEndpoint.class, null, ComponentProviderService.createClient(), null, null, null, null, null,
+                  null, null);
+            this.path = path;
+        }
+
+        @Override
+        public String getEndpointPath() {
+            return path;
+        }
+
+        public static class TestEndpoint extends Endpoint {
+            @Override
+            public void onOpen(Session session, EndpointConfig config) {
+
+            }
+        }
+    }
+}
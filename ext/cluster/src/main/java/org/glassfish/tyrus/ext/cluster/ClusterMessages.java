@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import javax.websocket.CloseReason;
+
+import org.glassfish.tyrus.core.cluster.RemoteSession;
+
+/**
+ * Encoding of messages exchanged by {@link PeerClusterContext} instances.
+ * <p>
+ * Every message starts with its type and is self-delimiting, so a batch of messages is just their concatenation.
+ * Strings are encoded as UTF-8 prefixed by their length, session descriptors and property values by {@link
+ * SessionDescriptorCodec}.
+ */
+final class ClusterMessages {
+
+    private static final byte SESSION_OPENED = 1;
+    private static final byte SESSION_CLOSED = 2;
+    private static final byte SESSION_PROPERTY = 3;
+    private static final byte USER_PROPERTY = 4;
+    private static final byte USER_PROPERTIES_DESTROYED = 5;
+    private static final byte SEND = 6;
+    private static final byte CLOSE = 7;
+    private static final byte RESULT = 8;
+    private static final byte BROADCAST_TEXT = 9;
+    private static final byte BROADCAST_BINARY = 10;
+    private static final byte BROADCAST_FRAME = 11;
+    private static final byte BROADCAST_DELIVERED = 12;
+
+    static final byte KIND_TEXT = 0;
+    static final byte KIND_BINARY = 1;
+    static final byte KIND_PING = 2;
+    static final byte KIND_PONG = 3;
+
+    private ClusterMessages() {
+    }
+
+    static byte[] sessionOpened(String endpointPath, String sessionId,
+                                Map<RemoteSession.DistributedMapKey, Object> properties) {
+        final Output output = new Output(SESSION_OPENED);
+        output.writeString(endpointPath);
+        output.writeString(sessionId);
+        output.writeBytes(SessionDescriptorCodec.encodeDescriptor(properties));
+        return output.toByteArray();
+    }
+
+    static byte[] sessionClosed(String endpointPath, String sessionId) {
+        final Output output = new Output(SESSION_CLOSED);
+        output.writeString(endpointPath);
+        output.writeString(sessionId);
+        return output.toByteArray();
+    }
+
+    /**
+     * Encode a change of a distributed session property.
+     *
+     * @return encoded message, {@code null} if the value cannot be encoded.
+     */
+    static byte[] sessionProperty(String sessionId, RemoteSession.DistributedMapKey key, Object value,
+                                  boolean removed) {
+        byte[] encoded = null;
+        if (!removed) {
+            encoded = SessionDescriptorCodec.encodeValue(key, value);
+            if (encoded == null) {
+                return null;
+            }
+        }
+
+        final Output output = new Output(SESSION_PROPERTY);
+        output.writeString(sessionId);
+        output.writeByte((byte) SessionDescriptorCodec.keyCode(key));
+        output.writeBytes(encoded);
+        return output.toByteArray();
+    }
+
+    /**
+     * Encode a change of a distributed user property.
+     *
+     * @return encoded message, {@code null} if the value cannot be encoded.
+     */
+    static byte[] userProperty(String connectionId, String key, Object value, boolean removed) {
+        byte[] encoded = null;
+        if (!removed) {
+            encoded = SessionDescriptorCodec.encodeValue(key, value);
+            if (encoded == null) {
+                return null;
+            }
+        }
+
+        final Output output = new Output(USER_PROPERTY);
+        output.writeString(connectionId);
+        output.writeString(key);
+        output.writeBytes(encoded);
+        return output.toByteArray();
+    }
+
+    static byte[] userPropertiesDestroyed(String connectionId) {
+        final Output output = new Output(USER_PROPERTIES_DESTROYED);
+        output.writeString(connectionId);
+        return output.toByteArray();
+    }
+
+    static byte[] send(long requestId, String sessionId, byte kind, byte[] payload, boolean isLast) {
+        final Output output = new Output(SEND);
+        output.writeLong(requestId);
+        output.writeString(sessionId);
+        output.writeByte(kind);
+        output.writeBoolean(isLast);
+        output.writeBytes(payload);
+        return output.toByteArray();
+    }
+
+    static byte[] close(long requestId, String sessionId, CloseReason closeReason) {
+        final Output output = new Output(CLOSE);
+        output.writeLong(requestId);
+        output.writeString(sessionId);
+        output.writeBoolean(closeReason != null);
+        if (closeReason != null) {
+            output.writeInt(closeReason.getCloseCode().getCode());
+            output.writeString(closeReason.getReasonPhrase());
+        }
+        return output.toByteArray();
+    }
+
+    static byte[] result(long requestId, String error) {
+        final Output output = new Output(RESULT);
+        output.writeLong(requestId);
+        output.writeString(error);
+        return output.toByteArray();
+    }
+
+    static byte[] broadcastText(String endpointPath, String text) {
+        final Output output = new Output(BROADCAST_TEXT);
+        output.writeString(endpointPath);
+        output.writeString(text);
+        return output.toByteArray();
+    }
+
+    static byte[] broadcastBinary(String endpointPath, byte[] data) {
+        final Output output = new Output(BROADCAST_BINARY);
+        output.writeString(endpointPath);
+        output.writeBytes(data);
+        return output.toByteArray();
+    }
+
+    static byte[] broadcastFrame(long requestId, String endpointPath, byte[] frame) {
+        final Output output = new Output(BROADCAST_FRAME);
+        output.writeLong(requestId);
+        output.writeString(endpointPath);
+        output.writeBytes(frame);
+        return output.toByteArray();
+    }
+
+    static byte[] broadcastDelivered(long requestId, int sessions) {
+        final Output output = new Output(BROADCAST_DELIVERED);
+        output.writeLong(requestId);
+        output.writeInt(sessions);
+        return output.toByteArray();
+    }
+
+    /**
+     * Decode a batch of messages and pass them to the handler.
+     *
+     * @param batch   encoded messages.
+     * @param handler handler of decoded messages.
+     * @param filter  filter of classes of Java serialized property values.
+     * @throws IOException when the batch is malformed.
+     */
+    static void decode(byte[] batch, Handler handler, SerializationFilter filter) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(batch));
+
+        while (input.available() > 0) {
+            final byte type = input.readByte();
+            switch (type) {
+                case SESSION_OPENED: {
+                    final String endpointPath = readString(input);
+                    final String sessionId = readString(input);
+                    handler.onSessionOpened(endpointPath, sessionId,
+                                            SessionDescriptorCodec.decodeDescriptor(readBytes(input), filter));
+                    break;
+                }
+                case SESSION_CLOSED:
+                    handler.onSessionClosed(readString(input), readString(input));
+                    break;
+                case SESSION_PROPERTY: {
+                    final String sessionId = readString(input);
+                    final byte code = input.readByte();
+                    final byte[] value = readBytes(input);
+                    final RemoteSession.DistributedMapKey key = SessionDescriptorCodec.key(code);
+                    final Object decoded = value == null ? null : SessionDescriptorCodec.decodeValue(value, filter);
+                    // unknown keys are properties added by a newer version, this node does not know them.
+                    if (key != null && decoded != SessionDescriptorCodec.REJECTED) {
+                        handler.onSessionProperty(sessionId, key, decoded, value == null);
+                    }
+                    break;
+                }
+                case USER_PROPERTY: {
+                    final String connectionId = readString(input);
+                    final String key = readString(input);
+                    final byte[] value = readBytes(input);
+                    final Object decoded = value == null ? null : SessionDescriptorCodec.decodeValue(value, filter);
+                    if (decoded != SessionDescriptorCodec.REJECTED) {
+                        handler.onUserProperty(connectionId, key, decoded, value == null);
+                    }
+                    break;
+                }
+                case USER_PROPERTIES_DESTROYED:
+                    handler.onUserPropertiesDestroyed(readString(input));
+                    break;
+                case SEND: {
+                    final long requestId = input.readLong();
+                    final String sessionId = readString(input);
+                    final byte kind = input.readByte();
+                    final boolean isLast = input.readBoolean();
+                    handler.onSend(requestId, sessionId, kind, readBytes(input), isLast);
+                    break;
+                }
+                case CLOSE: {
+                    final long requestId = input.readLong();
+                    final String sessionId = readString(input);
+                    CloseReason closeReason = null;
+                    if (input.readBoolean()) {
+                        final int code = input.readInt();
+                        closeReason = new CloseReason(CloseReason.CloseCodes.getCloseCode(code), readString(input));
+                    }
+                    handler.onClose(requestId, sessionId, closeReason);
+                    break;
+                }
+                case RESULT:
+                    handler.onResult(input.readLong(), readString(input));
+                    break;
+                case BROADCAST_TEXT:
+                    handler.onBroadcastText(readString(input), readString(input));
+                    break;
+                case BROADCAST_BINARY:
+                    handler.onBroadcastBinary(readString(input), readBytes(input));
+                    break;
+                case BROADCAST_FRAME: {
+                    final long requestId = input.readLong();
+                    final String endpointPath = readString(input);
+                    handler.onBroadcastFrame(requestId, endpointPath, readBytes(input));
+                    break;
+                }
+                case BROADCAST_DELIVERED:
+                    handler.onBroadcastDelivered(input.readLong(), input.readInt());
+                    break;
+                default:
+                    throw new IOException("Unknown cluster message type: " + type);
+            }
+        }
+    }
+
+    static byte[] textPayload(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        final byte[] bytes = readBytes(input);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > input.available()) {
+            throw new IOException("Truncated cluster message.");
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Handler of decoded messages.
+     */
+    interface Handler {
+
+        void onSessionOpened(String endpointPath, String sessionId,
+                             Map<RemoteSession.DistributedMapKey, Object> properties);
+
+        void onSessionClosed(String endpointPath, String sessionId);
+
+        void onSessionProperty(String sessionId, RemoteSession.DistributedMapKey key, Object value, boolean removed);
+
+        void onUserProperty(String connectionId, String key, Object value, boolean removed);
+
+        void onUserPropertiesDestroyed(String connectionId);
+
+        void onSend(long requestId, String sessionId, byte kind, byte[] payload, boolean isLast);
+
+        void onClose(long requestId, String sessionId, CloseReason closeReason);
+
+        void onResult(long requestId, String error);
+
+        void onBroadcastText(String endpointPath, String text);
+
+        void onBroadcastBinary(String endpointPath, byte[] data);
+
+        void onBroadcastFrame(long requestId, String endpointPath, byte[] frame);
+
+        void onBroadcastDelivered(long requestId, int sessions);
+    }
+
+    /**
+     * Message being encoded. Writing to a byte array cannot fail, so the methods do not throw {@link IOException}.
+     */
+    private static final class Output {
+
+        private final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(64);
+        private final DataOutputStream output = new DataOutputStream(byteArrayOutputStream);
+
+        private Output(byte type) {
+            writeByte(type);
+        }
+
+        private void writeByte(byte value) {
+            try {
+                output.writeByte(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeBoolean(boolean value) {
+            try {
+                output.writeBoolean(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeInt(int value) {
+            try {
+                output.writeInt(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeLong(long value) {
+            try {
+                output.writeLong(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeBytes(byte[] bytes) {
+            try {
+                if (bytes == null) {
+                    output.writeInt(-1);
+                } else {
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeString(String value) {
+            writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private byte[] toByteArray() {
+            return byteArrayOutputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.IOException;
+
+/**
+ * Transport delivering messages between nodes of a cluster.
+ * <p>
+ * Messages are opaque byte arrays, {@link PeerClusterContext} encodes and batches them. Messages sent to the same node
+ * must be delivered in the order in which they were sent.
+ *
+ * @see TcpClusterTransport
+ * @see LoopbackClusterTransport
+ */
+public interface ClusterTransport {
+
+    /**
+     * Get id of the local node. Ids have to be unique within the cluster.
+     *
+     * @return local node id.
+     */
+    String getLocalNodeId();
+
+    /**
+     * Start the transport.
+     *
+     * @param receiver receiver of messages and node membership events.
+     * @throws IOException when the transport cannot be started.
+     */
+    void start(Receiver receiver) throws IOException;
+
+    /**
+     * Send a message to another node.
+     * <p>
+     * Invoked by at most one thread at a time for the same node. May block until the message is written.
+     *
+     * @param nodeId  id of the target node.
+     * @param message message to be sent.
+     * @throws IOException when the message cannot be delivered.
+     */
+    void send(String nodeId, byte[] message) throws IOException;
+
+    /**
+     * Stop the transport and release all its resources.
+     */
+    void shutdown();
+
+    /**
+     * Receiver of messages and node membership events.
+     */
+    interface Receiver {
+
+        /**
+         * Invoked when another node has joined the cluster, i.e. when messages can be sent to it.
+         *
+         * @param nodeId id of the node.
+         */
+        void onNodeJoined(String nodeId);
+
+        /**
+         * Invoked when another node has left the cluster or cannot be reached anymore.
+         *
+         * @param nodeId id of the node.
+         */
+        void onNodeLeft(String nodeId);
+
+        /**
+         * Invoked when a message from another node is received.
+         *
+         * @param nodeId  id of the sender.
+         * @param message received message.
+         */
+        void onMessage(String nodeId, byte[] message);
+    }
+}
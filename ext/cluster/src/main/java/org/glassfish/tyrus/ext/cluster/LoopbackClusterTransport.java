@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ClusterTransport} connecting nodes running in the same JVM, meant for tests.
+ * <p>
+ * Nodes sharing the same {@link Network} form a cluster. Messages are delivered synchronously to the receiver of the
+ * target node.
+ */
+public class LoopbackClusterTransport implements ClusterTransport {
+
+    private final Network network;
+    private final String nodeId;
+
+    private volatile Receiver receiver;
+
+    /**
+     * Create new transport.
+     *
+     * @param network network the node is connected to.
+     * @param nodeId  id of the node, unique within the network.
+     */
+    public LoopbackClusterTransport(Network network, String nodeId) {
+        this.network = network;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getLocalNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void start(Receiver receiver) throws IOException {
+        this.receiver = receiver;
+        network.join(this);
+    }
+
+    @Override
+    public void send(String nodeId, byte[] message) throws IOException {
+        final LoopbackClusterTransport target = network.nodes.get(nodeId);
+        if (target == null) {
+            throw new IOException("Node " + nodeId + " is not connected.");
+        }
+        target.receiver.onMessage(this.nodeId, message);
+    }
+
+    @Override
+    public void shutdown() {
+        network.leave(this);
+    }
+
+    /**
+     * Nodes connected by {@link LoopbackClusterTransport}.
+     */
+    public static class Network {
+
+        private final Map<String, LoopbackClusterTransport> nodes =
+                new ConcurrentHashMap<String, LoopbackClusterTransport>();
+
+        private synchronized void join(LoopbackClusterTransport transport) throws IOException {
+            if (nodes.containsKey(transport.nodeId)) {
+                throw new IOException("Node " + transport.nodeId + " is already connected.");
+            }
+
+            // connected before the others are notified, so that they can send messages to it right away.
+            nodes.put(transport.nodeId, transport);
+            for (LoopbackClusterTransport node : nodes.values()) {
+                if (node != transport) {
+                    node.receiver.onNodeJoined(transport.nodeId);
+                    transport.receiver.onNodeJoined(node.nodeId);
+                }
+            }
+        }
+
+        private synchronized void leave(LoopbackClusterTransport transport) {
+            if (nodes.remove(transport.nodeId) == null) {
+                return;
+            }
+
+            for (LoopbackClusterTransport node : nodes.values()) {
+                node.receiver.onNodeLeft(transport.nodeId);
+            }
+        }
+    }
+}
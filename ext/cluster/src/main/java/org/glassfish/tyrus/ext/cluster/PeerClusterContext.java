@@ -0,0 +1,1007 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+
+import org.glassfish.tyrus.core.TyrusFuture;
+import org.glassfish.tyrus.core.cluster.BroadcastListener;
+import org.glassfish.tyrus.core.cluster.ClusterContext;
+import org.glassfish.tyrus.core.cluster.FrameBroadcastListener;
+import org.glassfish.tyrus.core.cluster.RemoteSession;
+import org.glassfish.tyrus.core.cluster.SessionEventListener;
+import org.glassfish.tyrus.core.cluster.SessionListener;
+
+/**
+ * {@link ClusterContext} keeping the cluster state on every node, without a shared data grid.
+ * <p>
+ * Every node announces its sessions and replicates their distributed properties to all other nodes. Messages sent to
+ * a remote session are forwarded to the node owning it, which acknowledges them once they have been written to the
+ * session. Requests which are not acknowledged within the request timeout fail with {@link TimeoutException}, see
+ * {@link #PeerClusterContext(ClusterTransport, Collection, long)}. A broadcast is encoded once and sent to every node,
+ * which delivers it to its own sessions. Frames broadcast by {@link #broadcastFrame(String, byte[])} are acknowledged
+ * with the number of sessions each node has handed them to, nodes which do not acknowledge them within the request
+ * timeout are left out of the result.
+ * <p>
+ * Messages for a node are queued and written by a single task at a time, messages queued while the previous batch was
+ * being written are coalesced into one transport message of up to {@value #MAX_BATCH_SIZE} bytes. When a batch cannot
+ * be sent, requests and frame broadcasts it contained fail (broadcasts complete without that node).
+ * <p>
+ * Property values are replicated in a compact binary form, values of other than the common types by Java
+ * serialization; values which are not serializable stay local. Java serialized values are deserialized only if all
+ * their classes are allowed, see {@link #PeerClusterContext(ClusterTransport, Collection)}, other values are dropped.
+ */
+public class PeerClusterContext extends ClusterContext {
+
+    private static final Logger LOGGER = Logger.getLogger(PeerClusterContext.class.getName());
+
+    private static final int MAX_BATCH_SIZE = 64 * 1024;
+    private static final long DEFAULT_REQUEST_TIMEOUT = 30000;
+
+    private final ClusterTransport transport;
+    private final SerializationFilter serializationFilter;
+    private final long requestTimeout;
+    private final ExecutorService executorService;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ConcurrentMap<String, Peer> peers = new ConcurrentHashMap<String, Peer>();
+    private final ConcurrentMap<String, SessionEventListener> localSessions =
+            new ConcurrentHashMap<String, SessionEventListener>();
+    private final ConcurrentMap<String, String> localSessionPaths = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, RemoteSessionInfo> remoteSessions =
+            new ConcurrentHashMap<String, RemoteSessionInfo>();
+    private final ConcurrentMap<String, ReplicatedMap<RemoteSession.DistributedMapKey, Object>> sessionProperties =
+            new ConcurrentHashMap<String, ReplicatedMap<RemoteSession.DistributedMapKey, Object>>();
+    private final ConcurrentMap<String, ReplicatedMap<String, Object>> userProperties =
+            new ConcurrentHashMap<String, ReplicatedMap<String, Object>>();
+    private final ConcurrentMap<String, List<SessionListener>> sessionListeners =
+            new ConcurrentHashMap<String, List<SessionListener>>();
+    private final ConcurrentMap<String, List<BroadcastListener>> broadcastListeners =
+            new ConcurrentHashMap<String, List<BroadcastListener>>();
+    private final ConcurrentMap<Long, PendingRequest> pendingRequests =
+            new ConcurrentHashMap<Long, PendingRequest>();
+    private final ConcurrentMap<Long, PendingBroadcast> pendingBroadcasts =
+            new ConcurrentHashMap<Long, PendingBroadcast>();
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * Create new context and start the transport.
+     *
+     * @param transport transport connecting the node to the other nodes.
+     * @throws IOException when the transport cannot be started.
+     */
+    public PeerClusterContext(ClusterTransport transport) throws IOException {
+        this(transport, Collections.<String>emptyList());
+    }
+
+    /**
+     * Create new context and start the transport.
+     * <p>
+     * Replicated property values of classes other than strings, boxed primitives, the common {@link java.util}
+     * collections, {@link java.util.Date}, {@link java.util.UUID} and {@link java.net.URI} are deserialized only if
+     * their classes match one of given patterns. This usually concerns the user principal and application specific
+     * distributed user properties. A pattern is either a class name, {@code package.*} for classes of the package or
+     * {@code package.**} for classes of the package and its subpackages.
+     *
+     * @param transport             transport connecting the node to the other nodes.
+     * @param deserializableClasses patterns of additional classes replicated values may consist of.
+     * @throws IOException when the transport cannot be started.
+     */
+    public PeerClusterContext(ClusterTransport transport, Collection<String> deserializableClasses)
+            throws IOException {
+        this(transport, deserializableClasses, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Create new context and start the transport.
+     * <p>
+     * See {@link #PeerClusterContext(ClusterTransport, Collection)} for the meaning of {@code deserializableClasses}.
+     *
+     * @param transport             transport connecting the node to the other nodes.
+     * @param deserializableClasses patterns of additional classes replicated values may consist of.
+     * @param requestTimeout        time in milliseconds a request forwarded to another node waits for its result and
+     *                              a frame broadcast waits for the acknowledgements, {@value #DEFAULT_REQUEST_TIMEOUT}
+     *                              ms by default.
+     * @throws IOException when the transport cannot be started.
+     */
+    public PeerClusterContext(ClusterTransport transport, Collection<String> deserializableClasses,
+                              long requestTimeout) throws IOException {
+        this.transport = transport;
+        this.serializationFilter = new SerializationFilter(deserializableClasses);
+        this.requestTimeout = requestTimeout;
+        final ThreadFactory threadFactory = new ThreadFactory() {
+
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "tyrus-cluster-" + PeerClusterContext.this.transport
+                        .getLocalNodeId() + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        this.executorService = Executors.newCachedThreadPool(threadFactory);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        // most requests are completed in time, their timeouts should not pile up in the queue.
+        scheduler.setRemoveOnCancelPolicy(true);
+        transport.start(new TransportReceiver());
+    }
+
+    /**
+     * Get ids of the nodes this node is connected to.
+     *
+     * @return ids of connected nodes.
+     */
+    public Set<String> getConnectedNodes() {
+        return new HashSet<String>(peers.keySet());
+    }
+
+    @Override
+    public Future<Void> sendText(String sessionId, String text) {
+        return send(sessionId, ClusterMessages.KIND_TEXT, ClusterMessages.textPayload(text), true, null);
+    }
+
+    @Override
+    public Future<Void> sendText(String sessionId, String text, boolean isLast) {
+        return send(sessionId, ClusterMessages.KIND_TEXT, ClusterMessages.textPayload(text), isLast, null);
+    }
+
+    @Override
+    public Future<Void> sendBinary(String sessionId, byte[] data) {
+        return send(sessionId, ClusterMessages.KIND_BINARY, data, true, null);
+    }
+
+    @Override
+    public Future<Void> sendBinary(String sessionId, byte[] data, boolean isLast) {
+        return send(sessionId, ClusterMessages.KIND_BINARY, data, isLast, null);
+    }
+
+    @Override
+    public Future<Void> sendPing(String sessionId, byte[] data) {
+        return send(sessionId, ClusterMessages.KIND_PING, data, true, null);
+    }
+
+    @Override
+    public Future<Void> sendPong(String sessionId, byte[] data) {
+        return send(sessionId, ClusterMessages.KIND_PONG, data, true, null);
+    }
+
+    @Override
+    public void sendText(String sessionId, String text, SendHandler sendHandler) {
+        send(sessionId, ClusterMessages.KIND_TEXT, ClusterMessages.textPayload(text), true, sendHandler);
+    }
+
+    @Override
+    public void sendBinary(String sessionId, byte[] data, SendHandler sendHandler) {
+        send(sessionId, ClusterMessages.KIND_BINARY, data, true, sendHandler);
+    }
+
+    @Override
+    public void broadcastText(String endpointPath, String text) {
+        sendToAll(ClusterMessages.broadcastText(endpointPath, text));
+
+        final List<BroadcastListener> listeners = broadcastListeners.get(endpointPath);
+        if (listeners != null) {
+            for (BroadcastListener listener : listeners) {
+                listener.onBroadcast(text);
+            }
+        }
+    }
+
+    @Override
+    public void broadcastBinary(String endpointPath, byte[] data) {
+        sendToAll(ClusterMessages.broadcastBinary(endpointPath, data));
+
+        final List<BroadcastListener> listeners = broadcastListeners.get(endpointPath);
+        if (listeners != null) {
+            for (BroadcastListener listener : listeners) {
+                listener.onBroadcast(data);
+            }
+        }
+    }
+
+    @Override
+    public Future<Map<String, Integer>> broadcastFrame(String endpointPath, byte[] frame) {
+        final long requestId = requestIds.incrementAndGet();
+        final PendingBroadcast broadcast = new PendingBroadcast(requestId, peers.keySet());
+        pendingBroadcasts.put(requestId, broadcast);
+        try {
+            broadcast.setTimeout(scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // complete with the nodes which have acknowledged the frame so far.
+                    broadcast.abort();
+                }
+            }, requestTimeout, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            // shut down, the broadcast is aborted by shutdown().
+        }
+
+        final byte[] message = ClusterMessages.broadcastFrame(requestId, endpointPath, frame);
+        for (String nodeId : broadcast.getAwaitedNodes()) {
+            final Peer peer = peers.get(nodeId);
+            if (peer == null) {
+                broadcast.nodeLeft(nodeId);
+            } else {
+                peer.send(message, requestId);
+            }
+        }
+        // no node to wait for.
+        broadcast.completeIfDone();
+        return broadcast.future;
+    }
+
+    @Override
+    public boolean isSessionOpen(String sessionId, String endpointPath) {
+        if (endpointPath.equals(localSessionPaths.get(sessionId))) {
+            return true;
+        }
+        final RemoteSessionInfo remoteSession = remoteSessions.get(sessionId);
+        return remoteSession != null && remoteSession.endpointPath.equals(endpointPath);
+    }
+
+    @Override
+    public Future<Void> close(String sessionId) {
+        return close(sessionId, null);
+    }
+
+    @Override
+    public Future<Void> close(String sessionId, CloseReason closeReason) {
+        final PendingRequest request = new PendingRequest(null, null);
+
+        final SessionEventListener localSession = localSessions.get(sessionId);
+        if (localSession != null) {
+            request.complete(closeLocal(localSession, closeReason));
+            return request.future;
+        }
+
+        final long requestId = requestIds.incrementAndGet();
+        if (forward(sessionId, requestId, request, ClusterMessages.close(requestId, sessionId, closeReason))) {
+            return request.future;
+        }
+
+        request.complete(new IllegalStateException("Session " + sessionId + " is not open."));
+        return request.future;
+    }
+
+    @Override
+    public Set<String> getRemoteSessionIds(String endpointPath) {
+        final Set<String> result = new HashSet<String>();
+        for (Map.Entry<String, RemoteSessionInfo> entry : remoteSessions.entrySet()) {
+            if (entry.getValue().endpointPath.equals(endpointPath)) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String createSessionId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String createConnectionId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void registerSession(final String sessionId, String endpointPath, SessionEventListener listener) {
+        localSessions.put(sessionId, listener);
+        localSessionPaths.put(sessionId, endpointPath);
+
+        final ReplicatedMap<RemoteSession.DistributedMapKey, Object> properties = sessionProperties(sessionId);
+        final byte[] message;
+        synchronized (properties) {
+            message = ClusterMessages.sessionOpened(endpointPath, sessionId, properties.snapshot());
+            properties.publish(new ReplicatedMap.Replicator<RemoteSession.DistributedMapKey>() {
+                @Override
+                public void onPut(RemoteSession.DistributedMapKey key, Object value) {
+                    sendToAll(ClusterMessages.sessionProperty(sessionId, key, value, false));
+                }
+
+                @Override
+                public void onRemove(RemoteSession.DistributedMapKey key) {
+                    sendToAll(ClusterMessages.sessionProperty(sessionId, key, null, true));
+                }
+            });
+            // queued while holding the lock, so that no change can overtake the initial content.
+            sendToAll(message);
+        }
+    }
+
+    @Override
+    public void registerSessionListener(String endpointPath, SessionListener listener) {
+        listeners(sessionListeners, endpointPath).add(listener);
+    }
+
+    @Override
+    public void registerBroadcastListener(String endpointPath, BroadcastListener listener) {
+        listeners(broadcastListeners, endpointPath).add(listener);
+    }
+
+    @Override
+    public Map<RemoteSession.DistributedMapKey, Object> getDistributedSessionProperties(String sessionId) {
+        return sessionProperties(sessionId);
+    }
+
+    @Override
+    public Map<String, Object> getDistributedUserProperties(String connectionId) {
+        return userProperties(connectionId);
+    }
+
+    @Override
+    public void destroyDistributedUserProperties(String connectionId) {
+        if (userProperties.remove(connectionId) != null) {
+            sendToAll(ClusterMessages.userPropertiesDestroyed(connectionId));
+        }
+    }
+
+    @Override
+    public void removeSession(String sessionId, String endpointPath) {
+        localSessions.remove(sessionId);
+        localSessionPaths.remove(sessionId);
+        sessionProperties.remove(sessionId);
+        sendToAll(ClusterMessages.sessionClosed(endpointPath, sessionId));
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        transport.shutdown();
+        executorService.shutdown();
+        scheduler.shutdownNow();
+
+        for (Long requestId : pendingRequests.keySet()) {
+            final PendingRequest request = pendingRequests.remove(requestId);
+            if (request != null) {
+                request.complete(new IOException("Cluster context has been shut down."));
+            }
+        }
+        for (PendingBroadcast broadcast : pendingBroadcasts.values()) {
+            broadcast.abort();
+        }
+    }
+
+    private Future<Void> send(String sessionId, byte kind, byte[] payload, boolean isLast, SendHandler handler) {
+        final PendingRequest request = new PendingRequest(null, handler);
+
+        final SessionEventListener localSession = localSessions.get(sessionId);
+        if (localSession != null) {
+            request.complete(sendLocal(localSession, kind, payload, isLast));
+            return request.future;
+        }
+
+        final long requestId = requestIds.incrementAndGet();
+        if (forward(sessionId, requestId, request,
+                    ClusterMessages.send(requestId, sessionId, kind, payload, isLast))) {
+            return request.future;
+        }
+
+        request.complete(new IllegalStateException("Session " + sessionId + " is not open."));
+        return request.future;
+    }
+
+    /**
+     * Forward a request to the node owning the session.
+     *
+     * @return {@code true} if the request has been sent, {@code false} if the session is not known.
+     */
+    private boolean forward(String sessionId, final long requestId, final PendingRequest request, byte[] message) {
+        final RemoteSessionInfo remoteSession = remoteSessions.get(sessionId);
+        final Peer peer = remoteSession == null ? null : peers.get(remoteSession.nodeId);
+        if (peer == null) {
+            return false;
+        }
+
+        request.nodeId = remoteSession.nodeId;
+        pendingRequests.put(requestId, request);
+        try {
+            request.timeout = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (pendingRequests.remove(requestId, request)) {
+                        request.complete(new TimeoutException(
+                                "Node " + request.nodeId + " has not replied within " + requestTimeout + " ms."));
+                    }
+                }
+            }, requestTimeout, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shut down, the request is failed by shutdown().
+        }
+        peer.send(message, requestId);
+        // the node may have left before the request was registered.
+        if (!peers.containsKey(remoteSession.nodeId) && pendingRequests.remove(requestId) != null) {
+            request.complete(new IOException("Node " + remoteSession.nodeId + " has left the cluster."));
+        }
+        return true;
+    }
+
+    private static Throwable sendLocal(SessionEventListener listener, byte kind, byte[] payload, boolean isLast) {
+        try {
+            switch (kind) {
+                case ClusterMessages.KIND_TEXT:
+                    listener.onSendText(ClusterMessages.text(payload), isLast);
+                    break;
+                case ClusterMessages.KIND_BINARY:
+                    listener.onSendBinary(payload, isLast);
+                    break;
+                case ClusterMessages.KIND_PING:
+                    listener.onSendPing(payload);
+                    break;
+                case ClusterMessages.KIND_PONG:
+                    listener.onSendPong(payload);
+                    break;
+                default:
+                    return new IllegalArgumentException("Unknown message kind: " + kind);
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static Throwable closeLocal(SessionEventListener listener, CloseReason closeReason) {
+        try {
+            if (closeReason == null) {
+                listener.onClose();
+            } else {
+                listener.onClose(closeReason);
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private void sendToAll(byte[] message) {
+        if (message == null) {
+            return;
+        }
+        for (Peer peer : peers.values()) {
+            peer.send(message);
+        }
+    }
+
+    private ReplicatedMap<RemoteSession.DistributedMapKey, Object> sessionProperties(String sessionId) {
+        ReplicatedMap<RemoteSession.DistributedMapKey, Object> properties = sessionProperties.get(sessionId);
+        if (properties == null) {
+            final ReplicatedMap<RemoteSession.DistributedMapKey, Object> created =
+                    new ReplicatedMap<RemoteSession.DistributedMapKey, Object>();
+            properties = sessionProperties.putIfAbsent(sessionId, created);
+            if (properties == null) {
+                properties = created;
+            }
+        }
+        return properties;
+    }
+
+    private ReplicatedMap<String, Object> userProperties(final String connectionId) {
+        ReplicatedMap<String, Object> properties = userProperties.get(connectionId);
+        if (properties == null) {
+            final ReplicatedMap<String, Object> created = new ReplicatedMap<String, Object>();
+            created.publish(new ReplicatedMap.Replicator<String>() {
+                @Override
+                public void onPut(String key, Object value) {
+                    sendToAll(ClusterMessages.userProperty(connectionId, key, value, false));
+                }
+
+                @Override
+                public void onRemove(String key) {
+                    sendToAll(ClusterMessages.userProperty(connectionId, key, null, true));
+                }
+            });
+            properties = userProperties.putIfAbsent(connectionId, created);
+            if (properties == null) {
+                properties = created;
+            }
+        }
+        return properties;
+    }
+
+    private static <T> List<T> listeners(ConcurrentMap<String, List<T>> listeners, String endpointPath) {
+        List<T> list = listeners.get(endpointPath);
+        if (list == null) {
+            final List<T> created = new CopyOnWriteArrayList<T>();
+            list = listeners.putIfAbsent(endpointPath, created);
+            if (list == null) {
+                list = created;
+            }
+        }
+        return list;
+    }
+
+    private void nodeJoined(String nodeId) {
+        Peer target = new Peer(nodeId);
+        final Peer connected = peers.putIfAbsent(nodeId, target);
+        if (connected != null) {
+            // the transport has reconnected, the node may have missed some messages, so the snapshot is sent again.
+            LOGGER.log(Level.FINE, "Cluster node " + nodeId + " has reconnected.");
+            target = connected;
+        }
+
+        // sessions registered from now on are sent to the peer directly, the snapshot may contain some of them again.
+        for (Map.Entry<String, String> entry : localSessionPaths.entrySet()) {
+            final ReplicatedMap<RemoteSession.DistributedMapKey, Object> properties =
+                    sessionProperties.get(entry.getKey());
+            if (properties != null) {
+                synchronized (properties) {
+                    target.send(ClusterMessages.sessionOpened(entry.getValue(), entry.getKey(),
+                                                              properties.snapshot()));
+                }
+            }
+        }
+        for (Map.Entry<String, ReplicatedMap<String, Object>> entry : userProperties.entrySet()) {
+            for (Map.Entry<String, Object> property : entry.getValue().snapshot().entrySet()) {
+                target.send(ClusterMessages.userProperty(entry.getKey(), property.getKey(), property.getValue(),
+                                                         false));
+            }
+        }
+    }
+
+    private void nodeLeft(String nodeId) {
+        if (peers.remove(nodeId) == null) {
+            return;
+        }
+
+        for (Map.Entry<String, RemoteSessionInfo> entry : remoteSessions.entrySet()) {
+            if (entry.getValue().nodeId.equals(nodeId)) {
+                sessionClosed(entry.getValue().endpointPath, entry.getKey());
+            }
+        }
+
+        final IOException failure = new IOException("Node " + nodeId + " has left the cluster.");
+        for (Map.Entry<Long, PendingRequest> entry : pendingRequests.entrySet()) {
+            if (nodeId.equals(entry.getValue().nodeId) && pendingRequests.remove(entry.getKey()) != null) {
+                entry.getValue().complete(failure);
+            }
+        }
+        for (PendingBroadcast broadcast : pendingBroadcasts.values()) {
+            broadcast.nodeLeft(nodeId);
+        }
+    }
+
+    private void sessionClosed(String endpointPath, String sessionId) {
+        if (remoteSessions.remove(sessionId) == null) {
+            return;
+        }
+        sessionProperties.remove(sessionId);
+
+        final List<SessionListener> listeners = sessionListeners.get(endpointPath);
+        if (listeners != null) {
+            for (SessionListener listener : listeners) {
+                listener.onSessionClosed(sessionId);
+            }
+        }
+    }
+
+    private final class TransportReceiver implements ClusterTransport.Receiver {
+
+        @Override
+        public void onNodeJoined(String nodeId) {
+            if (!shutdown) {
+                nodeJoined(nodeId);
+            }
+        }
+
+        @Override
+        public void onNodeLeft(String nodeId) {
+            nodeLeft(nodeId);
+        }
+
+        @Override
+        public void onMessage(String nodeId, byte[] message) {
+            if (shutdown) {
+                return;
+            }
+            try {
+                ClusterMessages.decode(message, new MessageHandler(nodeId), serializationFilter);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Invalid message from cluster node " + nodeId + ".", e);
+            }
+        }
+    }
+
+    /**
+     * Handler of messages from one node.
+     */
+    private final class MessageHandler implements ClusterMessages.Handler {
+
+        private final String nodeId;
+
+        private MessageHandler(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public void onSessionOpened(String endpointPath, String sessionId,
+                                    Map<RemoteSession.DistributedMapKey, Object> properties) {
+            final ReplicatedMap<RemoteSession.DistributedMapKey, Object> map = sessionProperties(sessionId);
+            map.putAllLocal(properties);
+
+            // listeners read the properties, they have to be ready before the session is announced.
+            if (remoteSessions.put(sessionId, new RemoteSessionInfo(nodeId, endpointPath)) != null) {
+                return;
+            }
+            final List<SessionListener> listeners = sessionListeners.get(endpointPath);
+            if (listeners != null) {
+                for (SessionListener listener : listeners) {
+                    listener.onSessionOpened(sessionId);
+                }
+            }
+        }
+
+        @Override
+        public void onSessionClosed(String endpointPath, String sessionId) {
+            sessionClosed(endpointPath, sessionId);
+        }
+
+        @Override
+        public void onSessionProperty(String sessionId, RemoteSession.DistributedMapKey key, Object value,
+                                      boolean removed) {
+            final ReplicatedMap<RemoteSession.DistributedMapKey, Object> properties = sessionProperties.get(sessionId);
+            if (properties == null) {
+                return;
+            }
+            if (removed) {
+                properties.removeLocal(key);
+            } else {
+                properties.putLocal(key, value);
+            }
+        }
+
+        @Override
+        public void onUserProperty(String connectionId, String key, Object value, boolean removed) {
+            final ReplicatedMap<String, Object> properties = userProperties(connectionId);
+            if (removed) {
+                properties.removeLocal(key);
+            } else {
+                properties.putLocal(key, value);
+            }
+        }
+
+        @Override
+        public void onUserPropertiesDestroyed(String connectionId) {
+            userProperties.remove(connectionId);
+        }
+
+        @Override
+        public void onSend(long requestId, String sessionId, byte kind, byte[] payload, boolean isLast) {
+            final SessionEventListener localSession = localSessions.get(sessionId);
+            final Throwable error = localSession == null
+                    ? new IllegalStateException("Session " + sessionId + " is not open.")
+                    : sendLocal(localSession, kind, payload, isLast);
+            reply(requestId, error);
+        }
+
+        @Override
+        public void onClose(long requestId, String sessionId, CloseReason closeReason) {
+            final SessionEventListener localSession = localSessions.get(sessionId);
+            final Throwable error = localSession == null
+                    ? new IllegalStateException("Session " + sessionId + " is not open.")
+                    : closeLocal(localSession, closeReason);
+            reply(requestId, error);
+        }
+
+        @Override
+        public void onResult(long requestId, String error) {
+            final PendingRequest request = pendingRequests.remove(requestId);
+            if (request != null) {
+                request.complete(error == null ? null : new IOException(error));
+            }
+        }
+
+        @Override
+        public void onBroadcastText(String endpointPath, String text) {
+            final List<BroadcastListener> listeners = broadcastListeners.get(endpointPath);
+            if (listeners != null) {
+                for (BroadcastListener listener : listeners) {
+                    listener.onBroadcast(text);
+                }
+            }
+        }
+
+        @Override
+        public void onBroadcastBinary(String endpointPath, byte[] data) {
+            final List<BroadcastListener> listeners = broadcastListeners.get(endpointPath);
+            if (listeners != null) {
+                for (BroadcastListener listener : listeners) {
+                    listener.onBroadcast(data);
+                }
+            }
+        }
+
+        @Override
+        public void onBroadcastFrame(long requestId, String endpointPath, byte[] frame) {
+            int sessions = 0;
+            final List<BroadcastListener> listeners = broadcastListeners.get(endpointPath);
+            if (listeners != null) {
+                for (BroadcastListener listener : listeners) {
+                    if (listener instanceof FrameBroadcastListener) {
+                        sessions += ((FrameBroadcastListener) listener).onBroadcastFrame(frame);
+                    } else {
+                        final byte[] payload =
+                                Arrays.copyOfRange(frame, ClusterContext.getFramePayloadOffset(frame), frame.length);
+                        if (ClusterContext.isTextFrame(frame)) {
+                            listener.onBroadcast(ClusterMessages.text(payload));
+                        } else {
+                            listener.onBroadcast(payload);
+                        }
+                    }
+                }
+            }
+
+            final Peer peer = peers.get(nodeId);
+            if (peer != null) {
+                peer.send(ClusterMessages.broadcastDelivered(requestId, sessions));
+            }
+        }
+
+        @Override
+        public void onBroadcastDelivered(long requestId, int sessions) {
+            final PendingBroadcast broadcast = pendingBroadcasts.get(requestId);
+            if (broadcast != null) {
+                broadcast.delivered(nodeId, sessions);
+            }
+        }
+
+        private void reply(long requestId, Throwable error) {
+            final Peer peer = peers.get(nodeId);
+            if (peer != null) {
+                peer.send(ClusterMessages.result(requestId, error == null ? null : String.valueOf(error)));
+            }
+        }
+    }
+
+    /**
+     * Outbound queue of messages for one node.
+     */
+    private final class Peer implements Runnable {
+
+        private final String nodeId;
+        private final Queue<Outgoing> queue = new ConcurrentLinkedQueue<Outgoing>();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Peer(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        private void send(byte[] message) {
+            send(message, 0);
+        }
+
+        /**
+         * Queue a message.
+         *
+         * @param message   encoded message.
+         * @param requestId id of the request or frame broadcast the message belongs to, {@code 0} if none.
+         */
+        private void send(byte[] message, long requestId) {
+            if (message == null || shutdown) {
+                return;
+            }
+            queue.offer(new Outgoing(message, requestId));
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executorService.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // shut down.
+                    queue.clear();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            final ByteArrayOutputStream batch = new ByteArrayOutputStream(MAX_BATCH_SIZE);
+            final List<Long> batchRequestIds = new ArrayList<Long>();
+            int missed = 1;
+            do {
+                Outgoing outgoing;
+                while ((outgoing = queue.poll()) != null) {
+                    if (batch.size() > 0 && batch.size() + outgoing.message.length > MAX_BATCH_SIZE) {
+                        flush(batch, batchRequestIds);
+                    }
+                    batch.write(outgoing.message, 0, outgoing.message.length);
+                    if (outgoing.requestId != 0) {
+                        batchRequestIds.add(outgoing.requestId);
+                    }
+                }
+                flush(batch, batchRequestIds);
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void flush(ByteArrayOutputStream batch, List<Long> batchRequestIds) {
+            if (batch.size() == 0) {
+                return;
+            }
+            try {
+                transport.send(nodeId, batch.toByteArray());
+            } catch (IOException e) {
+                if (!shutdown) {
+                    LOGGER.log(Level.WARNING, "Message to cluster node " + nodeId + " could not be sent.", e);
+                }
+                // the node might stay connected, so the requests would not be failed by nodeLeft.
+                for (Long requestId : batchRequestIds) {
+                    final PendingRequest request = pendingRequests.remove(requestId);
+                    if (request != null) {
+                        request.complete(e);
+                    }
+                    final PendingBroadcast broadcast = pendingBroadcasts.get(requestId);
+                    if (broadcast != null) {
+                        broadcast.nodeLeft(nodeId);
+                    }
+                }
+            } finally {
+                batch.reset();
+                batchRequestIds.clear();
+            }
+        }
+    }
+
+    /**
+     * Message queued for a node.
+     */
+    private static final class Outgoing {
+
+        private final byte[] message;
+        private final long requestId;
+
+        private Outgoing(byte[] message, long requestId) {
+            this.message = message;
+            this.requestId = requestId;
+        }
+    }
+
+    /**
+     * Frame broadcast waiting for the acknowledgements of the other nodes.
+     */
+    private final class PendingBroadcast {
+
+        private final long requestId;
+        private final TyrusFuture<Map<String, Integer>> future = new TyrusFuture<Map<String, Integer>>();
+        private final Set<String> awaitedNodes;
+        private final Map<String, Integer> sessions = new HashMap<String, Integer>();
+
+        private Future<?> timeout;
+
+        private PendingBroadcast(long requestId, Set<String> nodes) {
+            this.requestId = requestId;
+            this.awaitedNodes = new HashSet<String>(nodes);
+        }
+
+        private synchronized void setTimeout(Future<?> timeout) {
+            if (future.isDone()) {
+                timeout.cancel(false);
+            } else {
+                this.timeout = timeout;
+            }
+        }
+
+        private synchronized Set<String> getAwaitedNodes() {
+            return new HashSet<String>(awaitedNodes);
+        }
+
+        private synchronized void delivered(String nodeId, int count) {
+            if (awaitedNodes.remove(nodeId)) {
+                sessions.put(nodeId, count);
+                completeIfDone();
+            }
+        }
+
+        /**
+         * Stop waiting for a node which has left or which the broadcast could not be sent to.
+         */
+        private synchronized void nodeLeft(String nodeId) {
+            if (awaitedNodes.remove(nodeId)) {
+                completeIfDone();
+            }
+        }
+
+        private synchronized void abort() {
+            awaitedNodes.clear();
+            completeIfDone();
+        }
+
+        private synchronized void completeIfDone() {
+            if (awaitedNodes.isEmpty() && pendingBroadcasts.remove(requestId) != null) {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                future.setResult(new HashMap<String, Integer>(sessions));
+            }
+        }
+    }
+
+    private static final class RemoteSessionInfo {
+
+        private final String nodeId;
+        private final String endpointPath;
+
+        private RemoteSessionInfo(String nodeId, String endpointPath) {
+            this.nodeId = nodeId;
+            this.endpointPath = endpointPath;
+        }
+    }
+
+    /**
+     * Request waiting for its result, either by a future or by a {@link SendHandler}.
+     */
+    private static final class PendingRequest {
+
+        private final TyrusFuture<Void> future = new TyrusFuture<Void>();
+        private final SendHandler handler;
+
+        private volatile String nodeId;
+        private volatile Future<?> timeout;
+
+        private PendingRequest(String nodeId, SendHandler handler) {
+            this.nodeId = nodeId;
+            this.handler = handler;
+        }
+
+        private void complete(Throwable error) {
+            final Future<?> timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            if (error == null) {
+                future.setResult(null);
+            } else {
+                future.setFailure(error);
+            }
+            if (handler != null) {
+                handler.onResult(error == null ? new SendResult() : new SendResult(error));
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.net.URI;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map which reports its changes to a {@link Replicator}.
+ * <p>
+ * Changes are reported only after the map has been published by {@link #publish(Replicator)}, so that the initial
+ * content can be sent at once. Changes received from other nodes are applied by {@link #putLocal(Object, Object)} and
+ * {@link #removeLocal(Object)}, which do not report them again. Putting an equal immutable value again is not reported.
+ * {@code null} values are permitted, iteration works on a snapshot of the map.
+ *
+ * @param <K> key type.
+ * @param <V> value type.
+ */
+class ReplicatedMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, V> map = new HashMap<K, V>();
+
+    private Replicator<K> replicator;
+
+    /**
+     * Start reporting changes.
+     *
+     * @param replicator replicator changes are reported to.
+     */
+    synchronized void publish(Replicator<K> replicator) {
+        this.replicator = replicator;
+    }
+
+    /**
+     * Get copy of the current content.
+     *
+     * @return copy of the map.
+     */
+    synchronized Map<K, V> snapshot() {
+        return new HashMap<K, V>(map);
+    }
+
+    synchronized void putLocal(K key, V value) {
+        map.put(key, value);
+    }
+
+    synchronized void putAllLocal(Map<? extends K, ? extends V> values) {
+        map.putAll(values);
+    }
+
+    synchronized void removeLocal(K key) {
+        map.remove(key);
+    }
+
+    @Override
+    public synchronized V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size() {
+        return map.size();
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        final boolean present = map.containsKey(key);
+        final V previous = map.put(key, value);
+        // reported while holding the lock, so that the changes of the same map are sent in the order they were made.
+        if (replicator != null && !(present && unchanged(previous, value))) {
+            replicator.onPut(key, value);
+        }
+        return previous;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(Object key) {
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        final V previous = map.remove(key);
+        if (replicator != null) {
+            replicator.onRemove((K) key);
+        }
+        return previous;
+    }
+
+    /**
+     * Check whether a put does not change the value, e.g. when the same max idle timeout is set again.
+     * <p>
+     * Only immutable values are compared, a mutable value might have been modified and put again to replicate the
+     * modification.
+     */
+    private static boolean unchanged(Object previous, Object value) {
+        if (previous == null || value == null) {
+            return previous == value;
+        }
+        return (value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof URI) && value.equals(previous);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                final List<Entry<K, V>> entries;
+                synchronized (ReplicatedMap.this) {
+                    entries = new ArrayList<Entry<K, V>>(map.size());
+                    for (Entry<K, V> entry : map.entrySet()) {
+                        entries.add(new SimpleImmutableEntry<K, V>(entry));
+                    }
+                }
+
+                final Iterator<Entry<K, V>> iterator = entries.iterator();
+                return new Iterator<Entry<K, V>>() {
+
+                    private Entry<K, V> current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        current = iterator.next();
+                        return current;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (current == null) {
+                            throw new IllegalStateException();
+                        }
+                        ReplicatedMap.this.remove(current.getKey());
+                        current = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ReplicatedMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Receiver of changes of a {@link ReplicatedMap}.
+     *
+     * @param <K> key type.
+     */
+    interface Replicator<K> {
+
+        void onPut(K key, Object value);
+
+        void onRemove(K key);
+    }
+}
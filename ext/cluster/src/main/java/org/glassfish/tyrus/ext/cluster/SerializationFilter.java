@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classes which may be created by Java deserialization of replicated property values.
+ * <p>
+ * Patterns have the same form as class name patterns of {@code jdk.serialFilter}: a class name matches the class only,
+ * {@code package.*} matches classes of the package and {@code package.**} classes of the package and its subpackages.
+ * Arrays are allowed if their component type is, arrays of primitive types always. Strings, boxed primitives, the
+ * common {@link java.util} collections, {@link java.util.Date}, {@link java.util.UUID}, {@link java.net.URI} and
+ * Tyrus extensions are always allowed.
+ */
+final class SerializationFilter {
+
+    private static final List<String> ALWAYS_ALLOWED = Arrays.asList(
+            "java.lang.String",
+            "java.lang.Boolean",
+            "java.lang.Byte",
+            "java.lang.Short",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Float",
+            "java.lang.Double",
+            "java.lang.Character",
+            "java.lang.Number",
+            "java.lang.Enum",
+            "java.math.BigInteger",
+            "java.math.BigDecimal",
+            "java.net.URI",
+            "java.util.ArrayList",
+            "java.util.LinkedList",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "java.util.TreeMap",
+            "java.util.HashSet",
+            "java.util.LinkedHashSet",
+            "java.util.TreeSet",
+            "java.util.Date",
+            "java.util.UUID",
+            "java.util.Locale",
+            "java.util.Arrays$ArrayList",
+            "java.util.Collections$UnmodifiableCollection",
+            "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList",
+            "java.util.Collections$UnmodifiableSet",
+            "java.util.Collections$UnmodifiableMap",
+            "java.util.Collections$SingletonList",
+            "java.util.Collections$SingletonSet",
+            "java.util.Collections$SingletonMap",
+            "java.util.Collections$EmptyList",
+            "java.util.Collections$EmptySet",
+            "java.util.Collections$EmptyMap",
+            "javax.security.auth.x500.X500Principal",
+            "org.glassfish.tyrus.core.TyrusExtension",
+            "org.glassfish.tyrus.core.TyrusExtension$TyrusParameter"
+    );
+
+    private final Set<String> classes = new HashSet<String>();
+    private final List<String> packages = new ArrayList<String>();
+    private final List<String> packagePrefixes = new ArrayList<String>();
+
+    /**
+     * Create filter allowing the default classes only.
+     */
+    SerializationFilter() {
+        this(Collections.<String>emptyList());
+    }
+
+    /**
+     * Create filter allowing the default classes and classes matching given patterns.
+     *
+     * @param patterns class name patterns.
+     */
+    SerializationFilter(Collection<String> patterns) {
+        classes.addAll(ALWAYS_ALLOWED);
+        for (String pattern : patterns) {
+            if (pattern.endsWith(".**")) {
+                packagePrefixes.add(pattern.substring(0, pattern.length() - 2));
+            } else if (pattern.endsWith(".*")) {
+                packages.add(pattern.substring(0, pattern.length() - 1));
+            } else {
+                classes.add(pattern);
+            }
+        }
+    }
+
+    /**
+     * Check whether a class may be deserialized.
+     *
+     * @param className binary name of the class, as returned by {@link Class#getName()}.
+     * @return {@code true} if the class is allowed.
+     */
+    boolean isAllowed(String className) {
+        String name = className;
+        if (name.startsWith("[")) {
+            while (name.startsWith("[")) {
+                name = name.substring(1);
+            }
+            if (!name.startsWith("L")) {
+                // array of primitives.
+                return true;
+            }
+            name = name.substring(1, name.length() - 1);
+        }
+
+        if (classes.contains(name)) {
+            return true;
+        }
+        final int lastDot = name.lastIndexOf('.');
+        final String packageName = name.substring(0, lastDot + 1);
+        if (packages.contains(packageName)) {
+            return true;
+        }
+        for (String prefix : packagePrefixes) {
+            if (packageName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
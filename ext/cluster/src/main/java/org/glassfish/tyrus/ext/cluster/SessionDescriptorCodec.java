@@ -0,0 +1,678 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.websocket.Extension;
+
+import org.glassfish.tyrus.core.TyrusExtension;
+import org.glassfish.tyrus.core.cluster.RemoteSession;
+
+/**
+ * Binary encoding of distributed session descriptors and distributed property values.
+ * <p>
+ * Every encoded descriptor and value starts with the {@link #VERSION format version}. A descriptor is a count of
+ * properties followed by pairs of a key code and a value; a single changed property is replicated as its key code and
+ * value only. Values are tagged, strings, numbers, URIs, request parameter maps, path parameters and negotiated
+ * extensions are written in a compact form with variable length integers, other values fall back to Java
+ * serialization. Java serialized values are decoded only if all their classes are allowed by the {@link
+ * SerializationFilter}, other values are logged and dropped.
+ * <p>
+ * A string repeated within one descriptor is written once and referenced by its index afterwards. Names decoded from
+ * descriptors (subprotocols, extensions and parameter names) are interned, so that descriptors of many remote sessions
+ * share them.
+ */
+final class SessionDescriptorCodec {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionDescriptorCodec.class.getName());
+
+    /**
+     * Current format version.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Decoded value which has been dropped, because it contains classes which are not allowed to be deserialized.
+     */
+    static final Object REJECTED = new Object();
+
+    /**
+     * Key codes used on the wire, the index in the array is the code. New keys have to be appended.
+     */
+    private static final RemoteSession.DistributedMapKey[] KEYS = {
+            RemoteSession.DistributedMapKey.NEGOTIATED_SUBPROTOCOL,
+            RemoteSession.DistributedMapKey.NEGOTIATED_EXTENSIONS,
+            RemoteSession.DistributedMapKey.SECURE,
+            RemoteSession.DistributedMapKey.MAX_IDLE_TIMEOUT,
+            RemoteSession.DistributedMapKey.MAX_BINARY_MESSAGE_BUFFER_SIZE,
+            RemoteSession.DistributedMapKey.MAX_TEXT_MESSAGE_BUFFER_SIZE,
+            RemoteSession.DistributedMapKey.REQUEST_URI,
+            RemoteSession.DistributedMapKey.REQUEST_PARAMETER_MAP,
+            RemoteSession.DistributedMapKey.QUERY_STRING,
+            RemoteSession.DistributedMapKey.PATH_PARAMETERS,
+            RemoteSession.DistributedMapKey.USER_PRINCIPAL,
+            RemoteSession.DistributedMapKey.CONNECTION_ID
+    };
+
+    private static final Map<RemoteSession.DistributedMapKey, Integer> KEY_CODES =
+            new EnumMap<RemoteSession.DistributedMapKey, Integer>(RemoteSession.DistributedMapKey.class);
+
+    static {
+        for (int i = 0; i < KEYS.length; i++) {
+            KEY_CODES.put(KEYS[i], i);
+        }
+    }
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte TRUE = 2;
+    private static final byte FALSE = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte URI_VALUE = 6;
+    private static final byte PARAMETER_MAP = 7;
+    private static final byte STRING_MAP = 8;
+    private static final byte EXTENSIONS = 9;
+    private static final byte SERIALIZED = 10;
+
+    /**
+     * Upper bound of the number of interned strings, names are chosen by clients, so the pool must not grow without
+     * limits.
+     */
+    private static final int MAX_INTERNED = 4096;
+
+    private static final ConcurrentMap<String, String> INTERNED = new ConcurrentHashMap<String, String>();
+
+    private SessionDescriptorCodec() {
+    }
+
+    /**
+     * Encode a distributed session descriptor.
+     * <p>
+     * Properties which cannot be encoded are logged and left out.
+     *
+     * @param properties distributed session properties.
+     * @return encoded descriptor.
+     */
+    static byte[] encodeDescriptor(Map<RemoteSession.DistributedMapKey, Object> properties) {
+        final List<RemoteSession.DistributedMapKey> keys =
+                new ArrayList<RemoteSession.DistributedMapKey>(properties.size());
+        final List<Object> values = new ArrayList<Object>(properties.size());
+        final List<byte[]> serialized = new ArrayList<byte[]>(properties.size());
+        for (Map.Entry<RemoteSession.DistributedMapKey, Object> entry : properties.entrySet()) {
+            // values which need Java serialization are serialized first, so that they can be skipped if that fails.
+            if (!isCompact(entry.getValue(), true)) {
+                final byte[] value = serialize(entry.getKey().name(), entry.getValue());
+                if (value == null) {
+                    continue;
+                }
+                serialized.add(value);
+            } else {
+                serialized.add(null);
+            }
+            keys.add(entry.getKey());
+            values.add(entry.getValue());
+        }
+
+        final Output output = new Output();
+        output.writeVarInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            output.writeVarInt(keyCode(keys.get(i)));
+            output.writeValue(values.get(i), serialized.get(i));
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decode a distributed session descriptor.
+     * <p>
+     * Properties with unknown key codes, sent by a newer version of the codec, and properties with values rejected by
+     * the filter are skipped.
+     *
+     * @param data   encoded descriptor.
+     * @param filter filter of classes of Java serialized values.
+     * @return decoded distributed session properties.
+     * @throws IOException when the data is malformed or of unsupported version.
+     */
+    static Map<RemoteSession.DistributedMapKey, Object> decodeDescriptor(byte[] data, SerializationFilter filter)
+            throws IOException {
+        final Input input = new Input(data, filter);
+        final int size = input.readVarInt();
+        final Map<RemoteSession.DistributedMapKey, Object> properties =
+                new EnumMap<RemoteSession.DistributedMapKey, Object>(RemoteSession.DistributedMapKey.class);
+        for (int i = 0; i < size; i++) {
+            final int code = input.readVarInt();
+            final Object value = input.readValue();
+            if (code < KEYS.length && value != REJECTED) {
+                properties.put(KEYS[code], value);
+            }
+        }
+        input.checkEnd();
+        return properties;
+    }
+
+    /**
+     * Encode a value of a distributed property.
+     *
+     * @param key   {@link RemoteSession.DistributedMapKey} of a session property or name of a user property.
+     * @param value property value.
+     * @return encoded value, {@code null} if the value cannot be encoded.
+     */
+    static byte[] encodeValue(Object key, Object value) {
+        final boolean sessionProperty = key instanceof RemoteSession.DistributedMapKey;
+        byte[] serialized = null;
+        if (!isCompact(value, sessionProperty)) {
+            serialized = serialize(String.valueOf(key), value);
+            if (serialized == null) {
+                return null;
+            }
+        }
+
+        final Output output = new Output();
+        output.writeValue(value, serialized);
+        return output.toByteArray();
+    }
+
+    /**
+     * Decode a value of a distributed property.
+     *
+     * @param data   encoded value.
+     * @param filter filter of classes of Java serialized values.
+     * @return decoded value, {@link #REJECTED} if the value has been rejected by the filter.
+     * @throws IOException when the data is malformed or of unsupported version.
+     */
+    static Object decodeValue(byte[] data, SerializationFilter filter) throws IOException {
+        final Input input = new Input(data, filter);
+        final Object value = input.readValue();
+        input.checkEnd();
+        return value;
+    }
+
+    /**
+     * Get wire code of a distributed session property key.
+     *
+     * @param key distributed session property key.
+     * @return key code.
+     */
+    static int keyCode(RemoteSession.DistributedMapKey key) {
+        return KEY_CODES.get(key);
+    }
+
+    /**
+     * Get distributed session property key of a wire code.
+     *
+     * @param code key code.
+     * @return distributed session property key, {@code null} if the code is unknown.
+     */
+    static RemoteSession.DistributedMapKey key(int code) {
+        return code >= 0 && code < KEYS.length ? KEYS[code] : null;
+    }
+
+    /**
+     * Check whether the value can be written without Java serialization.
+     * <p>
+     * Maps and lists are written in the compact form only for session properties, their types are given by {@link
+     * RemoteSession.DistributedMapKey}. User properties keep their collection types, so they are serialized.
+     */
+    private static boolean isCompact(Object value, boolean sessionProperty) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof URI) {
+            return true;
+        }
+        if (!sessionProperty) {
+            return false;
+        }
+        if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                if (!(element instanceof Extension) || ((Extension) element).getName() == null
+                        || ((Extension) element).getName().isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Map) {
+            return mapType((Map<?, ?>) value) != SERIALIZED;
+        }
+        return false;
+    }
+
+    /**
+     * Get compact type of a map, {@link #SERIALIZED} if it is neither a map of strings nor a map of lists of strings.
+     */
+    private static byte mapType(Map<?, ?> map) {
+        byte type = STRING_MAP;
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                return SERIALIZED;
+            }
+            final byte entryType;
+            if (entry.getValue() instanceof String) {
+                entryType = STRING_MAP;
+            } else if (entry.getValue() instanceof List && isStringList((List<?>) entry.getValue())) {
+                entryType = PARAMETER_MAP;
+            } else {
+                return SERIALIZED;
+            }
+            if (first) {
+                type = entryType;
+                first = false;
+            } else if (type != entryType) {
+                return SERIALIZED;
+            }
+        }
+        return type;
+    }
+
+    private static boolean isStringList(List<?> list) {
+        for (Object element : list) {
+            if (!(element instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        final String interned = INTERNED.get(value);
+        if (interned != null) {
+            return interned;
+        }
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return value;
+        }
+        final String previous = INTERNED.putIfAbsent(value, value);
+        return previous == null ? value : previous;
+    }
+
+    private static byte[] serialize(String key, Object value) {
+        try {
+            final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            final ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
+            objectOutputStream.writeObject(value);
+            objectOutputStream.close();
+            return byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Value of distributed property " + key
+                    + " cannot be serialized, it will not be replicated.", e);
+            return null;
+        }
+    }
+
+    private static Object deserialize(byte[] data, final SerializationFilter filter) throws IOException {
+        final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                // checked before the class is loaded, so that not even its static initializer runs.
+                if (!filter.isAllowed(desc.getName())) {
+                    throw new InvalidClassException(desc.getName(), "Class is not allowed to be deserialized.");
+                }
+                final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+                if (classLoader != null) {
+                    try {
+                        return Class.forName(desc.getName(), false, classLoader);
+                    } catch (ClassNotFoundException e) {
+                        // fall back to the default resolution
+                    }
+                }
+                return super.resolveClass(desc);
+            }
+
+            @Override
+            protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+                throw new InvalidClassException(Arrays.toString(interfaces), "Proxy classes are not allowed.");
+            }
+        };
+        try {
+            return objectInputStream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        } finally {
+            objectInputStream.close();
+        }
+    }
+
+    /**
+     * Encoded descriptor or value being written.
+     */
+    private static final class Output {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream(128);
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+        private Output() {
+            output.write(VERSION);
+        }
+
+        /**
+         * Write a value.
+         *
+         * @param value      value to be written.
+         * @param serialized Java serialization of the value if it cannot be written in the compact form.
+         */
+        private void writeValue(Object value, byte[] serialized) {
+            if (serialized != null) {
+                output.write(SERIALIZED);
+                writeBytes(serialized);
+            } else if (value == null) {
+                output.write(NULL);
+            } else if (value instanceof String) {
+                output.write(STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                output.write((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof Integer) {
+                output.write(INT);
+                writeSignedVarLong((Integer) value);
+            } else if (value instanceof Long) {
+                output.write(LONG);
+                writeSignedVarLong((Long) value);
+            } else if (value instanceof URI) {
+                output.write(URI_VALUE);
+                writeString(value.toString());
+            } else if (value instanceof List) {
+                writeExtensions((List<?>) value);
+            } else {
+                writeMap((Map<?, ?>) value);
+            }
+        }
+
+        private void writeExtensions(List<?> extensions) {
+            output.write(EXTENSIONS);
+            writeVarInt(extensions.size());
+            for (Object element : extensions) {
+                final Extension extension = (Extension) element;
+                writeString(extension.getName());
+                final List<Extension.Parameter> parameters = extension.getParameters();
+                if (parameters == null) {
+                    writeVarInt(0);
+                    continue;
+                }
+                writeVarInt(parameters.size());
+                for (Extension.Parameter parameter : parameters) {
+                    writeString(parameter.getName());
+                    writeString(parameter.getValue());
+                }
+            }
+        }
+
+        private void writeMap(Map<?, ?> map) {
+            final byte type = mapType(map);
+            output.write(type);
+            writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString((String) entry.getKey());
+                if (type == STRING_MAP) {
+                    writeString((String) entry.getValue());
+                } else {
+                    final List<?> values = (List<?>) entry.getValue();
+                    writeVarInt(values.size());
+                    for (Object value : values) {
+                        writeString((String) value);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Write a string, {@code 0} for {@code null}, {@code (length + 1) << 1} followed by UTF-8 bytes for the first
+         * occurrence and {@code index << 1 | 1} for a repeated one.
+         */
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index << 1 | 1);
+                return;
+            }
+            strings.put(value, strings.size());
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt((bytes.length + 1) << 1);
+            output.write(bytes, 0, bytes.length);
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            output.write(bytes, 0, bytes.length);
+        }
+
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeSignedVarLong(long value) {
+            // zig-zag encoding, so that small negative values are short too.
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                output.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.write((int) value);
+        }
+
+        private byte[] toByteArray() {
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Encoded descriptor or value being read.
+     */
+    private static final class Input {
+
+        private final byte[] data;
+        private final SerializationFilter filter;
+        private final List<String> strings = new ArrayList<String>();
+        private int position;
+
+        private Input(byte[] data, SerializationFilter filter) throws IOException {
+            this.data = data;
+            this.filter = filter;
+            final byte version = readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported session descriptor version: " + version);
+            }
+        }
+
+        private Object readValue() throws IOException {
+            final byte type = readByte();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readString(false);
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) readSignedVarLong();
+                case LONG:
+                    return readSignedVarLong();
+                case URI_VALUE:
+                    try {
+                        return new URI(readString(false));
+                    } catch (URISyntaxException e) {
+                        throw new IOException(e);
+                    }
+                case PARAMETER_MAP: {
+                    final int size = readVarInt();
+                    final Map<String, List<String>> map = new LinkedHashMap<String, List<String>>();
+                    for (int i = 0; i < size; i++) {
+                        final String key = readString(true);
+                        final int count = readVarInt();
+                        final List<String> values = new ArrayList<String>(Math.min(count, remaining()));
+                        for (int j = 0; j < count; j++) {
+                            values.add(readString(false));
+                        }
+                        map.put(key, Collections.unmodifiableList(values));
+                    }
+                    return Collections.unmodifiableMap(map);
+                }
+                case STRING_MAP: {
+                    final int size = readVarInt();
+                    final Map<String, String> map = new LinkedHashMap<String, String>();
+                    for (int i = 0; i < size; i++) {
+                        final String key = readString(true);
+                        map.put(key, readString(false));
+                    }
+                    return Collections.unmodifiableMap(map);
+                }
+                case EXTENSIONS: {
+                    final int size = readVarInt();
+                    final List<Extension> extensions = new ArrayList<Extension>(Math.min(size, remaining()));
+                    for (int i = 0; i < size; i++) {
+                        final String name = readString(true);
+                        final int count = readVarInt();
+                        final List<Extension.Parameter> parameters =
+                                new ArrayList<Extension.Parameter>(Math.min(count, remaining()));
+                        for (int j = 0; j < count; j++) {
+                            final String parameterName = readString(true);
+                            parameters.add(new TyrusExtension.TyrusParameter(parameterName, readString(true)));
+                        }
+                        if (name == null || name.isEmpty()) {
+                            throw new IOException("Extension without name.");
+                        }
+                        extensions.add(new TyrusExtension(name, parameters));
+                    }
+                    return Collections.unmodifiableList(extensions);
+                }
+                case SERIALIZED:
+                    try {
+                        return deserialize(readBytes(), filter);
+                    } catch (InvalidClassException e) {
+                        LOGGER.log(Level.WARNING, "Replicated value contains class " + e.classname
+                                + ", which is not allowed to be deserialized, the value has been dropped.");
+                        return REJECTED;
+                    }
+                default:
+                    throw new IOException("Unknown session descriptor value type: " + type);
+            }
+        }
+
+        private String readString(boolean intern) throws IOException {
+            final int header = readVarInt();
+            if (header == 0) {
+                return null;
+            }
+            if ((header & 1) == 1) {
+                final int index = header >>> 1;
+                if (index >= strings.size()) {
+                    throw new IOException("Invalid string reference: " + index);
+                }
+                final String value = strings.get(index);
+                return intern ? intern(value) : value;
+            }
+            final int length = (header >>> 1) - 1;
+            checkAvailable(length);
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            if (intern) {
+                value = intern(value);
+            }
+            strings.add(value);
+            return value;
+        }
+
+        private byte[] readBytes() throws IOException {
+            final int length = readVarInt();
+            checkAvailable(length);
+            final byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        private byte readByte() throws IOException {
+            checkAvailable(1);
+            return data[position++];
+        }
+
+        private int readVarInt() throws IOException {
+            final long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IOException("Invalid length: " + value);
+            }
+            return (int) value;
+        }
+
+        private long readSignedVarLong() throws IOException {
+            final long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer.");
+        }
+
+        private int remaining() {
+            return data.length - position;
+        }
+
+        private void checkAvailable(int length) throws IOException {
+            if (length < 0 || length > remaining()) {
+                throw new IOException("Truncated session descriptor.");
+            }
+        }
+
+        private void checkEnd() throws IOException {
+            if (position != data.length) {
+                throw new IOException("Unexpected data after session descriptor.");
+            }
+        }
+    }
+}
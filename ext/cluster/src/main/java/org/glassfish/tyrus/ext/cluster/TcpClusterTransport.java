@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ClusterTransport} connecting nodes directly over TCP.
+ * <p>
+ * Every node listens on its bind address and opens one outbound connection to each peer, so a pair of nodes is
+ * connected by two sockets, each of them used in one direction only. A peer is considered joined when its outbound
+ * connection to this node has been accepted and left when that connection is closed. Outbound connections are opened
+ * when the transport is started and re-opened lazily when a message is sent after a failure. The handshake carries
+ * an id generated when the transport is started, so that a restarted peer is reported as left and joined again.
+ * <p>
+ * Connections to different peers are opened independently of each other. After a failed connection attempt, sending
+ * to the peer fails right away until a reconnect delay has elapsed. The delay starts at
+ * {@value #MIN_RECONNECT_DELAY} ms, doubles with every further failure up to {@value #MAX_RECONNECT_DELAY} ms and is
+ * reset when the peer connects to this node.
+ * <p>
+ * An inbound connection is accepted only if the node id sent in its handshake is one of the configured peers and the
+ * connection comes from the address of that peer, so the outbound connections of a node have to originate from the
+ * host it is configured with. The handshake has to be completed within {@value #HANDSHAKE_TIMEOUT} ms and at most
+ * {@value #MAX_PENDING_HANDSHAKES} handshakes are processed at a time, other connections are closed right away.
+ * <p>
+ * Connections are not encrypted and the peer address check does not protect against spoofing, nodes should still be
+ * connected by a trusted network.
+ */
+public class TcpClusterTransport implements ClusterTransport {
+
+    private static final Logger LOGGER = Logger.getLogger(TcpClusterTransport.class.getName());
+
+    private static final int MAGIC = 0x54594331; // "TYC1"
+    private static final int CONNECT_TIMEOUT = 5000;
+    private static final int MIN_RECONNECT_DELAY = 100;
+    private static final int MAX_RECONNECT_DELAY = 30000;
+    private static final int HANDSHAKE_TIMEOUT = 5000;
+    private static final int MAX_PENDING_HANDSHAKES = 16;
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String localNodeId;
+    private final InetSocketAddress bindAddress;
+    private final Map<String, InetSocketAddress> peers;
+    // connections to a peer are opened while holding its lock, other peers are not blocked.
+    private final Map<String, Object> connectLocks = new HashMap<String, Object>();
+    private final ConcurrentMap<String, Connection> outbound = new ConcurrentHashMap<String, Connection>();
+    private final Map<String, Backoff> backoffs = new ConcurrentHashMap<String, Backoff>();
+    private final Map<String, Inbound> inbound = new ConcurrentHashMap<String, Inbound>();
+    private final String incarnation = UUID.randomUUID().toString();
+    private final Semaphore handshakes = new Semaphore(MAX_PENDING_HANDSHAKES);
+
+    private volatile Receiver receiver;
+    private volatile ServerSocket serverSocket;
+    private volatile boolean closed = false;
+
+    /**
+     * Create new transport.
+     *
+     * @param localNodeId id of the local node, unique within the cluster.
+     * @param bindAddress address the local node listens on.
+     * @param peers       addresses of the other nodes by their ids. The local node may be included, it is ignored.
+     */
+    public TcpClusterTransport(String localNodeId, InetSocketAddress bindAddress,
+                               Map<String, InetSocketAddress> peers) {
+        this.localNodeId = localNodeId;
+        this.bindAddress = bindAddress;
+        this.peers = new HashMap<String, InetSocketAddress>(peers);
+        this.peers.remove(localNodeId);
+        for (String nodeId : this.peers.keySet()) {
+            connectLocks.put(nodeId, new Object());
+        }
+    }
+
+    @Override
+    public String getLocalNodeId() {
+        return localNodeId;
+    }
+
+    @Override
+    public void start(Receiver receiver) throws IOException {
+        this.receiver = receiver;
+
+        final ServerSocket serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(bindAddress);
+        this.serverSocket = serverSocket;
+
+        final Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                accept(serverSocket);
+            }
+        }, "tyrus-cluster-acceptor-" + localNodeId);
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        // let the peers which are already running know about this node.
+        for (String nodeId : peers.keySet()) {
+            try {
+                connection(nodeId);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Node " + nodeId + " is not reachable yet.", e);
+            }
+        }
+    }
+
+    @Override
+    public void send(String nodeId, byte[] message) throws IOException {
+        Connection connection = connection(nodeId);
+        try {
+            connection.write(message);
+        } catch (IOException e) {
+            // the peer may have been restarted, retry once with a new connection.
+            close(nodeId, connection);
+            connection = connection(nodeId);
+            try {
+                connection.write(message);
+            } catch (IOException retryException) {
+                close(nodeId, connection);
+                throw retryException;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        closed = true;
+
+        final ServerSocket serverSocket = this.serverSocket;
+        if (serverSocket != null) {
+            closeQuietly(serverSocket);
+        }
+        for (Map.Entry<String, Connection> entry : outbound.entrySet()) {
+            close(entry.getKey(), entry.getValue());
+        }
+        for (Inbound connection : inbound.values()) {
+            closeQuietly(connection.socket);
+        }
+    }
+
+    private Connection connection(String nodeId) throws IOException {
+        if (closed) {
+            throw new IOException("Transport has been shut down.");
+        }
+
+        Connection connection = outbound.get(nodeId);
+        if (connection != null) {
+            return connection;
+        }
+
+        final InetSocketAddress address = peers.get(nodeId);
+        if (address == null) {
+            throw new IOException("Address of node " + nodeId + " is not known.");
+        }
+
+        synchronized (connectLocks.get(nodeId)) {
+            connection = outbound.get(nodeId);
+            if (connection != null) {
+                return connection;
+            }
+
+            final Backoff backoff = backoffs.get(nodeId);
+            if (backoff != null && backoff.retryAt - System.nanoTime() > 0) {
+                throw new IOException("Node " + nodeId + " is not reachable, next connection attempt in "
+                                              + TimeUnit.NANOSECONDS.toMillis(backoff.retryAt - System.nanoTime())
+                                              + " ms.");
+            }
+
+            try {
+                connection = new Connection(address, localNodeId, incarnation);
+            } catch (IOException e) {
+                backoffs.put(nodeId, new Backoff(backoff == null ? 0 : backoff.failures + 1));
+                throw e;
+            }
+            backoffs.remove(nodeId);
+            outbound.put(nodeId, connection);
+        }
+
+        // shutdown may have missed the new connection.
+        if (closed) {
+            close(nodeId, connection);
+            throw new IOException("Transport has been shut down.");
+        }
+        return connection;
+    }
+
+    private void close(String nodeId, Connection connection) {
+        outbound.remove(nodeId, connection);
+        closeQuietly(connection.socket);
+    }
+
+    private void accept(ServerSocket serverSocket) {
+        while (!closed) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.log(Level.WARNING, "Cluster node " + localNodeId + " cannot accept connections.", e);
+                }
+                return;
+            }
+
+            // connections of authenticated peers are limited by the number of peers, the others by this limit.
+            if (!handshakes.tryAcquire()) {
+                LOGGER.log(Level.WARNING, "Too many pending cluster handshakes, connection from "
+                        + socket.getRemoteSocketAddress() + " has been closed.");
+                closeQuietly(socket);
+                continue;
+            }
+
+            final Thread reader = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    read(socket);
+                }
+            }, "tyrus-cluster-reader-" + localNodeId);
+            reader.setDaemon(true);
+            reader.start();
+        }
+    }
+
+    private void read(Socket socket) {
+        String nodeId = null;
+        Inbound connection = null;
+        boolean handshake = true;
+        try {
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT);
+            final DataInputStream input =
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Unexpected handshake from " + socket.getRemoteSocketAddress());
+            }
+            final String claimedNodeId = input.readUTF();
+            final String claimedIncarnation = input.readUTF();
+            if (!isPeerAddress(claimedNodeId, socket.getInetAddress())) {
+                LOGGER.log(Level.WARNING, "Connection from " + socket.getRemoteSocketAddress()
+                        + " claiming to be cluster node " + claimedNodeId + " has been rejected.");
+                return;
+            }
+            socket.setSoTimeout(0);
+            handshakes.release();
+            handshake = false;
+
+            nodeId = claimedNodeId;
+            connection = new Inbound(socket, claimedIncarnation);
+
+            final Inbound previous = inbound.put(nodeId, connection);
+            if (previous != null) {
+                closeQuietly(previous.socket);
+                if (!previous.incarnation.equals(connection.incarnation)) {
+                    // the peer has been restarted, its previous incarnation has left and the outbound connection
+                    // may still lead to it.
+                    final Connection outboundConnection = outbound.get(nodeId);
+                    if (outboundConnection != null) {
+                        close(nodeId, outboundConnection);
+                    }
+                    receiver.onNodeLeft(nodeId);
+                }
+            }
+            if (closed) {
+                return;
+            }
+            // the peer is reachable again.
+            backoffs.remove(nodeId);
+            // the peer learns about this node only from the connection in the opposite direction.
+            try {
+                connection(nodeId);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Node " + nodeId + " is not reachable.", e);
+            }
+            receiver.onNodeJoined(nodeId);
+
+            while (true) {
+                final int length = input.readInt();
+                if (length < 0 || length > MAX_MESSAGE_SIZE) {
+                    throw new IOException("Invalid cluster message length: " + length);
+                }
+                final byte[] message = new byte[length];
+                input.readFully(message);
+                receiver.onMessage(nodeId, message);
+            }
+        } catch (EOFException e) {
+            // peer closed the connection.
+        } catch (IOException e) {
+            if (!closed) {
+                LOGGER.log(Level.FINE, "Connection from cluster node " + nodeId + " failed.", e);
+            }
+        } finally {
+            if (handshake) {
+                handshakes.release();
+            }
+            closeQuietly(socket);
+            // ignore connections which have been replaced by a new one from the same node.
+            if (connection != null && inbound.remove(nodeId, connection) && !closed) {
+                final Connection outboundConnection = outbound.get(nodeId);
+                if (outboundConnection != null) {
+                    close(nodeId, outboundConnection);
+                }
+                receiver.onNodeLeft(nodeId);
+            }
+        }
+    }
+
+    /**
+     * Check whether a node id is a configured peer and the address is the address of that peer.
+     */
+    private boolean isPeerAddress(String nodeId, InetAddress address) {
+        final InetSocketAddress peerAddress = peers.get(nodeId);
+        if (peerAddress == null || address == null) {
+            return false;
+        }
+        if (address.equals(peerAddress.getAddress())) {
+            return true;
+        }
+        // the peer may have been configured by a host name which resolves to more addresses.
+        try {
+            for (InetAddress resolved : InetAddress.getAllByName(peerAddress.getHostString())) {
+                if (address.equals(resolved)) {
+                    return true;
+                }
+            }
+        } catch (UnknownHostException e) {
+            LOGGER.log(Level.FINE, "Address of cluster node " + nodeId + " cannot be resolved.", e);
+        }
+        return false;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore.
+        }
+    }
+
+    /**
+     * Outbound connection to a peer.
+     */
+    private static final class Connection {
+
+        private final Socket socket;
+        private final DataOutputStream output;
+
+        private Connection(InetSocketAddress address, String localNodeId, String incarnation) throws IOException {
+            socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.connect(address, CONNECT_TIMEOUT);
+                output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+                output.writeInt(MAGIC);
+                output.writeUTF(localNodeId);
+                output.writeUTF(incarnation);
+                output.flush();
+            } catch (IOException e) {
+                closeQuietly(socket);
+                throw e;
+            }
+        }
+
+        private synchronized void write(byte[] message) throws IOException {
+            output.writeInt(message.length);
+            output.write(message);
+            output.flush();
+        }
+    }
+
+    /**
+     * Delay of the next connection attempt to a peer which could not be connected.
+     */
+    private static final class Backoff {
+
+        private final int failures;
+        private final long retryAt;
+
+        private Backoff(int failures) {
+            this.failures = failures;
+            final long delay = Math.min((long) MIN_RECONNECT_DELAY << Math.min(failures, 16), MAX_RECONNECT_DELAY);
+            this.retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        }
+    }
+
+    /**
+     * Inbound connection from a peer.
+     */
+    private static final class Inbound {
+
+        private final Socket socket;
+        private final String incarnation;
+
+        private Inbound(Socket socket, String incarnation) {
+            this.socket = socket;
+            this.incarnation = incarnation;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.websocket.CloseReason;
+
+import org.glassfish.tyrus.core.cluster.BroadcastListener;
+import org.glassfish.tyrus.core.cluster.FrameBroadcastListener;
+import org.glassfish.tyrus.core.cluster.RemoteSession;
+import org.glassfish.tyrus.core.cluster.SessionEventListener;
+import org.glassfish.tyrus.core.cluster.SessionListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link PeerClusterContext} connected by {@link LoopbackClusterTransport}.
+ */
+public class PeerClusterContextTest {
+
+    private static final String PATH = "/echo";
+
+    private final LoopbackClusterTransport.Network network = new LoopbackClusterTransport.Network();
+    private final List<PeerClusterContext> contexts = new ArrayList<PeerClusterContext>();
+
+    private PeerClusterContext a;
+    private PeerClusterContext b;
+    private PeerClusterContext c;
+
+    @Before
+    public void setUp() throws IOException {
+        a = node("a");
+        b = node("b");
+        c = node("c");
+    }
+
+    @After
+    public void tearDown() {
+        for (PeerClusterContext context : contexts) {
+            context.shutdown();
+        }
+    }
+
+    @Test
+    public void testSessionIsVisibleOnAllNodes() throws Exception {
+        final RecordingSessionListener sessionListener = new RecordingSessionListener();
+        b.registerSessionListener(PATH, sessionListener);
+
+        final String sessionId = openSession(a, "connection", new RecordingSession());
+
+        assertEquals("opened " + sessionId, sessionListener.events.poll(5, TimeUnit.SECONDS));
+        waitFor(remoteSessionVisible(c, sessionId));
+        assertTrue(b.isSessionOpen(sessionId, PATH));
+        assertFalse(b.isSessionOpen(sessionId, "/other"));
+        assertTrue(a.isSessionOpen(sessionId, PATH));
+        assertTrue(a.getRemoteSessionIds(PATH).isEmpty());
+        assertEquals("connection",
+                     b.getDistributedSessionProperties(sessionId).get(RemoteSession.DistributedMapKey.CONNECTION_ID));
+    }
+
+    @Test
+    public void testSendToRemoteSession() throws Exception {
+        final RecordingSession session = new RecordingSession();
+        final String sessionId = openSession(a, "connection", session);
+        waitFor(remoteSessionVisible(b, sessionId));
+
+        b.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+        b.sendBinary(sessionId, new byte[]{1, 2}, false).get(5, TimeUnit.SECONDS);
+        b.close(sessionId, new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "bye")).get(5, TimeUnit.SECONDS);
+
+        assertEquals("text hello true", session.events.poll());
+        assertEquals("binary 2 false", session.events.poll());
+        assertEquals("close 1001 bye", session.events.poll());
+    }
+
+    @Test
+    public void testSendFailureIsReported() throws Exception {
+        final RecordingSession session = new RecordingSession();
+        final String sessionId = openSession(a, "connection", session);
+        waitFor(remoteSessionVisible(b, sessionId));
+
+        session.failure = "broken pipe";
+        try {
+            b.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertTrue(e.getCause().getMessage().contains("broken pipe"));
+        }
+
+        try {
+            b.sendText("unknown", "hello").get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testUnsentRequestsFail() throws Exception {
+        final AtomicBoolean failing = new AtomicBoolean();
+        final PeerClusterContext d = new PeerClusterContext(new LoopbackClusterTransport(network, "d") {
+            @Override
+            public void send(String nodeId, byte[] message) throws IOException {
+                if (failing.get()) {
+                    throw new IOException("connection reset");
+                }
+                super.send(nodeId, message);
+            }
+        });
+        contexts.add(d);
+
+        final String sessionId = openSession(a, "connection", new RecordingSession());
+        waitFor(remoteSessionVisible(d, sessionId));
+
+        failing.set(true);
+        try {
+            d.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals("connection reset", e.getCause().getMessage());
+        }
+        assertTrue(d.broadcastFrame(PATH, new byte[]{(byte) 0x81, 0}).get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    public void testUnansweredRequestTimesOut() throws Exception {
+        final AtomicBoolean dropping = new AtomicBoolean();
+        final PeerClusterContext d = new PeerClusterContext(new LoopbackClusterTransport(network, "d") {
+            @Override
+            public void send(String nodeId, byte[] message) throws IOException {
+                // the node stays connected, but the messages never arrive.
+                if (!dropping.get()) {
+                    super.send(nodeId, message);
+                }
+            }
+        }, Collections.<String>emptyList(), 100);
+        contexts.add(d);
+
+        final String sessionId = openSession(a, "connection", new RecordingSession());
+        waitFor(remoteSessionVisible(d, sessionId));
+
+        dropping.set(true);
+        try {
+            d.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void testUnacknowledgedFrameBroadcastCompletes() throws Exception {
+        final PeerClusterContext d = new PeerClusterContext(new LoopbackClusterTransport(network, "d") {
+            @Override
+            public void send(String nodeId, byte[] message) throws IOException {
+                // node "c" stays connected, but never acknowledges anything.
+                if (!nodeId.equals("c")) {
+                    super.send(nodeId, message);
+                }
+            }
+        }, Collections.<String>emptyList(), 100);
+        contexts.add(d);
+
+        final Map<String, Integer> delivered =
+                d.broadcastFrame(PATH, new byte[]{(byte) 0x81, 2, 'h', 'i'}).get(5, TimeUnit.SECONDS);
+
+        final Map<String, Integer> expected = new HashMap<String, Integer>();
+        expected.put("a", 0);
+        expected.put("b", 0);
+        assertEquals(expected, delivered);
+    }
+
+    @Test
+    public void testBroadcastIsDeliveredToAllNodes() throws Exception {
+        final List<RecordingBroadcastListener> listeners = new ArrayList<RecordingBroadcastListener>();
+        for (PeerClusterContext context : contexts) {
+            final RecordingBroadcastListener listener = new RecordingBroadcastListener();
+            context.registerBroadcastListener(PATH, listener);
+            listeners.add(listener);
+        }
+
+        b.broadcastText(PATH, "hi");
+        b.broadcastBinary(PATH, new byte[]{1, 2, 3});
+        b.broadcastText("/other", "ignored");
+
+        for (RecordingBroadcastListener listener : listeners) {
+            assertEquals("hi", listener.messages.poll(5, TimeUnit.SECONDS));
+            assertEquals("3 bytes", listener.messages.poll(5, TimeUnit.SECONDS));
+        }
+        Thread.sleep(100);
+        for (RecordingBroadcastListener listener : listeners) {
+            assertTrue(listener.messages.isEmpty());
+        }
+    }
+
+    @Test
+    public void testFrameBroadcastIsAcknowledged() throws Exception {
+        final RecordingBroadcastListener local = new RecordingBroadcastListener();
+        a.registerBroadcastListener(PATH, local);
+        b.registerBroadcastListener(PATH, new FrameBroadcastListener() {
+            @Override
+            public int onBroadcastFrame(byte[] frame) {
+                return frame.length == 4 ? 3 : -1;
+            }
+
+            @Override
+            public void onBroadcast(String text) {
+                fail();
+            }
+
+            @Override
+            public void onBroadcast(byte[] data) {
+                fail();
+            }
+        });
+        final RecordingBroadcastListener legacy = new RecordingBroadcastListener();
+        c.registerBroadcastListener(PATH, legacy);
+
+        final Map<String, Integer> delivered =
+                a.broadcastFrame(PATH, new byte[]{(byte) 0x81, 2, 'h', 'i'}).get(5, TimeUnit.SECONDS);
+
+        final Map<String, Integer> expected = new HashMap<String, Integer>();
+        expected.put("b", 3);
+        expected.put("c", 0);
+        assertEquals(expected, delivered);
+        assertEquals("hi", legacy.messages.poll(5, TimeUnit.SECONDS));
+        assertTrue(local.messages.isEmpty());
+    }
+
+    @Test
+    public void testPropertiesAreReplicated() throws Exception {
+        final String sessionId = openSession(a, "connection", new RecordingSession());
+        waitFor(remoteSessionVisible(b, sessionId));
+
+        a.getDistributedSessionProperties(sessionId).put(RemoteSession.DistributedMapKey.MAX_IDLE_TIMEOUT, 10L);
+        a.getDistributedUserProperties("connection").put("user", "duke");
+
+        waitFor(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return Long.valueOf(10L).equals(b.getDistributedSessionProperties(sessionId)
+                                                 .get(RemoteSession.DistributedMapKey.MAX_IDLE_TIMEOUT))
+                        && "duke".equals(c.getDistributedUserProperties("connection").get("user"));
+            }
+        });
+
+        a.getDistributedUserProperties("connection").remove("user");
+        waitFor(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return !c.getDistributedUserProperties("connection").containsKey("user");
+            }
+        });
+    }
+
+    @Test
+    public void testRemovedSession() throws Exception {
+        final RecordingSessionListener sessionListener = new RecordingSessionListener();
+        b.registerSessionListener(PATH, sessionListener);
+        final String sessionId = openSession(a, "connection", new RecordingSession());
+        assertEquals("opened " + sessionId, sessionListener.events.poll(5, TimeUnit.SECONDS));
+
+        a.removeSession(sessionId, PATH);
+
+        assertEquals("closed " + sessionId, sessionListener.events.poll(5, TimeUnit.SECONDS));
+        assertFalse(b.isSessionOpen(sessionId, PATH));
+        assertTrue(b.getRemoteSessionIds(PATH).isEmpty());
+    }
+
+    @Test
+    public void testNodeLeft() throws Exception {
+        final RecordingSessionListener sessionListener = new RecordingSessionListener();
+        b.registerSessionListener(PATH, sessionListener);
+        final String sessionId = openSession(c, "connection", new RecordingSession());
+        assertEquals("opened " + sessionId, sessionListener.events.poll(5, TimeUnit.SECONDS));
+
+        c.shutdown();
+
+        assertEquals("closed " + sessionId, sessionListener.events.poll(5, TimeUnit.SECONDS));
+        assertFalse(b.getConnectedNodes().contains("c"));
+        try {
+            b.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testJoiningNodeReceivesState() throws Exception {
+        final String sessionId = openSession(a, "connection", new RecordingSession());
+        a.getDistributedUserProperties("connection").put("user", "duke");
+
+        final PeerClusterContext d = node("d");
+
+        waitFor(remoteSessionVisible(d, sessionId));
+        waitFor(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return "duke".equals(d.getDistributedUserProperties("connection").get("user"));
+            }
+        });
+        d.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+    }
+
+    private PeerClusterContext node(String nodeId) throws IOException {
+        final PeerClusterContext context = new PeerClusterContext(new LoopbackClusterTransport(network, nodeId));
+        contexts.add(context);
+        return context;
+    }
+
+    static String openSession(PeerClusterContext context, String connectionId, SessionEventListener listener) {
+        final String sessionId = context.createSessionId();
+        context.getDistributedSessionProperties(sessionId)
+               .put(RemoteSession.DistributedMapKey.CONNECTION_ID, connectionId);
+        context.getDistributedUserProperties(connectionId);
+        context.registerSession(sessionId, PATH, listener);
+        return sessionId;
+    }
+
+    static Callable<Boolean> remoteSessionVisible(final PeerClusterContext context, final String sessionId) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return context.getRemoteSessionIds(PATH).contains(sessionId);
+            }
+        };
+    }
+
+    static void waitFor(Callable<Boolean> condition) throws Exception {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.call()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition has not been met in time.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    static class RecordingSession extends SessionEventListener {
+
+        final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+
+        volatile String failure;
+
+        RecordingSession() {
+            super(null);
+        }
+
+        @Override
+        public void onSendText(String message, boolean isLast) throws IOException {
+            record("text " + message + " " + isLast);
+        }
+
+        @Override
+        public void onSendBinary(byte[] message, boolean isLast) throws IOException {
+            record("binary " + message.length + " " + isLast);
+        }
+
+        @Override
+        public void onClose(CloseReason closeReason) throws IOException {
+            record("close " + closeReason.getCloseCode().getCode() + " " + closeReason.getReasonPhrase());
+        }
+
+        private void record(String event) throws IOException {
+            if (failure != null) {
+                throw new IOException(failure);
+            }
+            events.add(event);
+        }
+    }
+
+    static class RecordingSessionListener implements SessionListener {
+
+        final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+
+        @Override
+        public void onSessionOpened(String sessionId) {
+            events.add("opened " + sessionId);
+        }
+
+        @Override
+        public void onSessionClosed(String sessionId) {
+            events.add("closed " + sessionId);
+        }
+    }
+
+    static class RecordingBroadcastListener implements BroadcastListener {
+
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<String>();
+
+        @Override
+        public void onBroadcast(String text) {
+            messages.add(text);
+        }
+
+        @Override
+        public void onBroadcast(byte[] data) {
+            messages.add(data.length + " bytes");
+        }
+    }
+}
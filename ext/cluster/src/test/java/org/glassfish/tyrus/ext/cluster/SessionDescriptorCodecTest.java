@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import javax.websocket.Extension;
+
+import org.glassfish.tyrus.core.TyrusExtension;
+import org.glassfish.tyrus.core.cluster.RemoteSession;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link SessionDescriptorCodec}.
+ */
+public class SessionDescriptorCodecTest {
+
+    private static final SerializationFilter FILTER =
+            new SerializationFilter(Collections.singletonList(TestPrincipal.class.getName()));
+
+    @Test
+    public void testDescriptorRoundTrip() throws IOException {
+        final Map<RemoteSession.DistributedMapKey, Object> properties = descriptor();
+        properties.put(RemoteSession.DistributedMapKey.USER_PRINCIPAL, new TestPrincipal("duke"));
+
+        final Map<RemoteSession.DistributedMapKey, Object> decoded =
+                SessionDescriptorCodec.decodeDescriptor(SessionDescriptorCodec.encodeDescriptor(properties), FILTER);
+
+        assertEquals(properties.keySet(), decoded.keySet());
+        for (RemoteSession.DistributedMapKey key : properties.keySet()) {
+            if (key != RemoteSession.DistributedMapKey.NEGOTIATED_EXTENSIONS) {
+                assertEquals(key.name(), properties.get(key), decoded.get(key));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        final List<Extension> extensions =
+                (List<Extension>) decoded.get(RemoteSession.DistributedMapKey.NEGOTIATED_EXTENSIONS);
+        assertEquals(1, extensions.size());
+        assertEquals("permessage-deflate", extensions.get(0).getName());
+        assertEquals("client_max_window_bits", extensions.get(0).getParameters().get(0).getName());
+        assertEquals("10", extensions.get(0).getParameters().get(0).getValue());
+        assertNull(extensions.get(0).getParameters().get(1).getValue());
+    }
+
+    @Test
+    public void testDescriptorIsSmallerThanSerializedMap() throws IOException {
+        final Map<RemoteSession.DistributedMapKey, Object> properties = descriptor();
+
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        final ObjectOutputStream objectOutputStream = new ObjectOutputStream(serialized);
+        objectOutputStream.writeObject(new HashMap<RemoteSession.DistributedMapKey, Object>(properties));
+        objectOutputStream.close();
+
+        final int encoded = SessionDescriptorCodec.encodeDescriptor(properties).length;
+        assertTrue(encoded + " bytes", encoded * 5 < serialized.size());
+    }
+
+    @Test
+    public void testStringsAreInterned() throws IOException {
+        final byte[] encoded = SessionDescriptorCodec.encodeDescriptor(descriptor());
+
+        final Object first = SessionDescriptorCodec.decodeDescriptor(encoded, FILTER)
+                                                   .get(RemoteSession.DistributedMapKey.PATH_PARAMETERS);
+        final Object second = SessionDescriptorCodec.decodeDescriptor(encoded, FILTER)
+                                                    .get(RemoteSession.DistributedMapKey.PATH_PARAMETERS);
+
+        assertSame(((Map<?, ?>) first).keySet().iterator().next(), ((Map<?, ?>) second).keySet().iterator().next());
+    }
+
+    @Test
+    public void testValues() throws IOException {
+        for (Object value : Arrays.<Object>asList(null, "", "text", true, false, 0, -1, Integer.MIN_VALUE,
+                                                  Long.MAX_VALUE, -300000L, URI.create("ws://localhost/echo"),
+                                                  new TestPrincipal("duke"))) {
+            assertEquals(value,
+                         SessionDescriptorCodec.decodeValue(SessionDescriptorCodec.encodeValue("key", value), FILTER));
+        }
+
+        // max idle timeout update.
+        assertEquals(5, SessionDescriptorCodec.encodeValue(RemoteSession.DistributedMapKey.MAX_IDLE_TIMEOUT,
+                                                           30000L).length);
+    }
+
+    @Test
+    public void testUserPropertyKeepsCollectionType() throws IOException {
+        final HashMap<String, String> value = new HashMap<String, String>();
+        value.put("a", "b");
+
+        final Object decoded =
+                SessionDescriptorCodec.decodeValue(SessionDescriptorCodec.encodeValue("key", value), FILTER);
+
+        assertEquals(HashMap.class, decoded.getClass());
+        assertEquals(value, decoded);
+    }
+
+    @Test
+    public void testNotSerializableValue() {
+        assertNull(SessionDescriptorCodec.encodeValue("key", new Object()));
+
+        final Map<RemoteSession.DistributedMapKey, Object> properties = descriptor();
+        properties.put(RemoteSession.DistributedMapKey.USER_PRINCIPAL, new Principal() {
+            @Override
+            public String getName() {
+                return "anonymous";
+            }
+        });
+        try {
+            assertEquals(descriptor().keySet(), SessionDescriptorCodec.decodeDescriptor(
+                    SessionDescriptorCodec.encodeDescriptor(properties), FILTER).keySet());
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNotAllowedClassIsDropped() throws IOException {
+        final Map<RemoteSession.DistributedMapKey, Object> properties = descriptor();
+        properties.put(RemoteSession.DistributedMapKey.USER_PRINCIPAL, new TestPrincipal("duke"));
+
+        assertEquals(descriptor().keySet(), SessionDescriptorCodec.decodeDescriptor(
+                SessionDescriptorCodec.encodeDescriptor(properties), new SerializationFilter()).keySet());
+
+        // classes nested in allowed ones are checked too.
+        final HashMap<String, Object> value = new HashMap<String, Object>();
+        value.put("queue", new PriorityQueue<String>());
+        assertSame(SessionDescriptorCodec.REJECTED,
+                   SessionDescriptorCodec.decodeValue(SessionDescriptorCodec.encodeValue("key", value), FILTER));
+    }
+
+    @Test
+    public void testFilterPatterns() {
+        final SerializationFilter filter =
+                new SerializationFilter(Arrays.asList("com.example.User", "com.example.auth.*", "org.example.**"));
+
+        assertTrue(filter.isAllowed("java.lang.String"));
+        assertTrue(filter.isAllowed("[[Ljava.lang.Long;"));
+        assertTrue(filter.isAllowed("[B"));
+        assertTrue(filter.isAllowed("com.example.User"));
+        assertTrue(filter.isAllowed("[Lcom.example.User;"));
+        assertTrue(filter.isAllowed("com.example.auth.Role"));
+        assertTrue(filter.isAllowed("org.example.a.b.C"));
+        assertFalse(filter.isAllowed("com.example.Admin"));
+        assertFalse(filter.isAllowed("com.example.auth.impl.Role"));
+        assertFalse(filter.isAllowed("[Ljava.util.PriorityQueue;"));
+        assertFalse(filter.isAllowed("org.apache.commons.collections.functors.InvokerTransformer"));
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        final byte[] encoded = SessionDescriptorCodec.encodeDescriptor(descriptor());
+        encoded[0] = SessionDescriptorCodec.VERSION + 1;
+        try {
+            SessionDescriptorCodec.decodeDescriptor(encoded, FILTER);
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTruncatedDescriptor() {
+        final byte[] encoded = SessionDescriptorCodec.encodeDescriptor(descriptor());
+        try {
+            SessionDescriptorCodec.decodeDescriptor(Arrays.copyOf(encoded, encoded.length - 1), FILTER);
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static Map<RemoteSession.DistributedMapKey, Object> descriptor() {
+        final Map<RemoteSession.DistributedMapKey, Object> properties =
+                new EnumMap<RemoteSession.DistributedMapKey, Object>(RemoteSession.DistributedMapKey.class);
+        properties.put(RemoteSession.DistributedMapKey.NEGOTIATED_SUBPROTOCOL, "chat");
+        properties.put(RemoteSession.DistributedMapKey.NEGOTIATED_EXTENSIONS, Collections.<Extension>singletonList(
+                new TyrusExtension("permessage-deflate", Arrays.<Extension.Parameter>asList(
+                        new TyrusExtension.TyrusParameter("client_max_window_bits", "10"),
+                        new TyrusExtension.TyrusParameter("server_no_context_takeover", null)))));
+        properties.put(RemoteSession.DistributedMapKey.SECURE, true);
+        properties.put(RemoteSession.DistributedMapKey.MAX_IDLE_TIMEOUT, 30000L);
+        properties.put(RemoteSession.DistributedMapKey.MAX_BINARY_MESSAGE_BUFFER_SIZE, 8192);
+        properties.put(RemoteSession.DistributedMapKey.MAX_TEXT_MESSAGE_BUFFER_SIZE, 8192);
+        properties.put(RemoteSession.DistributedMapKey.REQUEST_URI, URI.create("/chat/room1?user=duke"));
+        properties.put(RemoteSession.DistributedMapKey.REQUEST_PARAMETER_MAP,
+                       Collections.singletonMap("user", Collections.singletonList("duke")));
+        properties.put(RemoteSession.DistributedMapKey.QUERY_STRING, "user=duke");
+        properties.put(RemoteSession.DistributedMapKey.PATH_PARAMETERS, Collections.singletonMap("room", "room1"));
+        properties.put(RemoteSession.DistributedMapKey.CONNECTION_ID, "c7a1f1a4-5b7e-4c3a-9f0e-2a4d1b6c8e90");
+        return properties;
+    }
+
+    private static class TestPrincipal implements Principal, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        TestPrincipal(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TestPrincipal && name.equals(((TestPrincipal) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link PeerClusterContext} connected by {@link TcpClusterTransport}.
+ */
+public class TcpClusterTransportTest {
+
+    @Test
+    public void testTwoNodes() throws Exception {
+        final Map<String, InetSocketAddress> addresses = new HashMap<String, InetSocketAddress>();
+        addresses.put("a", new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()));
+        addresses.put("b", new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()));
+
+        final PeerClusterContext a =
+                new PeerClusterContext(new TcpClusterTransport("a", addresses.get("a"), addresses));
+        final PeerClusterContext b =
+                new PeerClusterContext(new TcpClusterTransport("b", addresses.get("b"), addresses));
+        try {
+            final PeerClusterContextTest.RecordingBroadcastListener listener =
+                    new PeerClusterContextTest.RecordingBroadcastListener();
+            a.registerBroadcastListener("/echo", listener);
+
+            final PeerClusterContextTest.RecordingSession session = new PeerClusterContextTest.RecordingSession();
+            final String sessionId = PeerClusterContextTest.openSession(a, "connection", session);
+            PeerClusterContextTest.waitFor(PeerClusterContextTest.remoteSessionVisible(b, sessionId));
+
+            b.sendText(sessionId, "hello").get(5, TimeUnit.SECONDS);
+            assertEquals("text hello true", session.events.poll());
+
+            b.broadcastText("/echo", "hi");
+            assertEquals("hi", listener.messages.poll(5, TimeUnit.SECONDS));
+        } finally {
+            a.shutdown();
+            b.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnknownNodeIsRejected() throws Exception {
+        final Map<String, InetSocketAddress> addresses = new HashMap<String, InetSocketAddress>();
+        addresses.put("a", new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()));
+        // the peer is configured, but not at the address the connection comes from.
+        addresses.put("b", new InetSocketAddress("192.0.2.1", freePort()));
+
+        final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+        final TcpClusterTransport transport = new TcpClusterTransport("a", addresses.get("a"), addresses);
+        transport.start(new ClusterTransport.Receiver() {
+            @Override
+            public void onNodeJoined(String nodeId) {
+                events.add("joined " + nodeId);
+            }
+
+            @Override
+            public void onNodeLeft(String nodeId) {
+                events.add("left " + nodeId);
+            }
+
+            @Override
+            public void onMessage(String nodeId, byte[] message) {
+                events.add("message " + nodeId);
+            }
+        });
+        try {
+            for (String nodeId : new String[]{"intruder", "b"}) {
+                final Socket socket = new Socket();
+                try {
+                    socket.connect(addresses.get("a"));
+                    final DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+                    output.writeInt(0x54594331);
+                    output.writeUTF(nodeId);
+                    output.writeUTF("incarnation");
+                    output.writeInt(1);
+                    output.write(1);
+                    output.flush();
+
+                    socket.setSoTimeout(5000);
+                    assertEquals(-1, socket.getInputStream().read());
+                } finally {
+                    socket.close();
+                }
+            }
+            assertNull(events.poll(100, TimeUnit.MILLISECONDS));
+        } finally {
+            transport.shutdown();
+        }
+    }
+
+    @Test
+    public void testReconnectIsDelayed() throws Exception {
+        final Map<String, InetSocketAddress> addresses = new HashMap<String, InetSocketAddress>();
+        addresses.put("a", new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()));
+        addresses.put("b", new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()));
+
+        final TcpClusterTransport transport = new TcpClusterTransport("a", addresses.get("a"), addresses);
+        transport.start(new ClusterTransport.Receiver() {
+            @Override
+            public void onNodeJoined(String nodeId) {
+            }
+
+            @Override
+            public void onNodeLeft(String nodeId) {
+            }
+
+            @Override
+            public void onMessage(String nodeId, byte[] message) {
+            }
+        });
+        // "b" was not running when "a" has been started.
+        final ServerSocket b = new ServerSocket();
+        try {
+            b.setReuseAddress(true);
+            b.bind(addresses.get("b"));
+            b.setSoTimeout(100);
+
+            try {
+                transport.send("b", new byte[]{1});
+                fail();
+            } catch (IOException e) {
+                // expected, the connection is not attempted again right away.
+            }
+            try {
+                b.accept().close();
+                fail();
+            } catch (SocketTimeoutException e) {
+                // expected.
+            }
+
+            b.setSoTimeout(5000);
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (true) {
+                try {
+                    transport.send("b", new byte[]{1});
+                    break;
+                } catch (IOException e) {
+                    assertTrue(System.currentTimeMillis() < deadline);
+                    Thread.sleep(20);
+                }
+            }
+            b.accept().close();
+        } finally {
+            b.close();
+            transport.shutdown();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        final ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            return serverSocket.getLocalPort();
+        } finally {
+            serverSocket.close();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,52 +16,154 @@
 
 package org.glassfish.tyrus.ext.extension.deflate;
 
-import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
+import org.glassfish.tyrus.core.TyrusExtension;
 import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.ExtensionDeclinedException;
+import org.glassfish.tyrus.core.extension.StatelessOutgoingExtension;
 import org.glassfish.tyrus.core.frame.Frame;
 
 /**
- * Compression Extensions for WebSocket draft-ietf-hybi-permessage-compression-15
+ * Compression Extensions for WebSocket (RFC 7692).
  * <p>
- * http://tools.ietf.org/html/draft-ietf-hybi-permessage-compression-15
- * <pre>TODO:
- * - parameters (window sizes, context takeovers).
- * - context (some utility methods to get the typed params - T getParam(Class&lt;T&gt;))
- * </pre>
+ * https://tools.ietf.org/html/rfc7692
+ * <p>
+ * Compression level and strategy of outgoing messages are configurable. When the compression context is not taken
+ * over between outgoing messages, the {@link Deflater} is borrowed from a pool shared by all sessions using this
+ * extension instance only for the time a message is being compressed, so idle sessions do not hold its native memory.
+ * The same applies to the {@link Inflater} when the peer has agreed not to take over its compression context.
+ * <p>
+ * Without context takeover, the compressed form of an outgoing message depends only on the compression level and
+ * strategy, so a broadcast message is compressed once for all the sessions using the same settings (see
+ * {@link StatelessOutgoingExtension}).
+ * <p>
+ * Negotiated parameters:
+ * <ul>
+ * <li>{@code server_no_context_takeover} and {@code client_no_context_takeover} are requested (client) or included in
+ * the response (server) according to the {@code contextTakeover} and {@code peerContextTakeover} settings. A server
+ * includes them also when the client has requested or hinted them. A server which does not allow the client to take
+ * over the compression context holds no compression state per idle session, which is the setting of choice for nodes
+ * with many connections; context takeover gives better compression ratio of similar messages.</li>
+ * <li>{@code server_max_window_bits} and {@code client_max_window_bits} - {@link java.util.zip} always compresses
+ * with the maximal (32 KB) window, so an offer limiting the server window to less than 15 bits is declined and the
+ * client never offers {@code client_max_window_bits}. Any window size of the peer is accepted.</li>
+ * </ul>
  *
  * @author Pavel Bucek (pavel.bucek at oracle.com)
  */
-public class PerMessageDeflateExtension implements ExtendedExtension {
-
-    private static final Pool<byte[]> BYTE_ARRAY_POOL = new Pool<byte[]>() {
-        @Override
-        byte[] create() {
-            return new byte[8192];
-        }
-    };
+public class PerMessageDeflateExtension implements StatelessOutgoingExtension {
 
     private static final String INFLATER = PerMessageDeflateExtension.class.getName() + ".INFLATER";
     private static final String DEFLATER = PerMessageDeflateExtension.class.getName() + ".DEFLATER";
+    private static final String INFLATER_NO_CONTEXT_TAKEOVER =
+            PerMessageDeflateExtension.class.getName() + ".INFLATER_NO_CONTEXT_TAKEOVER";
+    private static final String DEFLATER_NO_CONTEXT_TAKEOVER =
+            PerMessageDeflateExtension.class.getName() + ".DEFLATER_NO_CONTEXT_TAKEOVER";
+
+    private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+    private static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+    private static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+    private static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+
+    /**
+     * Window size used by {@link Deflater} and {@link Inflater}.
+     */
+    private static final int MAX_WINDOW_BITS = 15;
+    private static final int MIN_WINDOW_BITS = 8;
 
     private static final Logger LOGGER = Logger.getLogger(PerMessageDeflateExtension.class.getName());
     private static final boolean DEBUG = LOGGER.isLoggable(Level.FINE);
 
     private static final byte[] TAIL = {0x00, 0x00, (byte) 0xff, (byte) 0xff};
 
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_POOLED_CODERS = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final int compressionLevel;
+    private final int compressionStrategy;
+    private final boolean contextTakeover;
+    private final boolean peerContextTakeover;
+    private final List<Integer> outgoingFrameKey;
+    private final Queue<Deflater> deflaterPool = new ArrayBlockingQueue<Deflater>(MAX_POOLED_CODERS);
+    private final Queue<Inflater> inflaterPool = new ArrayBlockingQueue<Inflater>(MAX_POOLED_CODERS);
+
+    /**
+     * Create the extension with {@link Deflater#BEST_COMPRESSION best compression level}, {@link
+     * Deflater#DEFAULT_STRATEGY default strategy} and compression context taken over between messages in both
+     * directions.
+     */
+    public PerMessageDeflateExtension() {
+        this(Deflater.BEST_COMPRESSION, Deflater.DEFAULT_STRATEGY, true);
+    }
+
+    /**
+     * Create the extension.
+     *
+     * @param compressionLevel    compression level of outgoing messages, {@link Deflater#DEFAULT_COMPRESSION} or a
+     *                            value from {@code 0} ({@link Deflater#NO_COMPRESSION}) to {@code 9} ({@link
+     *                            Deflater#BEST_COMPRESSION}).
+     * @param compressionStrategy compression strategy of outgoing messages, {@link Deflater#DEFAULT_STRATEGY},
+     *                            {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}.
+     * @param contextTakeover     {@code true} if the compression context should be kept between outgoing messages,
+     *                            which gives better compression ratio of similar messages at the cost of one {@link
+     *                            Deflater} per session. When {@code false}, each outgoing message is compressed
+     *                            separately by a pooled {@link Deflater}.
+     */
+    public PerMessageDeflateExtension(int compressionLevel, int compressionStrategy, boolean contextTakeover) {
+        this(compressionLevel, compressionStrategy, contextTakeover, true);
+    }
+
+    /**
+     * Create the extension.
+     *
+     * @param compressionLevel    compression level of outgoing messages, {@link Deflater#DEFAULT_COMPRESSION} or a
+     *                            value from {@code 0} ({@link Deflater#NO_COMPRESSION}) to {@code 9} ({@link
+     *                            Deflater#BEST_COMPRESSION}).
+     * @param compressionStrategy compression strategy of outgoing messages, {@link Deflater#DEFAULT_STRATEGY},
+     *                            {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}.
+     * @param contextTakeover     {@code true} if the compression context should be kept between outgoing messages.
+     *                            When {@code false}, each outgoing message is compressed separately by a pooled
+     *                            {@link Deflater} and the peer is informed, so that it does not need to keep its
+     *                            decompression context.
+     * @param peerContextTakeover {@code true} if the peer is allowed to keep its compression context between messages.
+     *                            When {@code false}, the peer is asked not to do so and each incoming message is
+     *                            decompressed by a pooled {@link Inflater} once the peer agrees.
+     */
+    public PerMessageDeflateExtension(int compressionLevel, int compressionStrategy, boolean contextTakeover,
+                                      boolean peerContextTakeover) {
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION
+                && (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+        }
+        if (compressionStrategy != Deflater.DEFAULT_STRATEGY && compressionStrategy != Deflater.FILTERED
+                && compressionStrategy != Deflater.HUFFMAN_ONLY) {
+            throw new IllegalArgumentException("Invalid compression strategy: " + compressionStrategy);
+        }
+
+        this.compressionLevel = compressionLevel;
+        this.compressionStrategy = compressionStrategy;
+        this.contextTakeover = contextTakeover;
+        this.peerContextTakeover = peerContextTakeover;
+        this.outgoingFrameKey = Arrays.asList(compressionLevel, compressionStrategy);
+    }
+
     @Override
     public Frame processIncoming(ExtensionContext context, Frame frame) {
-        final Inflater decompresser = (Inflater) context.getProperties().get(INFLATER);
-
         if (DEBUG) {
             LOGGER.fine("Incoming frame: " + frame);
         }
@@ -69,147 +171,351 @@ public class PerMessageDeflateExtension implements ExtendedExtension {
         // per-message-deflate draft, chapter 8.2.3.1:
         // "Note that the RSV1 bit is set only on the first frame."
         if ((frame.isRsv1() || frame.getOpcode() == 0x00) && !frame.isControlFrame()) {
-            // Decompress the bytes
-            final int payloadLength = (int) frame.getPayloadLength();
+            final Inflater decompresser = getInflater(context);
 
-            List<PartialResultWithLength<byte[]>> wholeResult = new ArrayList<PartialResultWithLength<byte[]>>();
-            int wholeResultLength = 0;
+            // Decompress the bytes
+            final ByteBuffer payload = frame.getPayloadBuffer();
+            final OutputBuffer output = new OutputBuffer(2L * payload.remaining());
 
-            int tmp = processCompressed(decompresser, frame.getPayloadData(), payloadLength, wholeResult);
-            if (tmp == -1) {
+            if (!processCompressed(decompresser, payload.array(), payload.arrayOffset() + payload.position(),
+                                   payload.remaining(), output)) {
                 return frame;
-            } else {
-                wholeResultLength += tmp;
             }
 
             if (frame.isFin()) {
-                tmp = processCompressed(decompresser, TAIL, 4, wholeResult);
-                if (tmp == -1) {
+                if (!processCompressed(decompresser, TAIL, 0, TAIL.length, output)) {
                     return frame;
-                } else {
-                    wholeResultLength += tmp;
                 }
-            }
 
-            byte[] completeResult = new byte[wholeResultLength];
-            wholeResultLength = 0;
-            for (PartialResultWithLength<byte[]> partialResult : wholeResult) {
-                tmp = partialResult.getLength();
-                final byte[] result = partialResult.getResult();
-                System.arraycopy(result, 0, completeResult, wholeResultLength, tmp);
-                BYTE_ARRAY_POOL.recycle(result);
-                wholeResultLength += tmp;
+                // final deflate block has been received, next message starts a new stream.
+                if (decompresser.finished()) {
+                    decompresser.reset();
+                }
+
+                releaseInflater(context, decompresser);
             }
 
-            return Frame.builder(frame).payloadData(completeResult).rsv1(false).build();
+            return Frame.builder(frame).payloadData(output.buffer).payloadLength(output.length).rsv1(false).build();
         } else {
             return frame;
         }
     }
 
-    private int processCompressed(Inflater decompresser, byte[] compressed, int length,
-                                  List<PartialResultWithLength<byte[]>> partialResults) {
-        decompresser.setInput(compressed, 0, length);
-        int decompressedLength = 0;
-        do {
-            byte[] result = BYTE_ARRAY_POOL.take();
-            int partialResultLength;
-            try {
-                partialResultLength = decompresser.inflate(result);
-            } catch (DataFormatException e) {
-                LOGGER.log(Level.INFO, e.getMessage(), e);
-                return -1;
-            }
+    private boolean processCompressed(Inflater decompresser, byte[] compressed, int offset, int length,
+                                      OutputBuffer output) {
+        decompresser.setInput(compressed, offset, length);
 
-            if (partialResultLength != 0) {
-                partialResults.add(new PartialResultWithLength<byte[]>(partialResultLength, result));
-                decompressedLength += partialResultLength;
-            } else {
-                BYTE_ARRAY_POOL.recycle(result);
-            }
-        } while (decompresser.getRemaining() > 0);
+        try {
+            int partialResultLength;
+            do {
+                if (!output.ensureFreeSpace()) {
+                    return false;
+                }
+                partialResultLength = decompresser.inflate(output.buffer, output.length, output.free());
+                output.length += partialResultLength;
+            } while (partialResultLength > 0
+                    || !(decompresser.needsInput() || decompresser.finished() || decompresser.needsDictionary()));
+        } catch (DataFormatException e) {
+            LOGGER.log(Level.INFO, e.getMessage(), e);
+            return false;
+        }
 
-        return decompressedLength;
+        return true;
     }
 
     @Override
     public Frame processOutgoing(ExtensionContext context, Frame frame) {
-        final Deflater compresser = (Deflater) context.getProperties().get(DEFLATER);
-
         if (DEBUG) {
             LOGGER.fine("Outgoing frame: " + frame);
         }
 
         if (!frame.isControlFrame()) {
-
-            List<PartialResultWithLength<byte[]>> wholeResult = new ArrayList<PartialResultWithLength<byte[]>>();
-            int wholeResultLength = 0;
+            final Deflater compresser = getDeflater(context);
 
             // Compress the bytes
-            final int payloadLength = (int) frame.getPayloadLength();
-            compresser.setInput(frame.getPayloadData(), 0, payloadLength);
+            final ByteBuffer payload = frame.getPayloadBuffer();
+            compresser.setInput(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
 
-            int compressedDataLength;
+            final OutputBuffer output = new OutputBuffer(payload.remaining() / 2);
+            int free;
             do {
-                byte[] output = BYTE_ARRAY_POOL.take();
-                compressedDataLength = compresser.deflate(output, 0, output.length, Deflater.SYNC_FLUSH);
-
-                if (compressedDataLength > 0) {
-                    wholeResult.add(new PartialResultWithLength<byte[]>(compressedDataLength, output));
-                    wholeResultLength += compressedDataLength;
-                } else {
-                    BYTE_ARRAY_POOL.recycle(output);
-                }
-            } while (compressedDataLength > 0);
-
-            byte[] completeResult = new byte[wholeResultLength];
-            wholeResultLength = 0;
-            for (PartialResultWithLength<byte[]> partialResult : wholeResult) {
-                int tmp = partialResult.getLength();
-                final byte[] result = partialResult.getResult();
-                System.arraycopy(result, 0, completeResult, wholeResultLength, tmp);
-                BYTE_ARRAY_POOL.recycle(result);
-                wholeResultLength += tmp;
+                output.ensureFreeSpace();
+                free = output.free();
+                output.length += compresser.deflate(output.buffer, output.length, free, Deflater.SYNC_FLUSH);
+                // flush is complete when the deflater has not filled all the available space.
+            } while (output.free() == 0 && free > 0);
+
+            if (frame.isFin()) {
+                releaseDeflater(context, compresser);
             }
 
+            final byte[] completeResult = output.buffer;
+            final int length = output.length;
+
+            // RFC 7692, chapter 7.2.1: the tail is removed from the end of the message only.
             boolean strip = false;
-            if (completeResult.length >= 4
-                    && completeResult[completeResult.length - 4] == TAIL[0]
-                    && completeResult[completeResult.length - 3] == TAIL[1]
-                    && completeResult[completeResult.length - 2] == TAIL[2]
-                    && completeResult[completeResult.length - 1] == TAIL[3]) {
+            if (frame.isFin()
+                    && length >= 4
+                    && completeResult[length - 4] == TAIL[0]
+                    && completeResult[length - 3] == TAIL[1]
+                    && completeResult[length - 2] == TAIL[2]
+                    && completeResult[length - 1] == TAIL[3]) {
                 strip = true;
             }
 
             return Frame.builder(frame)
                         .payloadData(completeResult)
-                        .payloadLength(strip ? completeResult.length - 4 : completeResult.length)
-                        .rsv1(true).build();
+                        .payloadLength(strip ? length - 4 : length)
+                        // RSV1 is set only on the first frame of a message.
+                        .rsv1(frame.getOpcode() != 0x00).build();
         } else {
             return frame;
         }
     }
 
-    private void init(ExtensionContext context) {
-        // TODO: configurable compression level
-        Deflater compresser = new Deflater(9, true);
-        Inflater decompresser = new Inflater(true);
+    /**
+     * Outgoing frames of sessions which do not take over the compression context are shared among sessions with the
+     * same compression level and strategy.
+     *
+     * @return compression level and strategy when outgoing messages are compressed separately, {@code null}
+     * otherwise.
+     */
+    @Override
+    public Object getOutgoingFrameKey(ExtensionContext context) {
+        if (context.getProperties().containsKey(DEFLATER_NO_CONTEXT_TAKEOVER)) {
+            return outgoingFrameKey;
+        }
 
-        compresser.setStrategy(Deflater.DEFAULT_STRATEGY);
+        return null;
+    }
 
-        context.getProperties().put(INFLATER, decompresser);
-        context.getProperties().put(DEFLATER, compresser);
+    /**
+     * Get the deflater of the session or, when the compression context is not taken over, the deflater borrowed for
+     * the message which is being sent. A pooled deflater is borrowed on the first frame of a message.
+     */
+    private Deflater getDeflater(ExtensionContext context) {
+        Deflater compresser = (Deflater) context.getProperties().get(DEFLATER);
+        if (compresser == null) {
+            compresser = deflaterPool.poll();
+            if (compresser == null) {
+                compresser = createDeflater();
+            }
+            context.getProperties().put(DEFLATER, compresser);
+        }
+
+        return compresser;
     }
 
+    /**
+     * Return the deflater borrowed for the message which has been sent to the pool.
+     */
+    private void releaseDeflater(ExtensionContext context, Deflater compresser) {
+        if (!context.getProperties().containsKey(DEFLATER_NO_CONTEXT_TAKEOVER)) {
+            return;
+        }
+
+        context.getProperties().remove(DEFLATER);
+        compresser.reset();
+        if (!deflaterPool.offer(compresser)) {
+            compresser.end();
+        }
+    }
+
+    /**
+     * Get the inflater of the session or, when the peer does not take over the compression context, the inflater
+     * borrowed for the message which is being received.
+     */
+    private Inflater getInflater(ExtensionContext context) {
+        Inflater decompresser = (Inflater) context.getProperties().get(INFLATER);
+        if (decompresser == null) {
+            decompresser = inflaterPool.poll();
+            if (decompresser == null) {
+                decompresser = new Inflater(true);
+            }
+            context.getProperties().put(INFLATER, decompresser);
+        }
+
+        return decompresser;
+    }
+
+    /**
+     * Return the inflater borrowed for the message which has been received to the pool.
+     */
+    private void releaseInflater(ExtensionContext context, Inflater decompresser) {
+        if (!context.getProperties().containsKey(INFLATER_NO_CONTEXT_TAKEOVER)) {
+            return;
+        }
+
+        context.getProperties().remove(INFLATER);
+        decompresser.reset();
+        if (!inflaterPool.offer(decompresser)) {
+            decompresser.end();
+        }
+    }
+
+    private Deflater createDeflater() {
+        final Deflater compresser = new Deflater(compressionLevel, true);
+        compresser.setStrategy(compressionStrategy);
+        return compresser;
+    }
+
+    /**
+     * Initialize the session state according to negotiated parameters.
+     *
+     * @param context                   extension context.
+     * @param deflaterNoContextTakeover {@code true} if outgoing messages are compressed separately.
+     * @param inflaterNoContextTakeover {@code true} if incoming messages are compressed separately.
+     */
+    private void init(ExtensionContext context, boolean deflaterNoContextTakeover, boolean inflaterNoContextTakeover) {
+        if (deflaterNoContextTakeover) {
+            context.getProperties().put(DEFLATER_NO_CONTEXT_TAKEOVER, Boolean.TRUE);
+        } else {
+            context.getProperties().put(DEFLATER, createDeflater());
+        }
+
+        if (inflaterNoContextTakeover) {
+            context.getProperties().put(INFLATER_NO_CONTEXT_TAKEOVER, Boolean.TRUE);
+        } else {
+            context.getProperties().put(INFLATER, new Inflater(true));
+        }
+    }
+
+    /**
+     * Server side negotiation, see RFC 7692, chapter 7.1.
+     *
+     * @return response parameters.
+     * @throws ExtensionDeclinedException when the offer contains invalid parameters or limits the server window size.
+     */
     @Override
     public List<Parameter> onExtensionNegotiation(ExtensionContext context, List<Parameter> requestedParameters) {
-        init(context);
-        return Collections.<Parameter>emptyList();
+        final Map<String, String> offer = parseParameters(requestedParameters);
+        if (offer == null) {
+            throw new ExtensionDeclinedException("Invalid " + getName() + " offer: " + requestedParameters);
+        }
+
+        final List<Parameter> response = new ArrayList<Parameter>();
+
+        if (offer.containsKey(SERVER_MAX_WINDOW_BITS)) {
+            final int serverMaxWindowBits = parseWindowBits(offer.get(SERVER_MAX_WINDOW_BITS));
+            // the deflater always uses the maximal window.
+            if (serverMaxWindowBits != MAX_WINDOW_BITS) {
+                throw new ExtensionDeclinedException(
+                        "Unsupported " + getName() + " server window size: " + requestedParameters);
+            }
+            response.add(new TyrusExtension.TyrusParameter(SERVER_MAX_WINDOW_BITS, Integer.toString(MAX_WINDOW_BITS)));
+        }
+
+        if (offer.containsKey(CLIENT_MAX_WINDOW_BITS)) {
+            final String clientMaxWindowBits = offer.get(CLIENT_MAX_WINDOW_BITS);
+            if (clientMaxWindowBits != null && parseWindowBits(clientMaxWindowBits) == -1) {
+                throw new ExtensionDeclinedException("Invalid " + getName() + " offer: " + requestedParameters);
+            }
+            // any client window size is accepted, the parameter is not included in the response.
+        }
+
+        final boolean serverNoContextTakeover = !contextTakeover || offer.containsKey(SERVER_NO_CONTEXT_TAKEOVER);
+        // client_no_context_takeover in the offer is a hint that the client won't take over the context anyway.
+        final boolean clientNoContextTakeover = !peerContextTakeover || offer.containsKey(CLIENT_NO_CONTEXT_TAKEOVER);
+
+        if (serverNoContextTakeover) {
+            response.add(new TyrusExtension.TyrusParameter(SERVER_NO_CONTEXT_TAKEOVER, null));
+        }
+        if (clientNoContextTakeover) {
+            response.add(new TyrusExtension.TyrusParameter(CLIENT_NO_CONTEXT_TAKEOVER, null));
+        }
+
+        init(context, serverNoContextTakeover, clientNoContextTakeover);
+        return response;
     }
 
+    /**
+     * Client side processing of the negotiation response, see RFC 7692, chapter 7.1.
+     *
+     * @throws IllegalStateException when the response contains parameters which cannot be accepted.
+     */
     @Override
     public void onHandshakeResponse(ExtensionContext context, List<Parameter> responseParameters) {
-        init(context);
+        final Map<String, String> response = parseParameters(responseParameters);
+        if (response == null) {
+            throw new IllegalStateException("Invalid " + getName() + " response parameters: " + responseParameters);
+        }
+
+        if (response.containsKey(SERVER_MAX_WINDOW_BITS)
+                && parseWindowBits(response.get(SERVER_MAX_WINDOW_BITS)) == -1) {
+            throw new IllegalStateException("Invalid " + getName() + " response parameters: " + responseParameters);
+        }
+
+        // client_max_window_bits is never offered, only the maximal window can be accepted.
+        if (response.containsKey(CLIENT_MAX_WINDOW_BITS)
+                && parseWindowBits(response.get(CLIENT_MAX_WINDOW_BITS)) != MAX_WINDOW_BITS) {
+            throw new IllegalStateException(
+                    "Unsupported " + getName() + " client window size: " + responseParameters);
+        }
+
+        init(context, !contextTakeover || response.containsKey(CLIENT_NO_CONTEXT_TAKEOVER),
+             response.containsKey(SERVER_NO_CONTEXT_TAKEOVER));
+    }
+
+    /**
+     * Parse extension parameters.
+     *
+     * @return map of parameter names and values or {@code null} when there is an unknown or duplicate parameter or
+     * a parameter without required value.
+     */
+    private static Map<String, String> parseParameters(List<Parameter> parameters) {
+        final Map<String, String> result = new HashMap<String, String>();
+        if (parameters == null) {
+            return result;
+        }
+
+        for (Parameter parameter : parameters) {
+            final String name = parameter.getName();
+            String value = parameter.getValue();
+            if (value != null && value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            if (value != null && value.isEmpty()) {
+                value = null;
+            }
+
+            if (result.containsKey(name)) {
+                return null;
+            }
+
+            if (SERVER_NO_CONTEXT_TAKEOVER.equals(name) || CLIENT_NO_CONTEXT_TAKEOVER.equals(name)) {
+                if (value != null) {
+                    return null;
+                }
+            } else if (SERVER_MAX_WINDOW_BITS.equals(name)) {
+                if (value == null) {
+                    return null;
+                }
+            } else if (!CLIENT_MAX_WINDOW_BITS.equals(name)) {
+                return null;
+            }
+
+            result.put(name, value);
+        }
+
+        return result;
+    }
+
+    /**
+     * Parse window bits parameter value.
+     *
+     * @return window bits or {@code -1} when the value is not valid.
+     */
+    private static int parseWindowBits(String value) {
+        if (value == null || value.length() > 2) {
+            return -1;
+        }
+
+        try {
+            final int windowBits = Integer.parseInt(value);
+            return windowBits >= MIN_WINDOW_BITS && windowBits <= MAX_WINDOW_BITS ? windowBits : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     @Override
@@ -234,84 +540,56 @@ public class PerMessageDeflateExtension implements ExtendedExtension {
         return "permessage-deflate";
     }
 
+    /**
+     * Parameters of the client offer.
+     *
+     * @return parameters of the client offer.
+     */
     @Override
     public List<Parameter> getParameters() {
-        return Collections.<Parameter>emptyList();
-    }
+        if (contextTakeover && peerContextTakeover) {
+            return Collections.<Parameter>emptyList();
+        }
 
+        final List<Parameter> parameters = new ArrayList<Parameter>();
+        if (!contextTakeover) {
+            parameters.add(new TyrusExtension.TyrusParameter(CLIENT_NO_CONTEXT_TAKEOVER, null));
+        }
+        if (!peerContextTakeover) {
+            parameters.add(new TyrusExtension.TyrusParameter(SERVER_NO_CONTEXT_TAKEOVER, null));
+        }
+        return parameters;
+    }
 
     /**
-     * Generic pool that instances of T which are expensive to create.
-     *
-     * @author Jitendra Kotamraju
-     * @author Pavel Bucek (pavel.bucek at oracle.com)
+     * Growable output of the deflater or inflater, the buffer is used directly as the payload of the produced frame.
      */
-    private abstract static class Pool<T> {
+    private static final class OutputBuffer {
 
-        // volatile since multiple threads may access queue reference
-        private volatile WeakReference<ConcurrentLinkedQueue<T>> queue;
+        private byte[] buffer;
+        private int length = 0;
 
-        /**
-         * Gets a new object from the pool.
-         * <p>
-         * If no object is available in the pool, this method creates a new one.
-         *
-         * @return always non-null.
-         */
-        public final T take() {
-            T t = getQueue().poll();
-            if (t == null) {
-                return create();
-            }
-            return t;
+        private OutputBuffer(long initialCapacity) {
+            buffer = new byte[(int) Math.min(MAX_BUFFER_SIZE, Math.max(MIN_BUFFER_SIZE, initialCapacity))];
+        }
+
+        private int free() {
+            return buffer.length - length;
         }
 
         /**
-         * Create new instance to be added into pool.
+         * Grow the buffer if it is full.
          *
-         * @return new instance.
+         * @return {@code false} if the buffer is full and cannot grow anymore.
          */
-        abstract T create();
-
-        private ConcurrentLinkedQueue<T> getQueue() {
-            WeakReference<ConcurrentLinkedQueue<T>> q = queue;
-            if (q != null) {
-                ConcurrentLinkedQueue<T> d = q.get();
-                if (d != null) {
-                    return d;
+        private boolean ensureFreeSpace() {
+            if (length == buffer.length) {
+                if (buffer.length == MAX_BUFFER_SIZE) {
+                    return false;
                 }
+                buffer = Arrays.copyOf(buffer, (int) Math.min(MAX_BUFFER_SIZE, 2L * buffer.length));
             }
-
-            // overwrite the queue
-            ConcurrentLinkedQueue<T> d = new ConcurrentLinkedQueue<T>();
-            queue = new WeakReference<ConcurrentLinkedQueue<T>>(d);
-
-            return d;
-        }
-
-        /**
-         * Returns an object back to the pool.
-         */
-        public final void recycle(T t) {
-            getQueue().offer(t);
-        }
-    }
-
-    private static class PartialResultWithLength<T> {
-        private final int length;
-        private final T result;
-
-        private PartialResultWithLength(int length, T result) {
-            this.length = length;
-            this.result = result;
-        }
-
-        public int getLength() {
-            return length;
-        }
-
-        public T getResult() {
-            return result;
+            return true;
         }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,14 +16,59 @@
 
 package org.glassfish.tyrus.ext.extension.deflate;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Compression extension for webkit based browsers.
  * <p>
- * Very same as {@link PerMessageDeflateExtension}, only name differs.
+ * Very same as {@link PerMessageDeflateExtension}, only name differs and no parameters are negotiated.
  *
  * @author Pavel Bucek (pavel.bucek at oracle.com)
  */
 public class XWebkitDeflateExtension extends PerMessageDeflateExtension {
+
+    /**
+     * Create the extension with default compression settings.
+     *
+     * @see PerMessageDeflateExtension#PerMessageDeflateExtension()
+     */
+    public XWebkitDeflateExtension() {
+        super();
+    }
+
+    /**
+     * Create the extension.
+     *
+     * @param compressionLevel    compression level of outgoing messages.
+     * @param compressionStrategy compression strategy of outgoing messages.
+     * @param contextTakeover     {@code true} if the compression context should be kept between outgoing messages.
+     * @see PerMessageDeflateExtension#PerMessageDeflateExtension(int, int, boolean)
+     */
+    public XWebkitDeflateExtension(int compressionLevel, int compressionStrategy, boolean contextTakeover) {
+        super(compressionLevel, compressionStrategy, contextTakeover);
+    }
+
+    /**
+     * Parameters are not negotiated, outgoing messages are compressed separately when the compression context is not
+     * taken over, which the peer does not need to know about.
+     */
+    @Override
+    public List<Parameter> onExtensionNegotiation(ExtensionContext context, List<Parameter> requestedParameters) {
+        super.onExtensionNegotiation(context, Collections.<Parameter>emptyList());
+        return Collections.<Parameter>emptyList();
+    }
+
+    @Override
+    public void onHandshakeResponse(ExtensionContext context, List<Parameter> responseParameters) {
+        super.onHandshakeResponse(context, Collections.<Parameter>emptyList());
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+        return Collections.<Parameter>emptyList();
+    }
+
     @Override
     public String getName() {
         return "x-webkit-deflate-frame";
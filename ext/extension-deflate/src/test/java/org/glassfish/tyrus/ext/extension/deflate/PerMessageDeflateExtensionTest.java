@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -22,11 +22,15 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import javax.websocket.ClientEndpointConfig;
 import javax.websocket.DeploymentException;
@@ -39,12 +43,23 @@ import javax.websocket.Session;
 import javax.websocket.server.ServerEndpointConfig;
 
 import org.glassfish.tyrus.client.ClientManager;
+import org.glassfish.tyrus.core.TyrusExtension;
+import org.glassfish.tyrus.core.TyrusSession;
+import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.extension.ExtensionDeclinedException;
+import org.glassfish.tyrus.core.frame.Frame;
 import org.glassfish.tyrus.server.Server;
 import org.glassfish.tyrus.server.TyrusServerConfiguration;
 import org.glassfish.tyrus.test.tools.TestContainer;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -83,6 +98,106 @@ public class PerMessageDeflateExtensionTest extends TestContainer {
         }
     }
 
+    public static class BroadcastApplicationConfig extends TyrusServerConfiguration {
+        public BroadcastApplicationConfig() {
+            super(Collections.<Class<?>>emptySet(), new HashSet<ServerEndpointConfig>() {
+                {
+                    add(ServerEndpointConfig.Builder.create(BroadcastEndpoint.class, "/compressionBroadcastTest")
+                                                    .extensions(Arrays.<Extension>asList(new CountingExtension()))
+                                                    .build());
+                    add(ServerEndpointConfig.Builder.create(StreamingBroadcastEndpoint.class,
+                                                            "/compressionStreamingBroadcastTest")
+                                                    .extensions(Arrays.<Extension>asList(new PerMessageDeflateExtension(
+                                                            Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY,
+                                                            false)))
+                                                    .build());
+                }
+
+                private static final long serialVersionUID = 4426359231496236157L;
+            });
+        }
+    }
+
+    public static class BroadcastEndpoint extends Endpoint {
+
+        @Override
+        public void onOpen(final Session session, EndpointConfig config) {
+            session.addMessageHandler(new MessageHandler.Whole<String>() {
+                @Override
+                public void onMessage(String message) {
+                    ((TyrusSession) session).broadcast(message);
+                }
+            });
+        }
+    }
+
+    /**
+     * Streams a partial message when asked to, broadcasts other messages.
+     */
+    public static class StreamingBroadcastEndpoint extends Endpoint {
+
+        private static final String STREAM = "stream";
+        private static final int FRAGMENTS = 50;
+
+        @Override
+        public void onOpen(final Session session, EndpointConfig config) {
+            session.addMessageHandler(new MessageHandler.Whole<String>() {
+                @Override
+                public void onMessage(String message) {
+                    if (STREAM.equals(message)) {
+                        new Thread() {
+                            @Override
+                            public void run() {
+                                try {
+                                    for (int i = 0; i < FRAGMENTS; i++) {
+                                        session.getBasicRemote().sendText(fragment(i), i == FRAGMENTS - 1);
+                                        Thread.sleep(5);
+                                    }
+                                } catch (Exception e) {
+                                    // ignore.
+                                }
+                            }
+                        }.start();
+                    } else {
+                        ((TyrusSession) session).broadcast(message);
+                    }
+                }
+            });
+        }
+
+        private static String fragment(int i) {
+            return "Always pass on what you have learned, fragment " + i + ". ";
+        }
+
+        private static String streamedMessage() {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < FRAGMENTS; i++) {
+                sb.append(fragment(i));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Counts compressed data frames; outgoing messages are compressed without context takeover.
+     */
+    public static class CountingExtension extends PerMessageDeflateExtension {
+
+        private static final AtomicInteger COMPRESSED = new AtomicInteger();
+
+        public CountingExtension() {
+            super(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY, false);
+        }
+
+        @Override
+        public Frame processOutgoing(ExtensionContext context, Frame frame) {
+            if (!frame.isControlFrame()) {
+                COMPRESSED.incrementAndGet();
+            }
+            return super.processOutgoing(context, frame);
+        }
+    }
+
     @Test
     public void testCompressedExtension() throws DeploymentException {
         Server server = startServer(ServerDeployApplicationConfig.class);
@@ -143,6 +258,297 @@ public class PerMessageDeflateExtensionTest extends TestContainer {
 
     }
 
+    @Test
+    public void testBroadcastIsCompressedOnce() throws DeploymentException {
+        final int sessions = 5;
+        final String message = "Always pass on what you have learned.";
+        final CountDownLatch messageLatch = new CountDownLatch(sessions);
+        Server server = startServer(BroadcastApplicationConfig.class);
+
+        try {
+            final ClientEndpointConfig clientConfiguration =
+                    ClientEndpointConfig.Builder.create()
+                                                .extensions(Arrays.<Extension>asList(new PerMessageDeflateExtension()))
+                                                .build();
+            final ClientManager client = createClient();
+
+            final List<Session> clientSessions = new ArrayList<Session>();
+            for (int i = 0; i < sessions; i++) {
+                clientSessions.add(client.connectToServer(new Endpoint() {
+                    @Override
+                    public void onOpen(Session session, EndpointConfig config) {
+                        session.addMessageHandler(new MessageHandler.Whole<String>() {
+                            @Override
+                            public void onMessage(String received) {
+                                if (message.equals(received)) {
+                                    messageLatch.countDown();
+                                }
+                            }
+                        });
+                    }
+                }, clientConfiguration, getURI("/compressionBroadcastTest")));
+            }
+
+            CountingExtension.COMPRESSED.set(0);
+            clientSessions.get(0).getBasicRemote().sendText(message);
+
+            assertTrue(messageLatch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, CountingExtension.COMPRESSED.get());
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            stopServer(server);
+        }
+    }
+
+    @Test
+    public void testBroadcastDuringPartialMessage() throws DeploymentException {
+        final int broadcasts = 10;
+        final List<String> expected = new ArrayList<String>();
+        expected.add(StreamingBroadcastEndpoint.streamedMessage());
+        for (int i = 0; i < broadcasts; i++) {
+            expected.add("Always pass on what you have learned, broadcast " + i + ".");
+        }
+        final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch messageLatch = new CountDownLatch(expected.size());
+        Server server = startServer(BroadcastApplicationConfig.class);
+
+        try {
+            final ClientEndpointConfig clientConfiguration =
+                    ClientEndpointConfig.Builder.create()
+                                                .extensions(Arrays.<Extension>asList(new PerMessageDeflateExtension()))
+                                                .build();
+
+            final Session session = createClient().connectToServer(new Endpoint() {
+                @Override
+                public void onOpen(Session session, EndpointConfig config) {
+                    session.addMessageHandler(new MessageHandler.Whole<String>() {
+                        @Override
+                        public void onMessage(String message) {
+                            received.add(message);
+                            messageLatch.countDown();
+                        }
+                    });
+                }
+            }, clientConfiguration, getURI("/compressionStreamingBroadcastTest"));
+
+            // broadcasts are handled by the server while the partial message is being sent to the same session.
+            session.getBasicRemote().sendText(StreamingBroadcastEndpoint.STREAM);
+            Thread.sleep(50);
+            for (int i = 1; i < expected.size(); i++) {
+                session.getBasicRemote().sendText(expected.get(i));
+            }
+
+            assertTrue(messageLatch.await(10, TimeUnit.SECONDS));
+            assertEquals(new HashSet<String>(expected), new HashSet<String>(received));
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            stopServer(server);
+        }
+    }
+
+    @Test
+    public void testOutgoingFrameKey() {
+        final PerMessageDeflateExtension withoutContextTakeover =
+                new PerMessageDeflateExtension(Deflater.BEST_SPEED, Deflater.FILTERED, false);
+        final ExtendedExtension.ExtensionContext context = new TestExtensionContext();
+        withoutContextTakeover.onExtensionNegotiation(context, Collections.<Extension.Parameter>emptyList());
+
+        final Object key = withoutContextTakeover.getOutgoingFrameKey(context);
+        assertNotNull(key);
+        assertEquals(key, new PerMessageDeflateExtension(Deflater.BEST_SPEED, Deflater.FILTERED, false)
+                .getOutgoingFrameKey(context));
+        assertFalse(key.equals(new PerMessageDeflateExtension(Deflater.BEST_COMPRESSION, Deflater.FILTERED, false)
+                                       .getOutgoingFrameKey(context)));
+
+        final PerMessageDeflateExtension withContextTakeover = new PerMessageDeflateExtension();
+        final ExtendedExtension.ExtensionContext contextTakeoverContext = new TestExtensionContext();
+        withContextTakeover.onExtensionNegotiation(contextTakeoverContext,
+                                                   Collections.<Extension.Parameter>emptyList());
+        assertNull(withContextTakeover.getOutgoingFrameKey(contextTakeoverContext));
+
+        withoutContextTakeover.destroy(context);
+        withContextTakeover.destroy(contextTakeoverContext);
+    }
+
+    @Test
+    public void testDefaultCompressionLevel() {
+        final PerMessageDeflateExtension extension = new PerMessageDeflateExtension();
+        final ExtendedExtension.ExtensionContext context = new TestExtensionContext();
+        extension.onExtensionNegotiation(context, Collections.<Extension.Parameter>emptyList());
+
+        final byte[] message = "Always pass on what you have learned. Always pass on what you have learned."
+                .getBytes(Charset.forName("UTF-8"));
+        final Frame compressed = extension.processOutgoing(context, binaryFrame((byte) 0x02, true, message));
+
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(message);
+        final byte[] expected = new byte[2 * message.length];
+        final int length = deflater.deflate(expected, 0, expected.length, Deflater.SYNC_FLUSH);
+        deflater.end();
+
+        assertArrayEquals(Arrays.copyOf(expected, length - 4), compressed.getPayloadData());
+
+        extension.destroy(context);
+    }
+
+    @Test
+    public void testRoundTripWithoutContextTakeover() {
+        final PerMessageDeflateExtension sender =
+                new PerMessageDeflateExtension(Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY, false);
+        final PerMessageDeflateExtension receiver = new PerMessageDeflateExtension();
+        final ExtendedExtension.ExtensionContext senderContext = new TestExtensionContext();
+        final ExtendedExtension.ExtensionContext receiverContext = new TestExtensionContext();
+
+        sender.onHandshakeResponse(senderContext, Collections.<Extension.Parameter>emptyList());
+        receiver.onExtensionNegotiation(receiverContext, Collections.<Extension.Parameter>emptyList());
+        // only the inflater is kept for the session.
+        assertFalse(hasProperty(senderContext, Deflater.class));
+        assertTrue(hasProperty(senderContext, Inflater.class));
+
+        final byte[] message = "Always pass on what you have learned. Always pass on what you have learned."
+                .getBytes(Charset.forName("UTF-8"));
+
+        for (int i = 0; i < 3; i++) {
+            final Frame compressed = sender.processOutgoing(senderContext, binaryFrame((byte) 0x02, true, message));
+            assertTrue(compressed.isRsv1());
+            assertTrue(compressed.getPayloadLength() < message.length);
+            assertFalse(hasProperty(senderContext, Deflater.class));
+
+            final Frame decompressed = receiver.processIncoming(receiverContext, compressed);
+            assertFalse(decompressed.isRsv1());
+            assertArrayEquals(message, decompressed.getPayloadData());
+        }
+
+        // fragmented message keeps the borrowed deflater until the last frame.
+        final Frame first = sender.processOutgoing(senderContext, binaryFrame((byte) 0x02, false, message));
+        assertTrue(hasProperty(senderContext, Deflater.class));
+        final Frame last = sender.processOutgoing(senderContext, binaryFrame((byte) 0x00, true, message));
+        assertFalse(hasProperty(senderContext, Deflater.class));
+
+        assertArrayEquals(message, receiver.processIncoming(receiverContext, first).getPayloadData());
+        assertArrayEquals(message, receiver.processIncoming(receiverContext, last).getPayloadData());
+
+        sender.destroy(senderContext);
+        receiver.destroy(receiverContext);
+    }
+
+    @Test
+    public void testNegotiationWithoutContextTakeover() {
+        final PerMessageDeflateExtension server =
+                new PerMessageDeflateExtension(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY, false, false);
+        final PerMessageDeflateExtension client = new PerMessageDeflateExtension();
+        final ExtendedExtension.ExtensionContext serverContext = new TestExtensionContext();
+        final ExtendedExtension.ExtensionContext clientContext = new TestExtensionContext();
+
+        final List<Extension.Parameter> response = server.onExtensionNegotiation(
+                serverContext, Arrays.<Extension.Parameter>asList(parameter("client_max_window_bits", null)));
+        assertEquals(Arrays.asList("server_no_context_takeover=null", "client_no_context_takeover=null"),
+                     toStrings(response));
+
+        client.onHandshakeResponse(clientContext, response);
+
+        final byte[] message = "Always pass on what you have learned.".getBytes(Charset.forName("UTF-8"));
+        for (int i = 0; i < 3; i++) {
+            final Frame fromClient = client.processOutgoing(clientContext, binaryFrame((byte) 0x02, true, message));
+            assertArrayEquals(message, server.processIncoming(serverContext, fromClient).getPayloadData());
+
+            final Frame fromServer = server.processOutgoing(serverContext, binaryFrame((byte) 0x02, true, message));
+            assertArrayEquals(message, client.processIncoming(clientContext, fromServer).getPayloadData());
+
+            // server does not keep any compression state between messages.
+            assertFalse(hasProperty(serverContext, Deflater.class));
+            assertFalse(hasProperty(serverContext, Inflater.class));
+        }
+
+        server.destroy(serverContext);
+        client.destroy(clientContext);
+    }
+
+    @Test
+    public void testNegotiationWindowBits() {
+        final PerMessageDeflateExtension server = new PerMessageDeflateExtension();
+
+        assertDeclined(server, parameter("server_max_window_bits", "10"));
+        assertDeclined(server, parameter("client_max_window_bits", "16"));
+
+        final ExtendedExtension.ExtensionContext context = new TestExtensionContext();
+        final List<Extension.Parameter> response = server.onExtensionNegotiation(
+                context, Arrays.<Extension.Parameter>asList(parameter("server_max_window_bits", "15"),
+                                                            parameter("client_max_window_bits", "10")));
+        assertEquals(Arrays.asList("server_max_window_bits=15"), toStrings(response));
+        server.destroy(context);
+    }
+
+    @Test
+    public void testNegotiationDeclinesInvalidOffer() {
+        final PerMessageDeflateExtension server = new PerMessageDeflateExtension();
+
+        assertDeclined(server, parameter("unknown", null));
+        assertDeclined(server, parameter("server_no_context_takeover", null),
+                       parameter("server_no_context_takeover", null));
+        assertDeclined(server, parameter("client_no_context_takeover", "true"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClientRejectsClientWindowBits() {
+        new PerMessageDeflateExtension().onHandshakeResponse(
+                new TestExtensionContext(),
+                Arrays.<Extension.Parameter>asList(parameter("client_max_window_bits", "10")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCompressionLevel() {
+        new PerMessageDeflateExtension(10, Deflater.DEFAULT_STRATEGY, true);
+    }
+
+    private static void assertDeclined(PerMessageDeflateExtension extension, Extension.Parameter... offer) {
+        try {
+            extension.onExtensionNegotiation(new TestExtensionContext(), Arrays.asList(offer));
+            fail();
+        } catch (ExtensionDeclinedException e) {
+            // expected
+        }
+    }
+
+    private static Extension.Parameter parameter(String name, String value) {
+        return new TyrusExtension.TyrusParameter(name, value);
+    }
+
+    private static boolean hasProperty(ExtendedExtension.ExtensionContext context, Class<?> type) {
+        for (Object value : context.getProperties().values()) {
+            if (type.isInstance(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> toStrings(List<Extension.Parameter> parameters) {
+        final List<String> result = new ArrayList<String>();
+        for (Extension.Parameter parameter : parameters) {
+            result.add(parameter.getName() + "=" + parameter.getValue());
+        }
+        return result;
+    }
+
+    private static Frame binaryFrame(byte opcode, boolean fin, byte[] payload) {
+        return Frame.builder().opcode(opcode).fin(fin).payloadData(payload).build();
+    }
+
+    private static class TestExtensionContext implements ExtendedExtension.ExtensionContext {
+
+        private final Map<String, Object> properties = new HashMap<String, Object>();
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return properties;
+        }
+    }
+
     public static class LoggingClientEndpointConfigurator extends ClientEndpointConfig.Configurator {
         @Override
         public void beforeRequest(Map<String, List<String>> headers) {
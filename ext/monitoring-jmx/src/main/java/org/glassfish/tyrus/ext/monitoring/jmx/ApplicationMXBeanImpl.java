@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,6 +34,7 @@ class ApplicationMXBeanImpl extends BaseMXBeanImpl implements ApplicationMXBean,
             new ConcurrentHashMap<String, EndpointMXBean>();
     private final Callable<Integer> openSessionsCount;
     private final Callable<Integer> maxOpenSessionsCount;
+    private final DistributionStatistics distributionStatistics;
 
     public ApplicationMXBeanImpl(MessageStatisticsSource sentMessageStatistics,
                                  MessageStatisticsSource receivedMessageStatistics,
@@ -42,13 +43,15 @@ class ApplicationMXBeanImpl extends BaseMXBeanImpl implements ApplicationMXBean,
                                  Callable<Integer> maxOpenSessionsCount, Callable<List<ErrorCount>> errorCounts,
                                  MessageStatisticsMXBean textMessageStatisticsMXBean,
                                  MessageStatisticsMXBean binaryMessageStatisticsMXBean,
-                                 MessageStatisticsMXBean controlMessageStatisticsMXBean) {
+                                 MessageStatisticsMXBean controlMessageStatisticsMXBean,
+                                 DistributionStatistics distributionStatistics) {
         super(sentMessageStatistics, receivedMessageStatistics, errorCounts, textMessageStatisticsMXBean,
               binaryMessageStatisticsMXBean, controlMessageStatisticsMXBean);
         this.endpoints = endpoints;
         this.endpointPaths = endpointPaths;
         this.openSessionsCount = openSessionsCount;
         this.maxOpenSessionsCount = maxOpenSessionsCount;
+        this.distributionStatistics = distributionStatistics;
     }
 
     @Override
@@ -76,6 +79,31 @@ class ApplicationMXBeanImpl extends BaseMXBeanImpl implements ApplicationMXBean,
         return maxOpenSessionsCount.call();
     }
 
+    @Override
+    public Percentiles getSentMessageSizePercentiles() {
+        return distributionStatistics.getSentMessageSizePercentiles();
+    }
+
+    @Override
+    public Percentiles getReceivedMessageSizePercentiles() {
+        return distributionStatistics.getReceivedMessageSizePercentiles();
+    }
+
+    @Override
+    public Percentiles getMessageHandlingTimePercentiles() {
+        return distributionStatistics.getMessageHandlingTimePercentiles();
+    }
+
+    @Override
+    public Percentiles getSendCompletionTimePercentiles() {
+        return distributionStatistics.getSendCompletionTimePercentiles();
+    }
+
+    @Override
+    public Percentiles getHandshakeDurationPercentiles() {
+        return distributionStatistics.getHandshakeDurationPercentiles();
+    }
+
     void putEndpointMXBean(String endpointPath, EndpointMXBean endpointMXBean) {
         endpointMXBeans.put(endpointPath, endpointMXBean);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -36,7 +36,9 @@ import org.glassfish.tyrus.core.monitoring.EndpointEventListener;
  * Allows defining the level monitoring will be conducted on by setting parameter in constructor that determines
  * if message statistics should be collected on session level or not. In the former case statistics will be collected
  * and exposed in MXBeans per session, endpoint and application. In the latter case statistics will be collected
- * and exposed in MXBeans only per endpoint and application, which is the default setting.
+ * and exposed in MXBeans only per endpoint and application, which is the default setting. Session level statistics
+ * can also be collected only for a sample of sessions, see
+ * {@link org.glassfish.tyrus.ext.monitoring.jmx.SampledSessionApplicationMonitor}.
  *
  * @author Petr Janouch
  * @see ApplicationEventListener
@@ -47,6 +49,8 @@ class ApplicationMonitor extends BaseMonitor implements ApplicationEventListener
     private final AtomicInteger openSessionsCount = new AtomicInteger(0);
     private final Object maxOpenSessionsCountLock = new Object();
     private final boolean monitorOnSessionLevel;
+    // fraction of sessions monitored on session level when not monitoring all of them
+    private final double sessionSamplingRate;
 
     private final ConcurrentMessageStatistics sentTextMessageStatistics = new ConcurrentMessageStatistics();
     private final ConcurrentMessageStatistics sentBinaryMessageStatistics = new ConcurrentMessageStatistics();
@@ -56,6 +60,8 @@ class ApplicationMonitor extends BaseMonitor implements ApplicationEventListener
     private final ConcurrentMessageStatistics receivedBinaryMessageStatistics = new ConcurrentMessageStatistics();
     private final ConcurrentMessageStatistics receivedControlMessageStatistics = new ConcurrentMessageStatistics();
 
+    private final DistributionStatistics distributionStatistics = new DistributionStatistics();
+
     private volatile int maxOpenSessionCount = 0;
     private volatile String applicationName;
     private volatile ApplicationMXBeanImpl applicationMXBean;
@@ -70,6 +76,19 @@ class ApplicationMonitor extends BaseMonitor implements ApplicationEventListener
      */
     ApplicationMonitor(boolean monitorOnSessionLevel) {
         this.monitorOnSessionLevel = monitorOnSessionLevel;
+        this.sessionSamplingRate = 0;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sessionSamplingRate fraction of sessions for which statistics will be collected and exposed in MXBeans
+     *                            on session level, between 0 and 1. Statistics of all sessions are collected and
+     *                            exposed per endpoint and application.
+     */
+    ApplicationMonitor(double sessionSamplingRate) {
+        this.monitorOnSessionLevel = false;
+        this.sessionSamplingRate = sessionSamplingRate;
     }
 
     @Override
@@ -93,7 +112,7 @@ class ApplicationMonitor extends BaseMonitor implements ApplicationEventListener
                 new ApplicationMXBeanImpl(sentTotalStatistics, receivedTotalStatistics, getEndpoints(),
                                           getEndpointPaths(), getOpenSessionsCount(), getMaxOpenSessionsCount(),
                                           getErrorCounts(), textMessagesMXBean, binaryMessagesMXBean,
-                                          controlMessagesMXBean);
+                                          controlMessagesMXBean, distributionStatistics);
 
         MBeanPublisher.registerApplicationMXBeans(applicationName, applicationMXBean, textMessagesMXBean,
                                                   binaryMessagesMXBean, controlMessagesMXBean);
@@ -110,6 +129,9 @@ class ApplicationMonitor extends BaseMonitor implements ApplicationEventListener
         if (monitorOnSessionLevel) {
             endpointJmx = new SessionAwareEndpointMonitor(this, applicationMXBean, applicationName, endpointPath,
                                                           endpointClass.getName());
+        } else if (sessionSamplingRate > 0) {
+            endpointJmx = new SampledSessionEndpointMonitor(this, applicationMXBean, applicationName, endpointPath,
+                                                            endpointClass.getName(), sessionSamplingRate);
         } else {
             endpointJmx = new SessionlessEndpointMonitor(this, applicationMXBean, applicationName, endpointPath,
                                                          endpointClass.getName());
@@ -204,30 +226,50 @@ class ApplicationMonitor extends BaseMonitor implements ApplicationEventListener
     @Override
     public void onTextMessageSent(long length) {
         sentTextMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageSent(length);
     }
 
     @Override
     public void onBinaryMessageSent(long length) {
         sentBinaryMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageSent(length);
     }
 
     @Override
     public void onControlMessageSent(long length) {
         sentControlMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageSent(length);
     }
 
     @Override
     public void onTextMessageReceived(long length) {
         receivedTextMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageReceived(length);
     }
 
     @Override
     public void onBinaryMessageReceived(long length) {
         receivedBinaryMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageReceived(length);
     }
 
     @Override
     public void onControlMessageReceived(long length) {
         receivedControlMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageReceived(length);
+    }
+
+    @Override
+    public void onFrameHandled(long durationNanos) {
+        distributionStatistics.onFrameHandled(durationNanos);
+    }
+
+    @Override
+    public void onFrameSendCompleted(long durationNanos) {
+        distributionStatistics.onFrameSendCompleted(durationNanos);
+    }
+
+    void onHandshakeCompleted(long durationNanos) {
+        distributionStatistics.onHandshakeCompleted(durationNanos);
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values with bounded relative error, in the manner of HdrHistogram.
+ * <p>
+ * Values are counted in log-linear buckets: values smaller than {@code 2 * SUB_BUCKET_COUNT} have a bucket each,
+ * bigger values share a bucket with values which differ only in bits below the {@code SUB_BUCKET_BITS + 1} most
+ * significant ones, so the relative error of a reported value is less than {@code 1 / SUB_BUCKET_COUNT}. Recording
+ * a value is a single atomic increment of a bucket counter plus an update of the maximum, it neither locks nor
+ * allocates. Values bigger than {@link #MAX_VALUE} are recorded as {@link #MAX_VALUE}.
+ *
+ * @see Percentiles
+ */
+class ConcurrentHistogram implements Serializable {
+
+    private static final long serialVersionUID = -3424393102516311591L;
+
+    /**
+     * The biggest value the histogram distinguishes.
+     */
+    static final long MAX_VALUE = (1L << 40) - 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Record a value.
+     *
+     * @param value recorded value, negative values are ignored.
+     */
+    void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+
+        counts.incrementAndGet(bucketIndex(value));
+
+        long currentMax;
+        while (value > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Get percentiles of the values recorded so far.
+     * <p>
+     * The buckets are read one by one without stopping the recording threads, so values recorded concurrently may or
+     * may not be included.
+     *
+     * @return percentiles of the recorded values.
+     */
+    Percentiles getPercentiles() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+
+        final long maxValue = max.get();
+        return new Percentiles(count, valueAt(snapshot, count, 0.5, maxValue), valueAt(snapshot, count, 0.99, maxValue),
+                               valueAt(snapshot, count, 0.999, maxValue), maxValue);
+    }
+
+    private static long valueAt(long[] snapshot, long count, double percentile, long maxValue) {
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Index of the bucket counting a value.
+     * <p>
+     * The bucket of a value is given by the position of its highest bit ({@code shift}) and the following
+     * {@code SUB_BUCKET_BITS} bits. Values with no bits above the {@code SUB_BUCKET_BITS + 1} lowest ones are indexes
+     * themselves.
+     */
+    static int bucketIndex(long value) {
+        final int shift = Math.max(0, (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * The biggest value counted by a bucket.
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        final long subBucket = index - (shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,6 +17,7 @@
 package org.glassfish.tyrus.ext.monitoring.jmx;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
@@ -31,27 +32,22 @@ class ConcurrentMessageStatistics implements MessageStatisticsSource, Serializab
 
     private final LongAdder messagesCount = new LongAdder();
     private final LongAdder messagesSize = new LongAdder();
-    private final Object minimalMessageSizeLock = new Object();
-    private final Object maximalMessageSizeLock = new Object();
-
-    private volatile long minimalMessageSize = Long.MAX_VALUE;
-    private volatile long maximalMessageSize = 0;
+    private final AtomicLong minimalMessageSize = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maximalMessageSize = new AtomicLong(0);
 
     void onMessage(long size) {
         messagesCount.increment();
         messagesSize.add(size);
-        if (minimalMessageSize > size) {
-            synchronized (minimalMessageSizeLock) {
-                if (minimalMessageSize > size) {
-                    minimalMessageSize = size;
-                }
+
+        long current;
+        while (size < (current = minimalMessageSize.get())) {
+            if (minimalMessageSize.compareAndSet(current, size)) {
+                break;
             }
         }
-        if (maximalMessageSize < size) {
-            synchronized (maximalMessageSizeLock) {
-                if (maximalMessageSize < size) {
-                    maximalMessageSize = size;
-                }
+        while (size > (current = maximalMessageSize.get())) {
+            if (maximalMessageSize.compareAndSet(current, size)) {
+                break;
             }
         }
     }
@@ -68,14 +64,15 @@ class ConcurrentMessageStatistics implements MessageStatisticsSource, Serializab
 
     @Override
     public long getMinMessageSize() {
-        if (minimalMessageSize == Long.MAX_VALUE) {
+        final long minimal = minimalMessageSize.get();
+        if (minimal == Long.MAX_VALUE) {
             return 0;
         }
-        return minimalMessageSize;
+        return minimal;
     }
 
     @Override
     public long getMaxMessageSize() {
-        return maximalMessageSize;
+        return maximalMessageSize.get();
     }
 }
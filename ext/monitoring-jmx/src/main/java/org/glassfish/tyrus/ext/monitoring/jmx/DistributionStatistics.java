@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograms of message sizes, message handling times, send completion times and handshake durations of an endpoint or
+ * an application.
+ *
+ * @see ConcurrentHistogram
+ */
+class DistributionStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1590426405633934622L;
+
+    private final ConcurrentHistogram sentMessageSizes = new ConcurrentHistogram();
+    private final ConcurrentHistogram receivedMessageSizes = new ConcurrentHistogram();
+    private final ConcurrentHistogram handlingTimes = new ConcurrentHistogram();
+    private final ConcurrentHistogram sendCompletionTimes = new ConcurrentHistogram();
+    private final ConcurrentHistogram handshakeDurations = new ConcurrentHistogram();
+
+    void onMessageSent(long length) {
+        sentMessageSizes.record(length);
+    }
+
+    void onMessageReceived(long length) {
+        receivedMessageSizes.record(length);
+    }
+
+    void onFrameHandled(long durationNanos) {
+        handlingTimes.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    void onFrameSendCompleted(long durationNanos) {
+        sendCompletionTimes.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    void onHandshakeCompleted(long durationNanos) {
+        handshakeDurations.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    Percentiles getSentMessageSizePercentiles() {
+        return sentMessageSizes.getPercentiles();
+    }
+
+    Percentiles getReceivedMessageSizePercentiles() {
+        return receivedMessageSizes.getPercentiles();
+    }
+
+    Percentiles getMessageHandlingTimePercentiles() {
+        return handlingTimes.getPercentiles();
+    }
+
+    Percentiles getSendCompletionTimePercentiles() {
+        return sendCompletionTimes.getPercentiles();
+    }
+
+    Percentiles getHandshakeDurationPercentiles() {
+        return handshakeDurations.getPercentiles();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -65,4 +65,42 @@ public interface EndpointMXBean extends BaseMXBean {
      * @return list of MXBeans representing currently open sessions.
      */
     public List<SessionMXBean> getSessionMXBeans();
+
+    /**
+     * Get percentiles of sizes of messages sent by the endpoint since the start of monitoring, in bytes.
+     *
+     * @return percentiles of sizes of sent messages.
+     */
+    public Percentiles getSentMessageSizePercentiles();
+
+    /**
+     * Get percentiles of sizes of messages received by the endpoint since the start of monitoring, in bytes.
+     *
+     * @return percentiles of sizes of received messages.
+     */
+    public Percentiles getReceivedMessageSizePercentiles();
+
+    /**
+     * Get percentiles of time spent in message handlers of the endpoint since the start of monitoring, in
+     * microseconds.
+     *
+     * @return percentiles of message handling times.
+     */
+    public Percentiles getMessageHandlingTimePercentiles();
+
+    /**
+     * Get percentiles of time from enqueuing a message for sending to the completion of the write, for messages sent
+     * by the endpoint since the start of monitoring, in microseconds.
+     *
+     * @return percentiles of send completion times.
+     */
+    public Percentiles getSendCompletionTimePercentiles();
+
+    /**
+     * Get percentiles of durations of successful handshakes to the endpoint since the start of monitoring, in
+     * microseconds.
+     *
+     * @return percentiles of handshake durations.
+     */
+    public Percentiles getHandshakeDurationPercentiles();
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,19 +34,21 @@ class EndpointMXBeanImpl extends BaseMXBeanImpl implements EndpointMXBean, Seria
     private final Callable<Integer> openSessionsCount;
     private final Callable<Integer> maxOpenSessionsCount;
     private final Map<String, SessionMXBean> sessionMXBeans = new ConcurrentHashMap<String, SessionMXBean>();
+    private final DistributionStatistics distributionStatistics;
 
     public EndpointMXBeanImpl(
             MessageStatisticsSource sentMessageStatistics, MessageStatisticsSource receivedMessageStatistics,
             String endpointPath, String endpointClassName, Callable<Integer> openSessionsCount,
             Callable<Integer> maxOpenSessionsCount, Callable<List<ErrorCount>> errorCounts,
             MessageStatisticsMXBean textMessageStatisticsMXBean, MessageStatisticsMXBean binaryMessageStatisticsMXBean,
-            MessageStatisticsMXBean controlMessageStatisticsMXBean) {
+            MessageStatisticsMXBean controlMessageStatisticsMXBean, DistributionStatistics distributionStatistics) {
         super(sentMessageStatistics, receivedMessageStatistics, errorCounts, textMessageStatisticsMXBean,
               binaryMessageStatisticsMXBean, controlMessageStatisticsMXBean);
         this.endpointPath = endpointPath;
         this.endpointClassName = endpointClassName;
         this.openSessionsCount = openSessionsCount;
         this.maxOpenSessionsCount = maxOpenSessionsCount;
+        this.distributionStatistics = distributionStatistics;
     }
 
     @Override
@@ -74,6 +76,31 @@ class EndpointMXBeanImpl extends BaseMXBeanImpl implements EndpointMXBean, Seria
         return new ArrayList<SessionMXBean>(sessionMXBeans.values());
     }
 
+    @Override
+    public Percentiles getSentMessageSizePercentiles() {
+        return distributionStatistics.getSentMessageSizePercentiles();
+    }
+
+    @Override
+    public Percentiles getReceivedMessageSizePercentiles() {
+        return distributionStatistics.getReceivedMessageSizePercentiles();
+    }
+
+    @Override
+    public Percentiles getMessageHandlingTimePercentiles() {
+        return distributionStatistics.getMessageHandlingTimePercentiles();
+    }
+
+    @Override
+    public Percentiles getSendCompletionTimePercentiles() {
+        return distributionStatistics.getSendCompletionTimePercentiles();
+    }
+
+    @Override
+    public Percentiles getHandshakeDurationPercentiles() {
+        return distributionStatistics.getHandshakeDurationPercentiles();
+    }
+
     void putSessionMXBean(String sessionId, SessionMXBean sessionMXBean) {
         sessionMXBeans.put(sessionId, sessionMXBean);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,7 +16,10 @@
 
 package org.glassfish.tyrus.ext.monitoring.jmx;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.glassfish.tyrus.core.monitoring.EndpointEventListener;
+import org.glassfish.tyrus.core.monitoring.HandshakeLatencyListener;
 
 /**
  * Listens to endpoint events and collects endpoint-level statistics.
@@ -27,11 +30,11 @@ import org.glassfish.tyrus.core.monitoring.EndpointEventListener;
  * @author Petr Janouch
  * @see EndpointEventListener
  */
-abstract class EndpointMonitor extends BaseMonitor implements EndpointEventListener, MessageListener {
+abstract class EndpointMonitor extends BaseMonitor
+        implements EndpointEventListener, HandshakeLatencyListener, MessageListener {
 
     final EndpointClassNamePathPair endpointClassNamePathPair;
     final String applicationName;
-    final Object maxOpenSessionsCountLock = new Object();
     final ApplicationMonitor applicationMonitor;
     final EndpointMXBeanImpl endpointMXBean;
 
@@ -45,7 +48,10 @@ abstract class EndpointMonitor extends BaseMonitor implements EndpointEventListe
     private final ConcurrentMessageStatistics receivedBinaryMessageStatistics = new ConcurrentMessageStatistics();
     private final ConcurrentMessageStatistics receivedControlMessageStatistics = new ConcurrentMessageStatistics();
 
-    protected volatile int maxOpenSessionsCount = 0;
+    private final DistributionStatistics distributionStatistics = new DistributionStatistics();
+
+    private final AtomicInteger openSessionsCount = new AtomicInteger();
+    private final AtomicInteger maxOpenSessionsCount = new AtomicInteger();
 
     EndpointMonitor(ApplicationMonitor applicationMonitor, ApplicationMXBeanImpl applicationMXBean,
                     String applicationName, String endpointPath, String endpointClassName) {
@@ -70,7 +76,8 @@ abstract class EndpointMonitor extends BaseMonitor implements EndpointEventListe
         endpointMXBean =
                 new EndpointMXBeanImpl(sentTotalStatistics, receivedTotalStatistics, endpointPath, endpointClassName,
                                        getOpenSessionsCount(), getMaxOpenSessionsCount(), getErrorCounts(),
-                                       textMessagesMXBean, binaryMessagesMXBean, controlMessagesMXBean);
+                                       textMessagesMXBean, binaryMessagesMXBean, controlMessagesMXBean,
+                                       distributionStatistics);
 
         MBeanPublisher.registerEndpointMXBeans(applicationName, endpointPath, endpointMXBean, textMessagesMXBean,
                                                binaryMessagesMXBean, controlMessagesMXBean);
@@ -87,12 +94,38 @@ abstract class EndpointMonitor extends BaseMonitor implements EndpointEventListe
         return endpointClassNamePathPair;
     }
 
+    /**
+     * Count a newly opened session and update the maximal number of open sessions.
+     */
+    void onSessionCountIncremented() {
+        final int count = openSessionsCount.incrementAndGet();
+
+        int max = maxOpenSessionsCount.get();
+        while (count > max && !maxOpenSessionsCount.compareAndSet(max, count)) {
+            max = maxOpenSessionsCount.get();
+        }
+    }
+
+    /**
+     * Count a closed session.
+     */
+    void onSessionCountDecremented() {
+        openSessionsCount.decrementAndGet();
+    }
+
     /**
      * Get a {@link Callable} that will provide current number of open sessions for this endpoint.
      *
      * @return {@link Callable} returning number of currently open sessions.
      */
-    protected abstract Callable<Integer> getOpenSessionsCount();
+    private Callable<Integer> getOpenSessionsCount() {
+        return new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return openSessionsCount.get();
+            }
+        };
+    }
 
     /**
      * Get a {@link Callable} that will provide maximal number of open sessions for this endpoint since the start of
@@ -104,7 +137,7 @@ abstract class EndpointMonitor extends BaseMonitor implements EndpointEventListe
         return new Callable<Integer>() {
             @Override
             public Integer call() {
-                return maxOpenSessionsCount;
+                return maxOpenSessionsCount.get();
             }
         };
     }
@@ -112,36 +145,60 @@ abstract class EndpointMonitor extends BaseMonitor implements EndpointEventListe
     @Override
     public void onTextMessageSent(long length) {
         sentTextMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageSent(length);
         applicationMonitor.onTextMessageSent(length);
     }
 
     @Override
     public void onBinaryMessageSent(long length) {
         sentBinaryMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageSent(length);
         applicationMonitor.onBinaryMessageSent(length);
     }
 
     @Override
     public void onControlMessageSent(long length) {
         sentControlMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageSent(length);
         applicationMonitor.onControlMessageSent(length);
     }
 
     @Override
     public void onTextMessageReceived(long length) {
         receivedTextMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageReceived(length);
         applicationMonitor.onTextMessageReceived(length);
     }
 
     @Override
     public void onBinaryMessageReceived(long length) {
         receivedBinaryMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageReceived(length);
         applicationMonitor.onBinaryMessageReceived(length);
     }
 
     @Override
     public void onControlMessageReceived(long length) {
         receivedControlMessageStatistics.onMessage(length);
+        distributionStatistics.onMessageReceived(length);
         applicationMonitor.onControlMessageReceived(length);
     }
+
+    @Override
+    public void onFrameHandled(long durationNanos) {
+        distributionStatistics.onFrameHandled(durationNanos);
+        applicationMonitor.onFrameHandled(durationNanos);
+    }
+
+    @Override
+    public void onFrameSendCompleted(long durationNanos) {
+        distributionStatistics.onFrameSendCompleted(durationNanos);
+        applicationMonitor.onFrameSendCompleted(durationNanos);
+    }
+
+    @Override
+    public void onHandshakeCompleted(long durationNanos) {
+        distributionStatistics.onHandshakeCompleted(durationNanos);
+        applicationMonitor.onHandshakeCompleted(durationNanos);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,13 +18,14 @@ package org.glassfish.tyrus.ext.monitoring.jmx;
 
 import org.glassfish.tyrus.core.frame.TyrusFrame;
 import org.glassfish.tyrus.core.monitoring.MessageEventListener;
+import org.glassfish.tyrus.core.monitoring.MessageLatencyListener;
 
 /**
- * Determines the type of a received or sent frame.
+ * Determines the type of a received or sent frame and passes durations of message processing.
  *
  * @author Petr Janouch
  */
-class MessageEventListenerImpl implements MessageEventListener {
+class MessageEventListenerImpl implements MessageEventListener, MessageLatencyListener {
 
     private final MessageListener messageListener;
 
@@ -57,4 +58,14 @@ class MessageEventListenerImpl implements MessageEventListener {
             messageListener.onControlMessageReceived(payloadLength);
         }
     }
+
+    @Override
+    public void onFrameHandled(long durationNanos) {
+        messageListener.onFrameHandled(durationNanos);
+    }
+
+    @Override
+    public void onFrameSendCompleted(long durationNanos) {
+        messageListener.onFrameSendCompleted(durationNanos);
+    }
 }
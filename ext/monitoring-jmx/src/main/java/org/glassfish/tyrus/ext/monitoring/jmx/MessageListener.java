@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -35,4 +35,8 @@ interface MessageListener {
     void onBinaryMessageReceived(long length);
 
     void onControlMessageReceived(long length);
+
+    void onFrameHandled(long durationNanos);
+
+    void onFrameSendCompleted(long durationNanos);
 }
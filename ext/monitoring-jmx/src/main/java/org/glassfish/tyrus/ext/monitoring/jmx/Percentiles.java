@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+
+import org.glassfish.tyrus.core.Beta;
+
+/**
+ * Percentiles of a monitored quantity - message size in bytes or duration in microseconds.
+ * <p>
+ * Reported percentiles are the highest values which are not distinguished from the actual percentile by the histogram
+ * the values are recorded in, which is less than 4% more than the actual value.
+ */
+@Beta
+public class Percentiles implements Serializable {
+
+    private static final long serialVersionUID = 2964553372434137014L;
+
+    private final long count;
+    private final long median;
+    private final long percentile99;
+    private final long percentile999;
+    private final long maximum;
+
+    @ConstructorProperties({"count", "median", "percentile99", "percentile999", "maximum"})
+    public Percentiles(long count, long median, long percentile99, long percentile999, long maximum) {
+        this.count = count;
+        this.median = median;
+        this.percentile99 = percentile99;
+        this.percentile999 = percentile999;
+        this.maximum = maximum;
+    }
+
+    /**
+     * The number of recorded values.
+     *
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The 50th percentile of the recorded values.
+     *
+     * @return the median of the recorded values.
+     */
+    public long getMedian() {
+        return median;
+    }
+
+    /**
+     * The 99th percentile of the recorded values.
+     *
+     * @return the 99th percentile of the recorded values.
+     */
+    public long getPercentile99() {
+        return percentile99;
+    }
+
+    /**
+     * The 99.9th percentile of the recorded values.
+     *
+     * @return the 99.9th percentile of the recorded values.
+     */
+    public long getPercentile999() {
+        return percentile999;
+    }
+
+    /**
+     * The biggest recorded value.
+     *
+     * @return the biggest recorded value.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    @Override
+    public String toString() {
+        return "count: " + count + ", p50: " + median + ", p99: " + percentile99 + ", p999: " + percentile999
+                + ", max: " + maximum;
+    }
+}
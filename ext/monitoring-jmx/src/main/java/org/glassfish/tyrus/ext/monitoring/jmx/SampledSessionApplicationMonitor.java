@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+/**
+ * Application events listener and statistics collector, which collects statistics on session level only for a sample of
+ * sessions.
+ * <p>
+ * Statistics of all sessions are aggregated on endpoint and application level, as with
+ * {@link org.glassfish.tyrus.ext.monitoring.jmx.SessionlessApplicationMonitor}. In addition, a randomly chosen fraction
+ * of sessions is monitored on session level, as with
+ * {@link org.glassfish.tyrus.ext.monitoring.jmx.SessionAwareApplicationMonitor}. Only the sampled sessions have their
+ * MXBeans registered, so the registration cost is bounded by the sampling rate. This allows monitoring applications
+ * with many sessions on session level.
+ * <p>
+ * For monitoring in Grizzly server an instance should be passed to the server in server properties.
+ * <pre>
+ *     serverProperties.put(ApplicationEventListener.APPLICATION_EVENT_LISTENER,
+ *                          new SampledSessionApplicationMonitor(0.05));
+ * </pre>
+ * For use in servlet container the class name should be passed as a context parameter in web.xml, the sampling rate
+ * is then read from the {@value #SESSION_SAMPLING_RATE} system property.
+ * <pre>{@code
+ *     <context-param>
+ *         <param-name>org.glassfish.tyrus.core.monitoring.ApplicationEventListener</param-name>
+ *         <param-value>org.glassfish.tyrus.ext.monitoring.jmx.SampledSessionApplicationMonitor</param-value>
+ *     </context-param>}</pre>
+ *
+ * @see org.glassfish.tyrus.core.monitoring.ApplicationEventListener
+ */
+public final class SampledSessionApplicationMonitor extends ApplicationMonitor {
+
+    /**
+     * System property defining the fraction of sessions monitored on session level by a monitor created by
+     * {@link #SampledSessionApplicationMonitor()}.
+     * <p>
+     * The value must be a number between 0 and 1, the default value is {@value #DEFAULT_SESSION_SAMPLING_RATE}.
+     */
+    public static final String SESSION_SAMPLING_RATE = "org.glassfish.tyrus.ext.monitoring.jmx.sessionSamplingRate";
+
+    /**
+     * Default fraction of sessions monitored on session level.
+     */
+    public static final double DEFAULT_SESSION_SAMPLING_RATE = 0.01;
+
+    /**
+     * Constructor, the sampling rate is read from the {@value #SESSION_SAMPLING_RATE} system property.
+     */
+    public SampledSessionApplicationMonitor() {
+        this(getSessionSamplingRate());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sessionSamplingRate fraction of sessions monitored on session level, between 0 and 1.
+     * @throws IllegalArgumentException if the sampling rate is not between 0 and 1.
+     */
+    public SampledSessionApplicationMonitor(double sessionSamplingRate) {
+        super(checkSessionSamplingRate(sessionSamplingRate));
+    }
+
+    private static double getSessionSamplingRate() {
+        final String value = System.getProperty(SESSION_SAMPLING_RATE);
+        if (value == null) {
+            return DEFAULT_SESSION_SAMPLING_RATE;
+        }
+
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(SESSION_SAMPLING_RATE + ": " + value, e);
+        }
+    }
+
+    private static double checkSessionSamplingRate(double sessionSamplingRate) {
+        if (!(sessionSamplingRate >= 0 && sessionSamplingRate <= 1)) {
+            throw new IllegalArgumentException(SESSION_SAMPLING_RATE + ": " + sessionSamplingRate);
+        }
+        return sessionSamplingRate;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.glassfish.tyrus.core.monitoring.MessageEventListener;
+
+/**
+ * This {@link org.glassfish.tyrus.ext.monitoring.jmx.EndpointMonitor} implementation creates and holds
+ * {@link org.glassfish.tyrus.ext.monitoring.jmx.SessionMonitor} only for a randomly chosen fraction of opened sessions.
+ * <p>
+ * Messages of other sessions are counted only in endpoint and application statistics, as with
+ * {@link org.glassfish.tyrus.ext.monitoring.jmx.SessionlessEndpointMonitor}. MXBeans of the sampled sessions are
+ * registered when the sessions are opened, as with
+ * {@link org.glassfish.tyrus.ext.monitoring.jmx.SessionAwareEndpointMonitor}.
+ */
+class SampledSessionEndpointMonitor extends EndpointMonitor {
+
+    private final double sessionSamplingRate;
+    private final Map<String, SessionMonitor> sampledSessions = new ConcurrentHashMap<String, SessionMonitor>();
+
+    /**
+     * Constructor.
+     *
+     * @param applicationJmx      monitor of the application.
+     * @param applicationMXBean   MXBean of the application.
+     * @param applicationName     application name.
+     * @param endpointPath        endpoint path.
+     * @param endpointClassName   endpoint class name.
+     * @param sessionSamplingRate fraction of sessions monitored on session level, between 0 and 1.
+     */
+    SampledSessionEndpointMonitor(ApplicationMonitor applicationJmx, ApplicationMXBeanImpl applicationMXBean,
+                                  String applicationName, String endpointPath, String endpointClassName,
+                                  double sessionSamplingRate) {
+        super(applicationJmx, applicationMXBean, applicationName, endpointPath, endpointClassName);
+        this.sessionSamplingRate = sessionSamplingRate;
+    }
+
+    @Override
+    public MessageEventListener onSessionOpened(String sessionId) {
+        applicationMonitor.onSessionOpened();
+        onSessionCountIncremented();
+
+        if (ThreadLocalRandom.current().nextDouble() < sessionSamplingRate) {
+            final SessionMonitor sessionMonitor =
+                    new SessionMonitor(applicationName, endpointClassNamePathPair.getEndpointPath(), sessionId, this,
+                                       endpointMXBean);
+            sampledSessions.put(sessionId, sessionMonitor);
+            return new MessageEventListenerImpl(sessionMonitor);
+        }
+
+        return new MessageEventListenerImpl(this);
+    }
+
+    @Override
+    public void onSessionClosed(String sessionId) {
+        final SessionMonitor sessionMonitor = sampledSessions.remove(sessionId);
+        if (sessionMonitor != null) {
+            sessionMonitor.unregister();
+        }
+
+        applicationMonitor.onSessionClosed();
+        onSessionCountDecremented();
+    }
+
+    @Override
+    public void onError(String sessionId, Throwable t) {
+        final SessionMonitor sessionMonitor = sampledSessions.get(sessionId);
+        if (sessionMonitor != null) {
+            sessionMonitor.onError(t);
+        }
+
+        applicationMonitor.onError(t);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -42,14 +42,7 @@ class SessionAwareEndpointMonitor extends EndpointMonitor {
                 new SessionMonitor(applicationName, endpointClassNamePathPair.getEndpointPath(), sessionId, this,
                                    endpointMXBean);
         sessions.put(sessionId, sessionMonitor);
-
-        if (sessions.size() > maxOpenSessionsCount) {
-            synchronized (maxOpenSessionsCountLock) {
-                if (sessions.size() > maxOpenSessionsCount) {
-                    maxOpenSessionsCount = sessions.size();
-                }
-            }
-        }
+        onSessionCountIncremented();
 
         applicationMonitor.onSessionOpened();
 
@@ -60,19 +53,10 @@ class SessionAwareEndpointMonitor extends EndpointMonitor {
     public void onSessionClosed(String sessionId) {
         SessionMonitor session = sessions.remove(sessionId);
         session.unregister();
+        onSessionCountDecremented();
         applicationMonitor.onSessionClosed();
     }
 
-    @Override
-    protected Callable<Integer> getOpenSessionsCount() {
-        return new Callable<Integer>() {
-            @Override
-            public Integer call() {
-                return sessions.size();
-            }
-        };
-    }
-
     @Override
     public void onError(String sessionId, Throwable t) {
         SessionMonitor sessionMonitor = sessions.get(sessionId);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -114,6 +114,16 @@ class SessionMonitor extends BaseMonitor implements MessageListener {
         messageListener.onControlMessageReceived(length);
     }
 
+    @Override
+    public void onFrameHandled(long durationNanos) {
+        messageListener.onFrameHandled(durationNanos);
+    }
+
+    @Override
+    public void onFrameSendCompleted(long durationNanos) {
+        messageListener.onFrameSendCompleted(durationNanos);
+    }
+
     private static class MessageStatistics implements MessageStatisticsSource {
 
         /*
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2017 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,8 +16,6 @@
 
 package org.glassfish.tyrus.ext.monitoring.jmx;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 import org.glassfish.tyrus.core.monitoring.MessageEventListener;
 
 /**
@@ -29,35 +27,15 @@ import org.glassfish.tyrus.core.monitoring.MessageEventListener;
  */
 class SessionlessEndpointMonitor extends EndpointMonitor {
 
-    private final AtomicInteger openSessionsCount = new AtomicInteger();
-
     SessionlessEndpointMonitor(ApplicationMonitor applicationJmx, ApplicationMXBeanImpl applicationMXBean,
                                String applicationName, String endpointPath, String endpointClassName) {
         super(applicationJmx, applicationMXBean, applicationName, endpointPath, endpointClassName);
     }
 
-    @Override
-    protected Callable<Integer> getOpenSessionsCount() {
-        return new Callable<Integer>() {
-            @Override
-            public Integer call() {
-                return openSessionsCount.get();
-            }
-        };
-    }
-
     @Override
     public MessageEventListener onSessionOpened(String sessionId) {
         applicationMonitor.onSessionOpened();
-        openSessionsCount.incrementAndGet();
-
-        if (openSessionsCount.get() > maxOpenSessionsCount) {
-            synchronized (maxOpenSessionsCountLock) {
-                if (openSessionsCount.get() > maxOpenSessionsCount) {
-                    maxOpenSessionsCount = openSessionsCount.get();
-                }
-            }
-        }
+        onSessionCountIncremented();
 
         return new MessageEventListenerImpl(this);
     }
@@ -65,7 +43,7 @@ class SessionlessEndpointMonitor extends EndpointMonitor {
     @Override
     public void onSessionClosed(String sessionId) {
         applicationMonitor.onSessionClosed();
-        openSessionsCount.decrementAndGet();
+        onSessionCountDecremented();
     }
 
     @Override
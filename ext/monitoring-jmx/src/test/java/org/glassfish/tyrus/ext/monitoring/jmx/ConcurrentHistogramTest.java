@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link ConcurrentHistogram}.
+ */
+public class ConcurrentHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        final Percentiles percentiles = new ConcurrentHistogram().getPercentiles();
+
+        assertEquals(0, percentiles.getCount());
+        assertEquals(0, percentiles.getMedian());
+        assertEquals(0, percentiles.getPercentile999());
+        assertEquals(0, percentiles.getMaximum());
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+
+        final Percentiles percentiles = histogram.getPercentiles();
+        assertEquals(50, percentiles.getCount());
+        assertEquals(25, percentiles.getMedian());
+        assertEquals(50, percentiles.getPercentile99());
+        assertEquals(50, percentiles.getMaximum());
+    }
+
+    @Test
+    public void testRelativeError() {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+
+        final Percentiles percentiles = histogram.getPercentiles();
+        assertEquals(100000, percentiles.getCount());
+        assertWithin(50000, percentiles.getMedian());
+        assertWithin(99000, percentiles.getPercentile99());
+        assertWithin(99900, percentiles.getPercentile999());
+        assertEquals(100000, percentiles.getMaximum());
+    }
+
+    @Test
+    public void testOutlier() {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (int i = 0; i < 999; i++) {
+            histogram.record(10);
+        }
+        histogram.record(1000000);
+
+        final Percentiles percentiles = histogram.getPercentiles();
+        assertEquals(10, percentiles.getPercentile99());
+        assertEquals(10, percentiles.getPercentile999());
+        assertEquals(1000000, percentiles.getMaximum());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        long previous = -1;
+        for (int index = 0; index <= ConcurrentHistogram.bucketIndex(ConcurrentHistogram.MAX_VALUE); index++) {
+            final long highest = ConcurrentHistogram.highestEquivalentValue(index);
+            assertEquals(index, ConcurrentHistogram.bucketIndex(highest));
+            assertEquals(index, ConcurrentHistogram.bucketIndex(previous + 1));
+            previous = highest;
+        }
+        assertEquals(ConcurrentHistogram.MAX_VALUE, previous);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(expected + " expected, was " + actual, actual >= expected && actual <= expected * 1.04);
+    }
+}
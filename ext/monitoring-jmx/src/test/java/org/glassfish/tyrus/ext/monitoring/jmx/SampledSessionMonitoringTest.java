@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.monitoring.jmx;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.tyrus.core.frame.TyrusFrame;
+import org.glassfish.tyrus.core.monitoring.EndpointEventListener;
+import org.glassfish.tyrus.core.monitoring.MessageEventListener;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that {@link SampledSessionApplicationMonitor} collects statistics of all sessions and registers session MXBeans
+ * only for the sampled sessions.
+ */
+public class SampledSessionMonitoringTest {
+
+    private static final String APPLICATION_NAME = "sampledSessionMonitoringApplication";
+    private static final String ENDPOINT_PATH = "/sampledEndpoint";
+
+    @Test
+    public void testSampledSessionMXBeansAreRegistered() throws Exception {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName sessionNames =
+                new ObjectName("org.glassfish.tyrus:type=" + APPLICATION_NAME + ",endpoints=endpoints,endpoint="
+                                       + ENDPOINT_PATH + ",sessions=sessions,*");
+
+        final SampledSessionApplicationMonitor monitor = new SampledSessionApplicationMonitor(1);
+        monitor.onApplicationInitialized(APPLICATION_NAME);
+        try {
+            final EndpointEventListener endpointEventListener =
+                    monitor.onEndpointRegistered(ENDPOINT_PATH, Object.class);
+
+            for (int i = 0; i < 10; i++) {
+                final MessageEventListener messageEventListener = endpointEventListener.onSessionOpened("s" + i);
+                messageEventListener.onFrameReceived(TyrusFrame.FrameType.TEXT, 10);
+            }
+            // session MXBean and MXBeans of text, binary and control messages of each session
+            assertEquals(10 * 4, mBeanServer.queryNames(sessionNames, null).size());
+
+            final EndpointMXBean endpointMXBean = getEndpointMXBean();
+            assertEquals(10, endpointMXBean.getOpenSessionsCount());
+            assertEquals(10, endpointMXBean.getReceivedMessagesCount());
+            assertEquals(10, endpointMXBean.getSessionMXBeans().size());
+
+            for (int i = 0; i < 10; i++) {
+                endpointEventListener.onSessionClosed("s" + i);
+            }
+            assertEquals(0, mBeanServer.queryNames(sessionNames, null).size());
+            assertEquals(0, endpointMXBean.getSessionMXBeans().size());
+            assertEquals(0, endpointMXBean.getOpenSessionsCount());
+            assertEquals(10, endpointMXBean.getMaximalOpenSessionsCount());
+
+            monitor.onEndpointUnregistered(ENDPOINT_PATH);
+        } finally {
+            monitor.onApplicationDestroyed();
+        }
+    }
+
+    @Test
+    public void testSessionsAreSampled() throws Exception {
+        final SampledSessionApplicationMonitor monitor = new SampledSessionApplicationMonitor(0);
+        monitor.onApplicationInitialized(APPLICATION_NAME);
+        try {
+            final EndpointEventListener endpointEventListener =
+                    monitor.onEndpointRegistered(ENDPOINT_PATH, Object.class);
+            endpointEventListener.onSessionOpened("s");
+
+            final EndpointMXBean endpointMXBean = getEndpointMXBean();
+            assertEquals(1, endpointMXBean.getOpenSessionsCount());
+            assertEquals(0, endpointMXBean.getSessionMXBeans().size());
+
+            endpointEventListener.onSessionClosed("s");
+            monitor.onEndpointUnregistered(ENDPOINT_PATH);
+        } finally {
+            monitor.onApplicationDestroyed();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSamplingRate() {
+        new SampledSessionApplicationMonitor(1.5);
+    }
+
+    private static EndpointMXBean getEndpointMXBean() throws Exception {
+        return JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                                  new ObjectName("org.glassfish.tyrus:type=" + APPLICATION_NAME
+                                                         + ",endpoints=endpoints,endpoint=" + ENDPOINT_PATH),
+                                  EndpointMXBean.class);
+    }
+}
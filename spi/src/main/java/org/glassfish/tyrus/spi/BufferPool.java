@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.spi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pool of {@link ByteBuffer}s shared by tyrus runtime and transports.
+ * <p>
+ * Buffers used for reading websocket data of a connection are acquired from the pool and returned back once they are
+ * not needed, so that a new buffer does not have to be allocated for every read. Implementations have to be thread
+ * safe, buffers are acquired and released from threads of all connections.
+ */
+public interface BufferPool {
+
+    /**
+     * Get a cleared buffer from the pool.
+     *
+     * @param capacity minimal capacity of the buffer.
+     * @return buffer with capacity of at least {@code capacity} bytes, position set to 0 and limit set to its capacity.
+     */
+    ByteBuffer acquire(int capacity);
+
+    /**
+     * Return a buffer obtained from {@link #acquire(int)} to the pool.
+     * <p>
+     * The buffer must not be used by the caller after it has been released.
+     *
+     * @param buffer buffer to be released.
+     */
+    void release(ByteBuffer buffer);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -61,4 +61,59 @@ public abstract class Writer implements Closeable {
     public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler, WriterInfo writerInfo) {
         write(buffer, completionHandler);
     }
+
+    /**
+     * Tyrus runtime calls this method to handover data split into several buffers (typically a websocket frame header
+     * and the frame payload) for a connection to the transport. The buffers have to be written in the given order, as
+     * if they were one contiguous buffer. Tyrus runtime must not use the buffers until the write is completed.
+     * <p>
+     * Transports which support gathering writes should override this method to avoid copying the data. Default
+     * implementation copies all the buffers into a single one and passes it to
+     * {@link #write(ByteBuffer, CompletionHandler, WriterInfo)}.
+     *
+     * @param buffers           bytes to write.
+     * @param completionHandler completion handler to know the write status.
+     * @param writerInfo        additional information about the data to be written.
+     * @since 1.99
+     */
+    public void write(final ByteBuffer[] buffers, final CompletionHandler<ByteBuffer[]> completionHandler,
+                      WriterInfo writerInfo) {
+        final ByteBuffer buffer;
+        if (buffers.length == 1) {
+            buffer = buffers[0];
+        } else {
+            int length = 0;
+            for (ByteBuffer b : buffers) {
+                length += b.remaining();
+            }
+
+            buffer = ByteBuffer.allocate(length);
+            for (ByteBuffer b : buffers) {
+                buffer.put(b.duplicate());
+            }
+            buffer.flip();
+        }
+
+        write(buffer, new CompletionHandler<ByteBuffer>() {
+            @Override
+            public void cancelled() {
+                completionHandler.cancelled();
+            }
+
+            @Override
+            public void failed(Throwable throwable) {
+                completionHandler.failed(throwable);
+            }
+
+            @Override
+            public void completed(ByteBuffer result) {
+                completionHandler.completed(buffers);
+            }
+
+            @Override
+            public void updated(ByteBuffer result) {
+                completionHandler.updated(buffers);
+            }
+        }, writerInfo);
+    }
 }
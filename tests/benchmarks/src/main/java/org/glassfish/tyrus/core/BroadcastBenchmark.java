@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.websocket.CloseReason;
+import javax.websocket.DeploymentException;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Extension;
+import javax.websocket.Session;
+
+import org.glassfish.tyrus.spi.CompletionHandler;
+import org.glassfish.tyrus.spi.UpgradeRequest;
+import org.glassfish.tyrus.spi.Writer;
+import org.glassfish.tyrus.spi.WriterInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link TyrusEndpointWrapper#broadcast(String)} and {@link TyrusEndpointWrapper#broadcast(ByteBuffer)} fan-out cost.
+ * <p>
+ * Sessions are backed by a {@link Writer} which completes every write immediately, so the numbers represent framing
+ * and dispatch overhead of Tyrus only, not the transport.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"16", "1024", "131072"})
+    private int size;
+
+    @Param({"100", "1000"})
+    private int sessions;
+
+    private TyrusEndpointWrapper endpointWrapper;
+    private String text;
+    private ByteBuffer binary;
+
+    @Setup
+    public void setup() throws DeploymentException {
+        text = Payloads.text(size, false);
+        binary = ByteBuffer.wrap(Payloads.binary(size));
+
+        endpointWrapper = new TyrusEndpointWrapper(
+                new NoOpEndpoint(), null, ComponentProviderService.create(), null, "/",
+                null, new TyrusEndpointWrapper.SessionListener() {}, null, null, false);
+
+        final UpgradeRequest upgradeRequest = RequestContext.Builder.create().requestURI(URI.create("/")).build();
+
+        for (int i = 0; i < sessions; i++) {
+            final ProtocolHandler protocolHandler = new ProtocolHandler(false, null);
+            protocolHandler.setWriter(new NoOpWriter());
+            final TyrusWebSocket webSocket = new TyrusWebSocket(protocolHandler, endpointWrapper);
+            protocolHandler.setWebSocket(webSocket);
+            endpointWrapper.createSessionForRemoteEndpoint(
+                    webSocket, null, Collections.<Extension>emptyList(), new DebugContext());
+            webSocket.onConnect(upgradeRequest, null, Collections.<Extension>emptyList(), String.valueOf(i),
+                                new DebugContext());
+        }
+    }
+
+    @Benchmark
+    public Map<Session, Future<?>> broadcastText() {
+        return endpointWrapper.broadcast(text);
+    }
+
+    @Benchmark
+    public Map<Session, Future<?>> broadcastBinary() {
+        return endpointWrapper.broadcast(binary.duplicate());
+    }
+
+    public static class NoOpEndpoint extends Endpoint {
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+        }
+
+        @Override
+        public void onClose(Session session, CloseReason closeReason) {
+        }
+    }
+
+    private static class NoOpWriter extends Writer {
+
+        @Override
+        public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler) {
+            completionHandler.completed(buffer);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, CompletionHandler<ByteBuffer> completionHandler, WriterInfo writerInfo) {
+            completionHandler.completed(buffer);
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+}
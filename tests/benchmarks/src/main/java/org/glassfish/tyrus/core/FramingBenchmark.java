@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.tyrus.core.frame.BinaryFrame;
+import org.glassfish.tyrus.core.frame.Frame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ProtocolHandler#frame(Frame)} and {@link ProtocolHandler#unframe(ByteBuffer)} throughput.
+ * <p>
+ * Masked frames are produced by the client side handler (and unframed as the server would see them), unmasked frames
+ * by the server side handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FramingBenchmark {
+
+    @Param({"16", "128", "1024", "16384", "131072", "1048576", "4194304"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean masked;
+
+    private byte[] payload;
+    private ProtocolHandler sender;
+    private ProtocolHandler receiver;
+    private ByteBuffer framed;
+
+    @Setup
+    public void setup() {
+        payload = Payloads.binary(size);
+        sender = new ProtocolHandler(masked, null);
+        receiver = new ProtocolHandler(!masked, null);
+        framed = sender.frame(new BinaryFrame(payload, false, true));
+    }
+
+    @Benchmark
+    public ByteBuffer frame() {
+        return sender.frame(new BinaryFrame(payload, false, true));
+    }
+
+    @Benchmark
+    public Frame unframe() {
+        return receiver.unframe(framed.duplicate());
+    }
+}
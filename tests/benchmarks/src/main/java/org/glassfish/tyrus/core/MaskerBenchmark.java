@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Masker} throughput - client side masking of outgoing payloads and server side unmasking of incoming ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskerBenchmark {
+
+    private static final int MASKING_KEY = 0x1a2b3c4d;
+
+    @Param({"16", "128", "1024", "16384", "131072", "1048576", "4194304"})
+    private int size;
+
+    private byte[] payload;
+    private byte[] target;
+    private ByteBuffer masked;
+
+    @Setup
+    public void setup() {
+        payload = Payloads.binary(size);
+        target = new byte[size];
+
+        final byte[] maskedFrame = new byte[ProtocolHandler.MASK_SIZE + size];
+        final Masker masker = new Masker(MASKING_KEY);
+        System.arraycopy(masker.getMask(), 0, maskedFrame, 0, ProtocolHandler.MASK_SIZE);
+        masker.mask(maskedFrame, ProtocolHandler.MASK_SIZE, payload, size);
+        masked = ByteBuffer.wrap(maskedFrame);
+    }
+
+    @Benchmark
+    public byte[] mask() {
+        new Masker(MASKING_KEY).mask(target, 0, payload, size);
+        return target;
+    }
+
+    @Benchmark
+    public byte[] unmask() {
+        final Masker masker = new Masker(masked.duplicate());
+        masker.readMask();
+        return masker.unmask(size);
+    }
+}
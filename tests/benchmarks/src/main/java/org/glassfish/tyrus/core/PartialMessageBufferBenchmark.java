@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reassembly of fragmented messages in {@link TextBuffer} and {@link BinaryBuffer}.
+ * <p>
+ * The message of {@code size} bytes (or chars) is split into {@code fragments} equally sized parts, appended and then
+ * materialized, as done for {@code MessageHandler.Whole} handlers receiving partial frames.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartialMessageBufferBenchmark {
+
+    @Param({"16", "128", "1024", "16384", "131072", "1048576", "4194304"})
+    private int size;
+
+    @Param({"4", "64"})
+    private int fragments;
+
+    private String[] textFragments;
+    private ByteBuffer[] binaryFragments;
+    private final TextBuffer textBuffer = new TextBuffer();
+    private final BinaryBuffer binaryBuffer = new BinaryBuffer();
+
+    @Setup
+    public void setup() {
+        final String text = Payloads.text(size, false);
+        final byte[] binary = Payloads.binary(size);
+
+        final int fragmentCount = Math.min(fragments, size);
+        textFragments = new String[fragmentCount];
+        binaryFragments = new ByteBuffer[fragmentCount];
+
+        final int fragmentSize = (size + fragmentCount - 1) / fragmentCount;
+        for (int i = 0; i < fragmentCount; i++) {
+            final int from = Math.min(i * fragmentSize, size);
+            final int to = Math.min(from + fragmentSize, size);
+            textFragments[i] = text.substring(Math.min(from, text.length()), Math.min(to, text.length()));
+            binaryFragments[i] = ByteBuffer.wrap(binary, from, to - from).slice();
+        }
+    }
+
+    @Benchmark
+    public String text() {
+        textBuffer.resetBuffer(Integer.MAX_VALUE);
+        for (String fragment : textFragments) {
+            textBuffer.appendMessagePart(fragment);
+        }
+        return textBuffer.getBufferedContent();
+    }
+
+    @Benchmark
+    public ByteBuffer binary() {
+        binaryBuffer.resetBuffer(Integer.MAX_VALUE);
+        for (ByteBuffer fragment : binaryFragments) {
+            binaryBuffer.appendMessagePart(fragment.duplicate());
+        }
+        return binaryBuffer.getBufferedContent();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.util.Random;
+
+/**
+ * Deterministic payload generators shared by the benchmarks.
+ */
+final class Payloads {
+
+    private static final long SEED = 0x7972757321L;
+
+    private Payloads() {
+    }
+
+    /**
+     * Random binary payload.
+     *
+     * @param size payload size in bytes.
+     * @return payload.
+     */
+    static byte[] binary(int size) {
+        final byte[] bytes = new byte[size];
+        new Random(SEED).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Text payload which encodes to approximately {@code size} bytes of UTF-8.
+     *
+     * @param size      requested encoded size in bytes.
+     * @param multibyte {@code true} if the text should contain 2 and 3 byte UTF-8 sequences, {@code false} for plain
+     *                  ASCII.
+     * @return payload.
+     */
+    static String text(int size, boolean multibyte) {
+        final String alphabet = multibyte
+                ? "abcdefghij\u00e1\u010d\u0159\u017e\u00fd\u20ac\u3042 "
+                : "abcdefghijklmnopqrstuvwxyz0123456789 ";
+        final Random random = new Random(SEED);
+        final StringBuilder sb = new StringBuilder(size);
+        int encoded = 0;
+        while (encoded < size) {
+            final char c = alphabet.charAt(random.nextInt(alphabet.length()));
+            final int length = c < 0x80 ? 1 : (c < 0x800 ? 2 : 3);
+            if (encoded + length > size) {
+                break;
+            }
+            sb.append(c);
+            encoded += length;
+        }
+        return sb.toString();
+    }
+}
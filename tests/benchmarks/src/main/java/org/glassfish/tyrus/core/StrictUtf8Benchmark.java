@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.core;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.tyrus.core.frame.Frame;
+import org.glassfish.tyrus.core.frame.TextFrame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link StrictUtf8} decoding and encoding, both standalone and as used by {@link TextFrame}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrictUtf8Benchmark {
+
+    @Param({"16", "128", "1024", "16384", "131072", "1048576", "4194304"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean multibyte;
+
+    private String text;
+    private byte[] encoded;
+    private Frame frame;
+
+    @Setup
+    public void setup() {
+        text = Payloads.text(size, multibyte);
+        final TextFrame textFrame = new TextFrame(text, false, true);
+        encoded = textFrame.getPayloadData();
+        frame = Frame.builder().fin(true).opcode((byte) 0x01).payloadData(encoded).build();
+    }
+
+    @Benchmark
+    public CharBuffer decode() throws CharacterCodingException {
+        final CharsetDecoder decoder = new StrictUtf8().newDecoder();
+        return decoder.decode(ByteBuffer.wrap(encoded));
+    }
+
+    @Benchmark
+    public String decodeTextFrame() {
+        return new TextFrame(frame, null).getTextPayload();
+    }
+
+    @Benchmark
+    public byte[] encodeTextFrame() {
+        return new TextFrame(text, false, true).getPayloadData();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tyrus.ext.cluster;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.glassfish.tyrus.core.cluster.BroadcastListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PeerClusterContext#broadcastText(String, String)} fan-out across nodes running in the same JVM.
+ * <p>
+ * Every invocation broadcasts a burst of {@value #BURST} messages from one node and waits until all nodes, including
+ * the sending one, have delivered them to their broadcast listeners.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClusterBroadcastBenchmark {
+
+    private static final int BURST = 100;
+    private static final String PATH = "/broadcast";
+
+    @Param({"3", "5"})
+    private int nodes;
+
+    @Param({"loopback", "tcp"})
+    private String transport;
+
+    @Param({"16", "1024"})
+    private int size;
+
+    private final List<PeerClusterContext> contexts = new ArrayList<PeerClusterContext>();
+    private final AtomicLong delivered = new AtomicLong();
+
+    private String text;
+
+    @Setup
+    public void setup() throws Exception {
+        final char[] chars = new char[size];
+        Arrays.fill(chars, 'x');
+        text = new String(chars);
+
+        final LoopbackClusterTransport.Network network = new LoopbackClusterTransport.Network();
+        final Map<String, InetSocketAddress> addresses = new HashMap<String, InetSocketAddress>();
+        for (int i = 0; i < nodes; i++) {
+            addresses.put("node" + i, new InetSocketAddress(InetAddress.getLoopbackAddress(), freePort()));
+        }
+
+        for (int i = 0; i < nodes; i++) {
+            final String nodeId = "node" + i;
+            final ClusterTransport clusterTransport = "tcp".equals(transport)
+                    ? new TcpClusterTransport(nodeId, addresses.get(nodeId), addresses)
+                    : new LoopbackClusterTransport(network, nodeId);
+            final PeerClusterContext context = new PeerClusterContext(clusterTransport);
+            context.registerBroadcastListener(PATH, new BroadcastListener() {
+                @Override
+                public void onBroadcast(String text) {
+                    delivered.incrementAndGet();
+                }
+
+                @Override
+                public void onBroadcast(byte[] data) {
+                    delivered.incrementAndGet();
+                }
+            });
+            contexts.add(context);
+        }
+
+        for (PeerClusterContext context : contexts) {
+            while (context.getConnectedNodes().size() < nodes - 1) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (PeerClusterContext context : contexts) {
+            context.shutdown();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void broadcastText() {
+        final long expected = delivered.get() + (long) BURST * nodes;
+        final PeerClusterContext sender = contexts.get(0);
+        for (int i = 0; i < BURST; i++) {
+            sender.broadcastText(PATH, text);
+        }
+        while (delivered.get() < expected) {
+            LockSupport.parkNanos(1000);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        final ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            return serverSocket.getLocalPort();
+        } finally {
+            serverSocket.close();
+        }
+    }
+}